@@ -10,6 +10,7 @@ import br.com.ifce.easyflow.service.UserService;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
@@ -20,6 +21,7 @@ import java.util.List;
 
 @SpringBootApplication
 @EnableSwagger2
+@EnableScheduling
 public class TemplateApplication implements CommandLineRunner {
 
 	private final UserService userService;
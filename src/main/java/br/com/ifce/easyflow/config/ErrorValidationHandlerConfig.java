@@ -3,7 +3,12 @@ package br.com.ifce.easyflow.config;
 import br.com.ifce.easyflow.exception.PersonNotFoundException;
 import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.PreconditionFailedException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import br.com.ifce.easyflow.service.exceptions.SlotConflictException;
+import br.com.ifce.easyflow.service.exceptions.TooManyRequestsException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -30,6 +35,18 @@ public class ErrorValidationHandlerConfig {
                 .build(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(SlotConflictException.class)
+    public ResponseEntity<SlotConflictDetails> handlerSlotConflictException(SlotConflictException ex) {
+
+        return new ResponseEntity<>(SlotConflictDetails.builder()
+                .alternatives(ex.getAlternatives())
+                .detail(ex.getMessage())
+                .title("Bad Request Exception, check the Documentation")
+                .status(HttpStatus.BAD_REQUEST.value())
+                .timestamp(Instant.now())
+                .build(), HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ProblemDetails> handlerResourceNotFoundException(ResourceNotFoundException ex) {
 
@@ -75,6 +92,42 @@ public class ErrorValidationHandlerConfig {
                 .build(), HttpStatus.CONFLICT);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ProblemDetails> handlerOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+
+        return new ResponseEntity<>(ProblemDetails.builder()
+                .detail("The resource was modified by another request while this one was running, " +
+                        "fetch it again and retry.")
+                .title("Conflict Exception, check the Documentation")
+                .status(HttpStatus.CONFLICT.value())
+                .timestamp(Instant.now())
+                .build(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ProblemDetails> handlerPreconditionFailedException(PreconditionFailedException ex) {
+
+        return new ResponseEntity<>(ProblemDetails.builder()
+                .detail(ex.getMessage())
+                .title("Precondition Failed Exception, check the Documentation")
+                .status(HttpStatus.PRECONDITION_FAILED.value())
+                .timestamp(Instant.now())
+                .build(), HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ProblemDetails> handlerTooManyRequestsException(TooManyRequestsException ex) {
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(ProblemDetails.builder()
+                        .detail(ex.getMessage())
+                        .title("Too Many Requests Exception, check the Documentation")
+                        .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                        .timestamp(Instant.now())
+                        .build());
+    }
+
     @ExceptionHandler(PersonNotFoundException.class)
     public ResponseEntity<ProblemDetails> handlerPersonNotFoundException(PersonNotFoundException ex) {
 
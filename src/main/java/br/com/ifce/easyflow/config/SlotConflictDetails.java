@@ -0,0 +1,15 @@
+package br.com.ifce.easyflow.config;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SlotAlternativeDTO;
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+import java.util.List;
+
+@SuperBuilder
+@Getter
+public class SlotConflictDetails extends ProblemDetails {
+
+    private final List<SlotAlternativeDTO> alternatives;
+
+}
@@ -0,0 +1,88 @@
+package br.com.ifce.easyflow.config.migration;
+
+import br.com.ifce.easyflow.model.SpecSize;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// Fills the parsed RAM and storage sizes of equipment written before the columns existed, trims tombos and
+// makes sure the unique tombo index is in place. Duplicated tombos are only reported, they need a person to fix.
+@Slf4j
+@Component
+@Order(2)
+@RequiredArgsConstructor
+public class EquipmentSpecMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        fillSpecSizes();
+        trimTombos();
+
+        if (!warnAboutDuplicatedTombos()) {
+            try {
+                jdbcTemplate.execute("create unique index if not exists uk_equipment_tombo on equipment (tombo)");
+            } catch (DataAccessException e) {
+                log.warn("Could not create the unique tombo index: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void fillSpecSizes() {
+        try {
+            List<Object[]> sizes = jdbcTemplate.query("select id, ram_memory, storage_memory from equipment " +
+                            "where ram_gb is null or storage_gb is null",
+                    (row, index) -> new Object[]{
+                            SpecSize.gigabytes(row.getString("ram_memory")),
+                            SpecSize.gigabytes(row.getString("storage_memory")),
+                            row.getLong("id")})
+                    .stream()
+                    .filter(size -> size[0] != null || size[1] != null)
+                    .toList();
+
+            if (!sizes.isEmpty()) {
+                jdbcTemplate.batchUpdate("update equipment set ram_gb = ?, storage_gb = ? where id = ?", sizes);
+                log.info("Filled the RAM and storage sizes of {} equipment", sizes.size());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not fill the RAM and storage sizes of equipment: {}", e.getMessage());
+        }
+    }
+
+    private void trimTombos() {
+        try {
+            int trimmed = jdbcTemplate.update("update equipment set tombo = trim(tombo) " +
+                    "where char_length(tombo) <> char_length(trim(tombo))");
+
+            if (trimmed > 0) {
+                log.info("Trimmed the tombo of {} equipment", trimmed);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not trim the equipment tombos: {}", e.getMessage());
+        }
+    }
+
+    private boolean warnAboutDuplicatedTombos() {
+        try {
+            List<String> duplicated = jdbcTemplate.queryForList("select tombo from equipment where tombo is not null " +
+                    "group by tombo having count(*) > 1", String.class);
+
+            if (!duplicated.isEmpty()) {
+                log.warn("The tombos {} are used by more than one equipment, the unique tombo index was not created",
+                        duplicated);
+            }
+            return !duplicated.isEmpty();
+        } catch (DataAccessException e) {
+            log.warn("Could not check for duplicated tombos: {}", e.getMessage());
+            return true;
+        }
+    }
+}
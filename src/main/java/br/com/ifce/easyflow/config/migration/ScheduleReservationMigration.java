@@ -0,0 +1,80 @@
+package br.com.ifce.easyflow.config.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Moves the slot reservation from reserved_tables onto the schedule row. The schedule keeps its table only
+// while it is pending or approved, and uk_schedule_table_slot lets a single active row hold a table and slot.
+// Every step is idempotent, so once the old table is gone the later runs only find nothing to repair.
+@Slf4j
+@Component
+@Order(1)
+@RequiredArgsConstructor
+public class ScheduleReservationMigration implements ApplicationRunner {
+
+    private static final String ACTIVE = "('PENDING', 'APPROVED')";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (reservedTablesExist()) {
+            repair("Restored the table of {} active schedules from reserved_tables",
+                    "update schedule s join reserved_tables r on r.schedule_id = s.id " +
+                            "set s.table_id = r.table_id " +
+                            "where s.table_id is null and r.table_id is not null and s.status in " + ACTIVE);
+        }
+
+        repair("Released the table of {} schedules that are no longer pending or approved",
+                "update schedule set table_id = null, version = version + 1 " +
+                        "where table_id is not null and (status is null or status not in " + ACTIVE + ")");
+
+        // Approved requests win over pending ones, then the oldest request keeps the table.
+        repair("Denied {} schedules that booked a table and slot already held by another request",
+                "update schedule s join schedule k on k.table_id = s.table_id and k.slot = s.slot and k.id <> s.id " +
+                        "set s.status = 'DENIED', s.table_id = null, s.version = s.version + 1 " +
+                        "where (k.status = 'APPROVED' and s.status <> 'APPROVED') " +
+                        "or (k.status = s.status and k.id < s.id)");
+
+        execute("create unique index if not exists uk_schedule_table_slot on schedule (table_id, slot)");
+        execute("drop index if exists idx_schedule_table_slot on schedule");
+        execute("drop table if exists reserved_tables");
+    }
+
+    private boolean reservedTablesExist() {
+        try {
+            Integer tables = jdbcTemplate.queryForObject("select count(*) from information_schema.tables " +
+                    "where table_schema = database() and table_name = 'reserved_tables'", Integer.class);
+            return tables != null && tables > 0;
+        } catch (DataAccessException e) {
+            log.warn("Could not check whether reserved_tables still exists: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void repair(String message, String sql) {
+        try {
+            int repaired = jdbcTemplate.update(sql);
+
+            if (repaired > 0) {
+                log.info(message, repaired);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not repair the schedule reservations: {}", e.getMessage());
+        }
+    }
+
+    private void execute(String sql) {
+        try {
+            jdbcTemplate.execute(sql);
+        } catch (DataAccessException e) {
+            log.warn("Could not run '{}': {}", sql, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package br.com.ifce.easyflow.config.migration;
+
+import br.com.ifce.easyflow.model.TimeSlot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+// Fills the slot code of rows written before the column existed, then makes the column not null. Runners finish
+// before ApplicationReadyEvent, so the occupancy index is always rebuilt from migrated rows.
+@Slf4j
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class ScheduleSlotMigration implements ApplicationRunner {
+
+    private static final List<String> TABLES = List.of("schedule");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (String table : TABLES) {
+            int migrated = 0;
+
+            for (int code = 0; code < TimeSlot.COUNT; code++) {
+                migrated += migrate(table, TimeSlot.ofCode(code));
+            }
+
+            if (migrated > 0) {
+                log.info("Filled the slot code of {} rows in {}", migrated, table);
+            }
+
+            if (!warnAboutUnknownValues(table)) {
+                requireSlot(table);
+            }
+        }
+    }
+
+    private int migrate(String table, TimeSlot timeSlot) {
+        String sql = "update " + table + " set day = ?, shift_schedule = ?, slot = ? " +
+                "where slot is null and lower(trim(day)) = ? and lower(trim(shift_schedule)) = ?";
+
+        try {
+            return jdbcTemplate.update(sql,
+                    timeSlot.day().getLabel(),
+                    timeSlot.shift().getLabel(),
+                    timeSlot.code(),
+                    timeSlot.day().getLabel().toLowerCase(Locale.ROOT),
+                    timeSlot.shift().getLabel().toLowerCase(Locale.ROOT));
+        } catch (DataAccessException e) {
+            log.warn("Could not fill the slot code of {} rows for {}: {}", table, timeSlot, e.getMessage());
+            return 0;
+        }
+    }
+
+    // Returns whether rows are still missing their slot code, the column can only be made not null without them.
+    private boolean warnAboutUnknownValues(String table) {
+        try {
+            Integer remaining = jdbcTemplate.queryForObject(
+                    "select count(*) from " + table + " where slot is null", Integer.class);
+
+            if (remaining != null && remaining > 0) {
+                log.warn("{} rows in {} have a day or shift that could not be recognized and were left without a slot code",
+                        remaining, table);
+                return true;
+            }
+            return false;
+        } catch (DataAccessException e) {
+            log.warn("Could not check the remaining rows of {}: {}", table, e.getMessage());
+            return true;
+        }
+    }
+
+    private void requireSlot(String table) {
+        try {
+            jdbcTemplate.execute("alter table " + table + " modify slot smallint not null");
+        } catch (DataAccessException e) {
+            log.warn("Could not make the slot code of {} not null: {}", table, e.getMessage());
+        }
+    }
+}
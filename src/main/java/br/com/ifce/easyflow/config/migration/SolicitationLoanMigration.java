@@ -0,0 +1,43 @@
+package br.com.ifce.easyflow.config.migration;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// The equipment of a solicitation used to be mapped one to one, which left a unique index on equipment_id
+// that only allowed every equipment to be lent once. The loan date index also starts with equipment_id, so
+// it is created first and keeps the foreign key covered once the unique index is dropped.
+@Slf4j
+@Component
+@Order(3)
+@RequiredArgsConstructor
+public class SolicitationLoanMigration implements ApplicationRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            jdbcTemplate.execute("create index if not exists idx_solicitation_equipment_dates " +
+                    "on solicitation (equipment_id, start_date, end_date)");
+
+            List<String> uniqueIndexes = jdbcTemplate.queryForList("select index_name from information_schema.statistics " +
+                    "where table_schema = database() and table_name = 'solicitation' and non_unique = 0 " +
+                    "group by index_name having count(*) = 1 and max(column_name) = 'equipment_id'", String.class);
+
+            for (String index : uniqueIndexes) {
+                jdbcTemplate.execute("alter table solicitation drop index `" + index + "`");
+                log.info("Dropped the unique index {} on the equipment of solicitations", index);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not drop the unique index on the equipment of solicitations: {}", e.getMessage());
+        }
+    }
+}
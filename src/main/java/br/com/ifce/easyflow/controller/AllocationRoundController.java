@@ -0,0 +1,97 @@
+package br.com.ifce.easyflow.controller;
+
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationPreferenceRequestDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationPreferenceResponseDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationResultDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationRoundRequestDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationRoundResponseDTO;
+import br.com.ifce.easyflow.model.AllocationRound;
+import br.com.ifce.easyflow.service.AllocationRoundService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/allocation-rounds")
+@RequiredArgsConstructor
+public class AllocationRoundController {
+
+    private final AllocationRoundService allocationRoundService;
+
+    @ApiOperation(value = "Returns an allocation round by id", tags = {"Allocation rounds"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Allocation round not found in database"),
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<AllocationRoundResponseDTO> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(AllocationRoundResponseDTO.from(allocationRoundService.findById(id)));
+    }
+
+    @ApiOperation(value = "Opens an allocation round",
+            notes = "Between opens-at and closes-at students rank the seats they want. Seats are allocated when the round closes.",
+            tags = {"Allocation rounds"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The round closes before it opens"),
+    })
+    @PostMapping
+    public ResponseEntity<AllocationRoundResponseDTO> create(@RequestBody @Valid AllocationRoundRequestDTO requestDTO,
+                                                             UriComponentsBuilder uriBuilder) {
+        AllocationRound round = allocationRoundService.create(requestDTO);
+        URI uri = uriBuilder.path("/allocation-rounds/{id}").buildAndExpand(round.getId()).toUri();
+        return ResponseEntity.created(uri).body(AllocationRoundResponseDTO.from(round));
+    }
+
+    @ApiOperation(value = "Returns the ranked preferences of a person in a round", tags = {"Allocation rounds"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Allocation round not found in database"),
+    })
+    @GetMapping("/{id}/preferences/{personId}")
+    public ResponseEntity<List<AllocationPreferenceResponseDTO>> findPreferences(@PathVariable Long id,
+                                                                                 @PathVariable Long personId) {
+        return ResponseEntity.ok(allocationRoundService.findPreferences(id, personId).stream()
+                .map(AllocationPreferenceResponseDTO::from)
+                .toList());
+    }
+
+    @ApiOperation(value = "Replaces the ranked preferences of a person in a round",
+            notes = "The first item is the most wanted seat. Sending the list again replaces it while the round is open.",
+            tags = {"Allocation rounds"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The round is not open or the preferences are invalid"),
+            @ApiResponse(code = 404, message = "Round, person or table not found in database"),
+    })
+    @PutMapping("/{id}/preferences/{personId}")
+    public ResponseEntity<List<AllocationPreferenceResponseDTO>> submitPreferences(@PathVariable Long id,
+                                                                                   @PathVariable Long personId,
+                                                                                   @RequestBody @Valid List<AllocationPreferenceRequestDTO> requestDTO) {
+        return ResponseEntity.ok(allocationRoundService.submitPreferences(id, personId, requestDTO).stream()
+                .map(AllocationPreferenceResponseDTO::from)
+                .toList());
+    }
+
+    @ApiOperation(value = "Allocates the seats of a closed round now",
+            notes = "Rounds are also allocated automatically shortly after they close.",
+            tags = {"Allocation rounds"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The round has not closed yet"),
+            @ApiResponse(code = 404, message = "Allocation round not found in database"),
+            @ApiResponse(code = 409, message = "The round was already allocated"),
+    })
+    @PostMapping("/{id}/allocate")
+    public ResponseEntity<AllocationResultDTO> allocate(@PathVariable Long id) {
+        return ResponseEntity.ok(allocationRoundService.allocate(id));
+    }
+}
@@ -5,13 +5,16 @@ import br.com.ifce.easyflow.controller.dto.announcement.AnnouncementResponseDTO;
 import br.com.ifce.easyflow.controller.dto.announcement.AnnouncementUpdateDTO;
 import br.com.ifce.easyflow.model.Announcement;
 import br.com.ifce.easyflow.service.AnnouncementService;
+import br.com.ifce.easyflow.service.IfMatch;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
@@ -33,18 +36,27 @@ public class AnnouncementController {
     @ApiOperation(value = "Returns a list of announcement", tags = {"Announcement"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "No announcement has changed since the given ETag"),
             @ApiResponse(code = 403, message = "Permission denied to access this resource"),
             @ApiResponse(code = 500, message = "Internal exception"),
 
     })
 
     @GetMapping
-    public List<AnnouncementResponseDTO> search() {
-        return this.announcementService
+    public ResponseEntity<List<AnnouncementResponseDTO>> search(WebRequest request) {
+        String eTag = ETags.of(this.announcementService.listVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        List<AnnouncementResponseDTO> announcements = this.announcementService
                 .search()
                 .stream()
                 .map(AnnouncementResponseDTO::new)
                 .collect(Collectors.toList());
+
+        return ResponseEntity.ok().eTag(eTag).body(announcements);
     }
 
     @ApiOperation(value = "Save a Announcement", tags = {"Announcement"})
@@ -86,15 +98,21 @@ public class AnnouncementController {
     @ApiOperation(value = "Returns a Announcement by id", tags = {"Announcement"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "The announcement has not changed since the given ETag"),
             @ApiResponse(code = 403, message = "Permission denied to access this resource"),
             @ApiResponse(code = 404, message = "Announcement not found in database"),
             @ApiResponse(code = 500, message = "Internal exception"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Object> searchById(@PathVariable Long id) {
+    public ResponseEntity<Object> searchById(@PathVariable Long id, WebRequest request) {
         Announcement announcement = this.announcementService.searchByID(id);
+        String eTag = ETags.of(announcement.getVersion());
 
-        return ResponseEntity.ok(new AnnouncementResponseDTO(announcement));
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(new AnnouncementResponseDTO(announcement));
     }
 
     @ApiOperation(value = "Update a Announcement by id", tags = {"Announcement"})
@@ -102,15 +120,20 @@ public class AnnouncementController {
             @ApiResponse(code = 201, message = "Saved reservation"),
             @ApiResponse(code = 403, message = "Permission denied to access this resource"),
             @ApiResponse(code = 404, message = "Announcement not found in database"),
+            @ApiResponse(code = 412, message = "The announcement was modified since the ETag sent in If-Match"),
             @ApiResponse(code = 500, message = "Internal exception"),
     })
     @PutMapping("/{id}")
     public ResponseEntity<Object> update(@PathVariable Long id,
-                                         @RequestBody @Valid AnnouncementUpdateDTO AnnouncementUpdateDTO) {
+                                         @RequestBody @Valid AnnouncementUpdateDTO AnnouncementUpdateDTO,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        Announcement announcement = this.announcementService.update(id, AnnouncementUpdateDTO.toAnnouncement(id));
+        Announcement announcement = this.announcementService.update(id, AnnouncementUpdateDTO.toAnnouncement(id),
+                IfMatch.parse(ifMatch));
 
-        return ResponseEntity.ok(new AnnouncementResponseDTO(announcement));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(announcement.getVersion()))
+                .body(new AnnouncementResponseDTO(announcement));
 
     }
 
@@ -5,15 +5,18 @@ import br.com.ifce.easyflow.controller.dto.course.CourseResponseDTO;
 import br.com.ifce.easyflow.controller.dto.course.CourseUpdateDTO;
 import br.com.ifce.easyflow.model.Course;
 import br.com.ifce.easyflow.service.CourseService;
+import br.com.ifce.easyflow.service.IfMatch;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 
@@ -38,30 +41,45 @@ public class CourseController {
     @ApiOperation(value = "Returns a list of Courses", tags = {"Course"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "No course has changed since the given ETag"),
             @ApiResponse(code = 403, message = "Permission denied to access this resource"),
             @ApiResponse(code = 500, message = "Internal exception"),
     })
     @GetMapping
-    public List<CourseResponseDTO> search(){
-        return this.courseService
+    public ResponseEntity<List<CourseResponseDTO>> search(WebRequest request){
+        String eTag = ETags.of(this.courseService.listVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        List<CourseResponseDTO> courses = this.courseService
                 .search()
                 .stream()
                 .map(CourseResponseDTO::new)
                 .collect(Collectors.toList());
+
+        return ResponseEntity.ok().eTag(eTag).body(courses);
     }
 
     @ApiOperation(value = "Returns a Course by id", tags = {"Course"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "The course has not changed since the given ETag"),
             @ApiResponse(code = 403, message = "Permission denied to access this resource"),
             @ApiResponse(code = 404, message = "Course not found in database"),
             @ApiResponse(code = 500, message = "Internal exception"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<CourseResponseDTO> searchById(@PathVariable Long id) {
+    public ResponseEntity<CourseResponseDTO> searchById(@PathVariable Long id, WebRequest request) {
         Course course = this.courseService.searchByID(id);
+        String eTag = ETags.of(course.getVersion());
 
-        return ResponseEntity.ok(new CourseResponseDTO(course));
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(new CourseResponseDTO(course));
     }
 
     @ApiOperation(value = "Returns a Course by login", tags = {"Course"})
@@ -100,14 +118,16 @@ public class CourseController {
             @ApiResponse(code = 403, message = "Permission denied to access this resource"),
             @ApiResponse(code = 404, message = "Course not found in database"),
             @ApiResponse(code = 409, message = "Course login is already being used"),
+            @ApiResponse(code = 412, message = "The course was modified since the ETag sent in If-Match"),
             @ApiResponse(code = 500, message = "Internal exception"),
     })
     @PutMapping("/{id}")
-    public ResponseEntity<CourseResponseDTO> update(@PathVariable Long id, @RequestBody @Valid CourseUpdateDTO courseUpdateDTO) {
+    public ResponseEntity<CourseResponseDTO> update(@PathVariable Long id, @RequestBody @Valid CourseUpdateDTO courseUpdateDTO,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 
-        Course course = this.courseService.update(id, courseUpdateDTO);
+        Course course = this.courseService.update(id, courseUpdateDTO, IfMatch.parse(ifMatch));
 
-        return ResponseEntity.ok(new CourseResponseDTO(course));
+        return ResponseEntity.ok().eTag(ETags.of(course.getVersion())).body(new CourseResponseDTO(course));
     }
 
     @ApiOperation(value = "Delete a Course by id", tags = {"Course"})
@@ -0,0 +1,11 @@
+package br.com.ifce.easyflow.controller;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long version) {
+        return "\"" + (version == null ? 0L : version) + "\"";
+    }
+}
@@ -5,17 +5,22 @@ import br.com.ifce.easyflow.controller.dto.equipment.EquipmentPutRequestDTO;
 import br.com.ifce.easyflow.controller.dto.equipment.EquipmentStatusPatchRequestDTO;
 import br.com.ifce.easyflow.model.Equipment;
 import br.com.ifce.easyflow.service.EquipmentService;
+import br.com.ifce.easyflow.service.IfMatch;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/equipments")
@@ -27,27 +32,93 @@ public class EquipmentController {
     @ApiOperation(value = "Returns a list of equipments",tags = {"Equipment"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "No equipment has changed since the given ETag"),
     })
     @GetMapping
-    public ResponseEntity<Page<Equipment>> findAll(Pageable pageable) {
+    public ResponseEntity<Page<Equipment>> findAll(Pageable pageable, WebRequest request) {
+        String eTag = ETags.of(equipmentService.listVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
         Page<Equipment> equipment = equipmentService.findAll(pageable);
-        return ResponseEntity.ok(equipment);
+        return ResponseEntity.ok().eTag(eTag).body(equipment);
+    }
+
+    @ApiOperation(value = "Searches equipments by any combination of filters",
+            notes = "Every filter is optional: status (BUSY, AVAILABLE, MAINTENANCE), brand (exact, ignoring case), " +
+                    "processor (part of the name), min-ram-gb and min-storage-gb. Sizes are read from the RAM and " +
+                    "storage descriptions, equipment whose size could not be recognized never matches a minimum.",
+            tags = {"Equipment"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "A filter value does not exist or was not properly written"),
+    })
+    @GetMapping("/search")
+    public ResponseEntity<Page<Equipment>> search(@RequestParam(required = false) String status,
+                                                  @RequestParam(required = false) String brand,
+                                                  @RequestParam(required = false) String processor,
+                                                  @RequestParam(name = "min-ram-gb", required = false) Integer minRamGb,
+                                                  @RequestParam(name = "min-storage-gb", required = false) Integer minStorageGb,
+                                                  Pageable pageable) {
+        return ResponseEntity.ok(equipmentService.search(status, brand, processor, minRamGb, minStorageGb, pageable));
+    }
+
+    @ApiOperation(value = "Returns the equipments free to be lent during a period",
+            notes = "Standard set by ISO - 8601: yyyy-MM-dd. Both dates are inclusive. Equipment in maintenance or " +
+                    "with an approved loan overlapping the period is left out, busy equipment only when the period " +
+                    "includes today.",
+            tags = {"Equipment"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "A date is not properly written or the end comes before the start"),
+    })
+    @GetMapping("/available")
+    public ResponseEntity<List<Equipment>> findAvailable(@RequestParam String start, @RequestParam String end) {
+        return ResponseEntity.ok(equipmentService.findAvailable(start, end));
+    }
+
+    @ApiOperation(value = "Returns a equipment by its tombo",tags = {"Equipment"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "The equipment has not changed since the given ETag"),
+            @ApiResponse(code = 404, message = "Equipment not found in database"),
+    })
+    @GetMapping("/tombo/{tombo}")
+    public ResponseEntity<Equipment> findByTombo(@PathVariable String tombo, WebRequest request) {
+        Equipment equipment = equipmentService.findByTombo(tombo);
+        String eTag = ETags.of(equipment.getVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(equipment);
     }
 
     @ApiOperation(value = "Returns a equipment by id",tags = {"Equipment"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "The equipment has not changed since the given ETag"),
             @ApiResponse(code = 404, message = "Equipment not found in database"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Equipment> findById(@PathVariable Long id) {
+    public ResponseEntity<Equipment> findById(@PathVariable Long id, WebRequest request) {
         Equipment equipment = equipmentService.findById(id);
-        return ResponseEntity.ok(equipment);
+        String eTag = ETags.of(equipment.getVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(equipment);
     }
 
     @ApiOperation(value = "Save a equipment",tags = {"Equipment"})
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 409, message = "An equipment with this tombo is already registered"),
     })
     @PostMapping
     public ResponseEntity<Equipment> save(@RequestBody @Valid EquipmentPostRequestDTO requestDTO) {
@@ -59,11 +130,14 @@ public class EquipmentController {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
             @ApiResponse(code = 404, message = "Equipment not found in database"),
+            @ApiResponse(code = 409, message = "An equipment with this tombo is already registered"),
+            @ApiResponse(code = 412, message = "The equipment was modified since the ETag sent in If-Match"),
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Equipment> update(@PathVariable Long id, @RequestBody @Valid EquipmentPutRequestDTO requestDTO) {
-        Equipment equipment = equipmentService.update(id, requestDTO);
-        return ResponseEntity.ok(equipment);
+    public ResponseEntity<Equipment> update(@PathVariable Long id, @RequestBody @Valid EquipmentPutRequestDTO requestDTO,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Equipment equipment = equipmentService.update(id, requestDTO, IfMatch.parse(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(equipment.getVersion())).body(equipment);
     }
 
     @ApiOperation(value = "Update a equipment status",
@@ -72,11 +146,13 @@ public class EquipmentController {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
             @ApiResponse(code = 404, message = "Equipment not found in database"),
+            @ApiResponse(code = 412, message = "The equipment was modified since the ETag sent in If-Match"),
     })
     @PatchMapping("/update-status/{id}")
-    ResponseEntity<Equipment> updateStatus(@PathVariable Long id, @RequestBody @Valid EquipmentStatusPatchRequestDTO requestDTO) {
-        Equipment equipment =equipmentService.updateEquipmentStatus(id, requestDTO);
-        return ResponseEntity.ok(equipment);
+    ResponseEntity<Equipment> updateStatus(@PathVariable Long id, @RequestBody @Valid EquipmentStatusPatchRequestDTO requestDTO,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Equipment equipment = equipmentService.updateEquipmentStatus(id, requestDTO, IfMatch.parse(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(equipment.getVersion())).body(equipment);
     }
 
     @ApiOperation(value = "Delete a equipment by id",
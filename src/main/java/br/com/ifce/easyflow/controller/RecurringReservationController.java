@@ -0,0 +1,109 @@
+package br.com.ifce.easyflow.controller;
+
+import br.com.ifce.easyflow.controller.dto.booking.DateOccupantDTO;
+import br.com.ifce.easyflow.controller.dto.booking.OccurrenceDTO;
+import br.com.ifce.easyflow.controller.dto.booking.RecurringReservationRequestDTO;
+import br.com.ifce.easyflow.controller.dto.booking.RecurringReservationResponseDTO;
+import br.com.ifce.easyflow.controller.dto.booking.SkipOccurrenceRequestDTO;
+import br.com.ifce.easyflow.model.RecurringReservation;
+import br.com.ifce.easyflow.service.RecurringReservationService;
+import br.com.ifce.easyflow.service.RecurringRule;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/recurring-reservations")
+@RequiredArgsConstructor
+public class RecurringReservationController {
+
+    private final RecurringReservationService recurringReservationService;
+
+    @ApiOperation(value = "Returns a recurring reservation by id", tags = {"Recurring reservations"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Recurring reservation not found in database"),
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringReservationResponseDTO> findById(@PathVariable Long id) {
+        RecurringReservation reservation = recurringReservationService.findById(id);
+        return ResponseEntity.ok(RecurringReservationResponseDTO.from(RecurringRule.from(reservation)));
+    }
+
+    @ApiOperation(value = "Returns the dates a recurring reservation takes place on",
+            notes = "Occurrences are computed from the rule, skipped dates are left out. The range is limited to one year.",
+            tags = {"Recurring reservations"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Recurring reservation not found in database"),
+    })
+    @GetMapping("/{id}/occurrences")
+    public ResponseEntity<List<OccurrenceDTO>> findOccurrences(@PathVariable Long id,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(recurringReservationService.occurrences(id, from, to));
+    }
+
+    @ApiOperation(value = "Returns who is at a table on a date",
+            notes = "Lists recurring reservations occurring on the date, interval bookings and shift schedules of its weekday.",
+            tags = {"Recurring reservations"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+    })
+    @GetMapping("/occupants")
+    public ResponseEntity<List<DateOccupantDTO>> findOccupants(@RequestParam(name = "table-id") Long tableId,
+                                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(recurringReservationService.occupantsOn(tableId, date));
+    }
+
+    @ApiOperation(value = "Books a table every week between two dates",
+            notes = "Send either a shift or a start and end time on 30 minute boundaries.",
+            tags = {"Recurring reservations"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The rule is invalid"),
+            @ApiResponse(code = 404, message = "Table or person not found in database"),
+            @ApiResponse(code = 409, message = "The table is already booked for part of the rule"),
+    })
+    @PostMapping
+    public ResponseEntity<RecurringReservationResponseDTO> save(@RequestBody @Valid RecurringReservationRequestDTO requestDTO,
+                                                                UriComponentsBuilder uriBuilder) {
+        RecurringReservation reservation = recurringReservationService.save(requestDTO);
+        URI uri = uriBuilder.path("/recurring-reservations/{id}").buildAndExpand(reservation.getId()).toUri();
+        return ResponseEntity.created(uri).body(RecurringReservationResponseDTO.from(RecurringRule.from(reservation)));
+    }
+
+    @ApiOperation(value = "Skips one occurrence of a recurring reservation", tags = {"Recurring reservations"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The reservation has no occurrence on the date"),
+            @ApiResponse(code = 404, message = "Recurring reservation not found in database"),
+    })
+    @PostMapping("/{id}/exceptions")
+    public ResponseEntity<RecurringReservationResponseDTO> skip(@PathVariable Long id,
+                                                                @RequestBody @Valid SkipOccurrenceRequestDTO requestDTO) {
+        RecurringReservation reservation = recurringReservationService.skip(id, requestDTO.date());
+        return ResponseEntity.ok(RecurringReservationResponseDTO.from(RecurringRule.from(reservation)));
+    }
+
+    @ApiOperation(value = "Deletes a recurring reservation", tags = {"Recurring reservations"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Recurring reservation not found in database"),
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable Long id) {
+        recurringReservationService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
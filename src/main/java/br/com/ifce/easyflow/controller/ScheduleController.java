@@ -1,23 +1,29 @@
 package br.com.ifce.easyflow.controller;
 
 import br.com.ifce.easyflow.controller.dto.schedule.ScheduleApprovedRequestDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleBatchRequestDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleBatchResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleBookingTicketResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleGroupRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.SchedulePutRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.ScheduleResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSliceResponseDTO;
 import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.service.ScheduleBookingQueue;
+import br.com.ifce.easyflow.service.ScheduleBookingTicket;
 import br.com.ifce.easyflow.service.ScheduleService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.util.List;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/schedules")
@@ -25,15 +31,20 @@ import java.util.List;
 public class ScheduleController {
 
     private final ScheduleService scheduleService;
+    private final ScheduleBookingQueue scheduleBookingQueue;
 
-    @ApiOperation(value = "Returns a list of scheduled and unscheduled times",tags = {"Schedule"})
+    @ApiOperation(value = "Returns a list of scheduled and unscheduled times",
+            notes = "Results are ordered by day and shift. Send the nextCursor of a response as the cursor " +
+                    "parameter to fetch the following page, it is null on the last page.",
+            tags = {"Schedule"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "Invalid cursor or page size"),
     })
     @GetMapping
-    public ResponseEntity<List<Schedule>> listAll(Pageable pageable) {
-        Page<Schedule> schedules = scheduleService.listAll(pageable);
-        return ResponseEntity.ok(schedules.getContent());
+    public ResponseEntity<ScheduleSliceResponseDTO> listAll(@RequestParam(required = false) String cursor,
+                                                            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(scheduleService.listAll(cursor, size));
     }
 
     @ApiOperation(value = "Returns a scheduled times by id",tags = {"Schedule"})
@@ -54,9 +65,11 @@ public class ScheduleController {
             @ApiResponse(code = 404, message = "Person not found in database"),
     })
     @GetMapping("/person/{personId}")
-    public ResponseEntity<List<Schedule>> findByUserId(@PathVariable Long personId) {
-       List<Schedule> schedules = scheduleService.findByUserId(personId);
-       return ResponseEntity.ok(schedules);
+    public ResponseEntity<ScheduleSliceResponseDTO> findByUserId(@PathVariable Long personId,
+                                                                 @RequestParam(required = false) String cursor,
+                                                                 @RequestParam(defaultValue = "20") int size) {
+        ScheduleSliceResponseDTO schedules = scheduleService.findByUserId(personId, cursor, size);
+        return ResponseEntity.ok(schedules);
     }
 
     @ApiOperation(value = "Returns a list of scheduled times by table id",tags = {"Schedule"})
@@ -65,8 +78,10 @@ public class ScheduleController {
             @ApiResponse(code = 404, message = "Table not found in database"),
     })
     @GetMapping("/table/{tableId}")
-    public ResponseEntity<List<Schedule>> findByTableId(@PathVariable Long tableId) {
-        List<Schedule> schedules = scheduleService.findAllByTableId(tableId);
+    public ResponseEntity<ScheduleSliceResponseDTO> findByTableId(@PathVariable Long tableId,
+                                                                  @RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "20") int size) {
+        ScheduleSliceResponseDTO schedules = scheduleService.findAllByTableId(tableId, cursor, size);
         return ResponseEntity.ok(schedules);
     }
 
@@ -77,8 +92,10 @@ public class ScheduleController {
             @ApiResponse(code = 200, message = "Successful request"),
     })
     @GetMapping("/find-shift-schedule")
-    public ResponseEntity<List<Schedule>> findByShiftSchedule(@RequestParam(defaultValue = "Morning") String shiftSchedule) {
-        List<Schedule> schedules = scheduleService.findByShiftSchedule(shiftSchedule);
+    public ResponseEntity<ScheduleSliceResponseDTO> findByShiftSchedule(@RequestParam(defaultValue = "Morning") String shiftSchedule,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "20") int size) {
+        ScheduleSliceResponseDTO schedules = scheduleService.findByShiftSchedule(shiftSchedule, cursor, size);
         return ResponseEntity.ok(schedules);
     }
 
@@ -89,8 +106,10 @@ public class ScheduleController {
             @ApiResponse(code = 200, message = "Successful request"),
     })
     @GetMapping("/find-status")
-    public ResponseEntity<List<Schedule>> findByStatusSchedule(@RequestParam(defaultValue = "PENDING") String status) {
-        List<Schedule> schedules = scheduleService.findAllByStatus(status);
+    public ResponseEntity<ScheduleSliceResponseDTO> findByStatusSchedule(@RequestParam(defaultValue = "PENDING") String status,
+                                                                         @RequestParam(required = false) String cursor,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        ScheduleSliceResponseDTO schedules = scheduleService.findAllByStatus(status, cursor, size);
         return ResponseEntity.ok(schedules);
     }
 
@@ -101,8 +120,31 @@ public class ScheduleController {
             @ApiResponse(code = 200, message = "Successful request"),
     })
     @GetMapping("/find-day")
-    public ResponseEntity<List<Schedule>> findByDay(@RequestParam(defaultValue = "Monday") String day) {
-        List<Schedule> schedules = scheduleService.findByDay(day);
+    public ResponseEntity<ScheduleSliceResponseDTO> findByDay(@RequestParam(defaultValue = "Monday") String day,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "20") int size) {
+        ScheduleSliceResponseDTO schedules = scheduleService.findByDay(day, cursor, size);
+        return ResponseEntity.ok(schedules);
+    }
+
+    @ApiOperation(value = "Searches scheduled times by any combination of filters",
+            notes = "Every filter is optional: status (PENDING, APPROVED, DENIED), day (Monday to Sunday), " +
+                    "shift-schedule (Morning, Afternoon, Night), table-id and person-id. Results are ordered by " +
+                    "time slot; send the returned cursor to fetch the next page.",
+            tags = {"Schedule"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "A filter value does not exist or was not properly written"),
+    })
+    @GetMapping("/search")
+    public ResponseEntity<ScheduleSliceResponseDTO> search(@RequestParam(required = false) String status,
+                                                           @RequestParam(required = false) String day,
+                                                           @RequestParam(name = "shift-schedule", required = false) String shiftSchedule,
+                                                           @RequestParam(name = "table-id", required = false) Long tableId,
+                                                           @RequestParam(name = "person-id", required = false) Long personId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "20") int size) {
+        ScheduleSliceResponseDTO schedules = scheduleService.search(status, day, shiftSchedule, tableId, personId, cursor, size);
         return ResponseEntity.ok(schedules);
     }
 
@@ -110,6 +152,7 @@ public class ScheduleController {
             tags = {"Schedule"})
     @ApiResponses(value = {
             @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The table is already booked for this time, alternatives are listed in the body"),
             @ApiResponse(code = 404, message = "Person not found in database"),
     })
     @PostMapping("/create/{personId}")
@@ -118,6 +161,49 @@ public class ScheduleController {
         return ResponseEntity.created(uri).body(scheduleService.save(personId, requestDTO));
     }
 
+    @ApiOperation(value = "Save a group reservation",
+            notes = "Books every listed table in every listed slot for the person, or nothing if any of them is taken.",
+            tags = {"Schedule"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The group is too large, repeats a table or slot, or one of the pairs is already booked"),
+            @ApiResponse(code = 404, message = "Person or table not found in database"),
+    })
+    @PostMapping("/create/{personId}/group")
+    public ResponseEntity<List<Schedule>> saveGroup(@PathVariable Long personId,
+                                                    @RequestBody @Valid ScheduleGroupRequestDTO requestDTO) {
+        URI uri = URI.create("/create");
+        return ResponseEntity.created(uri).body(scheduleService.saveGroup(personId, requestDTO));
+    }
+
+    @ApiOperation(value = "Queue a schedule times request",
+            notes = "The request is processed in the background. Poll the returned ticket to know the result.",
+            tags = {"Schedule"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "Request accepted and queued"),
+            @ApiResponse(code = 429, message = "The booking queue is full, retry after the time in the Retry-After header"),
+    })
+    @PostMapping("/create/{personId}/async")
+    public ResponseEntity<ScheduleBookingTicketResponseDTO> saveAsync(@PathVariable Long personId,
+                                                                      @RequestBody @Valid List<SchedulePostRequestDTO> requestDTO) {
+        ScheduleBookingTicket ticket = scheduleBookingQueue.enqueue(personId, requestDTO);
+        URI uri = URI.create("/schedules/tickets/" + ticket.getId());
+        return ResponseEntity.accepted().location(uri).body(ScheduleBookingTicketResponseDTO.toResponseDTO(ticket));
+    }
+
+    @ApiOperation(value = "Returns the status of a queued schedule times request",
+            notes = "Statuses: QUEUED, PROCESSING, COMPLETED, FAILED",
+            tags = {"Schedule"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Ticket not found or already expired"),
+    })
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<ScheduleBookingTicketResponseDTO> findTicket(@PathVariable UUID ticketId) {
+        ScheduleBookingTicket ticket = scheduleBookingQueue.findTicket(ticketId);
+        return ResponseEntity.ok(ScheduleBookingTicketResponseDTO.toResponseDTO(ticket));
+    }
+
     @ApiOperation(value = "Approve a schedule times by id",
             tags = {"Schedule"})
     @ApiResponses(value = {
@@ -145,6 +231,30 @@ public class ScheduleController {
         return ResponseEntity.noContent().build();
     }
 
+    @ApiOperation(value = "Approve several schedule times at once",
+            notes = "Every id is reported in the response, with the reason when it could not be approved.",
+            tags = {"Schedule"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The list of ids is empty or too long"),
+    })
+    @PatchMapping("/approve")
+    public ResponseEntity<ScheduleBatchResponseDTO> approveSchedules(@RequestBody @Valid ScheduleBatchRequestDTO requestDTO) {
+        return ResponseEntity.ok(scheduleService.approveAll(requestDTO.getIds()));
+    }
+
+    @ApiOperation(value = "Deny several schedule times at once",
+            notes = "Every id is reported in the response, with the reason when it could not be denied.",
+            tags = {"Schedule"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The list of ids is empty or too long"),
+    })
+    @PatchMapping("/deny")
+    public ResponseEntity<ScheduleBatchResponseDTO> denySchedules(@RequestBody @Valid ScheduleBatchRequestDTO requestDTO) {
+        return ResponseEntity.ok(scheduleService.denyAll(requestDTO.getIds()));
+    }
+
     @ApiOperation(value = "Update a schedule time",
             tags = {"Schedule"})
     @ApiResponses(value = {
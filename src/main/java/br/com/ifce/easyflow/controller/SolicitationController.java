@@ -1,6 +1,8 @@
 package br.com.ifce.easyflow.controller;
 
 import br.com.ifce.easyflow.controller.dto.solicitation.ApprovedSolicitationDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationAutoApprovalRequestDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationBatchResponseDTO;
 import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationPostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationPutRequestDTO;
 import br.com.ifce.easyflow.model.Solicitation;
@@ -94,6 +96,21 @@ public class SolicitationController {
         return ResponseEntity.ok(solicitationService.findAllByEndDate(endDate, pageable).getContent());
     }
 
+    @ApiOperation(value = "Returns the approved loans overlapping a period",
+            notes = "Standard set by ISO - 8601: yyyy-MM-dd. Both dates are inclusive.",
+            tags = {"Solicitation"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "A date is not properly written or the end comes before the start"),
+    })
+    @GetMapping("/active")
+    public ResponseEntity<List<Solicitation>> findActiveLoans(@RequestParam String start,
+                                                              @RequestParam String end,
+                                                              Pageable pageable) {
+
+        return ResponseEntity.ok(solicitationService.findActiveLoans(start, end, pageable).getContent());
+    }
+
     @ApiOperation(value = "Save a solicitation",
             notes = "Standard set by ISO - 8601: yyyy-MM-dd",
             tags = {"Solicitation"})
@@ -121,7 +138,8 @@ public class SolicitationController {
     }
 
     @ApiOperation(value = "Approve a solicitation by id",
-            notes = "The request must have the status equal to pending, and the equipment must be available.",
+            notes = "The request must have the status equal to pending, and the equipment must be available and not lent " +
+                    "during any day of the requested period.",
             tags = {"Solicitation"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
@@ -134,6 +152,23 @@ public class SolicitationController {
 
     }
 
+    @ApiOperation(value = "Approve several solicitations at once, picking the equipment automatically",
+            notes = "Every solicitation gets a free device with at least min-ram-gb and min-storage-gb, the smallest " +
+                    "that fits first. Every id is reported in the response with the lent equipment, or with the " +
+                    "reason when it could not be approved.",
+            tags = {"Solicitation"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The list of ids is empty or too long, or a size is negative"),
+    })
+    @PatchMapping("/approve")
+    public ResponseEntity<SolicitationBatchResponseDTO> approveRequests(
+            @RequestBody @Valid SolicitationAutoApprovalRequestDTO requestDTO) {
+
+        return ResponseEntity.ok(solicitationService.approveAll(requestDTO.getIds(),
+                requestDTO.getMinRamGb(), requestDTO.getMinStorageGb()));
+    }
+
     @ApiOperation(value = "Deny a solicitation by id",
             notes = "The request must have the status equal to pending",
             tags = {"Solicitation"})
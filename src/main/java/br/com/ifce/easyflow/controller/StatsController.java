@@ -0,0 +1,46 @@
+package br.com.ifce.easyflow.controller;
+
+import br.com.ifce.easyflow.controller.dto.stats.LiveStatsResponseDTO;
+import br.com.ifce.easyflow.controller.dto.stats.LoanExpiryStatsDTO;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.LoanExpirySweeper;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final LiveStats liveStats;
+    private final LoanExpirySweeper loanExpirySweeper;
+
+    @ApiOperation(value = "Returns how many schedules, solicitations and equipment are in each status",
+            notes = "The counters are kept in memory and updated after each commit, so this endpoint never " +
+                    "queries the database. Schedules are also broken down by day and shift.",
+            tags = {"Stats"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+    })
+    @GetMapping("/live")
+    public ResponseEntity<LiveStatsResponseDTO> live() {
+        return ResponseEntity.ok(liveStats.snapshot());
+    }
+
+    @ApiOperation(value = "Returns the progress of the overdue loan sweeper",
+            notes = "Totals since the application started, plus the duration and result of the last sweep.",
+            tags = {"Stats"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+    })
+    @GetMapping("/loan-expiry")
+    public ResponseEntity<LoanExpiryStatsDTO> loanExpiry() {
+        return ResponseEntity.ok(loanExpirySweeper.stats());
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.ifce.easyflow.controller;
+
+import br.com.ifce.easyflow.controller.dto.booking.FreeWindowDTO;
+import br.com.ifce.easyflow.controller.dto.booking.TableBookingRequestDTO;
+import br.com.ifce.easyflow.controller.dto.booking.TableBookingResponseDTO;
+import br.com.ifce.easyflow.model.TableBooking;
+import br.com.ifce.easyflow.service.TableBookingService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.net.URI;
+import java.util.List;
+
+@RestController
+@RequestMapping("/table-bookings")
+@RequiredArgsConstructor
+public class TableBookingController {
+
+    private final TableBookingService tableBookingService;
+
+    @ApiOperation(value = "Returns a table booking by id", tags = {"Table bookings"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Booking not found in database"),
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<TableBookingResponseDTO> findById(@PathVariable Long id) {
+        return ResponseEntity.ok(TableBookingResponseDTO.from(tableBookingService.findById(id)));
+    }
+
+    @ApiOperation(value = "Returns the bookings of a table on a weekday", tags = {"Table bookings"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The day does not exist or was not properly written"),
+    })
+    @GetMapping
+    public ResponseEntity<List<TableBookingResponseDTO>> findByTableAndDay(@RequestParam(name = "table-id") Long tableId,
+                                                                           @RequestParam String day) {
+        return ResponseEntity.ok(tableBookingService.findByTableAndDay(tableId, day).stream()
+                .map(TableBookingResponseDTO::from)
+                .toList());
+    }
+
+    @ApiOperation(value = "Returns the free time windows of a table on a weekday",
+            notes = "Both interval bookings and approved or pending shift schedules count as busy time.",
+            tags = {"Table bookings"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Table not found in database"),
+    })
+    @GetMapping("/free-windows")
+    public ResponseEntity<List<FreeWindowDTO>> findFreeWindows(@RequestParam(name = "table-id") Long tableId,
+                                                               @RequestParam String day) {
+        return ResponseEntity.ok(tableBookingService.freeWindows(tableId, day));
+    }
+
+    @ApiOperation(value = "Books a table for a time interval",
+            notes = "Start and end must fall on 30 minute boundaries of the same day, e.g. 08:30 to 10:00.",
+            tags = {"Table bookings"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The interval is invalid"),
+            @ApiResponse(code = 404, message = "Table or person not found in database"),
+            @ApiResponse(code = 409, message = "The table is already booked for part of the interval"),
+    })
+    @PostMapping
+    public ResponseEntity<TableBookingResponseDTO> book(@RequestBody @Valid TableBookingRequestDTO requestDTO,
+                                                        UriComponentsBuilder uriBuilder) {
+        TableBooking booking = tableBookingService.book(requestDTO);
+        URI uri = uriBuilder.path("/table-bookings/{id}").buildAndExpand(booking.getId()).toUri();
+        return ResponseEntity.created(uri).body(TableBookingResponseDTO.from(booking));
+    }
+
+    @ApiOperation(value = "Cancels a table booking", tags = {"Table bookings"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Booking not found in database"),
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable Long id) {
+        tableBookingService.cancel(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,19 +2,26 @@ package br.com.ifce.easyflow.controller;
 
 import br.com.ifce.easyflow.controller.dto.table.LabTableUpdateRequestDTO;
 import br.com.ifce.easyflow.controller.dto.table.SearchTablesAvailableRequestDTO;
+import br.com.ifce.easyflow.controller.dto.table.TableOccupancyResponseDTO;
 import br.com.ifce.easyflow.controller.dto.table.TablePostRequestDTO;
 import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.service.IfMatch;
 import br.com.ifce.easyflow.service.TableService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.validation.Valid;
 import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -27,31 +34,72 @@ public class TableController {
     @ApiOperation(value = "Returns a list of tables",tags = {"Tables"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "No table has changed since the given ETag"),
     })
     @GetMapping
-    public ResponseEntity<List<LabTable>> findAll() {
-        return ResponseEntity.ok(tableService.findAll());
+    public ResponseEntity<List<LabTable>> findAll(WebRequest request) {
+        String eTag = ETags.of(tableService.listVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(tableService.findAll());
     }
 
     @ApiOperation(value = "Returns a table by id",tags = {"Tables"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "The table has not changed since the given ETag"),
             @ApiResponse(code = 404, message = "Table not found in database"),
     })
     @GetMapping("/{id}")
-    public ResponseEntity<LabTable> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(tableService.findById(id));
+    public ResponseEntity<LabTable> findById(@PathVariable Long id, WebRequest request) {
+        LabTable table = tableService.findById(id);
+        String eTag = ETags.of(table.getVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        return ResponseEntity.ok().eTag(eTag).body(table);
     }
 
     @ApiOperation(value = "Returns a list of available tables on the specified day and shift.",
-            notes = "Submit the day of the week and shift to return tables that are not tied to a time reservation.",
+            notes = "Submit the day of the week and shift as query parameters to return tables that are not tied " +
+                    "to a time reservation. The response carries an ETag, send it back in If-None-Match to revalidate.",
             tags = {"Tables"})
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 304, message = "Availability has not changed since the given ETag"),
     })
     @GetMapping("/available")
-    public ResponseEntity<List<LabTable>> findAvailableTables(@RequestBody @Valid SearchTablesAvailableRequestDTO requestDTO) {
-        return ResponseEntity.ok(tableService.tablesAvailable(requestDTO));
+    public ResponseEntity<List<LabTable>> findAvailableTables(@RequestParam(name = "shift-schedule") String shiftSchedule,
+                                                              @RequestParam String day,
+                                                              WebRequest request) {
+        String eTag = ETags.of(tableService.availabilityVersion());
+
+        if (request.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+
+        SearchTablesAvailableRequestDTO requestDTO = new SearchTablesAvailableRequestDTO(shiftSchedule, day);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(5)).cachePrivate())
+                .eTag(eTag)
+                .body(tableService.tablesAvailable(requestDTO));
+    }
+
+    @ApiOperation(value = "Returns the occupancy of every table for the whole week.",
+            notes = "For each day and shift only the occupied tables are listed, with the schedule status and the " +
+                    "person who booked it. Any registered table missing from a shift is free.",
+            tags = {"Tables"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+    })
+    @GetMapping("/occupancy")
+    public ResponseEntity<TableOccupancyResponseDTO> findWeeklyOccupancy() {
+        return ResponseEntity.ok(tableService.weeklyOccupancy());
     }
 
     @ApiOperation(value = "Save a table",
@@ -65,6 +113,9 @@ public class TableController {
 
         LabTable newTable = LabTable.builder()
                 .number(requestDTO.number())
+                .positionX(requestDTO.positionX())
+                .positionY(requestDTO.positionY())
+                .zone(requestDTO.zone())
                 .build();
 
         LabTable table = tableService.save(newTable);
@@ -77,11 +128,13 @@ public class TableController {
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "Successful request"),
             @ApiResponse(code = 404, message = "Table not found in database"),
+            @ApiResponse(code = 412, message = "The table was modified since the ETag sent in If-Match"),
     })
     @PutMapping("/{id}")
-    public ResponseEntity<LabTable> update(@PathVariable Long id, @RequestBody @Valid LabTableUpdateRequestDTO requestDTO) {
-        LabTable table = tableService.update(id, requestDTO);
-        return ResponseEntity.ok(table);
+    public ResponseEntity<LabTable> update(@PathVariable Long id, @RequestBody @Valid LabTableUpdateRequestDTO requestDTO,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        LabTable table = tableService.update(id, requestDTO, IfMatch.parse(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(table.getVersion())).body(table);
     }
 
     @ApiOperation(value = "Delete table by id",
@@ -0,0 +1,66 @@
+package br.com.ifce.easyflow.controller;
+
+import br.com.ifce.easyflow.controller.dto.waitlist.WaitlistRequestDTO;
+import br.com.ifce.easyflow.controller.dto.waitlist.WaitlistResponseDTO;
+import br.com.ifce.easyflow.model.WaitlistEntry;
+import br.com.ifce.easyflow.service.WaitlistService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiResponse;
+import io.swagger.annotations.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import javax.validation.Valid;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/waitlist")
+@RequiredArgsConstructor
+public class WaitlistController {
+
+    private final WaitlistService waitlistService;
+
+    @ApiOperation(value = "Returns a waitlist entry and how many people are ahead of it", tags = {"Waitlist"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Waitlist entry not found in database"),
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<WaitlistResponseDTO> findById(@PathVariable Long id) {
+        WaitlistEntry entry = waitlistService.findById(id);
+        return ResponseEntity.ok(WaitlistResponseDTO.from(entry, waitlistService.peopleAhead(entry)));
+    }
+
+    @ApiOperation(value = "Joins the waitlist of a booked table and shift",
+            notes = "When the slot is released by a denial, deletion, expiry or move, the first person in line gets " +
+                    "a pending schedule request in the transaction that released it and leaves the waitlist. A person " +
+                    "who can no longer be booked is dropped from the waitlist and the next one is tried.",
+            tags = {"Waitlist"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "Successful request"),
+            @ApiResponse(code = 400, message = "The slot is invalid or currently free"),
+            @ApiResponse(code = 404, message = "Table or person not found in database"),
+            @ApiResponse(code = 409, message = "The person is already waiting for this slot"),
+    })
+    @PostMapping("/{personId}")
+    public ResponseEntity<WaitlistResponseDTO> join(@PathVariable Long personId,
+                                                    @RequestBody @Valid WaitlistRequestDTO requestDTO,
+                                                    UriComponentsBuilder uriBuilder) {
+        WaitlistEntry entry = waitlistService.join(personId, requestDTO);
+        URI uri = uriBuilder.path("/waitlist/{id}").buildAndExpand(entry.getId()).toUri();
+        return ResponseEntity.created(uri).body(WaitlistResponseDTO.from(entry, waitlistService.peopleAhead(entry)));
+    }
+
+    @ApiOperation(value = "Leaves the waitlist", tags = {"Waitlist"})
+    @ApiResponses(value = {
+            @ApiResponse(code = 204, message = "Successful request"),
+            @ApiResponse(code = 404, message = "Waitlist entry not found in database"),
+    })
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> leave(@PathVariable Long id) {
+        waitlistService.leave(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,24 @@
+package br.com.ifce.easyflow.controller.dto.allocation;
+
+import br.com.ifce.easyflow.model.AllocationPreference;
+import br.com.ifce.easyflow.model.TimeSlot;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record AllocationPreferenceResponseDTO(
+        Short rank,
+        @JsonProperty(value = "table-id") Long tableId,
+        @JsonProperty(value = "table-number") Long tableNumber,
+        String day,
+        @JsonProperty(value = "shift-schedule") String shiftSchedule,
+        boolean granted) {
+
+    public static AllocationPreferenceResponseDTO from(AllocationPreference preference) {
+        TimeSlot timeSlot = preference.timeSlot();
+        return new AllocationPreferenceResponseDTO(preference.getRank(),
+                preference.getTable().getId(),
+                preference.getTable().getNumber(),
+                timeSlot.day().getLabel(),
+                timeSlot.shift().getLabel(),
+                preference.isGranted());
+    }
+}
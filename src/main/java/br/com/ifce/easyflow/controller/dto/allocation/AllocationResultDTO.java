@@ -0,0 +1,12 @@
+package br.com.ifce.easyflow.controller.dto.allocation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record AllocationResultDTO(
+        @JsonProperty(value = "round-id") Long roundId,
+        int people,
+        int preferences,
+        @JsonProperty(value = "seats-granted") int seatsGranted,
+        @JsonProperty(value = "people-without-seat") int peopleWithoutSeat,
+        @JsonProperty(value = "elapsed-ms") long elapsedMillis) {
+}
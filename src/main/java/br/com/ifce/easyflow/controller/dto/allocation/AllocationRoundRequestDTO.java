@@ -0,0 +1,23 @@
+package br.com.ifce.easyflow.controller.dto.allocation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.Instant;
+
+public record AllocationRoundRequestDTO(
+        @ApiModelProperty(value = "Round name", example = "2026.2 lab seats")
+        @NotBlank String name,
+        @ApiModelProperty(value = "When students can start sending preferences", example = "2026-07-20T12:00:00Z")
+        @JsonProperty(value = "opens-at")
+        @NotNull Instant opensAt,
+        @ApiModelProperty(value = "When preferences stop being accepted and seats are allocated", example = "2026-07-27T12:00:00Z")
+        @JsonProperty(value = "closes-at")
+        @NotNull Instant closesAt,
+        @ApiModelProperty(value = "How many seats a person can get in the round", example = "2")
+        @JsonProperty(value = "seats-per-person")
+        @NotNull @Min(1) Integer seatsPerPerson) {
+}
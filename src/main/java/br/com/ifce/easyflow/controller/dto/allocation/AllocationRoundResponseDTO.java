@@ -0,0 +1,27 @@
+package br.com.ifce.easyflow.controller.dto.allocation;
+
+import br.com.ifce.easyflow.model.AllocationRound;
+import br.com.ifce.easyflow.model.enums.AllocationRoundStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+public record AllocationRoundResponseDTO(
+        Long id,
+        String name,
+        @JsonProperty(value = "opens-at") Instant opensAt,
+        @JsonProperty(value = "closes-at") Instant closesAt,
+        @JsonProperty(value = "seats-per-person") Integer seatsPerPerson,
+        AllocationRoundStatus status,
+        @JsonProperty(value = "allocated-at") Instant allocatedAt) {
+
+    public static AllocationRoundResponseDTO from(AllocationRound round) {
+        return new AllocationRoundResponseDTO(round.getId(),
+                round.getName(),
+                round.getOpensAt(),
+                round.getClosesAt(),
+                round.getSeatsPerPerson(),
+                round.getStatus(),
+                round.getAllocatedAt());
+    }
+}
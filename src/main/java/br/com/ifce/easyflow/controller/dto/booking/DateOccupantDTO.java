@@ -0,0 +1,21 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalTime;
+
+public record DateOccupantDTO(
+        Source source,
+        Long id,
+        @JsonProperty(value = "person-id") Long personId,
+        @JsonProperty(value = "person-name") String personName,
+        @JsonFormat(pattern = "HH:mm") LocalTime start,
+        @JsonFormat(pattern = "HH:mm") LocalTime end) {
+
+    public enum Source {
+        SCHEDULE,
+        BOOKING,
+        RECURRING
+    }
+}
@@ -0,0 +1,10 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalTime;
+
+public record FreeWindowDTO(
+        @JsonFormat(pattern = "HH:mm") LocalTime start,
+        @JsonFormat(pattern = "HH:mm") LocalTime end) {
+}
@@ -0,0 +1,12 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record OccurrenceDTO(
+        LocalDate date,
+        @JsonFormat(pattern = "HH:mm") LocalTime start,
+        @JsonFormat(pattern = "HH:mm") LocalTime end) {
+}
@@ -0,0 +1,36 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public record RecurringReservationRequestDTO(
+        @ApiModelProperty(value = "Table id", example = "12")
+        @JsonProperty(value = "table-id")
+        @NotNull Long tableId,
+        @ApiModelProperty(value = "Person id", example = "1")
+        @JsonProperty(value = "person-id")
+        @NotNull Long personId,
+        @ApiModelProperty(value = "Weekday", example = "Tuesday")
+        @NotBlank String day,
+        @ApiModelProperty(value = "Whole shift to book, send it or start and end", example = "Morning")
+        @JsonProperty(value = "shift-schedule") String shiftSchedule,
+        @ApiModelProperty(value = "Start time, on a 30 minute boundary", example = "08:30")
+        @JsonFormat(pattern = "HH:mm") LocalTime start,
+        @ApiModelProperty(value = "End time, on a 30 minute boundary", example = "10:00")
+        @JsonFormat(pattern = "HH:mm") LocalTime end,
+        @ApiModelProperty(value = "First day of the reservation", example = "2026-08-03")
+        @JsonProperty(value = "start-date")
+        @NotNull LocalDate startDate,
+        @ApiModelProperty(value = "Last day of the reservation", example = "2026-12-18")
+        @JsonProperty(value = "end-date")
+        @NotNull LocalDate endDate,
+        @ApiModelProperty(value = "Dates without an occurrence, e.g. holidays", example = "[\"2026-11-03\"]")
+        List<@NotNull LocalDate> exceptions) {
+}
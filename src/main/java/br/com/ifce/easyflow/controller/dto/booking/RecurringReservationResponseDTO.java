@@ -0,0 +1,36 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.service.RecurringRule;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public record RecurringReservationResponseDTO(
+        Long id,
+        @JsonProperty(value = "table-id") Long tableId,
+        @JsonProperty(value = "person-id") Long personId,
+        @JsonProperty(value = "person-name") String personName,
+        WeekDay day,
+        @JsonFormat(pattern = "HH:mm") LocalTime start,
+        @JsonFormat(pattern = "HH:mm") LocalTime end,
+        @JsonProperty(value = "start-date") LocalDate startDate,
+        @JsonProperty(value = "end-date") LocalDate endDate,
+        List<LocalDate> exceptions) {
+
+    public static RecurringReservationResponseDTO from(RecurringRule rule) {
+        return new RecurringReservationResponseDTO(rule.id(),
+                rule.tableId(),
+                rule.personId(),
+                rule.personName(),
+                rule.day(),
+                rule.interval().startTime(),
+                rule.interval().endTime(),
+                rule.startDate(),
+                rule.endDate(),
+                rule.exceptions().stream().sorted().toList());
+    }
+}
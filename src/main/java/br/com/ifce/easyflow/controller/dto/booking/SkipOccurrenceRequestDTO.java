@@ -0,0 +1,11 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+public record SkipOccurrenceRequestDTO(
+        @ApiModelProperty(value = "Date of the occurrence to skip", example = "2026-11-03")
+        @NotNull LocalDate date) {
+}
@@ -0,0 +1,26 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import java.time.LocalTime;
+
+public record TableBookingRequestDTO(
+        @ApiModelProperty(value = "Table id", example = "1")
+        @JsonProperty(value = "table-id")
+        @NotNull Long tableId,
+        @ApiModelProperty(value = "Person id", example = "1")
+        @JsonProperty(value = "person-id")
+        @NotNull Long personId,
+        @ApiModelProperty(value = "Weekday", example = "Monday")
+        @NotBlank String day,
+        @ApiModelProperty(value = "Start time, on a 30 minute boundary", example = "08:30")
+        @JsonFormat(pattern = "HH:mm")
+        @NotNull LocalTime start,
+        @ApiModelProperty(value = "End time, on a 30 minute boundary", example = "10:00")
+        @JsonFormat(pattern = "HH:mm")
+        @NotNull LocalTime end) {
+}
@@ -0,0 +1,32 @@
+package br.com.ifce.easyflow.controller.dto.booking;
+
+import br.com.ifce.easyflow.model.TableBooking;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.LocalTime;
+
+public record TableBookingResponseDTO(
+        Long id,
+        @JsonProperty(value = "table-id") Long tableId,
+        @JsonProperty(value = "table-number") Long tableNumber,
+        @JsonProperty(value = "person-id") Long personId,
+        @JsonProperty(value = "person-name") String personName,
+        WeekDay day,
+        @JsonFormat(pattern = "HH:mm") LocalTime start,
+        @JsonFormat(pattern = "HH:mm") LocalTime end) {
+
+    public static TableBookingResponseDTO from(TableBooking booking) {
+        TimeInterval interval = booking.interval();
+        return new TableBookingResponseDTO(booking.getId(),
+                booking.getTable().getId(),
+                booking.getTable().getNumber(),
+                booking.getPerson().getId(),
+                booking.getPerson().getName(),
+                interval.day(),
+                interval.startTime(),
+                interval.endTime());
+    }
+}
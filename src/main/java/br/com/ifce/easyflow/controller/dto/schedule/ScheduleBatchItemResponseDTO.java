@@ -0,0 +1,27 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleBatchItemResponseDTO {
+
+    private Long id;
+    private boolean success;
+    private ScheduleRequestStatus status;
+    private String message;
+
+    public static ScheduleBatchItemResponseDTO succeeded(Long id, ScheduleRequestStatus status) {
+        return new ScheduleBatchItemResponseDTO(id, true, status, null);
+    }
+
+    public static ScheduleBatchItemResponseDTO failed(Long id, ScheduleRequestStatus status, String message) {
+        return new ScheduleBatchItemResponseDTO(id, false, status, message);
+    }
+}
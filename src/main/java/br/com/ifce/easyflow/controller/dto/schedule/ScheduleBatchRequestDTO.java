@@ -0,0 +1,26 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleBatchRequestDTO {
+    @ApiModelProperty(value = "Ids of the schedule requests",
+            example = "[1, 2, 3]")
+    @NotEmpty
+    @Size(max = 500)
+    @JsonProperty(value = "ids")
+    private List<@NotNull Long> ids;
+}
@@ -0,0 +1,22 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleBatchResponseDTO {
+
+    private int succeeded;
+    private int failed;
+    private List<ScheduleBatchItemResponseDTO> results;
+
+    public static ScheduleBatchResponseDTO of(List<ScheduleBatchItemResponseDTO> results) {
+        int succeeded = (int) results.stream().filter(ScheduleBatchItemResponseDTO::isSuccess).count();
+        return new ScheduleBatchResponseDTO(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,45 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import br.com.ifce.easyflow.model.enums.BookingTicketStatus;
+import br.com.ifce.easyflow.service.ScheduleBookingTicket;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleBookingTicketResponseDTO {
+
+    @JsonProperty("ticket-id")
+    private UUID ticketId;
+
+    private BookingTicketStatus status;
+
+    @JsonProperty("schedule-ids")
+    private List<Long> scheduleIds;
+
+    private String detail;
+
+    @JsonProperty("created-at")
+    private Instant createdAt;
+
+    @JsonProperty("finished-at")
+    private Instant finishedAt;
+
+    public static ScheduleBookingTicketResponseDTO toResponseDTO(ScheduleBookingTicket ticket) {
+        return new ScheduleBookingTicketResponseDTO(ticket.getId(),
+                ticket.getStatus(),
+                ticket.getScheduleIds(),
+                ticket.getDetail(),
+                ticket.getCreatedAt(),
+                ticket.getFinishedAt());
+    }
+}
@@ -0,0 +1,50 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleGroupRequestDTO {
+    @ApiModelProperty(value = "Ids of the tables the group needs",
+            example = "[4, 5, 6]")
+    @NotEmpty
+    @JsonProperty(value = "table-ids")
+    private List<@NotNull Long> tableIds;
+
+    @ApiModelProperty(value = "Day and shift pairs the group needs every table for")
+    @NotEmpty
+    @Valid
+    @JsonProperty(value = "slots")
+    private List<Slot> slots;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Slot {
+        @ApiModelProperty(value = "Weekday",
+                example = "Monday")
+        @JsonProperty(value = "day")
+        @NotBlank
+        private String day;
+
+        @ApiModelProperty(value = "Day shift",
+                example = "Morning")
+        @JsonProperty(value = "shift-schedule")
+        @NotBlank
+        private String shiftSchedule;
+    }
+}
@@ -19,8 +19,8 @@ public class ScheduleResponseDTO {
     private Person person;
 
     public static ScheduleResponseDTO toResponseDTO(Schedule schedule) {
-        return new ScheduleResponseDTO(schedule.getShiftSchedule(),
-                schedule.getDay(),
+        return new ScheduleResponseDTO(schedule.getShiftSchedule().getLabel(),
+                schedule.getDay().getLabel(),
 //                schedule.getTableNumber(),
                 schedule.getPerson());
     }
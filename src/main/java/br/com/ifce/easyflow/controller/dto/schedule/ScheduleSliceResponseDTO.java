@@ -0,0 +1,16 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduleSliceResponseDTO {
+
+    private List<ScheduleSummaryResponseDTO> content;
+    private String nextCursor;
+}
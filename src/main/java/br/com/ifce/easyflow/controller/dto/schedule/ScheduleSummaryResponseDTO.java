@@ -0,0 +1,51 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+// Filled straight from a JPQL constructor expression, the full Person is never loaded.
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ScheduleSummaryResponseDTO extends ScheduleResponseDTO {
+
+    private Long id;
+    @JsonIgnore
+    private Short slot;
+    private ScheduleRequestStatus status;
+    private Long tableId;
+    private Long tableNumber;
+    private Long personId;
+    private String personName;
+
+    public ScheduleSummaryResponseDTO(Long id,
+                                      Short slot,
+                                      WeekDay day,
+                                      ShiftSchedule shiftSchedule,
+                                      ScheduleRequestStatus status,
+                                      Long tableId,
+                                      Long tableNumber,
+                                      Long personId,
+                                      String personName) {
+        setDay(day != null ? day.getLabel() : null);
+        setShiftSchedule(shiftSchedule != null ? shiftSchedule.getLabel() : null);
+        this.id = id;
+        this.slot = slot;
+        this.status = status;
+        this.tableId = tableId;
+        this.tableNumber = tableNumber;
+        this.personId = personId;
+        this.personName = personName;
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.ifce.easyflow.controller.dto.schedule;
+
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.TimeSlot;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public record SlotAlternativeDTO(
+        @JsonProperty(value = "table-id") Long tableId,
+        @JsonProperty(value = "table-number") Long tableNumber,
+        String day,
+        @JsonProperty(value = "shift-schedule") String shiftSchedule,
+        Kind kind) {
+
+    public enum Kind {
+        OTHER_TABLE,
+        OTHER_SLOT
+    }
+
+    public static SlotAlternativeDTO of(LabTable table, TimeSlot timeSlot, Kind kind) {
+        return new SlotAlternativeDTO(table.getId(),
+                table.getNumber(),
+                timeSlot.day().getLabel(),
+                timeSlot.shift().getLabel(),
+                kind);
+    }
+}
@@ -0,0 +1,4 @@
+package br.com.ifce.easyflow.controller.dto.solicitation;
+
+public record LoanExpiryResultDTO(int expired, int released) {
+}
@@ -0,0 +1,39 @@
+package br.com.ifce.easyflow.controller.dto.solicitation;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SolicitationAutoApprovalRequestDTO {
+    @ApiModelProperty(value = "Ids of the pending solicitations",
+            example = "[1, 2, 3]")
+    @NotEmpty
+    @Size(max = 500)
+    @JsonProperty(value = "ids")
+    private List<@NotNull Long> ids;
+
+    @ApiModelProperty(value = "Minimum RAM, in GB, of the equipment lent to every solicitation",
+            example = "8")
+    @PositiveOrZero
+    @JsonProperty(value = "min-ram-gb")
+    private Integer minRamGb;
+
+    @ApiModelProperty(value = "Minimum storage, in GB, of the equipment lent to every solicitation",
+            example = "256")
+    @PositiveOrZero
+    @JsonProperty(value = "min-storage-gb")
+    private Integer minStorageGb;
+}
@@ -0,0 +1,32 @@
+package br.com.ifce.easyflow.controller.dto.solicitation;
+
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SolicitationBatchItemResponseDTO {
+
+    private Long id;
+    private boolean success;
+    private SolicitationStatus status;
+
+    @JsonProperty("equipment-id")
+    private Long equipmentId;
+
+    private String message;
+
+    public static SolicitationBatchItemResponseDTO succeeded(Long id, SolicitationStatus status, Long equipmentId) {
+        return new SolicitationBatchItemResponseDTO(id, true, status, equipmentId, null);
+    }
+
+    public static SolicitationBatchItemResponseDTO failed(Long id, SolicitationStatus status, String message) {
+        return new SolicitationBatchItemResponseDTO(id, false, status, null, message);
+    }
+}
@@ -0,0 +1,22 @@
+package br.com.ifce.easyflow.controller.dto.solicitation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SolicitationBatchResponseDTO {
+
+    private int succeeded;
+    private int failed;
+    private List<SolicitationBatchItemResponseDTO> results;
+
+    public static SolicitationBatchResponseDTO of(List<SolicitationBatchItemResponseDTO> results) {
+        int succeeded = (int) results.stream().filter(SolicitationBatchItemResponseDTO::isSuccess).count();
+        return new SolicitationBatchResponseDTO(succeeded, results.size() - succeeded, results);
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.ifce.easyflow.controller.dto.stats;
+
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record LiveStatsResponseDTO(
+        Map<ScheduleRequestStatus, Long> schedules,
+        Map<SolicitationStatus, Long> solicitations,
+        Map<EquipmentAvailabilityStatus, Long> equipment,
+        List<SlotStatsDTO> slots,
+        @JsonProperty(value = "seeded-at") Instant seededAt) {
+}
@@ -0,0 +1,16 @@
+package br.com.ifce.easyflow.controller.dto.stats;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+public record LoanExpiryStatsDTO(
+        long sweeps,
+        long expired,
+        long released,
+        long failures,
+        @JsonProperty(value = "chunk-size") int chunkSize,
+        @JsonProperty(value = "last-sweep-at") Instant lastSweepAt,
+        @JsonProperty(value = "last-sweep-millis") long lastSweepMillis,
+        @JsonProperty(value = "last-sweep-expired") int lastSweepExpired) {
+}
@@ -0,0 +1,13 @@
+package br.com.ifce.easyflow.controller.dto.stats;
+
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import java.util.Map;
+
+public record SlotStatsDTO(
+        WeekDay day,
+        ShiftSchedule shift,
+        Map<ScheduleRequestStatus, Long> schedules) {
+}
@@ -0,0 +1,10 @@
+package br.com.ifce.easyflow.controller.dto.table;
+
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import java.util.List;
+
+public record DayOccupancyDTO(
+        WeekDay day,
+        List<ShiftOccupancyDTO> shifts) {
+}
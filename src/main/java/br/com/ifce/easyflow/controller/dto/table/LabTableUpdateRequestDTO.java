@@ -9,5 +9,14 @@ public record LabTableUpdateRequestDTO(
         @ApiModelProperty(value = "Table number",
         example = "32")
         @JsonProperty(value = "number")
-        @NotNull Long number) {
+        @NotNull Long number,
+        @ApiModelProperty(value = "Column of the table on the lab floor plan", example = "3")
+        @JsonProperty(value = "position-x")
+        Integer positionX,
+        @ApiModelProperty(value = "Row of the table on the lab floor plan", example = "1")
+        @JsonProperty(value = "position-y")
+        Integer positionY,
+        @ApiModelProperty(value = "Area of the lab the table is in", example = "Window")
+        @JsonProperty(value = "zone")
+        String zone) {
 }
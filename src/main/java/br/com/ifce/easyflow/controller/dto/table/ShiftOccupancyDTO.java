@@ -0,0 +1,11 @@
+package br.com.ifce.easyflow.controller.dto.table;
+
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+
+import java.util.List;
+
+public record ShiftOccupancyDTO(
+        ShiftSchedule shift,
+        int free,
+        List<TableOccupantDTO> occupied) {
+}
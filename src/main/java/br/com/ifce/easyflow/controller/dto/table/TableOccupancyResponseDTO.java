@@ -0,0 +1,11 @@
+package br.com.ifce.easyflow.controller.dto.table;
+
+import br.com.ifce.easyflow.model.LabTable;
+
+import java.util.List;
+
+// Only occupied cells are listed, every table missing from a shift is free in it.
+public record TableOccupancyResponseDTO(
+        List<LabTable> tables,
+        List<DayOccupancyDTO> days) {
+}
@@ -0,0 +1,23 @@
+package br.com.ifce.easyflow.controller.dto.table;
+
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TableOccupantDTO(
+        @JsonProperty(value = "table-id") Long tableId,
+        @JsonProperty(value = "schedule-id") Long scheduleId,
+        ScheduleRequestStatus status,
+        @JsonProperty(value = "person-id") Long personId,
+        @JsonProperty(value = "person-name") String personName) {
+
+    public static TableOccupantDTO from(ScheduleRepository.OccupiedSlot slot) {
+        return new TableOccupantDTO(slot.getTableId(),
+                slot.getScheduleId(),
+                slot.getStatus(),
+                slot.getPersonId(),
+                slot.getPersonName());
+    }
+}
@@ -0,0 +1,18 @@
+package br.com.ifce.easyflow.controller.dto.waitlist;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.annotations.ApiModelProperty;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+
+public record WaitlistRequestDTO(
+        @ApiModelProperty(value = "Table id", example = "1")
+        @JsonProperty(value = "table-id")
+        @NotNull Long tableId,
+        @ApiModelProperty(value = "Weekday", example = "Monday")
+        @NotBlank String day,
+        @ApiModelProperty(value = "Day shift", example = "Morning")
+        @JsonProperty(value = "shift-schedule")
+        @NotBlank String shiftSchedule) {
+}
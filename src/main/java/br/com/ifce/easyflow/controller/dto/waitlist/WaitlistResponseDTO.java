@@ -0,0 +1,28 @@
+package br.com.ifce.easyflow.controller.dto.waitlist;
+
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.WaitlistEntry;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+public record WaitlistResponseDTO(
+        Long id,
+        @JsonProperty(value = "table-id") Long tableId,
+        @JsonProperty(value = "person-id") Long personId,
+        String day,
+        @JsonProperty(value = "shift-schedule") String shiftSchedule,
+        @JsonProperty(value = "created-at") Instant createdAt,
+        @JsonProperty(value = "people-ahead") long peopleAhead) {
+
+    public static WaitlistResponseDTO from(WaitlistEntry entry, long peopleAhead) {
+        TimeSlot timeSlot = entry.timeSlot();
+        return new WaitlistResponseDTO(entry.getId(),
+                entry.getTable().getId(),
+                entry.getPerson().getId(),
+                timeSlot.day().getLabel(),
+                timeSlot.shift().getLabel(),
+                entry.getCreatedAt(),
+                peopleAhead);
+    }
+}
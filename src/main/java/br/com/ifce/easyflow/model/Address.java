@@ -22,6 +22,10 @@ public class Address {
     @Column(name = "address_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(name = "municipality")
     private String municipality;
 
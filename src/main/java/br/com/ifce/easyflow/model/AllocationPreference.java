@@ -0,0 +1,53 @@
+package br.com.ifce.easyflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "allocation_preference",
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_allocation_preference_rank",
+                        columnNames = {"round_id", "person_id", "preference_rank"}),
+                @UniqueConstraint(name = "uk_allocation_preference_seat",
+                        columnNames = {"round_id", "person_id", "table_id", "slot"})
+        },
+        indexes = @Index(name = "idx_allocation_preference_table", columnList = "table_id"))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AllocationPreference {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "round_id", nullable = false)
+    private AllocationRound round;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "person_id", nullable = false)
+    private Person person;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "table_id", nullable = false)
+    private LabTable table;
+
+    @Column(nullable = false)
+    private Short slot;
+
+    // 1 is the seat the person wants most.
+    @Column(name = "preference_rank", nullable = false)
+    private Short rank;
+
+    @Column(nullable = false)
+    private boolean granted;
+
+    public TimeSlot timeSlot() {
+        return TimeSlot.ofCode(slot);
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.ifce.easyflow.model;
+
+import br.com.ifce.easyflow.model.enums.AllocationRoundStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+// A window in which students rank the seats they want. Seats are handed out all at once when the window closes.
+@Entity
+@Table(name = "allocation_round", indexes = {
+        @Index(name = "idx_allocation_round_status_closes", columnList = "status, closes_at")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AllocationRound {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
+    @Column(nullable = false)
+    private String name;
+
+    @Column(name = "opens_at", nullable = false)
+    private Instant opensAt;
+
+    @Column(name = "closes_at", nullable = false)
+    private Instant closesAt;
+
+    @Column(name = "seats_per_person", nullable = false)
+    private Integer seatsPerPerson;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AllocationRoundStatus status;
+
+    @Column(name = "allocated_at")
+    private Instant allocatedAt;
+
+    public boolean acceptsPreferences(Instant now) {
+        return status == AllocationRoundStatus.OPEN && !now.isBefore(opensAt) && now.isBefore(closesAt);
+    }
+}
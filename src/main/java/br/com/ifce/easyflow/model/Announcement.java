@@ -1,13 +1,17 @@
 package br.com.ifce.easyflow.model;
 
+import br.com.ifce.easyflow.model.listener.CollectionVersionListener;
+
 import java.time.LocalDate;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -17,6 +21,7 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "announcement")
+@EntityListeners(CollectionVersionListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -28,6 +33,10 @@ public class Announcement {
     @Column(name = "announcement_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(name = "announcement_title")
     private String title;
 
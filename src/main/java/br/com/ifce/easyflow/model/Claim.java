@@ -14,6 +14,7 @@ import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
 @Entity
 @Table(name = "claim")
@@ -29,6 +30,10 @@ public class Claim {
     @Column(name = "claim_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(name = "claim_user_name")
     private String user_name;
 
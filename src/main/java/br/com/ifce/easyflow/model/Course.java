@@ -1,5 +1,6 @@
 package br.com.ifce.easyflow.model;
 
+import br.com.ifce.easyflow.model.listener.CollectionVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -14,6 +15,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
 @Table(name = "course")
+@EntityListeners(CollectionVersionListener.class)
 @Inheritance(strategy = InheritanceType.JOINED)
 @Getter
 @Setter 
@@ -26,6 +28,10 @@ public class Course {
     @Column(name = "course_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(name = "course_name")
     private String name;
 
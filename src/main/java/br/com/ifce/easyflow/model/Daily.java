@@ -21,6 +21,10 @@ public class Daily {
     @Column(name = "daily_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
 
     @Column(name = "daily_task_status")
     @Enumerated(EnumType.STRING)
@@ -1,6 +1,7 @@
 package br.com.ifce.easyflow.model;
 
 import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.model.listener.CollectionVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -17,12 +18,22 @@ import javax.persistence.*;
 @Setter 
 @Builder
 @Entity
-@Table(name = "equipment")
+@Table(name = "equipment",
+        uniqueConstraints = @UniqueConstraint(name = "uk_equipment_tombo", columnNames = "tombo"),
+        indexes = {
+                @Index(name = "idx_equipment_status_ram", columnList = "equipment_status, ram_gb"),
+                @Index(name = "idx_equipment_status_storage", columnList = "equipment_status, storage_gb")
+        })
+@EntityListeners(CollectionVersionListener.class)
 public class Equipment {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     private String tombo;
 
     private String brand;
@@ -38,6 +49,20 @@ public class Equipment {
     @Column(length = 80)
     private String storageMemory;
 
+    // Sizes parsed from ramMemory and storageMemory so searches can compare them, null when none was recognized.
+    @Column(name = "ram_gb")
+    private Integer ramGb;
+
+    @Column(name = "storage_gb")
+    private Integer storageGb;
+
     @Enumerated(EnumType.STRING)
     private EquipmentAvailabilityStatus equipmentStatus;
+
+    @PrePersist
+    @PreUpdate
+    void syncSpecSizes() {
+        ramGb = SpecSize.gigabytes(ramMemory);
+        storageGb = SpecSize.gigabytes(storageMemory);
+    }
 }
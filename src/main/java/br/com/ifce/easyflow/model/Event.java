@@ -23,6 +23,10 @@ public class Event {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
     @Column(name = "image_url", columnDefinition = "TEXT")
@@ -1,5 +1,6 @@
 package br.com.ifce.easyflow.model;
 
+import br.com.ifce.easyflow.model.listener.CollectionVersionListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -9,6 +10,7 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "lab_table")
+@EntityListeners(CollectionVersionListener.class)
 @Data
 @Builder
 @AllArgsConstructor
@@ -17,5 +19,24 @@ public class LabTable {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     private Long number;
+
+    // Optional floor plan metadata, used to suggest physically nearby tables when a booking conflicts.
+    @Column(name = "position_x")
+    private Integer positionX;
+
+    @Column(name = "position_y")
+    private Integer positionY;
+
+    private String zone;
+
+    public LabTable(Long id, Long number) {
+        this.id = id;
+        this.number = number;
+    }
 }
@@ -28,6 +28,10 @@ public class Person {
     @Column(name = "person_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(name = "person_name")
     private String name;
 
@@ -0,0 +1,66 @@
+package br.com.ifce.easyflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+// A weekly booking between two dates. Occurrences are never stored, only the rule and the skipped dates.
+@Entity
+@Table(name = "recurring_reservation", indexes = {
+        @Index(name = "idx_recurring_reservation_table_start", columnList = "table_id, start_unit"),
+        @Index(name = "idx_recurring_reservation_person", columnList = "person_id")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecurringReservation {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "table_id", nullable = false)
+    private LabTable table;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "person_id", nullable = false)
+    private Person person;
+
+    @Column(name = "start_unit", nullable = false)
+    private Short startUnit;
+
+    @Column(name = "end_unit", nullable = false)
+    private Short endUnit;
+
+    @Column(nullable = false)
+    private LocalDate startDate;
+
+    @Column(nullable = false)
+    private LocalDate endDate;
+
+    @ElementCollection
+    @CollectionTable(name = "recurring_reservation_exception",
+            joinColumns = @JoinColumn(name = "reservation_id"))
+    @Column(name = "skipped_date")
+    @Builder.Default
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<LocalDate> exceptions = new HashSet<>();
+
+    public TimeInterval interval() {
+        return new TimeInterval(startUnit, endUnit);
+    }
+}
@@ -1,33 +0,0 @@
-package br.com.ifce.easyflow.model;
-
-import lombok.AllArgsConstructor;
-import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
-import javax.persistence.*;
-import java.util.List;
-
-@Entity
-@Data
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
-public class ReservedTables {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    private String shiftSchedule;
-
-    private String day;
-
-    @ManyToOne
-    @JoinColumn(name = "table_id")
-    private LabTable table;
-
-    @OneToOne(targetEntity = Schedule.class, cascade = CascadeType.ALL)
-    @JoinColumn(name = "schedule_id")
-    private Schedule schedule;
-}
@@ -1,12 +1,23 @@
 package br.com.ifce.easyflow.model;
 
+import br.com.ifce.easyflow.model.converter.ShiftScheduleConverter;
+import br.com.ifce.easyflow.model.converter.WeekDayConverter;
 import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
 import lombok.*;
 
 import javax.persistence.*;
+import java.time.Instant;
 
 @Entity
-@Table(name = "schedule")
+@Table(name = "schedule",
+        uniqueConstraints = @UniqueConstraint(name = "uk_schedule_table_slot", columnNames = {"table_id", "slot"}),
+        indexes = {
+                @Index(name = "idx_schedule_slot_status", columnList = "slot, status"),
+                @Index(name = "idx_schedule_status_slot", columnList = "status, slot"),
+                @Index(name = "idx_schedule_person_slot", columnList = "person_id, slot")
+        })
 @Data
 @Builder
 @AllArgsConstructor
@@ -18,10 +29,22 @@ public class Schedule {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    private String shiftSchedule;
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
 
-    private String day;
+    @Convert(converter = ShiftScheduleConverter.class)
+    private ShiftSchedule shiftSchedule;
 
+    @Convert(converter = WeekDayConverter.class)
+    private WeekDay day;
+
+    // Every listing seeks on (slot, id), a row without a slot would never show up in any of them. The column
+    // stays nullable here so ddl-auto can add it to old tables, ScheduleSlotMigration makes it not null once filled.
+    private Short slot;
+
+    // Only set while the request is pending or approved, denying or expiring it clears the table. Unique keys
+    // allow any number of nulls, so uk_schedule_table_slot keeps one active booking per table and slot.
     @OneToOne
     @JoinColumn(name = "table_id")
     private LabTable table;
@@ -29,6 +52,10 @@ public class Schedule {
     @Enumerated(EnumType.STRING)
     private ScheduleRequestStatus status;
 
+    // Start of the hold a pending request keeps on its table, null for rows created before holds expired.
+    @Column(name = "created_at")
+    private Instant createdAt;
+
     @OneToOne
     @JoinColumn(name = "person_id", nullable = false)
     private Person person;
@@ -40,4 +67,18 @@ public class Schedule {
     public void setPerson(Person person) {
         this.person = person;
     }
+
+    public TimeSlot timeSlot() {
+        if (day == null || shiftSchedule == null) {
+            throw new IllegalStateException("The schedule " + id + " has no day or shift, so it has no time slot.");
+        }
+        return new TimeSlot(day, shiftSchedule);
+    }
+
+    // A schedule without a day and a shift is rejected here, before it can be written without a slot.
+    @PrePersist
+    @PreUpdate
+    void syncSlot() {
+        slot = timeSlot().code();
+    }
 }
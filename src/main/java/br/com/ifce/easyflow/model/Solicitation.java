@@ -17,13 +17,20 @@ import java.time.LocalDate;
 @Builder
 @Getter
 @Setter
-@Table(name = "solicitation")
+@Table(name = "solicitation", indexes = {
+        @Index(name = "idx_solicitation_equipment_dates", columnList = "equipment_id, start_date, end_date"),
+        @Index(name = "idx_solicitation_status_end", columnList = "status, end_date")
+})
 @Entity
 public class Solicitation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(columnDefinition = "TEXT")
     private String justification;
 
@@ -35,7 +42,8 @@ public class Solicitation {
     @JoinColumn(name = "person_id")
     private Person person;
 
-    @OneToOne
+    // Set once approved. The same equipment is lent many times, to solicitations with disjoint dates.
+    @ManyToOne
     @JoinColumn(name = "equipment_id")
     private Equipment equipment;
 
@@ -0,0 +1,58 @@
+package br.com.ifce.easyflow.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Reads sizes such as "8gb", "16 GB DDR4", "2x8GB" or "SSD 256gb + HDD 1tb" out of the free text specs.
+// Every size with a unit is added up; a text made of a bare number is taken as gigabytes.
+public final class SpecSize {
+
+    private static final Pattern SIZE = Pattern.compile(
+            "(?<![\\w.])(?:(\\d+)\\s*x\\s*)?(\\d+(?:[.,]\\d+)?)\\s*(tb|gb|mb)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern BARE_NUMBER = Pattern.compile("\\s*(\\d+)\\s*");
+
+    private SpecSize() {
+    }
+
+    public static Integer gigabytes(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        Matcher bare = BARE_NUMBER.matcher(text);
+        if (bare.matches()) {
+            return toInt(new BigDecimal(bare.group(1)));
+        }
+
+        BigDecimal total = null;
+        Matcher matcher = SIZE.matcher(text);
+        while (matcher.find()) {
+            BigDecimal size = new BigDecimal(matcher.group(2).replace(',', '.'))
+                    .multiply(unit(matcher.group(3)));
+            if (matcher.group(1) != null) {
+                size = size.multiply(new BigDecimal(matcher.group(1)));
+            }
+            total = total == null ? size : total.add(size);
+        }
+
+        return total == null ? null : toInt(total);
+    }
+
+    private static BigDecimal unit(String unit) {
+        return switch (unit.toLowerCase(Locale.ROOT)) {
+            case "tb" -> BigDecimal.valueOf(1024);
+            case "mb" -> BigDecimal.ONE.divide(BigDecimal.valueOf(1024));
+            default -> BigDecimal.ONE;
+        };
+    }
+
+    private static Integer toInt(BigDecimal gigabytes) {
+        BigDecimal rounded = gigabytes.setScale(0, RoundingMode.FLOOR);
+        return rounded.compareTo(BigDecimal.valueOf(Integer.MAX_VALUE)) > 0 ? null : rounded.intValue();
+    }
+}
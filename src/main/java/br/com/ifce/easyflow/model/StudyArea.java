@@ -24,6 +24,10 @@ public class StudyArea {
     @Column(name = "study_area_id")
     private Long id;
 
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
     @Column(name = "study_area_name")
     private String name;
 
@@ -0,0 +1,45 @@
+package br.com.ifce.easyflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+@Entity
+@Table(name = "table_booking", indexes = {
+        @Index(name = "idx_table_booking_table_start", columnList = "table_id, start_unit"),
+        @Index(name = "idx_table_booking_person", columnList = "person_id")
+})
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TableBooking {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Version
+    @Column(columnDefinition = "bigint not null default 0")
+    private Long version;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "table_id", nullable = false)
+    private LabTable table;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "person_id", nullable = false)
+    private Person person;
+
+    @Column(name = "start_unit", nullable = false)
+    private Short startUnit;
+
+    @Column(name = "end_unit", nullable = false)
+    private Short endUnit;
+
+    public TimeInterval interval() {
+        return new TimeInterval(startUnit, endUnit);
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.ifce.easyflow.model;
+
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import java.time.LocalTime;
+import java.util.Optional;
+
+// A half-open range [start, end) of fixed-size units counted from the start of the week.
+public record TimeInterval(int start, int end) {
+
+    public static final int UNIT_MINUTES = 30;
+    public static final int UNITS_PER_DAY = 24 * 60 / UNIT_MINUTES;
+    public static final int WEEK_UNITS = WeekDay.values().length * UNITS_PER_DAY;
+
+    public static Optional<TimeInterval> of(WeekDay day, LocalTime start, LocalTime end) {
+        if (day == null || start == null || end == null || !isAligned(start) || !isAligned(end)) {
+            return Optional.empty();
+        }
+
+        int dayStart = day.ordinal() * UNITS_PER_DAY;
+        int startUnit = dayStart + unitsSinceMidnight(start);
+        // Midnight as the end means the booking runs to the end of the day.
+        int endUnit = dayStart + (end.equals(LocalTime.MIDNIGHT) ? UNITS_PER_DAY : unitsSinceMidnight(end));
+
+        return startUnit < endUnit ? Optional.of(new TimeInterval(startUnit, endUnit)) : Optional.empty();
+    }
+
+    public static TimeInterval of(TimeSlot timeSlot) {
+        return of(timeSlot.day(), timeSlot.shift().getStart(), timeSlot.shift().getEnd())
+                .orElseThrow(() -> new IllegalStateException("The shift times are not aligned to the booking unit."));
+    }
+
+    public static TimeInterval ofDay(WeekDay day) {
+        int dayStart = day.ordinal() * UNITS_PER_DAY;
+        return new TimeInterval(dayStart, dayStart + UNITS_PER_DAY);
+    }
+
+    public WeekDay day() {
+        return WeekDay.values()[start / UNITS_PER_DAY];
+    }
+
+    public LocalTime startTime() {
+        return toTime(start);
+    }
+
+    public LocalTime endTime() {
+        return toTime(end);
+    }
+
+    public boolean overlaps(TimeInterval other) {
+        return start < other.end && other.start < end;
+    }
+
+    private static LocalTime toTime(int unit) {
+        return LocalTime.MIDNIGHT.plusMinutes((long) (unit % UNITS_PER_DAY) * UNIT_MINUTES);
+    }
+
+    private static boolean isAligned(LocalTime time) {
+        return time.getSecond() == 0 && time.getNano() == 0 && time.getMinute() % UNIT_MINUTES == 0;
+    }
+
+    private static int unitsSinceMidnight(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / UNIT_MINUTES;
+    }
+}
@@ -0,0 +1,43 @@
+package br.com.ifce.easyflow.model;
+
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import java.util.Optional;
+
+public record TimeSlot(WeekDay day, ShiftSchedule shift) {
+
+    public static final int SHIFTS_PER_DAY = ShiftSchedule.values().length;
+    public static final int COUNT = WeekDay.values().length * SHIFTS_PER_DAY;
+
+    public short code() {
+        return (short) (day.ordinal() * SHIFTS_PER_DAY + shift.ordinal());
+    }
+
+    // Identifies one slot of one table, e.g. for locking it while it is booked.
+    public long keyOf(Long tableId) {
+        return keyOf(tableId, code());
+    }
+
+    public static long keyOf(Long tableId, short code) {
+        return tableId * COUNT + code;
+    }
+
+    public static TimeSlot ofCode(int code) {
+        return new TimeSlot(WeekDay.values()[code / SHIFTS_PER_DAY], ShiftSchedule.values()[code % SHIFTS_PER_DAY]);
+    }
+
+    public static short firstCodeOf(WeekDay day) {
+        return new TimeSlot(day, ShiftSchedule.values()[0]).code();
+    }
+
+    public static short lastCodeOf(WeekDay day) {
+        return new TimeSlot(day, ShiftSchedule.values()[SHIFTS_PER_DAY - 1]).code();
+    }
+
+    public static Optional<TimeSlot> parse(String day, String shiftSchedule) {
+        return WeekDay.fromText(day)
+                .flatMap(weekDay -> ShiftSchedule.fromText(shiftSchedule)
+                        .map(shift -> new TimeSlot(weekDay, shift)));
+    }
+}
@@ -0,0 +1,42 @@
+package br.com.ifce.easyflow.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import java.time.Instant;
+
+@Entity
+@Table(name = "waitlist_entry",
+        uniqueConstraints = @UniqueConstraint(name = "uk_waitlist_table_slot_person",
+                columnNames = {"table_id", "slot", "person_id"}),
+        indexes = @Index(name = "idx_waitlist_table_slot_id", columnList = "table_id, slot, id"))
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "table_id", nullable = false)
+    private LabTable table;
+
+    @ManyToOne(optional = false)
+    @JoinColumn(name = "person_id", nullable = false)
+    private Person person;
+
+    @Column(nullable = false)
+    private Short slot;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    public TimeSlot timeSlot() {
+        return TimeSlot.ofCode(slot);
+    }
+}
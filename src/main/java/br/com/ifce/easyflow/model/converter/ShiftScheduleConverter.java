@@ -0,0 +1,30 @@
+package br.com.ifce.easyflow.model.converter;
+
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Converter(autoApply = true)
+public class ShiftScheduleConverter implements AttributeConverter<ShiftSchedule, String> {
+
+    @Override
+    public String convertToDatabaseColumn(ShiftSchedule shift) {
+        return shift != null ? shift.getLabel() : null;
+    }
+
+    @Override
+    public ShiftSchedule convertToEntityAttribute(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        return ShiftSchedule.fromText(text)
+                .orElseThrow(() -> new IllegalArgumentException("The shift '" + text + "' stored in the database is not " +
+                        "recognized, expected one of: " + Arrays.stream(ShiftSchedule.values())
+                        .map(ShiftSchedule::getLabel)
+                        .collect(Collectors.joining(", "))));
+    }
+}
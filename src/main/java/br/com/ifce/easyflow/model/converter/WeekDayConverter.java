@@ -0,0 +1,31 @@
+package br.com.ifce.easyflow.model.converter;
+
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+@Converter(autoApply = true)
+public class WeekDayConverter implements AttributeConverter<WeekDay, String> {
+
+    @Override
+    public String convertToDatabaseColumn(WeekDay day) {
+        return day != null ? day.getLabel() : null;
+    }
+
+    @Override
+    public WeekDay convertToEntityAttribute(String text) {
+        if (text == null) {
+            return null;
+        }
+
+        // Returning null here would only fail later, far from the row, when the slot of the schedule is computed.
+        return WeekDay.fromText(text)
+                .orElseThrow(() -> new IllegalArgumentException("The weekday '" + text + "' stored in the database is not " +
+                        "recognized, expected one of: " + Arrays.stream(WeekDay.values())
+                        .map(WeekDay::getLabel)
+                        .collect(Collectors.joining(", "))));
+    }
+}
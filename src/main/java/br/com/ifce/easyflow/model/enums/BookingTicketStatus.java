@@ -0,0 +1,5 @@
+package br.com.ifce.easyflow.model.enums;
+
+public enum BookingTicketStatus {
+    QUEUED, PROCESSING, COMPLETED, FAILED
+}
@@ -0,0 +1,54 @@
+package br.com.ifce.easyflow.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Optional;
+
+// The ordinal is part of the persisted slot code, new values must only be appended.
+public enum ShiftSchedule {
+    MORNING("Morning", LocalTime.of(7, 0), LocalTime.of(12, 0)),
+    AFTERNOON("Afternoon", LocalTime.of(13, 0), LocalTime.of(18, 0)),
+    NIGHT("Night", LocalTime.of(18, 0), LocalTime.of(22, 0));
+
+    private final String label;
+    private final LocalTime start;
+    private final LocalTime end;
+
+    ShiftSchedule(String label, LocalTime start, LocalTime end) {
+        this.label = label;
+        this.start = start;
+        this.end = end;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    public LocalTime getStart() {
+        return start;
+    }
+
+    public LocalTime getEnd() {
+        return end;
+    }
+
+    public static Optional<ShiftSchedule> fromText(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+
+        String value = text.trim();
+        return Arrays.stream(values())
+                .filter(shift -> shift.label.equalsIgnoreCase(value) || shift.name().equalsIgnoreCase(value))
+                .findFirst();
+    }
+
+    @JsonCreator
+    static ShiftSchedule fromJson(String text) {
+        return fromText(text).orElse(null);
+    }
+}
@@ -1,5 +1,5 @@
 package br.com.ifce.easyflow.model.enums;
 
 public enum SolicitationStatus {
-    PENDING, APPROVED, DENIED
+    PENDING, APPROVED, DENIED, EXPIRED
 }
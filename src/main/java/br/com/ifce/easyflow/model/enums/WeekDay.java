@@ -0,0 +1,55 @@
+package br.com.ifce.easyflow.model.enums;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.Optional;
+
+// The ordinal is part of the persisted slot code, new values must only be appended.
+public enum WeekDay {
+    MONDAY("Monday"),
+    TUESDAY("Tuesday"),
+    WEDNESDAY("Wednesday"),
+    THURSDAY("Thursday"),
+    FRIDAY("Friday"),
+    SATURDAY("Saturday"),
+    SUNDAY("Sunday");
+
+    private final String label;
+
+    WeekDay(String label) {
+        this.label = label;
+    }
+
+    @JsonValue
+    public String getLabel() {
+        return label;
+    }
+
+    // Both enums run from Monday to Sunday.
+    public static WeekDay of(DayOfWeek dayOfWeek) {
+        return values()[dayOfWeek.ordinal()];
+    }
+
+    public DayOfWeek toDayOfWeek() {
+        return DayOfWeek.values()[ordinal()];
+    }
+
+    public static Optional<WeekDay> fromText(String text) {
+        if (text == null) {
+            return Optional.empty();
+        }
+
+        String value = text.trim();
+        return Arrays.stream(values())
+                .filter(day -> day.label.equalsIgnoreCase(value) || day.name().equalsIgnoreCase(value))
+                .findFirst();
+    }
+
+    @JsonCreator
+    static WeekDay fromJson(String text) {
+        return fromText(text).orElse(null);
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.ifce.easyflow.model.listener;
+
+import br.com.ifce.easyflow.service.CollectionVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+@Component
+@RequiredArgsConstructor
+public class CollectionVersionListener {
+
+    private final CollectionVersions collectionVersions;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    void changed(Object entity) {
+        collectionVersions.changed(entity);
+    }
+}
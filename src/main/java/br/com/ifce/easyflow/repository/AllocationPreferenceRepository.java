@@ -0,0 +1,47 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.AllocationPreference;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AllocationPreferenceRepository extends JpaRepository<AllocationPreference, Long> {
+
+    List<AllocationPreference> findByRoundIdAndPersonIdOrderByRankAsc(Long roundId, Long personId);
+
+    @Modifying
+    @Query("delete from AllocationPreference p where p.round.id = :roundId and p.person.id = :personId")
+    void deleteByRoundIdAndPersonId(@Param("roundId") Long roundId, @Param("personId") Long personId);
+
+    @Modifying
+    @Query("delete from AllocationPreference p where p.table.id = :tableId")
+    void deleteByTableId(@Param("tableId") Long tableId);
+
+    // Everything the solver needs in one flat read, without loading the entities.
+    @Query("select p.id as id, p.person.id as personId, p.person.person_representant as representant, " +
+            "p.table.id as tableId, p.slot as slot, p.rank as rank " +
+            "from AllocationPreference p where p.round.id = :roundId")
+    List<RankedChoice> findChoicesByRoundId(@Param("roundId") Long roundId);
+
+    @Modifying
+    @Query("update AllocationPreference p set p.granted = true where p.id in :ids")
+    int markGranted(@Param("ids") Collection<Long> ids);
+
+    interface RankedChoice {
+        Long getId();
+
+        Long getPersonId();
+
+        Boolean getRepresentant();
+
+        Long getTableId();
+
+        Short getSlot();
+
+        Short getRank();
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.AllocationRound;
+import br.com.ifce.easyflow.model.enums.AllocationRoundStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface AllocationRoundRepository extends JpaRepository<AllocationRound, Long> {
+
+    @Query("select r.id from AllocationRound r where r.status = :status and r.closesAt <= :now order by r.closesAt")
+    List<Long> findIdsClosedBefore(@Param("status") AllocationRoundStatus status, @Param("now") Instant now);
+}
@@ -1,7 +1,100 @@
 package br.com.ifce.easyflow.repository;
 
 import br.com.ifce.easyflow.model.Equipment;
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface EquipmentRepository extends JpaRepository<Equipment, Long> {
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface EquipmentRepository extends JpaRepository<Equipment, Long>, EquipmentSearchRepository {
+
+    String OVERLAPPING_LOAN = "select s.id from Solicitation s where s.equipment = e and s.status = :lent " +
+            "and s.startDate <= :end and s.endDate >= :start";
+
+    List<Equipment> findAllByEquipmentStatus(EquipmentAvailabilityStatus status);
+
+    List<Equipment> findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus status);
+
+    Optional<Equipment> findByTombo(String tombo);
+
+    boolean existsByTombo(String tombo);
+
+    boolean existsByTomboAndIdNot(String tombo, Long id);
+
+    @Modifying
+    @Query("update Equipment e set e.equipmentStatus = :status, e.version = e.version + 1 " +
+            "where e.id = :id and e.equipmentStatus = :expected")
+    int updateStatus(@Param("id") Long id,
+                     @Param("expected") EquipmentAvailabilityStatus expected,
+                     @Param("status") EquipmentAvailabilityStatus status);
+
+    // Takes the device for a loan that is already running. The update locks the row, so approvals of the same
+    // device run one after the other, and it matches nothing while another approved loan overlaps the period.
+    @Modifying
+    @Query("update Equipment e set e.equipmentStatus = :status, e.version = e.version + 1 " +
+            "where e.id = :id and e.equipmentStatus = :expected and not exists (" + OVERLAPPING_LOAN + ")")
+    int lendNow(@Param("id") Long id,
+                @Param("expected") EquipmentAvailabilityStatus expected,
+                @Param("status") EquipmentAvailabilityStatus status,
+                @Param("lent") SolicitationStatus lent,
+                @Param("start") LocalDate start,
+                @Param("end") LocalDate end);
+
+    // Books the device for a loan that is not running today and leaves its status alone, it only turns BUSY once
+    // the loan starts. Locks the row and checks the overlapping loans just like lendNow.
+    @Modifying
+    @Query("update Equipment e set e.version = e.version + 1 " +
+            "where e.id = :id and e.equipmentStatus <> :excluded and not exists (" + OVERLAPPING_LOAN + ")")
+    int reserve(@Param("id") Long id,
+                @Param("excluded") EquipmentAvailabilityStatus excluded,
+                @Param("lent") SolicitationStatus lent,
+                @Param("start") LocalDate start,
+                @Param("end") LocalDate end);
+
+    @Query("select e.id from Equipment e where e.equipmentStatus = :expected and exists (" +
+            "select s.id from Solicitation s where s.equipment = e and s.status = :lent " +
+            "and s.startDate <= :day and s.endDate >= :day)")
+    List<Long> findIdsLentOn(@Param("expected") EquipmentAvailabilityStatus expected,
+                             @Param("lent") SolicitationStatus lent,
+                             @Param("day") LocalDate day);
+
+    // Only touches equipment that a loan running on the given day holds.
+    @Modifying
+    @Query("update Equipment e set e.equipmentStatus = :status, e.version = e.version + 1 " +
+            "where e.id in :ids and e.equipmentStatus = :expected and exists (" +
+            "select s.id from Solicitation s where s.equipment = e and s.status = :lent " +
+            "and s.startDate <= :day and s.endDate >= :day)")
+    int updateStatusIfLent(@Param("ids") Collection<Long> ids,
+                           @Param("expected") EquipmentAvailabilityStatus expected,
+                           @Param("status") EquipmentAvailabilityStatus status,
+                           @Param("lent") SolicitationStatus lent,
+                           @Param("day") LocalDate day);
+
+    // Leaves alone equipment that another loan running on the given day still holds.
+    @Modifying
+    @Query("update Equipment e set e.equipmentStatus = :status, e.version = e.version + 1 " +
+            "where e.id in :ids and e.equipmentStatus = :expected and not exists (" +
+            "select s.id from Solicitation s where s.equipment = e and s.status = :lent " +
+            "and s.startDate <= :day and s.endDate >= :day)")
+    int updateStatusUnlessLent(@Param("ids") Collection<Long> ids,
+                               @Param("expected") EquipmentAvailabilityStatus expected,
+                               @Param("status") EquipmentAvailabilityStatus status,
+                               @Param("lent") SolicitationStatus lent,
+                               @Param("day") LocalDate day);
+
+    @Query("select e.equipmentStatus as status, count(e) as total from Equipment e group by e.equipmentStatus")
+    List<StatusCount> countByStatus();
+
+    interface StatusCount {
+        EquipmentAvailabilityStatus getStatus();
+
+        Long getTotal();
+    }
 }
@@ -0,0 +1,11 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+
+// Null fields are not filtered on.
+public record EquipmentSearchFilter(EquipmentAvailabilityStatus status,
+                                    String brand,
+                                    String processor,
+                                    Integer minRamGb,
+                                    Integer minStorageGb) {
+}
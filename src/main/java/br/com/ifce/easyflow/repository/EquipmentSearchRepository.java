@@ -0,0 +1,9 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.Equipment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface EquipmentSearchRepository {
+    Page<Equipment> search(EquipmentSearchFilter filter, Pageable pageable);
+}
@@ -0,0 +1,76 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.Equipment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Only the given filters end up in the where clause. Status with a minimum size is answered by the
+// (equipment_status, ram_gb) and (equipment_status, storage_gb) indexes; brand and processor narrow that down.
+public class EquipmentSearchRepositoryImpl implements EquipmentSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Equipment> search(EquipmentSearchFilter filter, Pageable pageable) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Equipment> query = builder.createQuery(Equipment.class);
+        Root<Equipment> equipment = query.from(Equipment.class);
+        query.select(equipment)
+                .where(predicates(builder, equipment, filter))
+                .orderBy(pageable.getSort().isSorted()
+                        ? QueryUtils.toOrders(pageable.getSort(), equipment, builder)
+                        : List.of(builder.asc(equipment.get("id"))));
+
+        List<Equipment> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        CriteriaQuery<Long> countQuery = builder.createQuery(Long.class);
+        Root<Equipment> counted = countQuery.from(Equipment.class);
+        countQuery.select(builder.count(counted)).where(predicates(builder, counted, filter));
+
+        return new PageImpl<>(content, pageable, entityManager.createQuery(countQuery).getSingleResult());
+    }
+
+    private static Predicate[] predicates(CriteriaBuilder builder, Root<Equipment> equipment, EquipmentSearchFilter filter) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.status() != null) {
+            predicates.add(builder.equal(equipment.get("equipmentStatus"), filter.status()));
+        }
+        if (filter.minRamGb() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(equipment.get("ramGb"), filter.minRamGb()));
+        }
+        if (filter.minStorageGb() != null) {
+            predicates.add(builder.greaterThanOrEqualTo(equipment.get("storageGb"), filter.minStorageGb()));
+        }
+        if (filter.brand() != null) {
+            predicates.add(builder.equal(builder.lower(equipment.get("brand")), filter.brand().toLowerCase(Locale.ROOT)));
+        }
+        if (filter.processor() != null) {
+            predicates.add(builder.like(builder.lower(equipment.get("processor")),
+                    "%" + escapeLike(filter.processor().toLowerCase(Locale.ROOT)) + "%", '\\'));
+        }
+
+        return predicates.toArray(Predicate[]::new);
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
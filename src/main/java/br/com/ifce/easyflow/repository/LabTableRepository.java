@@ -5,4 +5,6 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface LabTableRepository extends JpaRepository<LabTable, Long> {
     boolean existsByNumber(Long number);
+
+    boolean existsByNumberAndIdNot(Long number, Long id);
 }
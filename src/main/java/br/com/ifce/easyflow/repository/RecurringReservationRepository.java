@@ -0,0 +1,15 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.RecurringReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface RecurringReservationRepository extends JpaRepository<RecurringReservation, Long> {
+
+    boolean existsByTableId(Long tableId);
+
+    @Query("select distinct r from RecurringReservation r join fetch r.person left join fetch r.exceptions")
+    List<RecurringReservation> findAllWithExceptions();
+}
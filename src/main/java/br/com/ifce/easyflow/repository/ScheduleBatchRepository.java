@@ -0,0 +1,9 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.Schedule;
+
+import java.util.List;
+
+public interface ScheduleBatchRepository {
+    void insertAll(List<Schedule> schedules);
+}
@@ -0,0 +1,57 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.Schedule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class ScheduleBatchRepositoryImpl implements ScheduleBatchRepository {
+
+    private static final String INSERT_SCHEDULE = "insert into schedule " +
+            "(day, shift_schedule, slot, status, table_id, person_id, created_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Schedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SCHEDULE,
+                    Statement.RETURN_GENERATED_KEYS)) {
+
+                for (Schedule schedule : schedules) {
+                    statement.setString(1, schedule.getDay().getLabel());
+                    statement.setString(2, schedule.getShiftSchedule().getLabel());
+                    statement.setShort(3, schedule.timeSlot().code());
+                    statement.setString(4, schedule.getStatus().name());
+                    statement.setObject(5, schedule.getTable() != null ? schedule.getTable().getId() : null, Types.BIGINT);
+                    statement.setLong(6, schedule.getPerson().getId());
+                    statement.setTimestamp(7, schedule.getCreatedAt() != null ? Timestamp.from(schedule.getCreatedAt()) : null);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next()) {
+                        Schedule schedule = schedules.get(index++);
+                        schedule.setId(keys.getLong(1));
+                        schedule.setVersion(0L);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
@@ -1,20 +1,158 @@
 package br.com.ifce.easyflow.repository;
 
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO;
 import br.com.ifce.easyflow.model.Schedule;
 import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
-public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
-    Optional<List<Schedule>> findByPersonId(Long personId);
+public interface ScheduleRepository extends JpaRepository<Schedule, Long>, ScheduleBatchRepository,
+        ScheduleSearchRepository {
+
+    String SUMMARY_SELECT = "select new br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO(" +
+            "s.id, s.slot, s.day, s.shiftSchedule, s.status, t.id, t.number, p.id, p.name) " +
+            "from Schedule s left join s.table t join s.person p ";
+
+    // Seek past the last row returned, so every page is an index range scan whatever its depth.
+    String AFTER_CURSOR = "(s.slot > :slot or (s.slot = :slot and s.id > :id)) ";
+
+    String SLOT_ORDER = "order by s.slot, s.id";
+
+    boolean existsByTableId(Long tableId);
+
+    boolean existsByTableIdAndSlot(Long tableId, Short slot);
+
+    boolean existsByTableIdAndSlotAndIdNot(Long tableId, Short slot, Long id);
+
+    @Query("select s.table.id as tableId, s.slot as slot " +
+            "from Schedule s where s.table is not null and s.slot is not null")
+    List<ReservedSlot> findAllReservedSlots();
+
+    @Query("select s.table.id as tableId, s.slot as slot " +
+            "from Schedule s " +
+            "where s.table.id in :tableIds and s.slot in :slots")
+    List<ReservedSlot> findReservedSlots(@Param("tableIds") Collection<Long> tableIds,
+                                         @Param("slots") Collection<Short> slots);
+
+    @Query("select s.slot as slot, s.table.id as tableId, s.id as scheduleId, s.status as status, " +
+            "p.id as personId, p.name as personName " +
+            "from Schedule s join s.person p " +
+            "where s.table is not null and s.slot is not null " +
+            "order by s.slot, s.table.id")
+    List<OccupiedSlot> findOccupancy();
+
+    @Query(SUMMARY_SELECT + "where " + AFTER_CURSOR + SLOT_ORDER)
+    List<ScheduleSummaryResponseDTO> findSummariesAfter(@Param("slot") Short slot,
+                                                        @Param("id") Long id,
+                                                        Pageable limit);
+
+    @Query(SUMMARY_SELECT + "where s.slot in :slots and " + AFTER_CURSOR + SLOT_ORDER)
+    List<ScheduleSummaryResponseDTO> findSummariesBySlotInAfter(@Param("slots") Collection<Short> slots,
+                                                                @Param("slot") Short slot,
+                                                                @Param("id") Long id,
+                                                                Pageable limit);
+
+    @Query(SUMMARY_SELECT + "where s.slot between :firstSlot and :lastSlot and " + AFTER_CURSOR + SLOT_ORDER)
+    List<ScheduleSummaryResponseDTO> findSummariesBySlotBetweenAfter(@Param("firstSlot") Short firstSlot,
+                                                                     @Param("lastSlot") Short lastSlot,
+                                                                     @Param("slot") Short slot,
+                                                                     @Param("id") Long id,
+                                                                     Pageable limit);
+
+    @Query(SUMMARY_SELECT + "where s.status = :status and " + AFTER_CURSOR + SLOT_ORDER)
+    List<ScheduleSummaryResponseDTO> findSummariesByStatusAfter(@Param("status") ScheduleRequestStatus status,
+                                                                @Param("slot") Short slot,
+                                                                @Param("id") Long id,
+                                                                Pageable limit);
+
+    @Query(SUMMARY_SELECT + "where t.id = :tableId and " + AFTER_CURSOR + SLOT_ORDER)
+    List<ScheduleSummaryResponseDTO> findSummariesByTableIdAfter(@Param("tableId") Long tableId,
+                                                                 @Param("slot") Short slot,
+                                                                 @Param("id") Long id,
+                                                                 Pageable limit);
+
+    @Query(SUMMARY_SELECT + "where p.id = :personId and " + AFTER_CURSOR + SLOT_ORDER)
+    List<ScheduleSummaryResponseDTO> findSummariesByPersonIdAfter(@Param("personId") Long personId,
+                                                                  @Param("slot") Short slot,
+                                                                  @Param("id") Long id,
+                                                                  Pageable limit);
+
+    // Locks the schedules so the status checked here is still the one the bulk update sees.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id as id, s.status as status, t.id as tableId, s.slot as slot " +
+            "from Schedule s left join s.table t " +
+            "where s.id in :ids")
+    List<ScheduleTransition> findTransitionsForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Schedule s set s.status = :status, s.version = s.version + 1 where s.id in :ids and s.status = :expected")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("expected") ScheduleRequestStatus expected,
+                     @Param("status") ScheduleRequestStatus status);
+
+    @Modifying
+    @Query("update Schedule s set s.status = :status, s.table = null, s.version = s.version + 1 where s.id in :ids and s.status = :expected")
+    int updateStatusAndReleaseTable(@Param("ids") Collection<Long> ids,
+                                    @Param("expected") ScheduleRequestStatus expected,
+                                    @Param("status") ScheduleRequestStatus status);
+
+    @Query("select s.id as id, s.createdAt as createdAt from Schedule s where s.status = :status")
+    List<ScheduleHold> findHoldsByStatus(@Param("status") ScheduleRequestStatus status);
+
+    @Query("select s.status as status, s.slot as slot, count(s) as total from Schedule s group by s.status, s.slot")
+    List<StatusSlotCount> countByStatusAndSlot();
+
+    interface ScheduleHold {
+        Long getId();
+
+        Instant getCreatedAt();
+    }
+
+    interface ScheduleTransition {
+        Long getId();
+
+        ScheduleRequestStatus getStatus();
+
+        Long getTableId();
+
+        Short getSlot();
+    }
+
+    interface StatusSlotCount {
+        ScheduleRequestStatus getStatus();
+
+        Short getSlot();
+
+        Long getTotal();
+    }
+
+    interface ReservedSlot {
+        Long getTableId();
+
+        Short getSlot();
+    }
+
+    interface OccupiedSlot {
+        Short getSlot();
+
+        Long getTableId();
 
-    List<Schedule> findByShiftSchedule(String shiftSchedule);
+        Long getScheduleId();
 
-    List<Schedule> findByDay(String day);
+        ScheduleRequestStatus getStatus();
 
-    List<Schedule> findAllByStatus(ScheduleRequestStatus valueOf);
+        Long getPersonId();
 
-    List<Schedule> findAllByTableId(Long id);
+        String getPersonName();
+    }
 }
@@ -0,0 +1,12 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+
+import java.util.Collection;
+
+// Null fields are not filtered on.
+public record ScheduleSearchFilter(ScheduleRequestStatus status,
+                                   Collection<Short> slots,
+                                   Long tableId,
+                                   Long personId) {
+}
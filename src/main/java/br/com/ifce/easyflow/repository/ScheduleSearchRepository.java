@@ -0,0 +1,9 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO;
+
+import java.util.List;
+
+public interface ScheduleSearchRepository {
+    List<ScheduleSummaryResponseDTO> searchSummariesAfter(ScheduleSearchFilter filter, Short slot, Long id, int limit);
+}
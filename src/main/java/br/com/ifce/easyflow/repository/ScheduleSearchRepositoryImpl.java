@@ -0,0 +1,74 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.Schedule;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only the given filters end up in the where clause, so every combination is answered by one query
+// over the schedule indexes (status, slot), (slot, status), (table_id, slot) and (person_id, slot).
+public class ScheduleSearchRepositoryImpl implements ScheduleSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ScheduleSummaryResponseDTO> searchSummariesAfter(ScheduleSearchFilter filter, Short slot, Long id, int limit) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ScheduleSummaryResponseDTO> query = builder.createQuery(ScheduleSummaryResponseDTO.class);
+
+        Root<Schedule> schedule = query.from(Schedule.class);
+        Join<Schedule, LabTable> table = schedule.join("table", JoinType.LEFT);
+        Join<Schedule, Person> person = schedule.join("person");
+        Path<Short> slotPath = schedule.get("slot");
+        Path<Long> idPath = schedule.get("id");
+
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.status() != null) {
+            predicates.add(builder.equal(schedule.get("status"), filter.status()));
+        }
+        if (filter.slots() != null) {
+            predicates.add(slotPath.in(filter.slots()));
+        }
+        if (filter.tableId() != null) {
+            predicates.add(builder.equal(table.get("id"), filter.tableId()));
+        }
+        if (filter.personId() != null) {
+            predicates.add(builder.equal(person.get("id"), filter.personId()));
+        }
+
+        predicates.add(builder.or(
+                builder.greaterThan(slotPath, slot),
+                builder.and(builder.equal(slotPath, slot), builder.greaterThan(idPath, id))));
+
+        query.select(builder.construct(ScheduleSummaryResponseDTO.class,
+                        idPath,
+                        slotPath,
+                        schedule.get("day"),
+                        schedule.get("shiftSchedule"),
+                        schedule.get("status"),
+                        table.get("id"),
+                        table.get("number"),
+                        person.get("id"),
+                        person.get("name")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(builder.asc(slotPath), builder.asc(idPath));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,11 +1,19 @@
 package br.com.ifce.easyflow.repository;
 
 import br.com.ifce.easyflow.model.Solicitation;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 public interface SolicitationRepository extends JpaRepository<Solicitation, Long> {
     Page<Solicitation> findAllByPersonId(Long personId, Pageable pageable);
@@ -15,4 +23,62 @@ public interface SolicitationRepository extends JpaRepository<Solicitation, Long
     Page<Solicitation> findAllByStartDate(LocalDate date, Pageable pageable);
 
     Page<Solicitation> findAllByEndDate(LocalDate date, Pageable pageable);
+
+    @Query("select count(s) > 0 from Solicitation s where s.equipment.id = :equipmentId and s.status = :status " +
+            "and s.startDate <= :end and s.endDate >= :start and s.id <> :ignoredId")
+    boolean existsOverlappingLoan(@Param("equipmentId") Long equipmentId,
+                                  @Param("status") SolicitationStatus status,
+                                  @Param("start") LocalDate start,
+                                  @Param("end") LocalDate end,
+                                  @Param("ignoredId") Long ignoredId);
+
+    @Query("select s from Solicitation s where s.status in :statuses and s.endDate >= :start and s.startDate <= :end")
+    Page<Solicitation> findOverlapping(@Param("statuses") Collection<SolicitationStatus> statuses,
+                                       @Param("start") LocalDate start,
+                                       @Param("end") LocalDate end,
+                                       Pageable pageable);
+
+    @Query("select s.id as id, s.equipment.id as equipmentId, s.startDate as startDate, s.endDate as endDate " +
+            "from Solicitation s where s.status = :status and s.equipment is not null " +
+            "and s.startDate is not null and s.endDate is not null")
+    List<LoanInterval> findLoanIntervals(@Param("status") SolicitationStatus status);
+
+    @Query("select s.id from Solicitation s where s.status = :status and s.endDate < :day order by s.endDate, s.id")
+    List<Long> findIdsEndedBefore(@Param("status") SolicitationStatus status,
+                                  @Param("day") LocalDate day,
+                                  Pageable limit);
+
+    // Locks the loans so the ones expired here are exactly the ones whose equipment gets released.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s.id as id, e.id as equipmentId, s.startDate as startDate, s.endDate as endDate " +
+            "from Solicitation s left join s.equipment e " +
+            "where s.id in :ids and s.status = :status and s.endDate < :day")
+    List<LoanInterval> findEndedLoansForUpdate(@Param("ids") Collection<Long> ids,
+                                               @Param("status") SolicitationStatus status,
+                                               @Param("day") LocalDate day);
+
+    @Modifying
+    @Query("update Solicitation s set s.status = :status, s.version = s.version + 1 where s.id in :ids and s.status = :expected")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("expected") SolicitationStatus expected,
+                     @Param("status") SolicitationStatus status);
+
+    @Query("select s.status as status, count(s) as total from Solicitation s group by s.status")
+    List<StatusCount> countByStatus();
+
+    interface LoanInterval {
+        Long getId();
+
+        Long getEquipmentId();
+
+        LocalDate getStartDate();
+
+        LocalDate getEndDate();
+    }
+
+    interface StatusCount {
+        SolicitationStatus getStatus();
+
+        Long getTotal();
+    }
 }
@@ -0,0 +1,36 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.TableBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TableBookingRepository extends JpaRepository<TableBooking, Long> {
+
+    boolean existsByTableId(Long tableId);
+
+    @Query("select count(b) > 0 from TableBooking b " +
+            "where b.table.id = :tableId and b.startUnit < :end and b.endUnit > :start")
+    boolean existsOverlapping(@Param("tableId") Long tableId,
+                              @Param("start") short start,
+                              @Param("end") short end);
+
+    @Query("select b from TableBooking b join fetch b.person " +
+            "where b.table.id = :tableId and b.startUnit < :end and b.endUnit > :start order by b.startUnit")
+    List<TableBooking> findOverlapping(@Param("tableId") Long tableId,
+                                       @Param("start") short start,
+                                       @Param("end") short end);
+
+    @Query("select b.table.id as tableId, b.startUnit as startUnit, b.endUnit as endUnit from TableBooking b")
+    List<BookedInterval> findAllBookedIntervals();
+
+    interface BookedInterval {
+        Long getTableId();
+
+        Short getStartUnit();
+
+        Short getEndUnit();
+    }
+}
@@ -0,0 +1,26 @@
+package br.com.ifce.easyflow.repository;
+
+import br.com.ifce.easyflow.model.WaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.util.Optional;
+
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Ids grow with arrival time, so the head of a queue is a single seek on (table_id, slot, id).
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<WaitlistEntry> findFirstByTableIdAndSlotOrderByIdAsc(Long tableId, Short slot);
+
+    long countByTableIdAndSlotAndIdLessThan(Long tableId, Short slot, Long id);
+
+    boolean existsByTableIdAndSlotAndPersonId(Long tableId, Short slot, Long personId);
+
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.table.id = :tableId")
+    void deleteByTableId(@Param("tableId") Long tableId);
+}
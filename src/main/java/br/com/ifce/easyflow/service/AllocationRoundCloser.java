@@ -0,0 +1,35 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationResultDTO;
+import br.com.ifce.easyflow.model.enums.AllocationRoundStatus;
+import br.com.ifce.easyflow.repository.AllocationRoundRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+// Allocates rounds whose window has closed. Each round runs in its own transaction, so one failing round
+// is retried on the next check without holding back the others.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AllocationRoundCloser {
+
+    private final AllocationRoundRepository allocationRoundRepository;
+    private final AllocationRoundService allocationRoundService;
+
+    @Scheduled(fixedDelayString = "${allocation.close-check-ms:60000}")
+    public void allocateClosedRounds() {
+        for (Long roundId : allocationRoundRepository.findIdsClosedBefore(AllocationRoundStatus.OPEN, Instant.now())) {
+            try {
+                AllocationResultDTO result = allocationRoundService.allocate(roundId);
+                log.info("Allocated round {}: {} seats for {} people in {} ms",
+                        roundId, result.seatsGranted(), result.people(), result.elapsedMillis());
+            } catch (RuntimeException e) {
+                log.warn("Could not allocate round {}: {}", roundId, e.getMessage());
+            }
+        }
+    }
+}
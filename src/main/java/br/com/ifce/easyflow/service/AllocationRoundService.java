@@ -0,0 +1,238 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationPreferenceRequestDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationResultDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationRoundRequestDTO;
+import br.com.ifce.easyflow.exception.PersonNotFoundException;
+import br.com.ifce.easyflow.model.AllocationPreference;
+import br.com.ifce.easyflow.model.AllocationRound;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.AllocationRoundStatus;
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.repository.AllocationPreferenceRepository;
+import br.com.ifce.easyflow.repository.AllocationRoundRepository;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+@Service
+@RequiredArgsConstructor
+public class AllocationRoundService {
+
+    private final AllocationRoundRepository allocationRoundRepository;
+    private final AllocationPreferenceRepository allocationPreferenceRepository;
+    private final PersonRepository personRepository;
+    private final LabTableRepository labTableRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final TableOccupancyIndex tableOccupancyIndex;
+    private final TableIntervalIndex tableIntervalIndex;
+    private final RecurringReservationIndex recurringReservationIndex;
+    private final SlotLockRegistry slotLockRegistry;
+    private final LiveStats liveStats;
+
+    @Value("${allocation.max-preferences:10}")
+    private int maxPreferences = 10;
+
+    public AllocationRound findById(Long id) {
+        return allocationRoundRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No allocation round was found with the given id."));
+    }
+
+    @Transactional
+    public AllocationRound create(AllocationRoundRequestDTO requestDTO) {
+        if (!requestDTO.opensAt().isBefore(requestDTO.closesAt())) {
+            throw new BadRequestException("The round must open before it closes.");
+        }
+
+        return allocationRoundRepository.save(AllocationRound.builder()
+                .name(requestDTO.name())
+                .opensAt(requestDTO.opensAt())
+                .closesAt(requestDTO.closesAt())
+                .seatsPerPerson(requestDTO.seatsPerPerson())
+                .status(AllocationRoundStatus.OPEN)
+                .build());
+    }
+
+    public List<AllocationPreference> findPreferences(Long roundId, Long personId) {
+        this.findById(roundId);
+        return allocationPreferenceRepository.findByRoundIdAndPersonIdOrderByRankAsc(roundId, personId);
+    }
+
+    // Replaces the whole ranked list of the person; the first item is the seat they want most.
+    @Transactional
+    public List<AllocationPreference> submitPreferences(Long roundId, Long personId,
+                                                        List<AllocationPreferenceRequestDTO> requestDTO) {
+        AllocationRound round = this.findById(roundId);
+
+        if (!round.acceptsPreferences(Instant.now())) {
+            throw new BadRequestException("This allocation round is not accepting preferences right now.");
+        }
+
+        if (requestDTO.size() > maxPreferences) {
+            throw new BadRequestException("At most " + maxPreferences + " preferences can be sent.");
+        }
+
+        Person person = personRepository.findById(personId)
+                .orElseThrow(PersonNotFoundException::new);
+
+        List<TimeSlot> timeSlots = requestDTO.stream()
+                .map(request -> TimeSlot.parse(request.day(), request.shiftSchedule())
+                        .orElseThrow(() -> new BadRequestException("The day or shift provided does not exist or was not properly written. " +
+                                "Please check the documentation.")))
+                .toList();
+
+        Set<Long> seats = new HashSet<>();
+        for (int i = 0; i < requestDTO.size(); i++) {
+            if (!seats.add(timeSlots.get(i).keyOf(requestDTO.get(i).tableId()))) {
+                throw new BadRequestException("The same table and time can only be ranked once.");
+            }
+        }
+
+        Map<Long, LabTable> tables = labTableRepository.findAllById(requestDTO.stream()
+                        .map(AllocationPreferenceRequestDTO::tableId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(LabTable::getId, Function.identity()));
+
+        if (requestDTO.stream().anyMatch(request -> !tables.containsKey(request.tableId()))) {
+            throw new ResourceNotFoundException("No table was found with the provided id, " +
+                    "check the registered tables.");
+        }
+
+        allocationPreferenceRepository.deleteByRoundIdAndPersonId(roundId, personId);
+        allocationPreferenceRepository.flush();
+
+        return allocationPreferenceRepository.saveAll(IntStream.range(0, requestDTO.size())
+                .mapToObj(i -> AllocationPreference.builder()
+                        .round(round)
+                        .person(person)
+                        .table(tables.get(requestDTO.get(i).tableId()))
+                        .slot(timeSlots.get(i).code())
+                        .rank((short) (i + 1))
+                        .build())
+                .toList());
+    }
+
+    // Runs the draft once the round has closed and writes every granted seat as an approved schedule
+    // in the same transaction. The round version keeps two allocations of the same round from both committing.
+    @Transactional
+    public AllocationResultDTO allocate(Long roundId) {
+        long startedAt = System.nanoTime();
+        AllocationRound round = this.findById(roundId);
+
+        if (round.getStatus() != AllocationRoundStatus.OPEN) {
+            throw new ConflictException("This allocation round was already allocated.");
+        }
+
+        if (Instant.now().isBefore(round.getClosesAt())) {
+            throw new BadRequestException("Seats can only be allocated after the round closes.");
+        }
+
+        List<AllocationSolver.Choice> choices = allocationPreferenceRepository.findChoicesByRoundId(roundId).stream()
+                .map(choice -> new AllocationSolver.Choice(choice.getId(),
+                        choice.getPersonId(),
+                        Boolean.TRUE.equals(choice.getRepresentant()) ? 0 : 1,
+                        choice.getTableId(),
+                        choice.getSlot(),
+                        choice.getRank()))
+                .toList();
+
+        Map<Long, AllocationSolver.Choice> seats = choices.stream()
+                .collect(Collectors.toMap(AllocationSolver.Choice::seatKey, Function.identity(), (first, second) -> first));
+
+        slotLockRegistry.lockUntilCompletion(seats.keySet());
+        Set<Long> blocked = blockedSeats(seats);
+
+        List<AllocationSolver.Choice> granted = AllocationSolver.solve(choices, seat -> !blocked.contains(seat),
+                round.getSeatsPerPerson(), roundId);
+
+        Instant now = Instant.now();
+        List<Schedule> schedules = granted.stream()
+                .map(choice -> toApprovedSchedule(choice, now))
+                .toList();
+
+        scheduleRepository.insertAll(schedules);
+        if (!granted.isEmpty()) {
+            allocationPreferenceRepository.markGranted(granted.stream().map(AllocationSolver.Choice::id).toList());
+        }
+        schedules.forEach(schedule -> tableOccupancyIndex.reserve(schedule.getTable().getId(), schedule.timeSlot()));
+        liveStats.schedulesAdded(ScheduleRequestStatus.APPROVED, schedules.stream().map(Schedule::getSlot).toList());
+
+        round.setStatus(AllocationRoundStatus.ALLOCATED);
+        round.setAllocatedAt(now);
+        allocationRoundRepository.save(round);
+
+        int people = (int) choices.stream().map(AllocationSolver.Choice::personId).distinct().count();
+        int peopleWithSeat = (int) granted.stream().map(AllocationSolver.Choice::personId).distinct().count();
+
+        return new AllocationResultDTO(roundId, people, choices.size(), granted.size(), people - peopleWithSeat,
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    // Seats already reserved in the database or overlapped by interval and recurring bookings. The reserved
+    // rows come from one query under the slot locks; the booking indexes are checked one weekday per thread.
+    private Set<Long> blockedSeats(Map<Long, AllocationSolver.Choice> seats) {
+        if (seats.isEmpty()) {
+            return Set.of();
+        }
+
+        Set<Long> blocked = scheduleRepository.findReservedSlots(
+                        seats.values().stream().map(AllocationSolver.Choice::tableId).collect(Collectors.toSet()),
+                        seats.values().stream().map(AllocationSolver.Choice::slot).collect(Collectors.toSet())).stream()
+                .map(slot -> TimeSlot.keyOf(slot.getTableId(), slot.getSlot()))
+                .filter(seats::containsKey)
+                .collect(Collectors.toCollection(HashSet::new));
+
+        LocalDate today = LocalDate.now();
+        seats.values().stream()
+                .collect(Collectors.groupingBy(choice -> TimeSlot.ofCode(choice.slot()).day()))
+                .values().parallelStream()
+                .flatMap(daySeats -> daySeats.stream()
+                        .filter(choice -> overlapsBookings(choice.tableId(), TimeSlot.ofCode(choice.slot()), today)))
+                .map(AllocationSolver.Choice::seatKey)
+                .toList()
+                .forEach(blocked::add);
+
+        return blocked;
+    }
+
+    private boolean overlapsBookings(Long tableId, TimeSlot timeSlot, LocalDate today) {
+        TimeInterval interval = TimeInterval.of(timeSlot);
+        return tableIntervalIndex.overlaps(tableId, interval)
+                || recurringReservationIndex.overlapsWeekly(tableId, interval, today);
+    }
+
+    private static Schedule toApprovedSchedule(AllocationSolver.Choice choice, Instant createdAt) {
+        TimeSlot timeSlot = TimeSlot.ofCode(choice.slot());
+        return Schedule.builder()
+                .day(timeSlot.day())
+                .shiftSchedule(timeSlot.shift())
+                .slot(timeSlot.code())
+                .status(ScheduleRequestStatus.APPROVED)
+                .table(LabTable.builder().id(choice.tableId()).build())
+                .person(new Person(choice.personId()))
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Round-robin draft over ranked preferences. People are ordered by tier and then by a lottery seeded with
+// the round, so the result is reproducible. Each pass gives everyone, in that order, their best remaining
+// seat that is still free and not in a slot they already hold. The work is linear in the number of choices.
+//
+// Seats and held slots never reach across days, only a person ranking seats on several days links them. The
+// days are split into groups that no person links, and the groups are drafted in parallel. Every group keeps
+// the order the round's seed gave its people, so the result is the same as one draft over all of them. A round
+// where people rank seats on every day is a single group and is drafted on one thread.
+public final class AllocationSolver {
+
+    private AllocationSolver() {
+    }
+
+    public static List<Choice> solve(List<Choice> choices, LongPredicate isFree, int seatsPerPerson, long seed) {
+        Map<Long, List<Choice>> byPerson = choices.parallelStream()
+                .collect(Collectors.groupingByConcurrent(Choice::personId));
+
+        List<Drafter> drafters = new ArrayList<>(byPerson.size());
+        byPerson.keySet().stream().sorted().forEach(personId -> {
+            List<Choice> ranked = new ArrayList<>(byPerson.get(personId));
+            ranked.sort(Comparator.comparingInt(Choice::rank));
+            drafters.add(new Drafter(ranked));
+        });
+
+        Collections.shuffle(drafters, new Random(seed));
+        drafters.sort(Comparator.comparingInt(drafter -> drafter.choices.get(0).tier()));
+
+        List<List<Drafter>> groups = groupByLinkedDays(drafters);
+        if (groups.size() == 1) {
+            return draft(groups.get(0), isFree, seatsPerPerson);
+        }
+
+        return groups.parallelStream()
+                .map(group -> draft(group, isFree, seatsPerPerson))
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    private static List<Choice> draft(List<Drafter> drafters, LongPredicate isFree, int seatsPerPerson) {
+        Set<Long> taken = new HashSet<>();
+        List<Choice> granted = new ArrayList<>();
+
+        for (int pass = 0; pass < seatsPerPerson; pass++) {
+            boolean anyGranted = false;
+
+            for (Drafter drafter : drafters) {
+                Choice choice = drafter.next(taken, isFree);
+                if (choice != null) {
+                    taken.add(choice.seatKey());
+                    drafter.heldSlots.add(choice.slot());
+                    granted.add(choice);
+                    anyGranted = true;
+                }
+            }
+
+            if (!anyGranted) {
+                break;
+            }
+        }
+        return granted;
+    }
+
+    // Joins the days each person ranks seats on, then splits the drafters by group in their draft order.
+    private static List<List<Drafter>> groupByLinkedDays(List<Drafter> drafters) {
+        int[] parent = IntStream.range(0, WeekDay.values().length).toArray();
+
+        for (Drafter drafter : drafters) {
+            int first = dayOf(drafter.choices.get(0));
+            for (Choice choice : drafter.choices) {
+                parent[root(parent, dayOf(choice))] = root(parent, first);
+            }
+        }
+
+        Map<Integer, List<Drafter>> groups = new LinkedHashMap<>();
+        for (Drafter drafter : drafters) {
+            groups.computeIfAbsent(root(parent, dayOf(drafter.choices.get(0))), day -> new ArrayList<>()).add(drafter);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static int root(int[] parent, int day) {
+        while (parent[day] != day) {
+            day = parent[day];
+        }
+        return day;
+    }
+
+    private static int dayOf(Choice choice) {
+        return choice.slot() / TimeSlot.SHIFTS_PER_DAY;
+    }
+
+    // Lower tiers pick first.
+    public record Choice(Long id, Long personId, int tier, Long tableId, short slot, int rank) {
+
+        public long seatKey() {
+            return TimeSlot.keyOf(tableId, slot);
+        }
+    }
+
+    private static final class Drafter {
+        private final List<Choice> choices;
+        private final Set<Short> heldSlots = new HashSet<>();
+        private int cursor;
+
+        private Drafter(List<Choice> choices) {
+            this.choices = choices;
+        }
+
+        // Seats skipped here are taken or clash with a held slot for good, so the cursor never moves back.
+        private Choice next(Set<Long> taken, LongPredicate isFree) {
+            while (cursor < choices.size()) {
+                Choice choice = choices.get(cursor++);
+                if (!heldSlots.contains(choice.slot()) && !taken.contains(choice.seatKey()) && isFree.test(choice.seatKey())) {
+                    return choice;
+                }
+            }
+            return null;
+        }
+    }
+}
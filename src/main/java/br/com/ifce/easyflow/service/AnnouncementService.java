@@ -15,10 +15,12 @@ import br.com.ifce.easyflow.repository.AnnouncementRepository;
 @Service
 public class AnnouncementService {
     private final AnnouncementRepository announcementRepository;
+    private final CollectionVersions collectionVersions;
 
     @Autowired
-    public AnnouncementService(AnnouncementRepository announcementRepository) {
+    public AnnouncementService(AnnouncementRepository announcementRepository, CollectionVersions collectionVersions) {
         this.announcementRepository = announcementRepository;
+        this.collectionVersions = collectionVersions;
     }
 
     @Transactional
@@ -30,6 +32,10 @@ public class AnnouncementService {
         return this.announcementRepository.findAll();
     }
 
+    public long listVersion() {
+        return this.collectionVersions.current(Announcement.class);
+    }
+
     @Transactional
     public Boolean delete(Long id) {
         Optional<Announcement> announcement = this.announcementRepository.findById(id);
@@ -49,7 +55,13 @@ public class AnnouncementService {
 
     @Transactional
     public Announcement update(Long id, Announcement newAnnouncement) {
+        return this.update(id, newAnnouncement, IfMatch.ANY);
+    }
+
+    @Transactional
+    public Announcement update(Long id, Announcement newAnnouncement, IfMatch ifMatch) {
         Announcement oldAnnouncement = this.searchByID(id);
+        ifMatch.check(oldAnnouncement.getVersion());
 
         return this.save(this.fillUpdateAnnouncement(oldAnnouncement, newAnnouncement));
     }
@@ -0,0 +1,32 @@
+package br.com.ifce.easyflow.service;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// One counter per entity type, moved after every committed write. List endpoints use it as their ETag.
+@Component
+public class CollectionVersions {
+
+    private final Map<Class<?>, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(Class<?> type) {
+        return counter(type).get();
+    }
+
+    public void changed(Object entity) {
+        changed(Hibernate.getClass(entity));
+    }
+
+    public void changed(Class<?> type) {
+        AfterCommit.run(() -> counter(type).incrementAndGet());
+    }
+
+    private AtomicLong counter(Class<?> type) {
+        // Seeded with the clock so tags handed out before a restart are not reused.
+        return versions.computeIfAbsent(type, key -> new AtomicLong(System.currentTimeMillis()));
+    }
+}
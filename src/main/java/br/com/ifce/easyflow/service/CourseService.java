@@ -17,10 +17,12 @@ import java.util.Optional;
 public class CourseService {
 
     private final CourseRepository courseRepository;
+    private final CollectionVersions collectionVersions;
 
     @Autowired
-    public CourseService(CourseRepository CourseRepository) {
+    public CourseService(CourseRepository CourseRepository, CollectionVersions collectionVersions) {
         this.courseRepository = CourseRepository;
+        this.collectionVersions = collectionVersions;
     }
 
     @Transactional
@@ -36,6 +38,10 @@ public class CourseService {
         return this.courseRepository.findAll();
     }
 
+    public long listVersion() {
+        return this.collectionVersions.current(Course.class);
+    }
+
     public Course searchByID(Long id) {
         return this.courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No courses were found with the given id."));
@@ -48,7 +54,13 @@ public class CourseService {
 
     @Transactional
     public Course update(Long id, CourseUpdateDTO courseUpdateDTO) {
+        return this.update(id, courseUpdateDTO, IfMatch.ANY);
+    }
+
+    @Transactional
+    public Course update(Long id, CourseUpdateDTO courseUpdateDTO, IfMatch ifMatch) {
         Course oldCourse = this.searchByID(id);
+        ifMatch.check(oldCourse.getVersion());
 
         if(!Objects.equals(oldCourse.getName(), courseUpdateDTO.getCourse_name())
                 && this.existsByCourse(courseUpdateDTO.getCourse_name())){
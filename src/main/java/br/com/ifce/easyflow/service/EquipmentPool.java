@@ -0,0 +1,129 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.Equipment;
+import br.com.ifce.easyflow.model.SpecSize;
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.repository.EquipmentRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+// AVAILABLE equipment waiting to be lent, in one queue per RAM class. A device is a member while its entry in
+// members is the exact candidate found in the queue; replacing or removing the entry leaves a stale copy behind
+// that is dropped when polled. Claiming removes the entry with a single atomic call, so two approvals never get
+// the same device and no lock is held while picking.
+@Component
+@RequiredArgsConstructor
+public class EquipmentPool {
+
+    // Lower RAM bound of every class, in GB. Equipment whose RAM could not be read goes in the first one.
+    private static final int[] RAM_CLASSES = {0, 4, 8, 16, 32};
+
+    private final EquipmentRepository equipmentRepository;
+
+    private final Map<Long, Candidate> members = new ConcurrentHashMap<>();
+    private final List<Queue<Candidate>> buckets = IntStream.range(0, RAM_CLASSES.length)
+            .<Queue<Candidate>>mapToObj(index -> new ConcurrentLinkedQueue<>())
+            .toList();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<Equipment> available = equipmentRepository.findAllByEquipmentStatus(EquipmentAvailabilityStatus.AVAILABLE);
+
+        members.clear();
+        buckets.forEach(Queue::clear);
+        available.forEach(this::offer);
+    }
+
+    public int size() {
+        return members.size();
+    }
+
+    // Keeps the pool in step with a status or spec change of the equipment.
+    public void changed(Equipment equipment) {
+        Long id = equipment.getId();
+        AfterCommit.run(() -> {
+            if (equipment.getEquipmentStatus() == EquipmentAvailabilityStatus.AVAILABLE) {
+                offer(equipment);
+            } else {
+                members.remove(id);
+            }
+        });
+    }
+
+    public void removed(Long equipmentId) {
+        AfterCommit.run(() -> members.remove(equipmentId));
+    }
+
+    // Claims a device with at least the given sizes, from the smallest class that can hold them so the bigger
+    // machines stay free for the requests that need them. Devices rejected by usable go back to their queue.
+    // A claim made inside a transaction is given back if the transaction does not commit.
+    public Optional<Long> claim(int minRamGb, int minStorageGb, Predicate<Long> usable) {
+        for (int index = classOf(minRamGb); index < buckets.size(); index++) {
+            Queue<Candidate> bucket = buckets.get(index);
+
+            for (int polls = bucket.size(); polls > 0; polls--) {
+                Candidate candidate = bucket.poll();
+                if (candidate == null) {
+                    break;
+                }
+                if (members.get(candidate.id()) != candidate) {
+                    continue;
+                }
+                if (!candidate.fits(minRamGb, minStorageGb) || !usable.test(candidate.id())) {
+                    bucket.offer(candidate);
+                    continue;
+                }
+                if (members.remove(candidate.id(), candidate)) {
+                    AfterCommit.onRollback(() -> giveBack(candidate));
+                    return Optional.of(candidate.id());
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void offer(Equipment equipment) {
+        Candidate candidate = new Candidate(equipment.getId(),
+                sizeOrZero(SpecSize.gigabytes(equipment.getRamMemory())),
+                sizeOrZero(SpecSize.gigabytes(equipment.getStorageMemory())));
+
+        members.put(candidate.id(), candidate);
+        buckets.get(classOf(candidate.ramGb())).offer(candidate);
+    }
+
+    private void giveBack(Candidate candidate) {
+        if (members.putIfAbsent(candidate.id(), candidate) == null) {
+            buckets.get(classOf(candidate.ramGb())).offer(candidate);
+        }
+    }
+
+    private static int classOf(int ramGb) {
+        int index = 0;
+        while (index + 1 < RAM_CLASSES.length && RAM_CLASSES[index + 1] <= ramGb) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int sizeOrZero(Integer size) {
+        return size == null ? 0 : size;
+    }
+
+    private record Candidate(Long id, int ramGb, int storageGb) {
+
+        boolean fits(int minRamGb, int minStorageGb) {
+            return ramGb >= minRamGb && storageGb >= minStorageGb;
+        }
+    }
+}
@@ -6,6 +6,9 @@ import br.com.ifce.easyflow.controller.dto.equipment.EquipmentStatusPatchRequest
 import br.com.ifce.easyflow.model.Equipment;
 import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
 import br.com.ifce.easyflow.repository.EquipmentRepository;
+import br.com.ifce.easyflow.repository.EquipmentSearchFilter;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
 import br.com.ifce.easyflow.service.exceptions.DatabaseException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -14,17 +17,80 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class EquipmentService {
 
     private final EquipmentRepository equipmentRepository;
+    private final CollectionVersions collectionVersions;
+    private final LiveStats liveStats;
+    private final LoanIntervalIndex loanIntervalIndex;
+    private final EquipmentPool equipmentPool;
 
     public Page<Equipment> findAll(Pageable pageable) {
         return equipmentRepository.findAll(pageable);
     }
 
+    public long listVersion() {
+        return collectionVersions.current(Equipment.class);
+    }
+
+    public Page<Equipment> search(String status, String brand, String processor, Integer minRamGb, Integer minStorageGb,
+                                  Pageable pageable) {
+        EquipmentAvailabilityStatus equipmentStatus = status == null ? null : Arrays.stream(EquipmentAvailabilityStatus.values())
+                .filter(s -> s.name().equalsIgnoreCase(status.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("The status provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        if ((minRamGb != null && minRamGb < 0) || (minStorageGb != null && minStorageGb < 0)) {
+            throw new BadRequestException("The minimum RAM and storage sizes cannot be negative.");
+        }
+
+        return equipmentRepository.search(new EquipmentSearchFilter(equipmentStatus,
+                blankToNull(brand),
+                blankToNull(processor),
+                minRamGb,
+                minStorageGb), pageable);
+    }
+
+    // Equipment that is not in maintenance and has no approved loan overlapping the period. BUSY only means a loan
+    // is running today, so it matters for periods that include today and not for later ones, just as on approval.
+    public List<Equipment> findAvailable(String start, String end) {
+        try {
+            LocalDate startDate = LocalDate.parse(start, DateTimeFormatter.ISO_DATE);
+            LocalDate endDate = LocalDate.parse(end, DateTimeFormatter.ISO_DATE);
+            if (endDate.isBefore(startDate)) {
+                throw new BadRequestException("The end date cannot be before the start date.");
+            }
+
+            LocalDate today = LocalDate.now();
+            boolean runsToday = !startDate.isAfter(today) && !endDate.isBefore(today);
+            Set<Long> lent = loanIntervalIndex.lentEquipment(startDate, endDate);
+
+            return equipmentRepository.findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus.MAINTENANCE)
+                    .stream()
+                    .filter(equipment -> !lent.contains(equipment.getId()))
+                    .filter(equipment -> !runsToday || equipment.getEquipmentStatus() == EquipmentAvailabilityStatus.AVAILABLE)
+                    .toList();
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("The date format does not conform to the format: yyyy-MM-dd. " + e.getMessage());
+        }
+    }
+
+    public Equipment findByTombo(String tombo) {
+        return equipmentRepository.findByTombo(tombo.trim())
+                .orElseThrow(() -> new ResourceNotFoundException("No equipment was found with the provided tombo, " +
+                        "check the registered equipment."));
+    }
+
     public Equipment findById(Long id) {
         return equipmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No equipment was found with the provided id, " +
@@ -33,38 +99,73 @@ public class EquipmentService {
 
     @Transactional
     public Equipment save(EquipmentPostRequestDTO requestDTO) {
+        String tombo = requestDTO.getTombo().trim();
+        if (equipmentRepository.existsByTombo(tombo)) {
+            throw new ConflictException("An equipment with this tombo is already registered.");
+        }
+
         Equipment equipment = Equipment.builder()
                 .name(requestDTO.getName())
                 .brand(requestDTO.getBrand())
-                .tombo(requestDTO.getTombo())
+                .tombo(tombo)
                 .processor(requestDTO.getProcessor())
                 .ramMemory(requestDTO.getRamMemory())
                 .storageMemory(requestDTO.getStorageMemory())
                 .equipmentStatus(EquipmentAvailabilityStatus.AVAILABLE)
                 .build();
 
-        return equipmentRepository.save(equipment);
+        Equipment saved = equipmentRepository.save(equipment);
+        liveStats.equipmentChanged(null, EquipmentAvailabilityStatus.AVAILABLE);
+        equipmentPool.changed(saved);
+        return saved;
     }
 
+    @Transactional
     public Equipment update(Long id, EquipmentPutRequestDTO requestDTO) {
+        return this.update(id, requestDTO, IfMatch.ANY);
+    }
+
+    @Transactional
+    public Equipment update(Long id, EquipmentPutRequestDTO requestDTO, IfMatch ifMatch) {
         Equipment equipmentSaved = this.findById(id);
+        ifMatch.check(equipmentSaved.getVersion());
+
+        if (equipmentRepository.existsByTomboAndIdNot(requestDTO.getTombo().trim(), id)) {
+            throw new ConflictException("An equipment with this tombo is already registered.");
+        }
+
         Equipment updatedEquipment = updateEquipmentEntity(equipmentSaved, requestDTO);
 
-        return equipmentRepository.save(updatedEquipment);
+        Equipment saved = equipmentRepository.save(updatedEquipment);
+        equipmentPool.changed(saved);
+        return saved;
     }
 
     @Transactional
     public Equipment updateEquipmentStatus(Long id, EquipmentStatusPatchRequestDTO requestDTO) {
+        return this.updateEquipmentStatus(id, requestDTO, IfMatch.ANY);
+    }
+
+    @Transactional
+    public Equipment updateEquipmentStatus(Long id, EquipmentStatusPatchRequestDTO requestDTO, IfMatch ifMatch) {
         Equipment equipment = this.findById(id);
+        ifMatch.check(equipment.getVersion());
+        liveStats.equipmentChanged(equipment.getEquipmentStatus(), requestDTO.getEquipmentStatus());
         equipment.setEquipmentStatus(requestDTO.getEquipmentStatus());
-        return equipmentRepository.save(equipment);
+
+        Equipment saved = equipmentRepository.save(equipment);
+        equipmentPool.changed(saved);
+        return saved;
     }
 
+    @Transactional
     public void delete(Long id) {
-        this.findById(id);
+        Equipment equipment = this.findById(id);
 
         try {
             equipmentRepository.deleteById(id);
+            liveStats.equipmentChanged(equipment.getEquipmentStatus(), null);
+            equipmentPool.removed(id);
         } catch (DatabaseException e) {
             e.printStackTrace();
         }
@@ -73,10 +174,14 @@ public class EquipmentService {
     private Equipment updateEquipmentEntity(Equipment equipmentSaved, EquipmentPutRequestDTO request) {
         equipmentSaved.setBrand(request.getBrand());
         equipmentSaved.setName(request.getName());
-        equipmentSaved.setTombo(request.getTombo());
+        equipmentSaved.setTombo(request.getTombo().trim());
         equipmentSaved.setProcessor(request.getProcessor());
         equipmentSaved.setRamMemory(request.getRamMemory());
         equipmentSaved.setStorageMemory(request.getStorageMemory());
         return equipmentSaved;
     }
+
+    private static String blankToNull(String text) {
+        return text == null || text.isBlank() ? null : text.trim();
+    }
 }
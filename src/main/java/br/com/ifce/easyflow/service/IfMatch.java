@@ -0,0 +1,45 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.service.exceptions.PreconditionFailedException;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// The entity versions a client accepts to overwrite, taken from its If-Match header.
+public record IfMatch(Set<Long> versions) {
+
+    public static final IfMatch ANY = new IfMatch(Set.of());
+
+    private static final String MISMATCH = "The resource was modified since it was read, " +
+            "fetch it again before sending the update.";
+
+    public static IfMatch parse(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return ANY;
+        }
+
+        try {
+            return new IfMatch(Arrays.stream(header.split(","))
+                    .map(String::trim)
+                    .map(IfMatch::parseStrongTag)
+                    .collect(Collectors.toUnmodifiableSet()));
+        } catch (IllegalArgumentException e) {
+            throw new PreconditionFailedException(MISMATCH);
+        }
+    }
+
+    public void check(Long currentVersion) {
+        if (!versions.isEmpty() && !versions.contains(currentVersion == null ? 0L : currentVersion)) {
+            throw new PreconditionFailedException(MISMATCH);
+        }
+    }
+
+    // If-Match uses the strong comparison, so weak tags never match.
+    private static Long parseStrongTag(String tag) {
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new IllegalArgumentException(tag);
+        }
+        return Long.valueOf(tag.substring(1, tag.length() - 1));
+    }
+}
@@ -0,0 +1,181 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.stats.LiveStatsResponseDTO;
+import br.com.ifce.easyflow.controller.dto.stats.SlotStatsDTO;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.repository.EquipmentRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Status counters for dashboards, seeded with grouped counts at startup and moved after each commit, so
+// reading them never touches the database. Schedules are also counted per slot; rows left without a slot
+// code by the slot migration only show up in the status totals.
+@Component
+@RequiredArgsConstructor
+public class LiveStats {
+
+    private static final int NO_SLOT = TimeSlot.COUNT;
+
+    private final ScheduleRepository scheduleRepository;
+    private final SolicitationRepository solicitationRepository;
+    private final EquipmentRepository equipmentRepository;
+
+    private final LongAdder[][] schedules = adders(ScheduleRequestStatus.values().length, TimeSlot.COUNT + 1);
+    private final LongAdder[] solicitations = adders(1, SolicitationStatus.values().length)[0];
+    private final LongAdder[] equipment = adders(1, EquipmentAvailabilityStatus.values().length)[0];
+
+    private volatile Instant seededAt;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<ScheduleRepository.StatusSlotCount> scheduleCounts = scheduleRepository.countByStatusAndSlot();
+        List<SolicitationRepository.StatusCount> solicitationCounts = solicitationRepository.countByStatus();
+        List<EquipmentRepository.StatusCount> equipmentCounts = equipmentRepository.countByStatus();
+
+        for (LongAdder[] bySlot : schedules) {
+            reset(bySlot);
+        }
+        reset(solicitations);
+        reset(equipment);
+
+        scheduleCounts.stream()
+                .filter(count -> count.getStatus() != null)
+                .forEach(count -> scheduleAdder(count.getStatus(), count.getSlot()).add(count.getTotal()));
+        solicitationCounts.stream()
+                .filter(count -> count.getStatus() != null)
+                .forEach(count -> solicitations[count.getStatus().ordinal()].add(count.getTotal()));
+        equipmentCounts.stream()
+                .filter(count -> count.getStatus() != null)
+                .forEach(count -> equipment[count.getStatus().ordinal()].add(count.getTotal()));
+
+        seededAt = Instant.now();
+    }
+
+    public void schedulesAdded(ScheduleRequestStatus status, Collection<Short> slots) {
+        AfterCommit.run(() -> slots.forEach(slot -> increment(status, slot)));
+    }
+
+    public void scheduleRemoved(ScheduleRequestStatus status, Short slot) {
+        AfterCommit.run(() -> decrement(status, slot));
+    }
+
+    public void scheduleMoved(ScheduleRequestStatus status, Short fromSlot, Short toSlot) {
+        AfterCommit.run(() -> {
+            decrement(status, fromSlot);
+            increment(status, toSlot);
+        });
+    }
+
+    public void scheduleChanged(ScheduleRequestStatus from, ScheduleRequestStatus to, Short slot) {
+        schedulesChanged(from, to, Collections.singletonList(slot));
+    }
+
+    public void schedulesChanged(ScheduleRequestStatus from, ScheduleRequestStatus to, Collection<Short> slots) {
+        AfterCommit.run(() -> slots.forEach(slot -> {
+            decrement(from, slot);
+            increment(to, slot);
+        }));
+    }
+
+    // A null status stands for a row that did not exist before or no longer exists after the change.
+    public void solicitationChanged(SolicitationStatus from, SolicitationStatus to) {
+        AfterCommit.run(() -> move(solicitations, from, to));
+    }
+
+    public void equipmentChanged(EquipmentAvailabilityStatus from, EquipmentAvailabilityStatus to) {
+        AfterCommit.run(() -> move(equipment, from, to));
+    }
+
+    public LiveStatsResponseDTO snapshot() {
+        Map<ScheduleRequestStatus, Long> scheduleTotals = new EnumMap<>(ScheduleRequestStatus.class);
+        for (ScheduleRequestStatus status : ScheduleRequestStatus.values()) {
+            long total = 0;
+            for (LongAdder adder : schedules[status.ordinal()]) {
+                total += adder.sum();
+            }
+            scheduleTotals.put(status, total);
+        }
+
+        List<SlotStatsDTO> slots = new ArrayList<>(TimeSlot.COUNT);
+        for (int code = 0; code < TimeSlot.COUNT; code++) {
+            Map<ScheduleRequestStatus, Long> bySlot = new EnumMap<>(ScheduleRequestStatus.class);
+            for (ScheduleRequestStatus status : ScheduleRequestStatus.values()) {
+                bySlot.put(status, schedules[status.ordinal()][code].sum());
+            }
+            TimeSlot timeSlot = TimeSlot.ofCode(code);
+            slots.add(new SlotStatsDTO(timeSlot.day(), timeSlot.shift(), bySlot));
+        }
+
+        return new LiveStatsResponseDTO(scheduleTotals,
+                totals(solicitations, SolicitationStatus.class),
+                totals(equipment, EquipmentAvailabilityStatus.class),
+                slots,
+                seededAt);
+    }
+
+    private void increment(ScheduleRequestStatus status, Short slot) {
+        if (status != null) {
+            scheduleAdder(status, slot).increment();
+        }
+    }
+
+    private void decrement(ScheduleRequestStatus status, Short slot) {
+        if (status != null) {
+            scheduleAdder(status, slot).decrement();
+        }
+    }
+
+    private LongAdder scheduleAdder(ScheduleRequestStatus status, Short slot) {
+        int column = slot == null || slot < 0 || slot >= TimeSlot.COUNT ? NO_SLOT : slot;
+        return schedules[status.ordinal()][column];
+    }
+
+    private static <E extends Enum<E>> void move(LongAdder[] counters, E from, E to) {
+        if (from != null) {
+            counters[from.ordinal()].decrement();
+        }
+        if (to != null) {
+            counters[to.ordinal()].increment();
+        }
+    }
+
+    private static <E extends Enum<E>> Map<E, Long> totals(LongAdder[] counters, Class<E> type) {
+        Map<E, Long> totals = new EnumMap<>(type);
+        for (E status : type.getEnumConstants()) {
+            totals.put(status, counters[status.ordinal()].sum());
+        }
+        return totals;
+    }
+
+    private static void reset(LongAdder[] counters) {
+        for (LongAdder counter : counters) {
+            counter.reset();
+        }
+    }
+
+    private static LongAdder[][] adders(int rows, int columns) {
+        LongAdder[][] adders = new LongAdder[rows][columns];
+        for (LongAdder[] row : adders) {
+            for (int column = 0; column < columns; column++) {
+                row[column] = new LongAdder();
+            }
+        }
+        return adders;
+    }
+}
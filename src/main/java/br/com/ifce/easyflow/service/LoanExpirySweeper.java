@@ -0,0 +1,109 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.solicitation.LoanExpiryResultDTO;
+import br.com.ifce.easyflow.controller.dto.stats.LoanExpiryStatsDTO;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Expires approved loans whose end date has passed and gives their equipment back. The overdue ids come from
+// the (status, end_date) index a chunk at a time, and each chunk is expired in its own short transaction, so
+// a large backlog never keeps many rows locked at once. Once the ended loans are done, the equipment of loans
+// approved ahead of time that start today is marked busy.
+@Slf4j
+@Component
+public class LoanExpirySweeper {
+
+    private final SolicitationRepository solicitationRepository;
+    private final SolicitationService solicitationService;
+    private final int chunkSize;
+
+    private final AtomicLong sweeps = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong released = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Instant lastSweepAt;
+    private volatile long lastSweepMillis;
+    private volatile int lastSweepExpired;
+
+    public LoanExpirySweeper(SolicitationRepository solicitationRepository,
+                             SolicitationService solicitationService,
+                             @Value("${solicitations.loan-expiry.chunk-size:500}") int chunkSize) {
+        this.solicitationRepository = solicitationRepository;
+        this.solicitationService = solicitationService;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${solicitations.loan-expiry.sweep-ms:60000}")
+    public void sweep() {
+        long startedAt = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        int sweepExpired = 0;
+        int sweepReleased = 0;
+
+        while (true) {
+            List<Long> due = solicitationRepository.findIdsEndedBefore(SolicitationStatus.APPROVED, today,
+                    PageRequest.of(0, chunkSize));
+
+            if (due.isEmpty()) {
+                break;
+            }
+
+            try {
+                LoanExpiryResultDTO result = solicitationService.expireLoans(due, today);
+                sweepExpired += result.expired();
+                sweepReleased += result.released();
+                expired.addAndGet(result.expired());
+                released.addAndGet(result.released());
+
+                // Nothing changed, so the next query would hand back the same ids.
+                if (result.expired() == 0) {
+                    break;
+                }
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.warn("Could not expire {} overdue loans, retrying on the next sweep: {}", due.size(), e.getMessage());
+                break;
+            }
+
+            if (due.size() < chunkSize) {
+                break;
+            }
+            log.debug("Expired {} overdue loans so far, fetching the next chunk", sweepExpired);
+        }
+
+        try {
+            int started = solicitationService.startLoans(today);
+            if (started > 0) {
+                log.info("Marked busy {} equipment whose loan starts today", started);
+            }
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Could not mark busy the equipment of starting loans, retrying on the next sweep: {}", e.getMessage());
+        }
+
+        sweeps.incrementAndGet();
+        lastSweepAt = Instant.now();
+        lastSweepMillis = (System.nanoTime() - startedAt) / 1_000_000;
+        lastSweepExpired = sweepExpired;
+
+        if (sweepExpired > 0) {
+            log.info("Expired {} overdue loans and released {} equipment in {} ms",
+                    sweepExpired, sweepReleased, lastSweepMillis);
+        }
+    }
+
+    public LoanExpiryStatsDTO stats() {
+        return new LoanExpiryStatsDTO(sweeps.get(), expired.get(), released.get(), failures.get(), chunkSize,
+                lastSweepAt, lastSweepMillis, lastSweepExpired);
+    }
+}
@@ -0,0 +1,154 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Date intervals of the approved loans, grouped by equipment and sorted by start date. Both ends of
+// a loan are inclusive. A loan can only overlap a window if it starts no later than the window ends
+// and no earlier than the window start minus the longest loan of that equipment, so every lookup
+// only walks that slice of the sorted set.
+@Component
+@RequiredArgsConstructor
+public class LoanIntervalIndex {
+
+    private static final Comparator<Loan> BY_START = Comparator.comparingLong(Loan::start)
+            .thenComparingLong(Loan::solicitationId);
+
+    private final SolicitationRepository solicitationRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, EquipmentLoans> loansByEquipment = new HashMap<>();
+    private final Map<Long, Loan> loansBySolicitation = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<SolicitationRepository.LoanInterval> intervals =
+                solicitationRepository.findLoanIntervals(SolicitationStatus.APPROVED);
+
+        lock.writeLock().lock();
+        try {
+            loansByEquipment.clear();
+            loansBySolicitation.clear();
+
+            intervals.forEach(interval -> put(new Loan(interval.getId(), interval.getEquipmentId(),
+                    interval.getStartDate().toEpochDay(), interval.getEndDate().toEpochDay())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLent(Long equipmentId, LocalDate start, LocalDate end) {
+        lock.readLock().lock();
+        try {
+            EquipmentLoans loans = loansByEquipment.get(equipmentId);
+            return loans != null && !loans.overlapping(start.toEpochDay(), end.toEpochDay()).isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Equipment with at least one approved loan overlapping the window.
+    public Set<Long> lentEquipment(LocalDate start, LocalDate end) {
+        lock.readLock().lock();
+        try {
+            Set<Long> lent = new HashSet<>();
+            loansByEquipment.forEach((equipmentId, loans) -> {
+                if (!loans.overlapping(start.toEpochDay(), end.toEpochDay()).isEmpty()) {
+                    lent.add(equipmentId);
+                }
+            });
+            return lent;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Adds the loan, replacing the previous interval of the same solicitation.
+    public void lend(Long solicitationId, Long equipmentId, LocalDate start, LocalDate end) {
+        Loan loan = new Loan(solicitationId, equipmentId, start.toEpochDay(), end.toEpochDay());
+        AfterCommit.run(() -> write(() -> {
+            remove(solicitationId);
+            put(loan);
+        }));
+    }
+
+    public void release(Long solicitationId) {
+        AfterCommit.run(() -> write(() -> remove(solicitationId)));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void put(Loan loan) {
+        loansBySolicitation.put(loan.solicitationId(), loan);
+        loansByEquipment.computeIfAbsent(loan.equipmentId(), id -> new EquipmentLoans()).add(loan);
+    }
+
+    private void remove(Long solicitationId) {
+        Loan loan = loansBySolicitation.remove(solicitationId);
+        if (loan == null) {
+            return;
+        }
+
+        EquipmentLoans loans = loansByEquipment.get(loan.equipmentId());
+        loans.remove(loan);
+        if (loans.isEmpty()) {
+            loansByEquipment.remove(loan.equipmentId());
+        }
+    }
+
+    private record Loan(long solicitationId, long equipmentId, long start, long end) {
+    }
+
+    private static class EquipmentLoans {
+
+        private final NavigableSet<Loan> byStart = new TreeSet<>(BY_START);
+
+        // Never shrinks on removal, a longer bound only widens the slice that is checked.
+        private long longestLoan;
+
+        void add(Loan loan) {
+            byStart.add(loan);
+            longestLoan = Math.max(longestLoan, loan.end() - loan.start());
+        }
+
+        void remove(Loan loan) {
+            byStart.remove(loan);
+        }
+
+        boolean isEmpty() {
+            return byStart.isEmpty();
+        }
+
+        List<Loan> overlapping(long start, long end) {
+            Loan from = new Loan(Long.MIN_VALUE, 0, start - longestLoan, 0);
+            Loan to = new Loan(Long.MAX_VALUE, 0, end, 0);
+
+            return byStart.subSet(from, true, to, true).stream()
+                    .filter(loan -> loan.end() >= start)
+                    .toList();
+        }
+    }
+}
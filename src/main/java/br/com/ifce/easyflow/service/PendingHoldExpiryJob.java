@@ -0,0 +1,51 @@
+package br.com.ifce.easyflow.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+
+// Ticks the hold wheel and expires whatever it hands back. Only the due ids reach the database,
+// so the schedule table is never scanned while the application runs.
+@Slf4j
+@Component
+public class PendingHoldExpiryJob {
+
+    private final PendingHoldWheel pendingHoldWheel;
+    private final ScheduleService scheduleService;
+    private final int batchSize;
+
+    public PendingHoldExpiryJob(PendingHoldWheel pendingHoldWheel,
+                                ScheduleService scheduleService,
+                                @Value("${schedules.pending-hold.batch-size:500}") int batchSize) {
+        this.pendingHoldWheel = pendingHoldWheel;
+        this.scheduleService = scheduleService;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${schedules.pending-hold.tick-ms:1000}")
+    public void expireDueHolds() {
+        if (!pendingHoldWheel.isEnabled()) {
+            return;
+        }
+
+        List<Long> due = pendingHoldWheel.advance(Instant.now());
+
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+
+            try {
+                int expired = scheduleService.expirePending(batch);
+                if (expired > 0) {
+                    log.info("Expired {} pending schedule requests whose hold ran out", expired);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not expire {} pending schedule requests, retrying later: {}", batch.size(), e.getMessage());
+                pendingHoldWheel.retryLater(List.copyOf(batch));
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+// Tracks when the hold of each pending schedule runs out. Entries are never removed when a schedule is
+// approved, denied or deleted; the expiry only touches rows that are still pending, so stale ids are harmless
+// and drop out when their deadline passes.
+@Component
+public class PendingHoldWheel {
+
+    private final ScheduleRepository scheduleRepository;
+    private final Duration ttl;
+    private final long tickMillis;
+    private final int wheelSize;
+
+    private TimingWheel<Long> wheel;
+
+    public PendingHoldWheel(ScheduleRepository scheduleRepository,
+                            @Value("${schedules.pending-hold.ttl-minutes:2880}") long ttlMinutes,
+                            @Value("${schedules.pending-hold.tick-ms:1000}") long tickMillis,
+                            @Value("${schedules.pending-hold.wheel-size:64}") int wheelSize) {
+        this.scheduleRepository = scheduleRepository;
+        this.ttl = Duration.ofMinutes(ttlMinutes);
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.wheel = new TimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    public boolean isEnabled() {
+        return !ttl.isZero();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!isEnabled()) {
+            return;
+        }
+
+        List<ScheduleRepository.ScheduleHold> holds = scheduleRepository.findHoldsByStatus(ScheduleRequestStatus.PENDING);
+        Instant now = Instant.now();
+
+        synchronized (this) {
+            wheel = new TimingWheel<>(tickMillis, wheelSize, now.toEpochMilli());
+            // Rows written before holds existed get a full hold from the moment tracking starts.
+            holds.forEach(hold -> wheel.add(hold.getId(), deadlineOf(hold.getCreatedAt() != null ? hold.getCreatedAt() : now)));
+        }
+    }
+
+    public void track(Long scheduleId, Instant createdAt) {
+        if (isEnabled()) {
+            AfterCommit.run(() -> add(scheduleId, deadlineOf(createdAt)));
+        }
+    }
+
+    public void retryLater(List<Long> scheduleIds) {
+        long deadline = System.currentTimeMillis() + tickMillis * wheelSize;
+        synchronized (this) {
+            scheduleIds.forEach(id -> wheel.add(id, deadline));
+        }
+    }
+
+    public synchronized List<Long> advance(Instant now) {
+        return wheel.advance(now.toEpochMilli());
+    }
+
+    public synchronized int tracked() {
+        return wheel.size();
+    }
+
+    private synchronized void add(Long scheduleId, long deadline) {
+        wheel.add(scheduleId, deadline);
+    }
+
+    private long deadlineOf(Instant createdAt) {
+        return createdAt.plus(ttl).toEpochMilli();
+    }
+}
@@ -0,0 +1,124 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.RecurringReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Rules grouped by table and weekday, so a date lookup only looks at the handful of rules of one table
+// on one weekday instead of expanding every week of the semester.
+@Component
+@RequiredArgsConstructor
+public class RecurringReservationIndex {
+
+    private final RecurringReservationRepository recurringReservationRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, List<RecurringRule>[]> rulesByTable = new HashMap<>();
+    private final Map<Long, RecurringRule> rulesById = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<RecurringRule> rules = recurringReservationRepository.findAllWithExceptions().stream()
+                .map(RecurringRule::from)
+                .toList();
+
+        lock.writeLock().lock();
+        try {
+            rulesByTable.clear();
+            rulesById.clear();
+            rules.forEach(this::putRule);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<RecurringRule> occurringOn(Long tableId, LocalDate date) {
+        lock.readLock().lock();
+        try {
+            return rulesOf(tableId, WeekDay.of(date.getDayOfWeek())).stream()
+                    .filter(rule -> rule.occursOn(date))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean collides(RecurringRule candidate) {
+        lock.readLock().lock();
+        try {
+            return rulesOf(candidate.tableId(), candidate.day()).stream()
+                    .anyMatch(rule -> !rule.id().equals(candidate.id()) && rule.collidesWith(candidate));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Weekly bookings have no end date, so any rule that still has an occurrence from the given date collides.
+    public boolean overlapsWeekly(Long tableId, TimeInterval interval, LocalDate from) {
+        lock.readLock().lock();
+        try {
+            return rulesOf(tableId, interval.day()).stream()
+                    .anyMatch(rule -> rule.interval().overlaps(interval)
+                            && rule.occurrences(from, rule.endDate()).findAny().isPresent());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(RecurringRule rule) {
+        AfterCommit.run(() -> write(() -> {
+            removeRule(rule.id());
+            putRule(rule);
+        }));
+    }
+
+    public void remove(Long ruleId) {
+        AfterCommit.run(() -> write(() -> removeRule(ruleId)));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void putRule(RecurringRule rule) {
+        List<RecurringRule>[] byDay = rulesByTable.computeIfAbsent(rule.tableId(), id -> {
+            List<RecurringRule>[] days = new List[WeekDay.values().length];
+            Arrays.setAll(days, day -> new ArrayList<>());
+            return days;
+        });
+
+        byDay[rule.day().ordinal()].add(rule);
+        rulesById.put(rule.id(), rule);
+    }
+
+    private void removeRule(Long ruleId) {
+        RecurringRule removed = rulesById.remove(ruleId);
+        if (removed != null) {
+            rulesByTable.get(removed.tableId())[removed.day().ordinal()].remove(removed);
+        }
+    }
+
+    private List<RecurringRule> rulesOf(Long tableId, WeekDay day) {
+        List<RecurringRule>[] byDay = rulesByTable.get(tableId);
+        return byDay == null ? List.of() : byDay[day.ordinal()];
+    }
+}
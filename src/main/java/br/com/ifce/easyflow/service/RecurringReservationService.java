@@ -0,0 +1,199 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.booking.DateOccupantDTO;
+import br.com.ifce.easyflow.controller.dto.booking.OccurrenceDTO;
+import br.com.ifce.easyflow.controller.dto.booking.RecurringReservationRequestDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO;
+import br.com.ifce.easyflow.exception.PersonNotFoundException;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.RecurringReservation;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.RecurringReservationRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.ScheduleSearchFilter;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class RecurringReservationService {
+
+    private static final long MAX_RANGE_DAYS = 366;
+
+    private final RecurringReservationRepository recurringReservationRepository;
+    private final LabTableRepository labTableRepository;
+    private final PersonRepository personRepository;
+    private final TableBookingRepository tableBookingRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final RecurringReservationIndex recurringReservationIndex;
+    private final TableIntervalIndex tableIntervalIndex;
+    private final TableOccupancyIndex tableOccupancyIndex;
+    private final SlotLockRegistry slotLockRegistry;
+
+    public RecurringReservation findById(Long id) {
+        return recurringReservationRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No recurring reservation was found with the given id."));
+    }
+
+    public List<OccurrenceDTO> occurrences(Long id, LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        RecurringRule rule = RecurringRule.from(this.findById(id));
+
+        return rule.occurrences(from, to)
+                .map(date -> new OccurrenceDTO(date, rule.interval().startTime(), rule.interval().endTime()))
+                .toList();
+    }
+
+    public List<DateOccupantDTO> occupantsOn(Long tableId, LocalDate date) {
+        WeekDay day = WeekDay.of(date.getDayOfWeek());
+        TimeInterval wholeDay = TimeInterval.ofDay(day);
+        List<DateOccupantDTO> occupants = new ArrayList<>();
+
+        recurringReservationIndex.occurringOn(tableId, date).forEach(rule -> occupants.add(new DateOccupantDTO(
+                DateOccupantDTO.Source.RECURRING, rule.id(), rule.personId(), rule.personName(),
+                rule.interval().startTime(), rule.interval().endTime())));
+
+        tableBookingRepository.findOverlapping(tableId, (short) wholeDay.start(), (short) wholeDay.end())
+                .forEach(booking -> occupants.add(new DateOccupantDTO(
+                        DateOccupantDTO.Source.BOOKING, booking.getId(), booking.getPerson().getId(),
+                        booking.getPerson().getName(), booking.interval().startTime(), booking.interval().endTime())));
+
+        List<Short> slotsOfDay = Arrays.stream(ShiftSchedule.values())
+                .map(shift -> new TimeSlot(day, shift).code())
+                .toList();
+        List<ScheduleSummaryResponseDTO> schedules = scheduleRepository.searchSummariesAfter(
+                new ScheduleSearchFilter(null, slotsOfDay, tableId, null),
+                ScheduleCursor.FIRST.slot(), ScheduleCursor.FIRST.id(), TimeSlot.SHIFTS_PER_DAY);
+
+        schedules.forEach(schedule -> {
+            ShiftSchedule shift = TimeSlot.ofCode(schedule.getSlot()).shift();
+            occupants.add(new DateOccupantDTO(DateOccupantDTO.Source.SCHEDULE, schedule.getId(),
+                    schedule.getPersonId(), schedule.getPersonName(), shift.getStart(), shift.getEnd()));
+        });
+
+        occupants.sort(Comparator.comparing(DateOccupantDTO::start));
+        return occupants;
+    }
+
+    @Transactional
+    public RecurringReservation save(RecurringReservationRequestDTO requestDTO) {
+        WeekDay day = WeekDay.fromText(requestDTO.day())
+                .orElseThrow(() -> new BadRequestException("The day provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+        TimeInterval interval = toInterval(day, requestDTO);
+        checkRange(requestDTO.startDate(), requestDTO.endDate());
+
+        slotLockRegistry.lockUntilCompletion(Arrays.stream(ShiftSchedule.values())
+                .map(shift -> new TimeSlot(day, shift).keyOf(requestDTO.tableId()))
+                .toList());
+
+        LabTable table = labTableRepository.findById(requestDTO.tableId())
+                .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
+                        "check the registered tables."));
+
+        Person person = personRepository.findById(requestDTO.personId())
+                .orElseThrow(PersonNotFoundException::new);
+
+        RecurringReservation reservation = RecurringReservation.builder()
+                .table(table)
+                .person(person)
+                .startUnit((short) interval.start())
+                .endUnit((short) interval.end())
+                .startDate(requestDTO.startDate())
+                .endDate(requestDTO.endDate())
+                .exceptions(requestDTO.exceptions() == null ? new HashSet<>() : new HashSet<>(requestDTO.exceptions()))
+                .build();
+
+        RecurringRule candidate = RecurringRule.from(reservation);
+        if (candidate.occurrences(candidate.startDate(), candidate.endDate()).findAny().isEmpty()) {
+            throw new BadRequestException("The reservation has no occurrence between the given dates.");
+        }
+        checkIsFree(candidate);
+
+        RecurringReservation saved = recurringReservationRepository.save(reservation);
+        recurringReservationIndex.put(RecurringRule.from(saved));
+        return saved;
+    }
+
+    @Transactional
+    public RecurringReservation skip(Long id, LocalDate date) {
+        RecurringReservation reservation = this.findById(id);
+
+        if (!RecurringRule.from(reservation).occursOn(date)) {
+            throw new BadRequestException("The reservation has no occurrence on the given date.");
+        }
+
+        reservation.getExceptions().add(date);
+        RecurringReservation saved = recurringReservationRepository.save(reservation);
+        recurringReservationIndex.put(RecurringRule.from(saved));
+        return saved;
+    }
+
+    @Transactional
+    public void delete(Long id) {
+        RecurringReservation reservation = this.findById(id);
+
+        recurringReservationRepository.delete(reservation);
+        recurringReservationIndex.remove(reservation.getId());
+    }
+
+    private void checkIsFree(RecurringRule candidate) {
+        Long tableId = candidate.tableId();
+        TimeInterval interval = candidate.interval();
+
+        boolean overlapsWeekly = tableIntervalIndex.overlaps(tableId, interval) || Arrays.stream(ShiftSchedule.values())
+                .map(shift -> new TimeSlot(interval.day(), shift))
+                .anyMatch(timeSlot -> TimeInterval.of(timeSlot).overlaps(interval)
+                        && tableOccupancyIndex.isReserved(tableId, timeSlot));
+
+        if (overlapsWeekly || recurringReservationIndex.collides(candidate)) {
+            throw new ConflictException("This table is already booked for part of this time.");
+        }
+    }
+
+    private static TimeInterval toInterval(WeekDay day, RecurringReservationRequestDTO requestDTO) {
+        boolean hasShift = requestDTO.shiftSchedule() != null;
+        boolean hasTimes = requestDTO.start() != null || requestDTO.end() != null;
+
+        if (hasShift == hasTimes) {
+            throw new BadRequestException("Send either a shift or a start and end time.");
+        }
+
+        if (hasShift) {
+            ShiftSchedule shift = ShiftSchedule.fromText(requestDTO.shiftSchedule())
+                    .orElseThrow(() -> new BadRequestException("The shift provided does not exist or was not properly written. " +
+                            "Please check the documentation."));
+            return TimeInterval.of(new TimeSlot(day, shift));
+        }
+
+        return TimeInterval.of(day, requestDTO.start(), requestDTO.end())
+                .orElseThrow(() -> new BadRequestException("The reservation must start before it ends and both times must be " +
+                        "on a " + TimeInterval.UNIT_MINUTES + " minute boundary."));
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (from.isAfter(to) || ChronoUnit.DAYS.between(from, to) > MAX_RANGE_DAYS) {
+            throw new BadRequestException("The start date must not be after the end date, " +
+                    "and the range must not exceed one year.");
+        }
+    }
+}
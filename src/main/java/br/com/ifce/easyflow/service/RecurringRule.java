@@ -0,0 +1,67 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.RecurringReservation;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Set;
+import java.util.stream.Stream;
+
+// Immutable copy of a recurring reservation, safe to share between requests.
+public record RecurringRule(Long id,
+                            Long tableId,
+                            Long personId,
+                            String personName,
+                            TimeInterval interval,
+                            LocalDate startDate,
+                            LocalDate endDate,
+                            Set<LocalDate> exceptions) {
+
+    public static RecurringRule from(RecurringReservation reservation) {
+        return new RecurringRule(reservation.getId(),
+                reservation.getTable().getId(),
+                reservation.getPerson().getId(),
+                reservation.getPerson().getName(),
+                reservation.interval(),
+                reservation.getStartDate(),
+                reservation.getEndDate(),
+                Set.copyOf(reservation.getExceptions()));
+    }
+
+    public WeekDay day() {
+        return interval.day();
+    }
+
+    public boolean occursOn(LocalDate date) {
+        return WeekDay.of(date.getDayOfWeek()) == day()
+                && !date.isBefore(startDate)
+                && !date.isAfter(endDate)
+                && !exceptions.contains(date);
+    }
+
+    // Expanded on demand, one date per week of the requested range.
+    public Stream<LocalDate> occurrences(LocalDate from, LocalDate to) {
+        LocalDate first = (from.isAfter(startDate) ? from : startDate)
+                .with(TemporalAdjusters.nextOrSame(interval.day().toDayOfWeek()));
+        LocalDate last = to.isBefore(endDate) ? to : endDate;
+
+        if (first.isAfter(last)) {
+            return Stream.empty();
+        }
+
+        return Stream.iterate(first, date -> date.plusWeeks(1))
+                .limit(ChronoUnit.WEEKS.between(first, last) + 1)
+                .filter(date -> !exceptions.contains(date));
+    }
+
+    public boolean collidesWith(RecurringRule other) {
+        if (!interval.overlaps(other.interval)) {
+            return false;
+        }
+
+        return occurrences(other.startDate, other.endDate).anyMatch(other::occursOn);
+    }
+}
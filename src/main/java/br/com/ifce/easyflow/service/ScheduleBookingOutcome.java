@@ -0,0 +1,21 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.Schedule;
+
+import java.util.List;
+
+// What became of one ticket of a batch booking: its schedules, or the reason it was turned down.
+public record ScheduleBookingOutcome(List<Schedule> schedules, String rejection) {
+
+    public static ScheduleBookingOutcome booked(List<Schedule> schedules) {
+        return new ScheduleBookingOutcome(schedules, null);
+    }
+
+    public static ScheduleBookingOutcome rejected(String rejection) {
+        return new ScheduleBookingOutcome(List.of(), rejection);
+    }
+
+    public boolean isBooked() {
+        return rejection == null;
+    }
+}
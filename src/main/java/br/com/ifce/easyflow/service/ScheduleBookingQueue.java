@@ -0,0 +1,169 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
+import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import br.com.ifce.easyflow.service.exceptions.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class ScheduleBookingQueue {
+
+    private final ScheduleService scheduleService;
+    private final BlockingQueue<ScheduleBookingTicket> queue;
+    private final Map<UUID, ScheduleBookingTicket> tickets = new ConcurrentHashMap<>();
+    private final Queue<ScheduleBookingTicket> finishedTickets = new ConcurrentLinkedQueue<>();
+    private final int workers;
+    private final int batchSize;
+    private final long retryAfterSeconds;
+    private final Duration ticketTtl;
+
+    private ExecutorService executor;
+
+    public ScheduleBookingQueue(ScheduleService scheduleService,
+                                @Value("${schedules.booking-queue.capacity:1000}") int capacity,
+                                @Value("${schedules.booking-queue.workers:4}") int workers,
+                                @Value("${schedules.booking-queue.batch-size:20}") int batchSize,
+                                @Value("${schedules.booking-queue.retry-after-seconds:5}") long retryAfterSeconds,
+                                @Value("${schedules.booking-queue.ticket-ttl-minutes:10}") long ticketTtlMinutes) {
+        this.scheduleService = scheduleService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.ticketTtl = Duration.ofMinutes(ticketTtlMinutes);
+    }
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, runnable -> {
+            Thread thread = new Thread(runnable, "schedule-booking-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public ScheduleBookingTicket enqueue(Long personId, List<SchedulePostRequestDTO> requestDTO) {
+        ScheduleBookingTicket ticket = new ScheduleBookingTicket(personId, requestDTO);
+        tickets.put(ticket.getId(), ticket);
+
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.getId());
+            throw new TooManyRequestsException("The booking queue is full, please try again in a few seconds.",
+                    retryAfterSeconds);
+        }
+
+        return ticket;
+    }
+
+    public ScheduleBookingTicket findTicket(UUID ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId))
+                .orElseThrow(() -> new ResourceNotFoundException("No booking ticket was found with the given id."));
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    private void drain() {
+        List<ScheduleBookingTicket> batch = new ArrayList<>(batchSize);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            queue.drainTo(batch, batchSize - 1);
+            processBatch(batch);
+            batch.clear();
+        }
+    }
+
+    // The whole batch is booked with one insert. If the batch transaction itself fails, every ticket is retried on
+    // its own, so one ticket cannot fail the others.
+    private void processBatch(List<ScheduleBookingTicket> batch) {
+        batch.forEach(ScheduleBookingTicket::processing);
+
+        List<ScheduleBookingOutcome> outcomes;
+        try {
+            outcomes = scheduleService.saveBatch(List.copyOf(batch));
+        } catch (RuntimeException e) {
+            batch.forEach(this::process);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            ScheduleBookingTicket ticket = batch.get(i);
+            ScheduleBookingOutcome outcome = outcomes.get(i);
+
+            if (outcome.isBooked()) {
+                ticket.completed(outcome.schedules().stream().map(Schedule::getId).toList());
+            } else {
+                ticket.failed(outcome.rejection());
+            }
+            finishedTickets.add(ticket);
+        }
+    }
+
+    private void process(ScheduleBookingTicket ticket) {
+        ticket.processing();
+
+        try {
+            List<Schedule> schedules = scheduleService.save(ticket.getPersonId(), ticket.getRequests());
+            ticket.completed(schedules.stream().map(Schedule::getId).toList());
+        } catch (RuntimeException e) {
+            ticket.failed(e.getMessage());
+        }
+
+        finishedTickets.add(ticket);
+    }
+
+    // Runs on a timer rather than after each batch, so tickets are dropped once their time is up even when no
+    // more bookings come in.
+    @Scheduled(fixedDelayString = "${schedules.booking-queue.evict-ms:60000}")
+    public void evictFinishedTickets() {
+        Instant expiredBefore = Instant.now().minus(ticketTtl);
+
+        ScheduleBookingTicket oldest;
+        while ((oldest = finishedTickets.peek()) != null && oldest.getFinishedAt().isBefore(expiredBefore)) {
+            if (finishedTickets.remove(oldest)) {
+                tickets.remove(oldest.getId());
+            }
+        }
+    }
+}
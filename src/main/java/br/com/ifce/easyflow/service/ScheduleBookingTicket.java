@@ -0,0 +1,44 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
+import br.com.ifce.easyflow.model.enums.BookingTicketStatus;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+public class ScheduleBookingTicket {
+
+    private final UUID id = UUID.randomUUID();
+    private final Long personId;
+    private final List<SchedulePostRequestDTO> requests;
+    private final Instant createdAt = Instant.now();
+
+    private volatile BookingTicketStatus status = BookingTicketStatus.QUEUED;
+    private volatile List<Long> scheduleIds = List.of();
+    private volatile String detail;
+    private volatile Instant finishedAt;
+
+    public ScheduleBookingTicket(Long personId, List<SchedulePostRequestDTO> requests) {
+        this.personId = personId;
+        this.requests = List.copyOf(requests);
+    }
+
+    void processing() {
+        this.status = BookingTicketStatus.PROCESSING;
+    }
+
+    void completed(List<Long> scheduleIds) {
+        this.scheduleIds = List.copyOf(scheduleIds);
+        this.finishedAt = Instant.now();
+        this.status = BookingTicketStatus.COMPLETED;
+    }
+
+    void failed(String detail) {
+        this.detail = detail;
+        this.finishedAt = Instant.now();
+        this.status = BookingTicketStatus.FAILED;
+    }
+}
@@ -0,0 +1,39 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+// Position of the last row of a page in the (slot, id) ordering shared by every schedule listing.
+public record ScheduleCursor(short slot, long id) {
+
+    public static final ScheduleCursor FIRST = new ScheduleCursor((short) -1, 0L);
+
+    private static final int ENCODED_BYTES = Short.BYTES + Long.BYTES;
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putShort(slot)
+                .putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    public static ScheduleCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(token.trim());
+            if (bytes.length != ENCODED_BYTES) {
+                throw new IllegalArgumentException();
+            }
+
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            return new ScheduleCursor(buffer.getShort(), buffer.getLong());
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("The cursor provided is not valid, use the one returned by the previous page.");
+        }
+    }
+}
@@ -1,28 +1,52 @@
 package br.com.ifce.easyflow.service;
 
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleBatchItemResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleBatchResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleGroupRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.SchedulePutRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.ScheduleResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSliceResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.SlotAlternativeDTO;
 import br.com.ifce.easyflow.exception.PersonNotFoundException;
 import br.com.ifce.easyflow.model.LabTable;
 import br.com.ifce.easyflow.model.Person;
-import br.com.ifce.easyflow.model.ReservedTables;
 import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
 import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
 import br.com.ifce.easyflow.repository.LabTableRepository;
 import br.com.ifce.easyflow.repository.PersonRepository;
-import br.com.ifce.easyflow.repository.ReservedTableRepository;
 import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.ScheduleSearchFilter;
 import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import br.com.ifce.easyflow.service.exceptions.SlotConflictException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @RequiredArgsConstructor
@@ -30,11 +54,27 @@ public class ScheduleService {
 
     private final ScheduleRepository scheduleRepository;
     private final PersonRepository personRepository;
-    private final ReservedTableRepository reservedTableRepository;
     private final LabTableRepository labTableRepository;
-
-    public Page<Schedule> listAll(Pageable pageable) {
-        return scheduleRepository.findAll(pageable);
+    private final TableOccupancyIndex tableOccupancyIndex;
+    private final TableIntervalIndex tableIntervalIndex;
+    private final RecurringReservationIndex recurringReservationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PendingHoldWheel pendingHoldWheel;
+    private final SlotLockRegistry slotLockRegistry;
+    private final LiveStats liveStats;
+
+    @Value("${schedules.page.max-size:100}")
+    private int maxPageSize = 100;
+
+    @Value("${schedules.conflict.max-alternatives:3}")
+    private int maxAlternatives = 3;
+
+    @Value("${schedules.group.max-size:60}")
+    private int maxGroupSize = 60;
+
+    public ScheduleSliceResponseDTO listAll(String cursor, int size) {
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+        return toSlice(scheduleRepository.findSummariesAfter(after.slot(), after.id(), limit(size)), size);
     }
 
     public ScheduleResponseDTO findById(Long id) {
@@ -44,23 +84,42 @@ public class ScheduleService {
         return ScheduleResponseDTO.toResponseDTO(schedule);
     }
 
-    public List<Schedule> findByUserId(Long personId) {
-        if (personRepository.existsById(personId)) {
-            return scheduleRepository.findByPersonId(personId)
-                    .orElseThrow(() -> new ResourceNotFoundException("The user has no registered schedules."));
+    public ScheduleSliceResponseDTO findByUserId(Long personId, String cursor, int size) {
+        if (!personRepository.existsById(personId)) {
+            throw new PersonNotFoundException();
         }
-        throw new PersonNotFoundException();
+
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+        return toSlice(scheduleRepository.findSummariesByPersonIdAfter(personId, after.slot(), after.id(), limit(size)), size);
     }
 
-    public List<Schedule> findByShiftSchedule(String shiftSchedule) {
-        return scheduleRepository.findByShiftSchedule(shiftSchedule);
+    public ScheduleSliceResponseDTO findByShiftSchedule(String shiftSchedule, String cursor, int size) {
+        ShiftSchedule shift = ShiftSchedule.fromText(shiftSchedule)
+                .orElseThrow(() -> new BadRequestException("The shift provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        List<Short> slots = Arrays.stream(WeekDay.values())
+                .map(day -> new TimeSlot(day, shift).code())
+                .toList();
+
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+        return toSlice(scheduleRepository.findSummariesBySlotInAfter(slots, after.slot(), after.id(), limit(size)), size);
     }
 
-    public List<Schedule> findByDay(String day) {
-        return scheduleRepository.findByDay(day);
+    public ScheduleSliceResponseDTO findByDay(String day, String cursor, int size) {
+        WeekDay weekDay = WeekDay.fromText(day)
+                .orElseThrow(() -> new BadRequestException("The day provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+        return toSlice(scheduleRepository.findSummariesBySlotBetweenAfter(TimeSlot.firstCodeOf(weekDay),
+                TimeSlot.lastCodeOf(weekDay),
+                after.slot(),
+                after.id(),
+                limit(size)), size);
     }
 
-    public List<Schedule> findAllByStatus(String status) {
+    public ScheduleSliceResponseDTO findAllByStatus(String status, String cursor, int size) {
 
         boolean statusMatches = Arrays.stream(ScheduleRequestStatus
                         .values())
@@ -71,11 +130,15 @@ public class ScheduleService {
                     "Please check the documentation.");
         }
 
-        return scheduleRepository.findAllByStatus(ScheduleRequestStatus.valueOf(status.toUpperCase()));
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+        return toSlice(scheduleRepository.findSummariesByStatusAfter(ScheduleRequestStatus.valueOf(status.toUpperCase()),
+                after.slot(),
+                after.id(),
+                limit(size)), size);
 
     }
 
-    public List<Schedule> findAllByTableId(Long id) {
+    public ScheduleSliceResponseDTO findAllByTableId(Long id, String cursor, int size) {
 
         boolean tableExist = labTableRepository.existsById(id);
 
@@ -84,59 +147,238 @@ public class ScheduleService {
                     "check the registered tables.");
         }
 
-        return scheduleRepository.findAllByTableId(id);
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+        return toSlice(scheduleRepository.findSummariesByTableIdAfter(id, after.slot(), after.id(), limit(size)), size);
+    }
+
+    public ScheduleSliceResponseDTO search(String status, String day, String shiftSchedule, Long tableId, Long personId,
+                                           String cursor, int size) {
+        ScheduleRequestStatus requestStatus = status == null ? null : Arrays.stream(ScheduleRequestStatus.values())
+                .filter(s -> s.name().equalsIgnoreCase(status.trim()))
+                .findFirst()
+                .orElseThrow(() -> new BadRequestException("The status provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        WeekDay weekDay = day == null ? null : WeekDay.fromText(day)
+                .orElseThrow(() -> new BadRequestException("The day provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        ShiftSchedule shift = shiftSchedule == null ? null : ShiftSchedule.fromText(shiftSchedule)
+                .orElseThrow(() -> new BadRequestException("The shift provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        ScheduleSearchFilter filter = new ScheduleSearchFilter(requestStatus, searchedSlots(weekDay, shift), tableId, personId);
+        ScheduleCursor after = ScheduleCursor.decode(cursor);
+
+        return toSlice(scheduleRepository.searchSummariesAfter(filter, after.slot(), after.id(), limit(size).getPageSize()),
+                size);
+    }
+
+    public boolean existsByTableId(Long tableId) {
+        return scheduleRepository.existsByTableId(tableId);
+    }
+
+    public boolean isSlotFree(Long tableId, TimeSlot timeSlot) {
+        return !scheduleRepository.existsByTableIdAndSlot(tableId, timeSlot.code())
+                && !overlapsIntervalBookings(tableId, timeSlot);
     }
 
     @Transactional
     public List<Schedule> save(Long personId, List<SchedulePostRequestDTO> requestDTO) {
+        return book(personId, requestDTO);
+    }
+
+    // Same as save, but without a transaction boundary of its own: it joins the caller's transaction, and a booking
+    // rejected by one of the checks throws without marking that transaction for rollback. The waitlist relies on it
+    // to skip a person who can no longer be booked while it promotes inside the transaction that freed the slot.
+    public List<Schedule> book(Long personId, List<SchedulePostRequestDTO> requestDTO) {
+        List<TimeSlot> timeSlots = requestDTO.stream()
+                .map(request -> toTimeSlot(request.getDay(), request.getShiftSchedule()))
+                .toList();
+
+        slotLockRegistry.lockUntilCompletion(IntStream.range(0, requestDTO.size())
+                .mapToObj(i -> slotKey(requestDTO.get(i).getTableId(), timeSlots.get(i)))
+                .toList());
+
+        Person person = personRepository.findById(personId)
+                .orElseThrow(PersonNotFoundException::new);
+
+        if (requestDTO.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, LabTable> tables = findTables(requestDTO);
+        checkSlotsAreFree(requestDTO, timeSlots);
+
+        List<Schedule> schedules = IntStream.range(0, requestDTO.size())
+                .mapToObj(i -> toPendingSchedule(person, tables.get(requestDTO.get(i).getTableId()), timeSlots.get(i)))
+                .toList();
 
-        return requestDTO.stream()
-                .map(re -> convertScheduleRequest(personId, re))
-                .peek(scheduleRepository::save).toList();
+        try {
+            scheduleRepository.insertAll(schedules);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("This table is already booked for this time.");
+        }
+
+        schedules.forEach(schedule -> {
+            tableOccupancyIndex.reserve(schedule.getTable().getId(), schedule.timeSlot());
+            pendingHoldWheel.track(schedule.getId(), schedule.getCreatedAt());
+        });
+        liveStats.schedulesAdded(ScheduleRequestStatus.PENDING, schedules.stream().map(Schedule::getSlot).toList());
 
+        return schedules;
+    }
+
+    // Books the tickets drained by the booking queue with one lock call, one read of the reserved slots and one
+    // insert. Every ticket is checked on its own, as save would: a rejected ticket gets the reason back and the
+    // others are still booked. A slot asked for by two tickets of the batch goes to the earlier one.
+    @Transactional
+    public List<ScheduleBookingOutcome> saveBatch(List<ScheduleBookingTicket> tickets) {
+        List<List<TimeSlot>> timeSlots = new ArrayList<>(tickets.size());
+        List<Long> slotKeys = new ArrayList<>();
+
+        for (ScheduleBookingTicket ticket : tickets) {
+            List<TimeSlot> ticketSlots = ticket.getRequests().stream()
+                    .map(request -> TimeSlot.parse(request.getDay(), request.getShiftSchedule()).orElse(null))
+                    .toList();
+            timeSlots.add(ticketSlots);
+            for (int i = 0; i < ticketSlots.size(); i++) {
+                if (ticketSlots.get(i) != null) {
+                    slotKeys.add(slotKey(ticket.getRequests().get(i).getTableId(), ticketSlots.get(i)));
+                }
+            }
+        }
+
+        slotLockRegistry.lockUntilCompletion(slotKeys);
+
+        Map<Long, Person> persons = personRepository.findAllById(tickets.stream()
+                        .map(ScheduleBookingTicket::getPersonId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Person::getId, Function.identity()));
+        Set<Long> tableIds = tickets.stream()
+                .flatMap(ticket -> ticket.getRequests().stream())
+                .map(SchedulePostRequestDTO::getTableId)
+                .collect(Collectors.toSet());
+        Map<Long, LabTable> tables = labTableRepository.findAllById(tableIds).stream()
+                .collect(Collectors.toMap(LabTable::getId, Function.identity()));
+
+        Set<Long> claimed = scheduleRepository.findReservedSlots(tableIds, timeSlots.stream()
+                        .flatMap(List::stream)
+                        .filter(Objects::nonNull)
+                        .map(TimeSlot::code)
+                        .collect(Collectors.toSet())).stream()
+                .map(slot -> slotKey(slot.getTableId(), slot.getSlot()))
+                .collect(Collectors.toCollection(HashSet::new));
+
+        List<ScheduleBookingOutcome> outcomes = new ArrayList<>(tickets.size());
+        List<Schedule> schedules = new ArrayList<>();
+
+        for (int t = 0; t < tickets.size(); t++) {
+            ScheduleBookingTicket ticket = tickets.get(t);
+            try {
+                List<Schedule> booked = toBatchSchedules(ticket, timeSlots.get(t), persons, tables, claimed);
+                schedules.addAll(booked);
+                outcomes.add(ScheduleBookingOutcome.booked(booked));
+            } catch (BadRequestException | ResourceNotFoundException | PersonNotFoundException e) {
+                outcomes.add(ScheduleBookingOutcome.rejected(e.getMessage()));
+            }
+        }
+
+        try {
+            scheduleRepository.insertAll(schedules);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("This table is already booked for this time.");
+        }
+
+        schedules.forEach(schedule -> {
+            tableOccupancyIndex.reserve(schedule.getTable().getId(), schedule.timeSlot());
+            pendingHoldWheel.track(schedule.getId(), schedule.getCreatedAt());
+        });
+        if (!schedules.isEmpty()) {
+            liveStats.schedulesAdded(ScheduleRequestStatus.PENDING, schedules.stream().map(Schedule::getSlot).toList());
+        }
+
+        return outcomes;
+    }
+
+    // Books every table in every slot or nothing. save already locks all the keys at once in stripe order and
+    // writes the rows in one batch, so a group only adds the cross product and its size limit.
+    @Transactional
+    public List<Schedule> saveGroup(Long personId, ScheduleGroupRequestDTO requestDTO) {
+        List<Long> tableIds = requestDTO.getTableIds();
+        List<ScheduleGroupRequestDTO.Slot> slots = requestDTO.getSlots();
+
+        if ((long) tableIds.size() * slots.size() > maxGroupSize) {
+            throw new BadRequestException("A group reservation can have at most " + maxGroupSize + " table and slot pairs.");
+        }
+
+        if (new HashSet<>(tableIds).size() < tableIds.size()
+                || slots.stream().map(slot -> toTimeSlot(slot.getDay(), slot.getShiftSchedule())).distinct().count() < slots.size()) {
+            throw new BadRequestException("Each table and each slot can only be listed once in a group reservation.");
+        }
+
+        return this.save(personId, tableIds.stream()
+                .flatMap(tableId -> slots.stream().map(slot -> SchedulePostRequestDTO.builder()
+                        .tableId(tableId)
+                        .day(slot.getDay())
+                        .shiftSchedule(slot.getShiftSchedule())
+                        .build()))
+                .toList());
     }
 
     @Transactional
     public Schedule update(Long idSchedule, SchedulePutRequestDTO requestDTO) {
+        TimeSlot timeSlot = toTimeSlot(requestDTO.getDay(), requestDTO.getShiftSchedule());
+
         Schedule scheduleSaved = scheduleRepository.findById(idSchedule)
                 .orElseThrow(() -> new ResourceNotFoundException("No time was found with the given id."));
 
+        // The slot left behind is locked along with the new one, so the waitlist promotion it triggers never takes
+        // a second lock out of stripe order.
+        List<Long> slotKeys = new ArrayList<>(List.of(slotKey(requestDTO.getTableId(), timeSlot)));
+        if (scheduleSaved.getTable() != null) {
+            slotKeys.add(slotKey(scheduleSaved.getTable().getId(), scheduleSaved.timeSlot()));
+        }
+        slotLockRegistry.lockUntilCompletion(slotKeys);
+
         if (!scheduleSaved.getStatus().equals(ScheduleRequestStatus.PENDING)) {
             throw new BadRequestException("The time request can only be edited if it is pending.");
         }
 
-        boolean existsReserveBySchedule = reservedTableRepository.existsByScheduleId(scheduleSaved.getId());
-
-        if (existsReserveBySchedule) {
-            reservedTableRepository.deleteByScheduleId(scheduleSaved.getId());
+        SlotReleasedEvent previousSlot = null;
+        if (scheduleSaved.getTable() != null) {
+            previousSlot = new SlotReleasedEvent(scheduleSaved.getTable().getId(), scheduleSaved.timeSlot());
+            tableOccupancyIndex.release(previousSlot.tableId(), previousSlot.timeSlot());
         }
 
         LabTable table = labTableRepository.findById(requestDTO.getTableId())
                 .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
                         "check the registered tables."));
 
-        boolean existsOtherReserve = reservedTableRepository.existsByTableIdAndShiftScheduleAndDay(
-                table.getId(),
-                requestDTO.getShiftSchedule(),
-                requestDTO.getDay());
+        boolean existsOtherReserve = scheduleRepository.existsByTableIdAndSlotAndIdNot(table.getId(), timeSlot.code(),
+                scheduleSaved.getId()) || overlapsIntervalBookings(table.getId(), timeSlot);
 
         if (existsOtherReserve) {
-            throw new BadRequestException("This table is already booked for this time.");
+            throw slotConflict(table.getId(), timeSlot);
         }
 
+        Short previousCode = scheduleSaved.getSlot();
+        Schedule scheduleToSave = updateScheduleEntity(scheduleSaved, table, timeSlot);
 
-        Schedule scheduleToSave = updateScheduleEntity(scheduleSaved, requestDTO);
-
-        ReservedTables reservedTable = ReservedTables.builder()
-                .table(scheduleToSave.getTable())
-                .shiftSchedule(scheduleToSave.getShiftSchedule())
-                .day(scheduleToSave.getDay())
-                .build();
-
-        reservedTableRepository.save(reservedTable);
+        Schedule updated;
+        try {
+            updated = scheduleRepository.saveAndFlush(scheduleToSave);
+        } catch (DataIntegrityViolationException e) {
+            throw new BadRequestException("This table is already booked for this time.");
+        }
+        tableOccupancyIndex.reserve(table.getId(), timeSlot);
+        liveStats.scheduleMoved(ScheduleRequestStatus.PENDING, previousCode, timeSlot.code());
 
-        return scheduleRepository.save(scheduleToSave);
+        if (previousSlot != null && !previousSlot.equals(new SlotReleasedEvent(table.getId(), timeSlot))) {
+            eventPublisher.publishEvent(previousSlot);
+        }
 
+        return updated;
     }
 
     @Transactional
@@ -149,15 +391,12 @@ public class ScheduleService {
             throw new BadRequestException("The schedule request has a status other than pending.");
         }
 
-        boolean existsReserve = reservedTableRepository.existsByTableIdAndShiftScheduleAndDay(scheduleSaved.getTable().getId(),
-                scheduleSaved.getShiftSchedule(),
-                scheduleSaved.getDay());
-
-        if (!existsReserve) {
+        if (scheduleSaved.getTable() == null) {
             throw new BadRequestException("This table is not reserved for this time. Please look at the requests.");
         }
 
         scheduleSaved.setStatus(ScheduleRequestStatus.APPROVED);
+        liveStats.scheduleChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.APPROVED, scheduleSaved.getSlot());
 
         return scheduleRepository.save(scheduleSaved);
     }
@@ -171,14 +410,115 @@ public class ScheduleService {
             throw new BadRequestException("The schedule request has a status other than pending.");
         }
 
-        reservedTableRepository.deleteByShiftScheduleAndDayAndTableId(
-                scheduleSaved.getShiftSchedule(),
-                scheduleSaved.getDay(),
-                scheduleSaved.getTable().getId());
+        slotLockRegistry.lockUntilCompletion(List.of(slotKey(scheduleSaved.getTable().getId(), scheduleSaved.timeSlot())));
+        tableOccupancyIndex.release(scheduleSaved.getTable().getId(), scheduleSaved.timeSlot());
 
+        Long releasedTableId = scheduleSaved.getTable().getId();
         scheduleSaved.setStatus(ScheduleRequestStatus.DENIED);
         scheduleSaved.setTable(null);
         scheduleRepository.save(scheduleSaved);
+        liveStats.scheduleChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.DENIED, scheduleSaved.getSlot());
+
+        eventPublisher.publishEvent(new SlotReleasedEvent(releasedTableId, scheduleSaved.timeSlot()));
+    }
+
+    @Transactional
+    public ScheduleBatchResponseDTO approveAll(List<Long> ids) {
+        Map<Long, ScheduleRepository.ScheduleTransition> transitions = findTransitions(ids);
+        List<ScheduleBatchItemResponseDTO> results = new ArrayList<>();
+        List<Long> approved = new ArrayList<>();
+        List<Short> approvedSlots = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            ScheduleRepository.ScheduleTransition transition = transitions.get(id);
+            ScheduleBatchItemResponseDTO failure = checkPending(id, transition);
+
+            if (failure != null) {
+                results.add(failure);
+            } else if (transition.getTableId() == null) {
+                results.add(ScheduleBatchItemResponseDTO.failed(id, transition.getStatus(),
+                        "This table is not reserved for this time. Please look at the requests."));
+            } else {
+                approved.add(id);
+                approvedSlots.add(transition.getSlot());
+                results.add(ScheduleBatchItemResponseDTO.succeeded(id, ScheduleRequestStatus.APPROVED));
+            }
+        }
+
+        if (!approved.isEmpty()) {
+            scheduleRepository.updateStatus(approved, ScheduleRequestStatus.PENDING, ScheduleRequestStatus.APPROVED);
+            liveStats.schedulesChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.APPROVED, approvedSlots);
+        }
+
+        return ScheduleBatchResponseDTO.of(results);
+    }
+
+    @Transactional
+    public ScheduleBatchResponseDTO denyAll(List<Long> ids) {
+        Map<Long, ScheduleRepository.ScheduleTransition> transitions = findTransitions(ids);
+        List<ScheduleBatchItemResponseDTO> results = new ArrayList<>();
+        List<Long> denied = new ArrayList<>();
+        List<Short> deniedSlots = new ArrayList<>();
+        List<SlotReleasedEvent> releasedSlots = new ArrayList<>();
+
+        for (Long id : new LinkedHashSet<>(ids)) {
+            ScheduleRepository.ScheduleTransition transition = transitions.get(id);
+            ScheduleBatchItemResponseDTO failure = checkPending(id, transition);
+
+            if (failure != null) {
+                results.add(failure);
+                continue;
+            }
+
+            denied.add(id);
+            deniedSlots.add(transition.getSlot());
+            results.add(ScheduleBatchItemResponseDTO.succeeded(id, ScheduleRequestStatus.DENIED));
+
+            if (transition.getTableId() != null) {
+                releasedSlots.add(new SlotReleasedEvent(transition.getTableId(), TimeSlot.ofCode(transition.getSlot())));
+                tableOccupancyIndex.release(transition.getTableId(), TimeSlot.ofCode(transition.getSlot()));
+            }
+        }
+
+        lockReleasedSlots(releasedSlots);
+        if (!denied.isEmpty()) {
+            scheduleRepository.updateStatusAndReleaseTable(denied, ScheduleRequestStatus.PENDING, ScheduleRequestStatus.DENIED);
+            liveStats.schedulesChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.DENIED, deniedSlots);
+        }
+        releasedSlots.forEach(eventPublisher::publishEvent);
+
+        return ScheduleBatchResponseDTO.of(results);
+    }
+
+    // Expires the holds handed over by the hold wheel. Requests approved, denied or deleted in the meantime
+    // are skipped, so the wheel never needs to be told about them.
+    @Transactional
+    public int expirePending(List<Long> ids) {
+        List<ScheduleRepository.ScheduleTransition> expired = findTransitions(ids).values().stream()
+                .filter(transition -> transition.getStatus() == ScheduleRequestStatus.PENDING)
+                .toList();
+
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<SlotReleasedEvent> releasedSlots = new ArrayList<>();
+
+        for (ScheduleRepository.ScheduleTransition transition : expired) {
+            if (transition.getTableId() != null) {
+                releasedSlots.add(new SlotReleasedEvent(transition.getTableId(), TimeSlot.ofCode(transition.getSlot())));
+                tableOccupancyIndex.release(transition.getTableId(), TimeSlot.ofCode(transition.getSlot()));
+            }
+        }
+
+        lockReleasedSlots(releasedSlots);
+        scheduleRepository.updateStatusAndReleaseTable(expired.stream().map(ScheduleRepository.ScheduleTransition::getId).toList(),
+                ScheduleRequestStatus.PENDING, ScheduleRequestStatus.EXPIRED);
+        liveStats.schedulesChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.EXPIRED,
+                expired.stream().map(ScheduleRepository.ScheduleTransition::getSlot).toList());
+        releasedSlots.forEach(eventPublisher::publishEvent);
+
+        return expired.size();
     }
 
     @Transactional
@@ -187,56 +527,214 @@ public class ScheduleService {
                 .orElseThrow(() -> new ResourceNotFoundException("No time was found with the given id."));
 
 
-        reservedTableRepository.deleteByShiftScheduleAndDayAndTableId(schedule.getShiftSchedule(), schedule.getDay(), schedule.getTable().getId());
+        // Denied schedules no longer hold a table.
+        if (schedule.getTable() == null) {
+            scheduleRepository.deleteById(idSchedule);
+            liveStats.scheduleRemoved(schedule.getStatus(), schedule.getSlot());
+            return;
+        }
+
+        slotLockRegistry.lockUntilCompletion(List.of(slotKey(schedule.getTable().getId(), schedule.timeSlot())));
+        tableOccupancyIndex.release(schedule.getTable().getId(), schedule.timeSlot());
         scheduleRepository.deleteById(idSchedule);
+        liveStats.scheduleRemoved(schedule.getStatus(), schedule.getSlot());
 
+        eventPublisher.publishEvent(new SlotReleasedEvent(schedule.getTable().getId(), schedule.timeSlot()));
 
     }
 
-    private Schedule updateScheduleEntity(Schedule scheduleSaved, SchedulePutRequestDTO requestDTO) {
-
-        LabTable table = labTableRepository.findById(requestDTO.getTableId())
-                .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
-                        "check the registered tables."));
+    // Releasing a slot promotes its waitlist in the same transaction, under the lock of the slot, so the released
+    // slots are locked before the rows change, all at once and in stripe order.
+    private void lockReleasedSlots(List<SlotReleasedEvent> releasedSlots) {
+        if (!releasedSlots.isEmpty()) {
+            slotLockRegistry.lockUntilCompletion(releasedSlots.stream()
+                    .map(slot -> slotKey(slot.tableId(), slot.timeSlot()))
+                    .toList());
+        }
+    }
 
-        scheduleSaved.setShiftSchedule(requestDTO.getShiftSchedule());
-        scheduleSaved.setDay(requestDTO.getDay());
+    private Schedule updateScheduleEntity(Schedule scheduleSaved, LabTable table, TimeSlot timeSlot) {
+        scheduleSaved.setShiftSchedule(timeSlot.shift());
+        scheduleSaved.setDay(timeSlot.day());
+        scheduleSaved.setSlot(timeSlot.code());
         scheduleSaved.setTable(table);
         return scheduleSaved;
     }
 
-    private Schedule convertScheduleRequest(Long personId, SchedulePostRequestDTO request) {
-        Person person = personRepository.findById(personId)
+    private Map<Long, ScheduleRepository.ScheduleTransition> findTransitions(List<Long> ids) {
+        return scheduleRepository.findTransitionsForUpdate(new HashSet<>(ids)).stream()
+                .collect(Collectors.toMap(ScheduleRepository.ScheduleTransition::getId,
+                        Function.identity(),
+                        (first, second) -> first));
+    }
+
+    private static ScheduleBatchItemResponseDTO checkPending(Long id, ScheduleRepository.ScheduleTransition transition) {
+        if (transition == null) {
+            return ScheduleBatchItemResponseDTO.failed(id, null, "No time was found with the given id.");
+        }
+
+        if (transition.getStatus() != ScheduleRequestStatus.PENDING) {
+            return ScheduleBatchItemResponseDTO.failed(id, transition.getStatus(),
+                    "The schedule request has a status other than pending.");
+        }
+
+        return null;
+    }
+
+    private Map<Long, LabTable> findTables(List<SchedulePostRequestDTO> requestDTO) {
+        Set<Long> tableIds = requestDTO.stream()
+                .map(SchedulePostRequestDTO::getTableId)
+                .collect(Collectors.toSet());
+
+        Map<Long, LabTable> tables = labTableRepository.findAllById(tableIds).stream()
+                .collect(Collectors.toMap(LabTable::getId, Function.identity()));
+
+        if (tables.size() != tableIds.size()) {
+            throw new ResourceNotFoundException("No table was found with the provided id, " +
+                    "check the registered tables.");
+        }
+
+        return tables;
+    }
+
+    private void checkSlotsAreFree(List<SchedulePostRequestDTO> requestDTO, List<TimeSlot> timeSlots) {
+        Set<Long> requestedSlots = new HashSet<>();
+
+        for (int i = 0; i < requestDTO.size(); i++) {
+            Long tableId = requestDTO.get(i).getTableId();
+            if (!requestedSlots.add(slotKey(tableId, timeSlots.get(i)))
+                    || overlapsIntervalBookings(tableId, timeSlots.get(i))) {
+                throw slotConflict(tableId, timeSlots.get(i));
+            }
+        }
+
+        List<ScheduleRepository.ReservedSlot> reservedSlots = scheduleRepository.findReservedSlots(
+                requestDTO.stream().map(SchedulePostRequestDTO::getTableId).collect(Collectors.toSet()),
+                timeSlots.stream().map(TimeSlot::code).collect(Collectors.toSet()));
+
+        Optional<ScheduleRepository.ReservedSlot> taken = reservedSlots.stream()
+                .filter(slot -> requestedSlots.contains(slotKey(slot.getTableId(), slot.getSlot())))
+                .findFirst();
+
+        if (taken.isPresent()) {
+            throw slotConflict(taken.get().getTableId(), TimeSlot.ofCode(taken.get().getSlot()));
+        }
+    }
+
+    // The checks of save for one ticket of a batch, against what was read for the whole batch. The slots the
+    // ticket gets are claimed, so later tickets of the batch see them as taken.
+    private List<Schedule> toBatchSchedules(ScheduleBookingTicket ticket, List<TimeSlot> timeSlots,
+                                            Map<Long, Person> persons, Map<Long, LabTable> tables, Set<Long> claimed) {
+        List<SchedulePostRequestDTO> requests = ticket.getRequests();
+        Person person = Optional.ofNullable(persons.get(ticket.getPersonId()))
                 .orElseThrow(PersonNotFoundException::new);
 
-        LabTable table = labTableRepository.findById(request.getTableId())
-                .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
-                        "check the registered tables."));
+        for (int i = 0; i < requests.size(); i++) {
+            if (timeSlots.get(i) == null) {
+                throw new BadRequestException("The day or shift provided does not exist or was not properly written. " +
+                        "Please check the documentation.");
+            }
+            if (!tables.containsKey(requests.get(i).getTableId())) {
+                throw new ResourceNotFoundException("No table was found with the provided id, " +
+                        "check the registered tables.");
+            }
+        }
 
-        boolean existsReserve = reservedTableRepository.existsByTableIdAndShiftScheduleAndDay(table.getId(),
-                request.getShiftSchedule(),
-                request.getDay());
+        Set<Long> requestedSlots = new HashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            Long tableId = requests.get(i).getTableId();
+            long key = slotKey(tableId, timeSlots.get(i));
+            if (!requestedSlots.add(key) || claimed.contains(key) || overlapsIntervalBookings(tableId, timeSlots.get(i))) {
+                throw slotConflict(tableId, timeSlots.get(i));
+            }
+        }
+        claimed.addAll(requestedSlots);
 
-        if (existsReserve) {
-            throw new BadRequestException("This table is already booked for this time.");
+        return IntStream.range(0, requests.size())
+                .mapToObj(i -> toPendingSchedule(person, tables.get(requests.get(i).getTableId()), timeSlots.get(i)))
+                .toList();
+    }
+
+    // Alternatives come from the in-memory indexes only, so a conflict costs no extra queries.
+    private SlotConflictException slotConflict(Long tableId, TimeSlot timeSlot) {
+        List<SlotAlternativeDTO> alternatives = new ArrayList<>();
+
+        tableOccupancyIndex.nearestFreeTables(tableId, timeSlot,
+                        table -> !overlapsIntervalBookings(table.getId(), timeSlot), maxAlternatives)
+                .forEach(table -> alternatives.add(SlotAlternativeDTO.of(table, timeSlot, SlotAlternativeDTO.Kind.OTHER_TABLE)));
+
+        LabTable table = tableOccupancyIndex.findTable(tableId);
+        if (table != null) {
+            tableOccupancyIndex.nearestFreeSlots(tableId, timeSlot,
+                            slot -> !overlapsIntervalBookings(tableId, slot), maxAlternatives)
+                    .forEach(slot -> alternatives.add(SlotAlternativeDTO.of(table, slot, SlotAlternativeDTO.Kind.OTHER_SLOT)));
         }
 
-        Schedule schedule = Schedule.builder()
-                .day(request.getDay())
-                .shiftSchedule(request.getShiftSchedule())
+        return new SlotConflictException("This table is already booked for this time.", alternatives);
+    }
+
+    private Schedule toPendingSchedule(Person person, LabTable table, TimeSlot timeSlot) {
+        return Schedule.builder()
+                .day(timeSlot.day())
+                .shiftSchedule(timeSlot.shift())
+                .slot(timeSlot.code())
                 .status(ScheduleRequestStatus.PENDING)
                 .table(table)
                 .person(person)
+                .createdAt(Instant.now())
                 .build();
+    }
 
-        ReservedTables reservedTable = ReservedTables.builder()
-                .table(table)
-                .shiftSchedule(request.getShiftSchedule())
-                .day(request.getDay())
-                .schedule(schedule)
-                .build();
+    // Day and shift both narrow the slot codes, so together they select a single slot.
+    private static List<Short> searchedSlots(WeekDay day, ShiftSchedule shift) {
+        if (day == null && shift == null) {
+            return null;
+        }
+
+        List<WeekDay> days = day == null ? Arrays.asList(WeekDay.values()) : List.of(day);
+        List<ShiftSchedule> shifts = shift == null ? Arrays.asList(ShiftSchedule.values()) : List.of(shift);
+
+        return days.stream()
+                .flatMap(d -> shifts.stream().map(s -> new TimeSlot(d, s).code()))
+                .toList();
+    }
+
+    private boolean overlapsIntervalBookings(Long tableId, TimeSlot timeSlot) {
+        TimeInterval interval = TimeInterval.of(timeSlot);
+        return tableIntervalIndex.overlaps(tableId, interval)
+                || recurringReservationIndex.overlapsWeekly(tableId, interval, LocalDate.now());
+    }
+
+    private PageRequest limit(int size) {
+        if (size < 1 || size > maxPageSize) {
+            throw new BadRequestException("The page size must be between 1 and " + maxPageSize + ".");
+        }
+
+        // One extra row tells whether there is a next page without a count query.
+        return PageRequest.of(0, size + 1);
+    }
+
+    private static ScheduleSliceResponseDTO toSlice(List<ScheduleSummaryResponseDTO> rows, int size) {
+        if (rows.size() <= size) {
+            return new ScheduleSliceResponseDTO(rows, null);
+        }
+
+        List<ScheduleSummaryResponseDTO> content = rows.subList(0, size);
+        ScheduleSummaryResponseDTO last = content.get(size - 1);
+        return new ScheduleSliceResponseDTO(content, new ScheduleCursor(last.getSlot(), last.getId()).encode());
+    }
+
+    private static TimeSlot toTimeSlot(String day, String shiftSchedule) {
+        return TimeSlot.parse(day, shiftSchedule)
+                .orElseThrow(() -> new BadRequestException("The day or shift provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+    }
+
+    private static long slotKey(Long tableId, TimeSlot timeSlot) {
+        return timeSlot.keyOf(tableId);
+    }
 
-        reservedTableRepository.save(reservedTable);
-        return schedule;
+    private static long slotKey(Long tableId, short slot) {
+        return TimeSlot.keyOf(tableId, slot);
     }
 }
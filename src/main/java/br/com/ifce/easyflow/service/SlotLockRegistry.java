@@ -0,0 +1,99 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Component
+public class SlotLockRegistry {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+
+    public SlotLockRegistry(@Value("${schedules.slot-locks.stripes:256}") int stripes,
+                            @Value("${schedules.slot-locks.timeout-ms:5000}") long timeoutMillis) {
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock(true);
+        }
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Stripes are always taken in ascending order, so callers locking several slots cannot deadlock each other.
+    public SlotLocks lock(Collection<?> slotKeys) {
+        int[] indexes = slotKeys.stream()
+                .mapToInt(this::stripeOf)
+                .distinct()
+                .sorted()
+                .toArray();
+
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                if (!stripes[index].tryLock(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new ConflictException("This time slot is being booked by other requests, please try again.");
+                }
+                acquired++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("The booking was interrupted while waiting for the time slot.");
+        } finally {
+            if (acquired < indexes.length) {
+                unlock(indexes, acquired);
+            }
+        }
+
+        return new SlotLocks(indexes);
+    }
+
+    // Keeps the slots locked until the surrounding transaction commits or rolls back.
+    public void lockUntilCompletion(Collection<?> slotKeys) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Slot locks must be acquired inside a transaction.");
+        }
+
+        SlotLocks locks = lock(slotKeys);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                locks.close();
+            }
+        });
+    }
+
+    private int stripeOf(Object slotKey) {
+        int hash = slotKey.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, stripes.length);
+    }
+
+    private void unlock(int[] indexes, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            stripes[indexes[i]].unlock();
+        }
+    }
+
+    public final class SlotLocks implements AutoCloseable {
+        private final int[] indexes;
+        private boolean released;
+
+        private SlotLocks(int[] indexes) {
+            this.indexes = indexes;
+        }
+
+        @Override
+        public void close() {
+            if (!released) {
+                released = true;
+                unlock(indexes, indexes.length);
+            }
+        }
+    }
+}
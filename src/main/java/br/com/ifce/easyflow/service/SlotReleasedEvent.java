@@ -0,0 +1,7 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.TimeSlot;
+
+// Published inside the transaction that freed the slot, so listeners can take it before it commits.
+public record SlotReleasedEvent(Long tableId, TimeSlot timeSlot) {
+}
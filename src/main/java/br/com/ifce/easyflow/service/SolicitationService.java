@@ -1,6 +1,9 @@
 package br.com.ifce.easyflow.service;
 
 import br.com.ifce.easyflow.controller.dto.solicitation.ApprovedSolicitationDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.LoanExpiryResultDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationBatchItemResponseDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationBatchResponseDTO;
 import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationPostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationPutRequestDTO;
 import br.com.ifce.easyflow.exception.PersonNotFoundException;
@@ -15,6 +18,7 @@ import br.com.ifce.easyflow.repository.SolicitationRepository;
 import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,15 +27,32 @@ import javax.transaction.Transactional;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SolicitationService {
 
+    // Expired solicitations are loans whose period is over, they still show up when looking back at a period.
+    private static final List<SolicitationStatus> LENT = List.of(SolicitationStatus.APPROVED, SolicitationStatus.EXPIRED);
+
     private final SolicitationRepository solicitationRepository;
     private final EquipmentRepository equipmentRepository;
     private final PersonRepository personRepository;
+    private final CollectionVersions collectionVersions;
+    private final LiveStats liveStats;
+    private final LoanIntervalIndex loanIntervalIndex;
+    private final EquipmentPool equipmentPool;
+
+    @Value("${solicitations.approve.max-batch-size:500}")
+    private int maxBatchSize = 500;
 
     public Page<Solicitation> findAll(Pageable pageable) {
         return solicitationRepository.findAll(pageable);
@@ -79,6 +100,18 @@ public class SolicitationService {
         }
     }
 
+    public Page<Solicitation> findActiveLoans(String start, String end, Pageable pageable) {
+        try {
+            LocalDate startDate = LocalDate.parse(start, DateTimeFormatter.ISO_DATE);
+            LocalDate endDate = LocalDate.parse(end, DateTimeFormatter.ISO_DATE);
+            checkPeriod(startDate, endDate);
+
+            return solicitationRepository.findOverlapping(LENT, startDate, endDate, pageable);
+        } catch (DateTimeParseException e) {
+            throw new BadRequestException("The date format does not conform to the format: yyyy-MM-dd. " + e.getMessage());
+        }
+    }
+
     @Transactional
     public Solicitation save(SolicitationPostRequestDTO requestDTO) {
 
@@ -92,6 +125,8 @@ public class SolicitationService {
             LocalDate endDate = LocalDate.parse(requestDTO.getEndDate(),
                     DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
+            checkPeriod(startDate, endDate);
+
             Solicitation newSolicitation = Solicitation.builder()
                     .justification(requestDTO.getJustification())
                     .startDate(startDate)
@@ -100,7 +135,9 @@ public class SolicitationService {
                     .status(SolicitationStatus.PENDING)
                     .build();
 
-            return solicitationRepository.save(newSolicitation);
+            Solicitation saved = solicitationRepository.save(newSolicitation);
+            liveStats.solicitationChanged(null, SolicitationStatus.PENDING);
+            return saved;
 
         } catch (DateTimeParseException ex) {
             throw new BadRequestException("The date format does not conform to the format: yyyy-MM-dd. " + ex.getMessage());
@@ -115,7 +152,18 @@ public class SolicitationService {
         try {
 
             Solicitation solicitationUpdated = updateSolicitationEntity(solicitationSaved, requestDTO);
-            return solicitationRepository.save(solicitationUpdated);
+
+            boolean lent = solicitationUpdated.getStatus() == SolicitationStatus.APPROVED
+                    && solicitationUpdated.getEquipment() != null;
+            if (lent) {
+                checkEquipmentIsFree(solicitationUpdated, solicitationUpdated.getEquipment().getId());
+            }
+
+            Solicitation saved = solicitationRepository.save(solicitationUpdated);
+            if (lent) {
+                loanIntervalIndex.lend(saved.getId(), saved.getEquipment().getId(), saved.getStartDate(), saved.getEndDate());
+            }
+            return saved;
 
         } catch (DateTimeParseException e) {
             throw new BadRequestException("The date format does not conform to the format: yyyy-MM-dd. " + e.getMessage());
@@ -127,30 +175,169 @@ public class SolicitationService {
     public Solicitation approvedSolicitation(Long id, ApprovedSolicitationDTO requestDTO) {
 
         Solicitation solicitationSaved = this.findById(id);
+        Long equipmentId = requestDTO.getEquipmentId();
+
+        if (!solicitationSaved.getStatus().equals(SolicitationStatus.PENDING)) {
+            throw new BadRequestException("The request must be pending to be approved.");
+        }
+
+        checkEquipmentIsFree(solicitationSaved, equipmentId);
 
-        Equipment equipment = equipmentRepository
-                .findById(requestDTO.getEquipmentId())
+        boolean runsToday = runsToday(solicitationSaved);
+        if (takeEquipment(equipmentId, solicitationSaved, runsToday) == 0) {
+            if (!equipmentRepository.existsById(equipmentId)) {
+                throw new ResourceNotFoundException("The equipment was not found in the database," +
+                        " please check the registered equipment.");
+            }
+            throw new BadRequestException("Equipment must be free during the requested period to be attached to a request.");
+        }
+
+        // Loaded after the update, so it already carries the new status and version.
+        Equipment equipment = equipmentRepository.findById(equipmentId)
                 .orElseThrow(() -> new ResourceNotFoundException("The equipment was not found in the database," +
                         " please check the registered equipment."));
 
+        solicitationSaved.setStatus(SolicitationStatus.APPROVED);
+        solicitationSaved.setEquipment(equipment);
 
-        if (!solicitationSaved.getStatus().equals(SolicitationStatus.PENDING)) {
-            throw new BadRequestException("The request must be pending to be approved.");
+        collectionVersions.changed(Equipment.class);
+        equipmentPool.changed(equipment);
+        if (runsToday) {
+            liveStats.equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
         }
+        liveStats.solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.APPROVED);
 
-        if (!equipment.getEquipmentStatus().equals(EquipmentAvailabilityStatus.AVAILABLE)) {
-            throw new BadRequestException("Equipment must be available to be attached to a request.");
+        Solicitation saved = solicitationRepository.save(solicitationSaved);
+        loanIntervalIndex.lend(saved.getId(), equipment.getId(), saved.getStartDate(), saved.getEndDate());
+        return saved;
+
+    }
+
+    // Lends every pending solicitation of the batch a free device with at least the given sizes, picked from the
+    // equipment pool instead of by hand. The pool only holds AVAILABLE devices, so a device busy with a running loan
+    // is not picked here even for a later period, it can still be approved by hand. Each id is reported on its own,
+    // a solicitation left without a device stays pending.
+    @Transactional
+    public SolicitationBatchResponseDTO approveAll(List<Long> ids, Integer minRamGb, Integer minStorageGb) {
+        if (ids.size() > maxBatchSize) {
+            throw new BadRequestException("A batch approval can have at most " + maxBatchSize + " solicitations.");
         }
 
-        solicitationSaved.setStatus(SolicitationStatus.APPROVED);
+        Map<Long, Solicitation> solicitations = solicitationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Solicitation::getId, Function.identity()));
+        List<SolicitationBatchItemResponseDTO> results = new ArrayList<>();
+        List<Solicitation> approved = new ArrayList<>();
 
-        solicitationSaved.setEquipment(equipment);
-        equipment.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Solicitation solicitation = solicitations.get(id);
+
+            if (solicitation == null) {
+                results.add(SolicitationBatchItemResponseDTO.failed(id, null, "No request was found with the given id."));
+                continue;
+            }
+            if (solicitation.getStatus() != SolicitationStatus.PENDING) {
+                results.add(SolicitationBatchItemResponseDTO.failed(id, solicitation.getStatus(),
+                        "The request must be pending to be approved."));
+                continue;
+            }
+
+            Equipment equipment = takeMatchingEquipment(solicitation,
+                    minRamGb == null ? 0 : minRamGb,
+                    minStorageGb == null ? 0 : minStorageGb);
+
+            if (equipment == null) {
+                results.add(SolicitationBatchItemResponseDTO.failed(id, SolicitationStatus.PENDING,
+                        "No available equipment matches the request for the requested period."));
+                continue;
+            }
+
+            solicitation.setStatus(SolicitationStatus.APPROVED);
+            solicitation.setEquipment(equipment);
+            approved.add(solicitation);
+            results.add(SolicitationBatchItemResponseDTO.succeeded(id, SolicitationStatus.APPROVED, equipment.getId()));
+        }
+
+        if (!approved.isEmpty()) {
+            solicitationRepository.saveAll(approved);
+            collectionVersions.changed(Equipment.class);
+
+            for (Solicitation solicitation : approved) {
+                loanIntervalIndex.lend(solicitation.getId(), solicitation.getEquipment().getId(),
+                        solicitation.getStartDate(), solicitation.getEndDate());
+                // A device booked for a later period stays AVAILABLE and goes back to the pool.
+                equipmentPool.changed(solicitation.getEquipment());
+                if (solicitation.getEquipment().getEquipmentStatus() == EquipmentAvailabilityStatus.BUSY) {
+                    liveStats.equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
+                }
+                liveStats.solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.APPROVED);
+            }
+        }
+
+        return SolicitationBatchResponseDTO.of(results);
+    }
 
-        equipmentRepository.save(equipment);
+    // Expires the approved loans among the ids that ended before the given day and gives their equipment back,
+    // with one update for the solicitations and one for the equipment.
+    @Transactional
+    public LoanExpiryResultDTO expireLoans(List<Long> ids, LocalDate day) {
+        List<SolicitationRepository.LoanInterval> ended =
+                solicitationRepository.findEndedLoansForUpdate(ids, SolicitationStatus.APPROVED, day);
 
-        return solicitationRepository.save(solicitationSaved);
+        if (ended.isEmpty()) {
+            return new LoanExpiryResultDTO(0, 0);
+        }
+
+        List<Long> expiredIds = ended.stream().map(SolicitationRepository.LoanInterval::getId).toList();
+        List<Long> equipmentIds = ended.stream()
+                .map(SolicitationRepository.LoanInterval::getEquipmentId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+
+        // The solicitations go first, so the equipment update no longer sees them as running loans.
+        solicitationRepository.updateStatus(expiredIds, SolicitationStatus.APPROVED, SolicitationStatus.EXPIRED);
+        int released = equipmentIds.isEmpty() ? 0 : equipmentRepository.updateStatusUnlessLent(equipmentIds,
+                EquipmentAvailabilityStatus.BUSY, EquipmentAvailabilityStatus.AVAILABLE, SolicitationStatus.APPROVED, day);
+
+        for (Long expiredId : expiredIds) {
+            loanIntervalIndex.release(expiredId);
+            liveStats.solicitationChanged(SolicitationStatus.APPROVED, SolicitationStatus.EXPIRED);
+        }
+
+        if (released > 0) {
+            for (int i = 0; i < released; i++) {
+                liveStats.equipmentChanged(EquipmentAvailabilityStatus.BUSY, EquipmentAvailabilityStatus.AVAILABLE);
+            }
+            collectionVersions.changed(Equipment.class);
+            equipmentRepository.findAllById(equipmentIds).forEach(equipmentPool::changed);
+        }
+
+        return new LoanExpiryResultDTO(expiredIds.size(), released);
+    }
+
+    // Marks BUSY the available equipment of the approved loans that are running on the given day, that is the
+    // loans approved ahead of their period that have started since.
+    @Transactional
+    public int startLoans(LocalDate day) {
+        List<Long> equipmentIds = equipmentRepository.findIdsLentOn(EquipmentAvailabilityStatus.AVAILABLE,
+                SolicitationStatus.APPROVED, day);
+
+        if (equipmentIds.isEmpty()) {
+            return 0;
+        }
+
+        int started = equipmentRepository.updateStatusIfLent(equipmentIds, EquipmentAvailabilityStatus.AVAILABLE,
+                EquipmentAvailabilityStatus.BUSY, SolicitationStatus.APPROVED, day);
+
+        if (started > 0) {
+            for (int i = 0; i < started; i++) {
+                liveStats.equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
+            }
+            collectionVersions.changed(Equipment.class);
+            equipmentRepository.findAllById(equipmentIds).forEach(equipmentPool::changed);
+        }
 
+        return started;
     }
 
     @Transactional
@@ -162,6 +349,7 @@ public class SolicitationService {
         }
         solicitation.setStatus(SolicitationStatus.DENIED);
         solicitationRepository.save(solicitation);
+        liveStats.solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.DENIED);
     }
 
     @Transactional
@@ -169,18 +357,77 @@ public class SolicitationService {
 
         Solicitation solicitation = this.findById(id);
 
-        if (solicitation.getEquipment() != null) {
+        solicitationRepository.deleteById(id);
+        liveStats.solicitationChanged(solicitation.getStatus(), null);
 
-            Optional<Equipment> equipment = equipmentRepository.findById(solicitation.getEquipment().getId());
+        // The equipment of an expired loan was already given back and may be lent to someone else by now. A device
+        // is only given back when no other approved loan is running today, the delete is flushed before the update.
+        if (solicitation.getEquipment() != null && solicitation.getStatus() != SolicitationStatus.EXPIRED) {
+            Long equipmentId = solicitation.getEquipment().getId();
+            loanIntervalIndex.release(id);
 
-            if (equipment.isPresent()) {
-                equipment.get().setEquipmentStatus(EquipmentAvailabilityStatus.AVAILABLE);
-                equipmentRepository.save(equipment.get());
-                solicitationRepository.deleteById(id);
+            int released = equipmentRepository.updateStatusUnlessLent(List.of(equipmentId),
+                    EquipmentAvailabilityStatus.BUSY, EquipmentAvailabilityStatus.AVAILABLE,
+                    SolicitationStatus.APPROVED, LocalDate.now());
+
+            if (released > 0) {
+                liveStats.equipmentChanged(EquipmentAvailabilityStatus.BUSY, EquipmentAvailabilityStatus.AVAILABLE);
+                collectionVersions.changed(Equipment.class);
+                equipmentRepository.findById(equipmentId).ifPresent(equipmentPool::changed);
+            }
+        }
+    }
+
+    // The pool only hands out each device once, the conditional update still has the last word: a device the
+    // pool thought free but the database does not is dropped and the next one is tried.
+    private Equipment takeMatchingEquipment(Solicitation solicitation, int minRamGb, int minStorageGb) {
+        while (true) {
+            Optional<Long> claimed = equipmentPool.claim(minRamGb, minStorageGb, equipmentId ->
+                    !loanIntervalIndex.isLent(equipmentId, solicitation.getStartDate(), solicitation.getEndDate()));
+
+            if (claimed.isEmpty()) {
+                return null;
+            }
+
+            if (takeEquipment(claimed.get(), solicitation, runsToday(solicitation)) == 1) {
+                Optional<Equipment> equipment = equipmentRepository.findById(claimed.get());
+                if (equipment.isPresent()) {
+                    return equipment.get();
+                }
             }
+        }
+    }
 
-        } else {
-            solicitationRepository.deleteById(id);
+    // Taking the equipment is a single conditional update that locks the row and matches nothing while another
+    // approved loan overlaps the period, so of two concurrent approvals only the first one takes it. A loan that is
+    // running today also needs the device AVAILABLE and makes it BUSY, a later one leaves the status alone.
+    private int takeEquipment(Long equipmentId, Solicitation solicitation, boolean runsToday) {
+        if (runsToday) {
+            return equipmentRepository.lendNow(equipmentId, EquipmentAvailabilityStatus.AVAILABLE,
+                    EquipmentAvailabilityStatus.BUSY, SolicitationStatus.APPROVED,
+                    solicitation.getStartDate(), solicitation.getEndDate());
+        }
+        return equipmentRepository.reserve(equipmentId, EquipmentAvailabilityStatus.MAINTENANCE,
+                SolicitationStatus.APPROVED, solicitation.getStartDate(), solicitation.getEndDate());
+    }
+
+    private static boolean runsToday(Solicitation solicitation) {
+        LocalDate today = LocalDate.now();
+        return !solicitation.getStartDate().isAfter(today) && !solicitation.getEndDate().isBefore(today);
+    }
+
+    private void checkPeriod(LocalDate startDate, LocalDate endDate) {
+        if (endDate.isBefore(startDate)) {
+            throw new BadRequestException("The end date cannot be before the start date.");
+        }
+    }
+
+    private void checkEquipmentIsFree(Solicitation solicitation, Long equipmentId) {
+        boolean lent = solicitationRepository.existsOverlappingLoan(equipmentId, SolicitationStatus.APPROVED,
+                solicitation.getStartDate(), solicitation.getEndDate(), solicitation.getId());
+
+        if (lent) {
+            throw new BadRequestException("The equipment is already lent during part of the requested period.");
         }
     }
 
@@ -193,6 +440,8 @@ public class SolicitationService {
         LocalDate endDate = LocalDate.parse(requestDTO.getEndDate(),
                 DateTimeFormatter.ofPattern("yyyy-MM-dd"));
 
+        checkPeriod(startDate, endDate);
+
         solicitationSaved.setJustification(requestDTO.getJustification());
         solicitationSaved.setStartDate(startDate);
         solicitationSaved.setEndDate(endDate);
@@ -0,0 +1,140 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.booking.FreeWindowDTO;
+import br.com.ifce.easyflow.controller.dto.booking.TableBookingRequestDTO;
+import br.com.ifce.easyflow.exception.PersonNotFoundException;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.TableBooking;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TableBookingService {
+
+    private final TableBookingRepository tableBookingRepository;
+    private final LabTableRepository labTableRepository;
+    private final PersonRepository personRepository;
+    private final TableIntervalIndex tableIntervalIndex;
+    private final TableOccupancyIndex tableOccupancyIndex;
+    private final SlotLockRegistry slotLockRegistry;
+    private final RecurringReservationIndex recurringReservationIndex;
+
+    public TableBooking findById(Long id) {
+        return tableBookingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No booking was found with the given id."));
+    }
+
+    public List<TableBooking> findByTableAndDay(Long tableId, String day) {
+        TimeInterval wholeDay = TimeInterval.ofDay(toWeekDay(day));
+        return tableBookingRepository.findOverlapping(tableId, (short) wholeDay.start(), (short) wholeDay.end());
+    }
+
+    public List<FreeWindowDTO> freeWindows(Long tableId, String day) {
+        WeekDay weekDay = toWeekDay(day);
+        TimeInterval wholeDay = TimeInterval.ofDay(weekDay);
+
+        if (!labTableRepository.existsById(tableId)) {
+            throw new ResourceNotFoundException("No table was found with the provided id, " +
+                    "check the registered tables.");
+        }
+
+        BitSet busy = tableIntervalIndex.booked(tableId, wholeDay);
+        for (ShiftSchedule shift : ShiftSchedule.values()) {
+            TimeSlot timeSlot = new TimeSlot(weekDay, shift);
+            if (tableOccupancyIndex.isReserved(tableId, timeSlot)) {
+                TimeInterval shiftInterval = TimeInterval.of(timeSlot);
+                busy.set(shiftInterval.start() - wholeDay.start(), shiftInterval.end() - wholeDay.start());
+            }
+        }
+
+        List<FreeWindowDTO> windows = new ArrayList<>();
+        int free = busy.nextClearBit(0);
+        while (free < TimeInterval.UNITS_PER_DAY) {
+            int nextBusy = busy.nextSetBit(free);
+            int end = nextBusy < 0 ? TimeInterval.UNITS_PER_DAY : nextBusy;
+            TimeInterval window = new TimeInterval(wholeDay.start() + free, wholeDay.start() + end);
+            windows.add(new FreeWindowDTO(window.startTime(), window.endTime()));
+            free = busy.nextClearBit(end);
+        }
+        return windows;
+    }
+
+    @Transactional
+    public TableBooking book(TableBookingRequestDTO requestDTO) {
+        WeekDay day = toWeekDay(requestDTO.day());
+        TimeInterval interval = TimeInterval.of(day, requestDTO.start(), requestDTO.end())
+                .orElseThrow(() -> new BadRequestException("The booking must start before it ends and both times must be " +
+                        "on a " + TimeInterval.UNIT_MINUTES + " minute boundary."));
+
+        // Locking every shift of the day also serializes against shift bookings of the same table.
+        slotLockRegistry.lockUntilCompletion(Arrays.stream(ShiftSchedule.values())
+                .map(shift -> new TimeSlot(day, shift).keyOf(requestDTO.tableId()))
+                .toList());
+
+        LabTable table = labTableRepository.findById(requestDTO.tableId())
+                .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
+                        "check the registered tables."));
+
+        Person person = personRepository.findById(requestDTO.personId())
+                .orElseThrow(PersonNotFoundException::new);
+
+        checkIsFree(table.getId(), interval);
+
+        TableBooking booking = tableBookingRepository.save(TableBooking.builder()
+                .table(table)
+                .person(person)
+                .startUnit((short) interval.start())
+                .endUnit((short) interval.end())
+                .build());
+
+        tableIntervalIndex.reserve(table.getId(), interval);
+        return booking;
+    }
+
+    @Transactional
+    public void cancel(Long id) {
+        TableBooking booking = this.findById(id);
+
+        tableBookingRepository.delete(booking);
+        tableIntervalIndex.release(booking.getTable().getId(), booking.interval());
+    }
+
+    private void checkIsFree(Long tableId, TimeInterval interval) {
+        boolean overlapsShift = Arrays.stream(ShiftSchedule.values())
+                .map(shift -> new TimeSlot(interval.day(), shift))
+                .anyMatch(timeSlot -> TimeInterval.of(timeSlot).overlaps(interval)
+                        && tableOccupancyIndex.isReserved(tableId, timeSlot));
+
+        // The index rejects most conflicts without a query; the database stays the source of truth.
+        if (overlapsShift || tableIntervalIndex.overlaps(tableId, interval)
+                || recurringReservationIndex.overlapsWeekly(tableId, interval, LocalDate.now())
+                || tableBookingRepository.existsOverlapping(tableId, (short) interval.start(), (short) interval.end())) {
+            throw new ConflictException("This table is already booked for part of this time.");
+        }
+    }
+
+    private static WeekDay toWeekDay(String day) {
+        return WeekDay.fromText(day)
+                .orElseThrow(() -> new BadRequestException("The day provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+    }
+}
@@ -0,0 +1,92 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// One bit per booking unit of the week and table, so a conflict check is a single nextSetBit call
+// no matter how many bookings a table holds.
+@Component
+@RequiredArgsConstructor
+public class TableIntervalIndex {
+
+    private final TableBookingRepository tableBookingRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, BitSet> bookedByTable = new HashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TableBookingRepository.BookedInterval> intervals = tableBookingRepository.findAllBookedIntervals();
+
+        lock.writeLock().lock();
+        try {
+            bookedByTable.clear();
+            intervals.forEach(interval -> bitsOf(interval.getTableId())
+                    .set(interval.getStartUnit(), interval.getEndUnit()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean overlaps(Long tableId, TimeInterval interval) {
+        lock.readLock().lock();
+        try {
+            BitSet booked = bookedByTable.get(tableId);
+            if (booked == null) {
+                return false;
+            }
+
+            int next = booked.nextSetBit(interval.start());
+            return next >= 0 && next < interval.end();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Booked units inside the interval, shifted so that bit 0 is its first unit.
+    public BitSet booked(Long tableId, TimeInterval interval) {
+        lock.readLock().lock();
+        try {
+            BitSet booked = bookedByTable.get(tableId);
+            return booked == null ? new BitSet() : booked.get(interval.start(), interval.end());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void reserve(Long tableId, TimeInterval interval) {
+        AfterCommit.run(() -> write(() -> bitsOf(tableId).set(interval.start(), interval.end())));
+    }
+
+    public void release(Long tableId, TimeInterval interval) {
+        AfterCommit.run(() -> write(() -> bitsOf(tableId).clear(interval.start(), interval.end())));
+    }
+
+    public void removeTable(Long tableId) {
+        AfterCommit.run(() -> write(() -> bookedByTable.remove(tableId)));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet bitsOf(Long tableId) {
+        return bookedByTable.computeIfAbsent(tableId, id -> new BitSet(TimeInterval.WEEK_UNITS));
+    }
+}
@@ -0,0 +1,237 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+@Component
+@RequiredArgsConstructor
+public class TableOccupancyIndex {
+
+    private final LabTableRepository labTableRepository;
+    private final ScheduleRepository scheduleRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, LabTable> tables = new HashMap<>();
+    private final BitSet registeredTables = new BitSet();
+    private final BitSet[] reservedBySlot = new BitSet[TimeSlot.COUNT];
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    {
+        for (int code = 0; code < reservedBySlot.length; code++) {
+            reservedBySlot[code] = new BitSet();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<LabTable> allTables = labTableRepository.findAll();
+        List<ScheduleRepository.ReservedSlot> reservedSlots = scheduleRepository.findAllReservedSlots();
+
+        lock.writeLock().lock();
+        try {
+            tables.clear();
+            registeredTables.clear();
+            for (BitSet reserved : reservedBySlot) {
+                reserved.clear();
+            }
+
+            allTables.forEach(this::putTable);
+            reservedSlots.forEach(slot -> reservedBySlot[slot.getSlot()].set(bit(slot.getTableId())));
+
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<LabTable> availableTables(TimeSlot timeSlot) {
+        lock.readLock().lock();
+        try {
+            BitSet free = (BitSet) registeredTables.clone();
+            free.andNot(slotBits(timeSlot));
+
+            return free.stream()
+                    .mapToObj(id -> tables.get((long) id))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<LabTable> registeredTables() {
+        lock.readLock().lock();
+        try {
+            return registeredTables.stream()
+                    .mapToObj(id -> tables.get((long) id))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public LabTable findTable(Long tableId) {
+        lock.readLock().lock();
+        try {
+            return tables.get(tableId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReserved(Long tableId, TimeSlot timeSlot) {
+        lock.readLock().lock();
+        try {
+            return slotBits(timeSlot).get(bit(tableId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Other tables free in the same slot, nearest to the given table first: same zone, then floor plan
+    // distance, then table number. The table set is small, so sorting it under the read lock is cheap.
+    public List<LabTable> nearestFreeTables(Long tableId, TimeSlot timeSlot, Predicate<LabTable> alsoFree, int limit) {
+        lock.readLock().lock();
+        try {
+            LabTable origin = tables.get(tableId);
+            BitSet free = (BitSet) registeredTables.clone();
+            free.andNot(slotBits(timeSlot));
+            free.clear(bit(tableId));
+
+            return free.stream()
+                    .mapToObj(id -> tables.get((long) id))
+                    .sorted(origin == null ? Comparator.comparing(LabTable::getId) : nearestTo(origin))
+                    .filter(alsoFree)
+                    .limit(limit)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slots in which the table is free, closest in time to the given slot first and earlier on ties.
+    public List<TimeSlot> nearestFreeSlots(Long tableId, TimeSlot timeSlot, Predicate<TimeSlot> alsoFree, int limit) {
+        lock.readLock().lock();
+        try {
+            List<TimeSlot> slots = new ArrayList<>(limit);
+            int bit = bit(tableId);
+            if (!registeredTables.get(bit)) {
+                return slots;
+            }
+
+            int origin = timeSlot.code();
+            for (int distance = 1; distance < TimeSlot.COUNT && slots.size() < limit; distance++) {
+                addIfFree(slots, origin - distance, bit, alsoFree);
+                if (slots.size() < limit) {
+                    addIfFree(slots, origin + distance, bit, alsoFree);
+                }
+            }
+            return slots;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public void reserve(Long tableId, TimeSlot timeSlot) {
+        AfterCommit.run(() -> write(() -> slotBits(timeSlot).set(bit(tableId))));
+    }
+
+    public void release(Long tableId, TimeSlot timeSlot) {
+        AfterCommit.run(() -> write(() -> slotBits(timeSlot).clear(bit(tableId))));
+    }
+
+    public void registerTable(LabTable table) {
+        AfterCommit.run(() -> write(() -> putTable(table)));
+    }
+
+    public void removeTable(Long tableId) {
+        AfterCommit.run(() -> write(() -> {
+            tables.remove(tableId);
+            registeredTables.clear(bit(tableId));
+        }));
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+            version.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putTable(LabTable table) {
+        tables.put(table.getId(), table);
+        registeredTables.set(bit(table.getId()));
+    }
+
+    private void addIfFree(List<TimeSlot> slots, int code, int bit, Predicate<TimeSlot> alsoFree) {
+        if (code < 0 || code >= TimeSlot.COUNT || reservedBySlot[code].get(bit)) {
+            return;
+        }
+
+        TimeSlot candidate = TimeSlot.ofCode(code);
+        if (alsoFree.test(candidate)) {
+            slots.add(candidate);
+        }
+    }
+
+    private static Comparator<LabTable> nearestTo(LabTable origin) {
+        return Comparator.comparingInt((LabTable table) -> sameZone(origin, table) ? 0 : 1)
+                .thenComparingLong(table -> squaredDistance(origin, table))
+                .thenComparingLong(table -> numberDistance(origin, table))
+                .thenComparing(LabTable::getId);
+    }
+
+    private static boolean sameZone(LabTable origin, LabTable table) {
+        return origin.getZone() != null && origin.getZone().equalsIgnoreCase(table.getZone());
+    }
+
+    // Tables without a position sort after every positioned one.
+    private static long squaredDistance(LabTable origin, LabTable table) {
+        if (origin.getPositionX() == null || origin.getPositionY() == null
+                || table.getPositionX() == null || table.getPositionY() == null) {
+            return Long.MAX_VALUE;
+        }
+
+        long dx = origin.getPositionX() - table.getPositionX();
+        long dy = origin.getPositionY() - table.getPositionY();
+        return dx * dx + dy * dy;
+    }
+
+    private static long numberDistance(LabTable origin, LabTable table) {
+        if (origin.getNumber() == null || table.getNumber() == null) {
+            return Long.MAX_VALUE;
+        }
+        return Math.abs(origin.getNumber() - table.getNumber());
+    }
+
+    private BitSet slotBits(TimeSlot timeSlot) {
+        return reservedBySlot[timeSlot.code()];
+    }
+
+    private static int bit(Long tableId) {
+        return Math.toIntExact(tableId);
+    }
+}
@@ -1,31 +1,56 @@
 package br.com.ifce.easyflow.service;
 
+import br.com.ifce.easyflow.controller.dto.table.DayOccupancyDTO;
 import br.com.ifce.easyflow.controller.dto.table.LabTableUpdateRequestDTO;
 import br.com.ifce.easyflow.controller.dto.table.SearchTablesAvailableRequestDTO;
+import br.com.ifce.easyflow.controller.dto.table.ShiftOccupancyDTO;
+import br.com.ifce.easyflow.controller.dto.table.TableOccupancyResponseDTO;
+import br.com.ifce.easyflow.controller.dto.table.TableOccupantDTO;
 import br.com.ifce.easyflow.model.LabTable;
-import br.com.ifce.easyflow.model.ReservedTables;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.AllocationPreferenceRepository;
 import br.com.ifce.easyflow.repository.LabTableRepository;
-import br.com.ifce.easyflow.repository.ReservedTableRepository;
+import br.com.ifce.easyflow.repository.RecurringReservationRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.repository.WaitlistRepository;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ConflictException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TableService {
 
     private final LabTableRepository labTableRepository;
-    private final ReservedTableRepository reservedTableRepository;
     private final ScheduleService scheduleService;
+    private final TableOccupancyIndex tableOccupancyIndex;
+    private final ScheduleRepository scheduleRepository;
+    private final CollectionVersions collectionVersions;
+    private final TableBookingRepository tableBookingRepository;
+    private final TableIntervalIndex tableIntervalIndex;
+    private final RecurringReservationRepository recurringReservationRepository;
+    private final WaitlistRepository waitlistRepository;
+    private final AllocationPreferenceRepository allocationPreferenceRepository;
 
     public List<LabTable> findAll() {
         return labTableRepository.findAll();
     }
 
+    public long listVersion() {
+        return collectionVersions.current(LabTable.class);
+    }
+
     public LabTable findById(Long id) {
         return labTableRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
@@ -42,36 +67,70 @@ public class TableService {
             throw new ConflictException("A table has already been registered with that number.");
         }
 
-        return labTableRepository.save(newLabTable);
+        LabTable savedTable = labTableRepository.save(newLabTable);
+        tableOccupancyIndex.registerTable(savedTable);
+        return savedTable;
     }
 
     public List<LabTable> tablesAvailable(SearchTablesAvailableRequestDTO requestDTO) {
+        TimeSlot timeSlot = TimeSlot.parse(requestDTO.day(), requestDTO.shiftSchedule())
+                .orElseThrow(() -> new BadRequestException("The day or shift provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        return tableOccupancyIndex.availableTables(timeSlot);
+    }
+
+    public TableOccupancyResponseDTO weeklyOccupancy() {
+        List<LabTable> tables = tableOccupancyIndex.registeredTables();
 
-        List<ReservedTables> reservedTables = reservedTableRepository
-                .findByShiftScheduleAndDay(requestDTO.shiftSchedule(), requestDTO.day());
+        Map<Short, List<TableOccupantDTO>> occupantsBySlot = scheduleRepository.findOccupancy().stream()
+                .collect(Collectors.groupingBy(ScheduleRepository.OccupiedSlot::getSlot,
+                        Collectors.mapping(TableOccupantDTO::from, Collectors.toList())));
 
+        List<DayOccupancyDTO> days = Arrays.stream(WeekDay.values())
+                .map(day -> new DayOccupancyDTO(day, Arrays.stream(ShiftSchedule.values())
+                        .map(shift -> {
+                            List<TableOccupantDTO> occupied = occupantsBySlot
+                                    .getOrDefault(new TimeSlot(day, shift).code(), List.of());
+                            return new ShiftOccupancyDTO(shift, Math.max(0, tables.size() - occupied.size()), occupied);
+                        })
+                        .toList()))
+                .toList();
 
-        List<LabTable> tables = labTableRepository.findAll();
+        return new TableOccupancyResponseDTO(tables, days);
+    }
 
-        return tables.stream()
-                .filter(t -> reservedTables.stream()
-                        .noneMatch((rt -> rt.getTable().getId()
-                                .equals(t.getId())))).toList();
+    public long availabilityVersion() {
+        return tableOccupancyIndex.version();
     }
 
     @Transactional
     public LabTable update(Long id, LabTableUpdateRequestDTO requestDTO) {
+        return this.update(id, requestDTO, IfMatch.ANY);
+    }
 
+    @Transactional
+    public LabTable update(Long id, LabTableUpdateRequestDTO requestDTO, IfMatch ifMatch) {
+
+        // The table itself keeps its number, so moving it on the floor plan is not a conflict.
         boolean existsTableWithNumber = labTableRepository
-                .existsByNumber(requestDTO.number());
+                .existsByNumberAndIdNot(requestDTO.number(), id);
 
         if (existsTableWithNumber) {
             throw new ConflictException("A table has already been registered with that number.");
         }
 
         LabTable oldTable = this.findById(id);
+        ifMatch.check(oldTable.getVersion());
         oldTable.setNumber(requestDTO.number());
-        return this.save(oldTable);
+        oldTable.setPositionX(requestDTO.positionX());
+        oldTable.setPositionY(requestDTO.positionY());
+        oldTable.setZone(requestDTO.zone());
+
+        // Saved directly, save would check the number again without leaving this table out.
+        LabTable savedTable = labTableRepository.save(oldTable);
+        tableOccupancyIndex.registerTable(savedTable);
+        return savedTable;
 
     }
 
@@ -80,10 +139,15 @@ public class TableService {
 
         LabTable table = this.findById(id);
 
-        if (!scheduleService.findAllByTableId(id).isEmpty()) {
+        if (scheduleService.existsByTableId(id) || tableBookingRepository.existsByTableId(id)
+                || recurringReservationRepository.existsByTableId(id)) {
             throw new ConflictException("The table cannot be excluded because it is linked to times already reserved.");
         }
 
+        waitlistRepository.deleteByTableId(table.getId());
+        allocationPreferenceRepository.deleteByTableId(table.getId());
         labTableRepository.deleteById(table.getId());
+        tableOccupancyIndex.removeTable(table.getId());
+        tableIntervalIndex.removeTable(table.getId());
     }
 }
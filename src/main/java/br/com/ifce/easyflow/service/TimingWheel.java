@@ -0,0 +1,104 @@
+package br.com.ifce.easyflow.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Hierarchical timing wheel: level i has `size` buckets spanning size^i ticks each. Adding an entry is O(1)
+// and an entry only moves again when the bucket holding it is cascaded one level down.
+// Not thread safe, callers synchronize.
+public final class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final int size;
+    private final List<List<Entry<T>>[]> levels = new ArrayList<>();
+    private final List<T> overdue = new ArrayList<>();
+    private long currentTick;
+    private int count;
+
+    public TimingWheel(long tickMillis, int size, long startMillis) {
+        if (tickMillis < 1 || size < 2) {
+            throw new IllegalArgumentException("The tick must be positive and a wheel needs at least two buckets.");
+        }
+        this.tickMillis = tickMillis;
+        this.size = size;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public void add(T item, long deadlineMillis) {
+        count++;
+        place(new Entry<>(item, Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis)));
+    }
+
+    // Moves the wheel up to the given time and returns every item whose deadline has been reached.
+    public List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>(overdue);
+        overdue.clear();
+
+        long targetTick = nowMillis / tickMillis;
+        while (currentTick < targetTick && count > expired.size()) {
+            currentTick++;
+            cascade();
+
+            List<Entry<T>> bucket = bucketsOf(0)[(int) (currentTick % size)];
+            bucket.forEach(entry -> expired.add(entry.item()));
+            bucket.clear();
+            expired.addAll(overdue);
+            overdue.clear();
+        }
+        currentTick = Math.max(currentTick, targetTick);
+
+        count -= expired.size();
+        return expired;
+    }
+
+    public int size() {
+        return count;
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.deadlineTick() - currentTick;
+        if (delta <= 0) {
+            overdue.add(entry.item());
+            return;
+        }
+
+        int level = 0;
+        long span = 1;
+        while (delta >= span * size) {
+            span *= size;
+            level++;
+        }
+        bucketsOf(level)[(int) ((entry.deadlineTick() / span) % size)].add(entry);
+    }
+
+    // A higher level bucket is emptied into the lower levels when the tick reaches its first tick.
+    private void cascade() {
+        long span = 1;
+        for (int level = 1; level < levels.size(); level++) {
+            span *= size;
+            if (currentTick % span != 0) {
+                return;
+            }
+
+            List<Entry<T>> bucket = bucketsOf(level)[(int) ((currentTick / span) % size)];
+            List<Entry<T>> cascaded = new ArrayList<>(bucket);
+            bucket.clear();
+            cascaded.forEach(this::place);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Entry<T>>[] bucketsOf(int level) {
+        while (levels.size() <= level) {
+            List<Entry<T>>[] buckets = new List[size];
+            for (int i = 0; i < size; i++) {
+                buckets[i] = new ArrayList<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level);
+    }
+
+    private record Entry<T>(T item, long deadlineTick) {
+    }
+}
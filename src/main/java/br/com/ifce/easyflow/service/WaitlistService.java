@@ -0,0 +1,116 @@
+package br.com.ifce.easyflow.service;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
+import br.com.ifce.easyflow.controller.dto.waitlist.WaitlistRequestDTO;
+import br.com.ifce.easyflow.exception.PersonNotFoundException;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.WaitlistEntry;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.WaitlistRepository;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.transaction.Transactional;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final WaitlistRepository waitlistRepository;
+    private final LabTableRepository labTableRepository;
+    private final PersonRepository personRepository;
+    private final ScheduleService scheduleService;
+    private final SlotLockRegistry slotLockRegistry;
+
+    public WaitlistEntry findById(Long id) {
+        return waitlistRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("No waitlist entry was found with the given id."));
+    }
+
+    public long peopleAhead(WaitlistEntry entry) {
+        return waitlistRepository.countByTableIdAndSlotAndIdLessThan(entry.getTable().getId(), entry.getSlot(),
+                entry.getId());
+    }
+
+    @Transactional
+    public WaitlistEntry join(Long personId, WaitlistRequestDTO requestDTO) {
+        TimeSlot timeSlot = TimeSlot.parse(requestDTO.day(), requestDTO.shiftSchedule())
+                .orElseThrow(() -> new BadRequestException("The day or shift provided does not exist or was not properly written. " +
+                        "Please check the documentation."));
+
+        // Holding the slot lock keeps a release from slipping between the check and the insert.
+        slotLockRegistry.lockUntilCompletion(List.of(timeSlot.keyOf(requestDTO.tableId())));
+
+        Person person = personRepository.findById(personId)
+                .orElseThrow(PersonNotFoundException::new);
+
+        LabTable table = labTableRepository.findById(requestDTO.tableId())
+                .orElseThrow(() -> new ResourceNotFoundException("No table was found with the provided id, " +
+                        "check the registered tables."));
+
+        if (scheduleService.isSlotFree(table.getId(), timeSlot)) {
+            throw new BadRequestException("This table is free for this time, book it instead of joining the waitlist.");
+        }
+
+        if (waitlistRepository.existsByTableIdAndSlotAndPersonId(table.getId(), timeSlot.code(), person.getId())) {
+            throw new ConflictException("This person is already on the waitlist for this time.");
+        }
+
+        return waitlistRepository.save(WaitlistEntry.builder()
+                .table(table)
+                .person(person)
+                .slot(timeSlot.code())
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    @Transactional
+    public void leave(Long id) {
+        waitlistRepository.delete(this.findById(id));
+    }
+
+    // Runs inside the transaction that freed the slot, when the release is published, so the promotion commits or
+    // rolls back together with the deny or delete. The slot lock is taken before the head of the waitlist, the same
+    // order join uses, and the releasing paths already hold it. A person who can no longer be booked leaves the
+    // waitlist and the next one is tried; any other failure rolls the release back with it.
+    @EventListener
+    public void onSlotReleased(SlotReleasedEvent event) {
+        slotLockRegistry.lockUntilCompletion(List.of(event.timeSlot().keyOf(event.tableId())));
+
+        while (true) {
+            Optional<WaitlistEntry> head = waitlistRepository
+                    .findFirstByTableIdAndSlotOrderByIdAsc(event.tableId(), event.timeSlot().code());
+
+            if (head.isEmpty() || !scheduleService.isSlotFree(event.tableId(), event.timeSlot())) {
+                return;
+            }
+
+            WaitlistEntry entry = head.get();
+            waitlistRepository.delete(entry);
+
+            try {
+                scheduleService.book(entry.getPerson().getId(), List.of(SchedulePostRequestDTO.builder()
+                        .tableId(event.tableId())
+                        .day(event.timeSlot().day().getLabel())
+                        .shiftSchedule(event.timeSlot().shift().getLabel())
+                        .build()));
+                return;
+            } catch (BadRequestException | ConflictException | ResourceNotFoundException | PersonNotFoundException e) {
+                log.warn("Dropped waitlist entry {} of table {} at {}, it could not be promoted: {}", entry.getId(),
+                        event.tableId(), event.timeSlot(), e.getMessage());
+            }
+        }
+    }
+}
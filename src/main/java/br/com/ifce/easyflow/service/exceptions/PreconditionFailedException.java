@@ -0,0 +1,7 @@
+package br.com.ifce.easyflow.service.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package br.com.ifce.easyflow.service.exceptions;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SlotAlternativeDTO;
+
+import java.util.List;
+
+public class SlotConflictException extends BadRequestException {
+
+    private final List<SlotAlternativeDTO> alternatives;
+
+    public SlotConflictException(String detail, List<SlotAlternativeDTO> alternatives) {
+        super(detail);
+        this.alternatives = alternatives;
+    }
+
+    public List<SlotAlternativeDTO> getAlternatives() {
+        return alternatives;
+    }
+}
@@ -0,0 +1,126 @@
+package br.com.ifce.easyflow.config.migration;
+
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+class ScheduleSlotMigrationTest {
+
+    @Test
+    void run_Fill_SlotOfLegacyRows_ThenRequireIt() {
+        LegacyScheduleTable schedule = new LegacyScheduleTable();
+        schedule.insert(1L, 1L, "Monday", "Morning");
+        schedule.insert(2L, 1L, " monday ", "afternoon");
+        schedule.insert(3L, 1L, "TUESDAY", "Night");
+        schedule.insert(4L, 2L, "Monday", "Morning");
+
+        new ScheduleSlotMigration(schedule).run(null);
+
+        Assertions.assertEquals(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING).code(), schedule.row(1L).slot);
+        Assertions.assertEquals(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.AFTERNOON).code(), schedule.row(2L).slot);
+        Assertions.assertEquals(new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.NIGHT).code(), schedule.row(3L).slot);
+        Assertions.assertEquals(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING).code(), schedule.row(4L).slot);
+        Assertions.assertEquals("Monday", schedule.row(2L).day);
+        Assertions.assertEquals("Afternoon", schedule.row(2L).shiftSchedule);
+
+        // The rows of table 1 stay on distinct slots, so the reservation migration has no duplicates to deny.
+        Assertions.assertEquals(3, schedule.rows.stream()
+                .filter(row -> row.tableId == 1L)
+                .map(row -> row.slot)
+                .distinct()
+                .count());
+        Assertions.assertTrue(schedule.slotRequired);
+    }
+
+    @Test
+    void run_Keep_SlotNullable_WhenARowHasAnUnknownDay() {
+        LegacyScheduleTable schedule = new LegacyScheduleTable();
+        schedule.insert(1L, 1L, "Monday", "Morning");
+        schedule.insert(2L, 1L, "Funday", "Morning");
+
+        new ScheduleSlotMigration(schedule).run(null);
+
+        Assertions.assertEquals(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING).code(), schedule.row(1L).slot);
+        Assertions.assertNull(schedule.row(2L).slot);
+        Assertions.assertFalse(schedule.slotRequired);
+    }
+
+    // A schedule table as it was before the slot column existed, once ddl-auto has added the column as nullable.
+    // Only the statements of the migration are understood, any other one fails the test.
+    private static class LegacyScheduleTable extends JdbcTemplate {
+        private final List<Row> rows = new ArrayList<>();
+        private boolean slotRequired;
+
+        void insert(Long id, Long tableId, String day, String shiftSchedule) {
+            rows.add(new Row(id, tableId, day, shiftSchedule));
+        }
+
+        Row row(Long id) {
+            return rows.stream().filter(row -> row.id.equals(id)).findFirst().orElseThrow();
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            if (!sql.startsWith("update schedule set day = ?, shift_schedule = ?, slot = ? where slot is null")) {
+                throw new UnsupportedOperationException(sql);
+            }
+
+            int updated = 0;
+            for (Row row : rows) {
+                if (row.slot == null && normalize(row.day).equals(args[3]) && normalize(row.shiftSchedule).equals(args[4])) {
+                    row.day = (String) args[0];
+                    row.shiftSchedule = (String) args[1];
+                    row.slot = (Short) args[2];
+                    updated++;
+                }
+            }
+            return updated;
+        }
+
+        @Override
+        public <T> T queryForObject(String sql, Class<T> requiredType) {
+            if (!sql.equals("select count(*) from schedule where slot is null")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            return requiredType.cast((int) rows.stream().filter(row -> row.slot == null).count());
+        }
+
+        @Override
+        public void execute(String sql) {
+            if (!sql.equals("alter table schedule modify slot smallint not null")) {
+                throw new UnsupportedOperationException(sql);
+            }
+            if (rows.stream().anyMatch(row -> row.slot == null)) {
+                throw new DataIntegrityViolationException("Column 'slot' cannot be null");
+            }
+            slotRequired = true;
+        }
+
+        private static String normalize(String value) {
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static class Row {
+        private final Long id;
+        private final Long tableId;
+        private String day;
+        private String shiftSchedule;
+        private Short slot;
+
+        Row(Long id, Long tableId, String day, String shiftSchedule) {
+            this.id = id;
+            this.tableId = tableId;
+            this.day = day;
+            this.shiftSchedule = shiftSchedule;
+        }
+    }
+}
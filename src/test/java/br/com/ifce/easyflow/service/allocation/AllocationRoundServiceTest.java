@@ -0,0 +1,178 @@
+package br.com.ifce.easyflow.service.allocation;
+
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationPreferenceRequestDTO;
+import br.com.ifce.easyflow.controller.dto.allocation.AllocationResultDTO;
+import br.com.ifce.easyflow.model.AllocationRound;
+import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.AllocationRoundStatus;
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.AllocationPreferenceRepository;
+import br.com.ifce.easyflow.repository.AllocationRoundRepository;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.service.AllocationRoundService;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.RecurringReservationIndex;
+import br.com.ifce.easyflow.service.SlotLockRegistry;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AllocationRoundServiceTest {
+
+    @InjectMocks
+    AllocationRoundService allocationRoundService;
+
+    @Mock
+    AllocationRoundRepository allocationRoundRepository;
+
+    @Mock
+    AllocationPreferenceRepository allocationPreferenceRepository;
+
+    @Mock
+    PersonRepository personRepository;
+
+    @Mock
+    LabTableRepository labTableRepository;
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+
+    @Mock
+    TableOccupancyIndex tableOccupancyIndex;
+
+    @Mock
+    TableIntervalIndex tableIntervalIndex;
+
+    @Mock
+    RecurringReservationIndex recurringReservationIndex;
+
+    @Mock
+    SlotLockRegistry slotLockRegistry;
+
+    @Mock
+    LiveStats liveStats;
+
+    private static final TimeSlot MONDAY_MORNING = new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING);
+
+    @Test
+    void allocate_Write_GrantedSeats_AsApprovedSchedulesInOneBatch() {
+        AllocationRound round = createRound(Instant.now().minus(Duration.ofMinutes(1)));
+        when(allocationRoundRepository.findById(anyLong())).thenReturn(Optional.of(round));
+        when(allocationPreferenceRepository.findChoicesByRoundId(1L)).thenReturn(List.of(
+                createChoice(1L, 10L, false, 1L, 1),
+                createChoice(2L, 20L, true, 1L, 1),
+                createChoice(3L, 10L, false, 2L, 2)));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet())).thenReturn(List.of());
+
+        AllocationResultDTO result = allocationRoundService.allocate(1L);
+
+        Assertions.assertEquals(2, result.people());
+        Assertions.assertEquals(2, result.seatsGranted());
+        Assertions.assertEquals(0, result.peopleWithoutSeat());
+        Assertions.assertEquals(AllocationRoundStatus.ALLOCATED, round.getStatus());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Schedule>> schedules = ArgumentCaptor.forClass(List.class);
+        verify(scheduleRepository).insertAll(schedules.capture());
+        Assertions.assertTrue(schedules.getValue().stream()
+                .allMatch(schedule -> schedule.getStatus() == ScheduleRequestStatus.APPROVED));
+        verify(allocationPreferenceRepository).markGranted(anyCollectionOf(2L, 3L));
+        verify(slotLockRegistry).lockUntilCompletion(anySet());
+    }
+
+    @Test
+    void allocate_Throw_ConflictException_WhenRoundWasAlreadyAllocated() {
+        AllocationRound round = createRound(Instant.now().minus(Duration.ofMinutes(1)));
+        round.setStatus(AllocationRoundStatus.ALLOCATED);
+        when(allocationRoundRepository.findById(anyLong())).thenReturn(Optional.of(round));
+
+        Assertions.assertThrows(ConflictException.class, () -> allocationRoundService.allocate(1L));
+
+        verifyNoInteractions(scheduleRepository, allocationPreferenceRepository);
+    }
+
+    @Test
+    void submitPreferences_Throw_BadRequestException_WhenRoundIsClosed() {
+        when(allocationRoundRepository.findById(anyLong()))
+                .thenReturn(Optional.of(createRound(Instant.now().minus(Duration.ofMinutes(1)))));
+
+        Assertions.assertThrows(BadRequestException.class, () -> allocationRoundService.submitPreferences(1L, 10L,
+                List.of(new AllocationPreferenceRequestDTO(1L, "Monday", "Morning"))));
+
+        verifyNoInteractions(allocationPreferenceRepository);
+    }
+
+    private static List<Long> anyCollectionOf(Long... ids) {
+        return argThat(collection -> collection.size() == ids.length && collection.containsAll(List.of(ids)));
+    }
+
+    private AllocationRound createRound(Instant closesAt) {
+        return AllocationRound.builder()
+                .id(1L)
+                .name("2026.2")
+                .opensAt(closesAt.minus(Duration.ofDays(7)))
+                .closesAt(closesAt)
+                .seatsPerPerson(1)
+                .status(AllocationRoundStatus.OPEN)
+                .build();
+    }
+
+    private AllocationPreferenceRepository.RankedChoice createChoice(Long id, Long personId, boolean representant,
+                                                                     Long tableId, int rank) {
+        return new AllocationPreferenceRepository.RankedChoice() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getPersonId() {
+                return personId;
+            }
+
+            @Override
+            public Boolean getRepresentant() {
+                return representant;
+            }
+
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Short getSlot() {
+                return MONDAY_MORNING.code();
+            }
+
+            @Override
+            public Short getRank() {
+                return (short) rank;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package br.com.ifce.easyflow.service.allocation;
+
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.service.AllocationSolver;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+class AllocationSolverTest {
+
+    @Test
+    void solve_Give_HigherTierTheContestedSeat() {
+        List<AllocationSolver.Choice> choices = List.of(
+                new AllocationSolver.Choice(1L, 10L, 1, 1L, (short) 0, 1),
+                new AllocationSolver.Choice(2L, 20L, 0, 1L, (short) 0, 1),
+                new AllocationSolver.Choice(3L, 10L, 1, 2L, (short) 0, 2));
+
+        List<AllocationSolver.Choice> granted = AllocationSolver.solve(choices, seat -> true, 1, 7L);
+
+        Assertions.assertEquals(Set.of(2L, 3L), granted.stream().map(AllocationSolver.Choice::id).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void solve_Skip_BlockedSeats_AndSlotsThePersonAlreadyHolds() {
+        long blocked = TimeSlot.keyOf(1L, (short) 0);
+        List<AllocationSolver.Choice> choices = List.of(
+                new AllocationSolver.Choice(1L, 10L, 1, 1L, (short) 0, 1),
+                new AllocationSolver.Choice(2L, 10L, 1, 2L, (short) 3, 2),
+                new AllocationSolver.Choice(3L, 10L, 1, 3L, (short) 3, 3),
+                new AllocationSolver.Choice(4L, 10L, 1, 3L, (short) 4, 4));
+
+        List<AllocationSolver.Choice> granted = AllocationSolver.solve(choices, seat -> seat != blocked, 2, 7L);
+
+        Assertions.assertEquals(List.of(2L, 4L), granted.stream().map(AllocationSolver.Choice::id).toList());
+    }
+
+    @Test
+    void solve_Grant_TheSameSeats_WhetherDaysAreDraftedApartOrTogether() {
+        Random random = new Random(11);
+        List<AllocationSolver.Choice> apart = new ArrayList<>();
+        long id = 1;
+        for (long person = 1; person <= 2_000; person++) {
+            int day = random.nextInt(5);
+            for (int rank = 1; rank <= 5; rank++) {
+                short slot = (short) (day * TimeSlot.SHIFTS_PER_DAY + random.nextInt(TimeSlot.SHIFTS_PER_DAY));
+                apart.add(new AllocationSolver.Choice(id++, person, person % 7 == 0 ? 0 : 1, 1L + random.nextInt(20), slot, rank));
+            }
+        }
+
+        // A last choice on the next day, on a table that is never free, links every day into one draft without
+        // changing who gets what.
+        long blockedTable = 999L;
+        List<AllocationSolver.Choice> together = new ArrayList<>(apart);
+        for (AllocationSolver.Choice choice : apart.stream().filter(choice -> choice.rank() == 5).toList()) {
+            short nextDay = (short) ((choice.slot() + TimeSlot.SHIFTS_PER_DAY) % TimeSlot.COUNT);
+            together.add(new AllocationSolver.Choice(id++, choice.personId(), choice.tier(), blockedTable, nextDay, 6));
+        }
+
+        Set<Long> grantedApart = AllocationSolver.solve(apart, seat -> true, 2, 3L).stream()
+                .map(AllocationSolver.Choice::id)
+                .collect(Collectors.toSet());
+        Set<Long> grantedTogether = AllocationSolver.solve(together, seat -> seat / TimeSlot.COUNT != blockedTable, 2, 3L)
+                .stream()
+                .map(AllocationSolver.Choice::id)
+                .collect(Collectors.toSet());
+
+        Assertions.assertFalse(grantedApart.isEmpty());
+        Assertions.assertEquals(grantedTogether, grantedApart);
+    }
+
+    @Test
+    void solve_Allocate_FiveThousandPeopleWithTenPreferences_InSeconds() {
+        Random random = new Random(42);
+        List<AllocationSolver.Choice> choices = new ArrayList<>();
+        long id = 1;
+        for (long person = 1; person <= 5_000; person++) {
+            Set<Long> ranked = new HashSet<>();
+            int rank = 1;
+            while (rank <= 10) {
+                long table = 1 + random.nextInt(60);
+                short slot = (short) random.nextInt(TimeSlot.COUNT);
+                if (ranked.add(TimeSlot.keyOf(table, slot))) {
+                    choices.add(new AllocationSolver.Choice(id++, person, person % 10 == 0 ? 0 : 1, table, slot, rank++));
+                }
+            }
+        }
+
+        List<AllocationSolver.Choice> granted = Assertions.assertTimeout(Duration.ofSeconds(5),
+                () -> AllocationSolver.solve(choices, seat -> true, 2, 1L));
+
+        Set<Long> seats = new HashSet<>();
+        Set<Long> personSlots = new HashSet<>();
+        for (AllocationSolver.Choice choice : granted) {
+            Assertions.assertTrue(seats.add(choice.seatKey()), "A seat was given twice");
+            Assertions.assertTrue(personSlots.add(choice.personId() * TimeSlot.COUNT + choice.slot()),
+                    "A person got two seats in the same slot");
+        }
+        Assertions.assertTrue(granted.size() <= 60 * TimeSlot.COUNT);
+        Assertions.assertTrue(granted.stream().collect(Collectors.groupingBy(AllocationSolver.Choice::personId,
+                Collectors.counting())).values().stream().allMatch(count -> count <= 2));
+    }
+}
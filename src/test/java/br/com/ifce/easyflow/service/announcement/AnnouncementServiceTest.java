@@ -22,6 +22,7 @@ import br.com.ifce.easyflow.controller.dto.announcement.AnnouncementUpdateDTO;
 import br.com.ifce.easyflow.model.Announcement;
 import br.com.ifce.easyflow.repository.AnnouncementRepository;
 import br.com.ifce.easyflow.service.AnnouncementService;
+import br.com.ifce.easyflow.service.CollectionVersions;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +34,9 @@ public class AnnouncementServiceTest {
     @Mock
     private AnnouncementRepository announcementRepository;
 
+    @Mock
+    private CollectionVersions collectionVersions;
+
 
     @Test
     void search_returns_AllAnnouncement_WhenSuccessful() {
@@ -4,8 +4,11 @@ import br.com.ifce.easyflow.controller.dto.course.CourseRequestDTO;
 import br.com.ifce.easyflow.controller.dto.course.CourseUpdateDTO;
 import br.com.ifce.easyflow.model.Course;
 import br.com.ifce.easyflow.repository.CourseRepository;
+import br.com.ifce.easyflow.service.CollectionVersions;
 import br.com.ifce.easyflow.service.CourseService;
+import br.com.ifce.easyflow.service.IfMatch;
 import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.PreconditionFailedException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,6 +33,9 @@ class CourseServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private CollectionVersions collectionVersions;
+
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
@@ -147,6 +153,27 @@ class CourseServiceTest {
         verify(courseRepository, never()).save(any(Course.class));
     }
 
+    @Test
+    void update_StaleIfMatch_ThrowsPreconditionFailedException() {
+        Course oldCourse = createCourse();
+        oldCourse.setVersion(2L);
+        CourseUpdateDTO updateDTO = createCourseUpdateDTO("New Course");
+
+        when(courseRepository.findById(anyLong())).thenReturn(Optional.of(oldCourse));
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> courseService.update(1L, updateDTO, IfMatch.parse("\"1\"")));
+        verify(courseRepository, never()).findByName("New Course");
+        verify(courseRepository, never()).save(any(Course.class));
+    }
+
+    @Test
+    void listVersion_Returns_CourseCollectionVersion() {
+        when(collectionVersions.current(Course.class)).thenReturn(42L);
+
+        Assertions.assertEquals(42L, courseService.listVersion());
+    }
+
     @Test
     void delete_ExistingCourse_ReturnsTrue() {
         Course course = createCourse();
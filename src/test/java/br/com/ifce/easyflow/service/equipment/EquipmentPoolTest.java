@@ -0,0 +1,131 @@
+package br.com.ifce.easyflow.service.equipment;
+
+import br.com.ifce.easyflow.model.Equipment;
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.repository.EquipmentRepository;
+import br.com.ifce.easyflow.service.EquipmentPool;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EquipmentPoolTest {
+
+    @InjectMocks
+    EquipmentPool equipmentPool;
+
+    @Mock
+    EquipmentRepository equipmentRepository;
+
+    @Test
+    void claim_Pick_SmallestMatchingEquipment_First() {
+        when(equipmentRepository.findAllByEquipmentStatus(EquipmentAvailabilityStatus.AVAILABLE)).thenReturn(List.of(
+                createEquipment(1L, "32gb", "1tb"),
+                createEquipment(2L, "8 GB", "256gb"),
+                createEquipment(3L, "2x8gb", "512gb"),
+                createEquipment(4L, "4gb", "128gb")));
+        equipmentPool.rebuild();
+
+        Assertions.assertEquals(Optional.of(2L), equipmentPool.claim(8, 0, id -> true));
+        Assertions.assertEquals(Optional.of(3L), equipmentPool.claim(8, 0, id -> true));
+        Assertions.assertEquals(Optional.of(1L), equipmentPool.claim(8, 0, id -> true));
+        Assertions.assertEquals(Optional.empty(), equipmentPool.claim(8, 0, id -> true));
+        Assertions.assertEquals(1, equipmentPool.size());
+    }
+
+    @Test
+    void claim_Skip_EquipmentWithoutEnoughStorage_OrNotUsable() {
+        when(equipmentRepository.findAllByEquipmentStatus(EquipmentAvailabilityStatus.AVAILABLE)).thenReturn(List.of(
+                createEquipment(1L, "8gb", "128gb"),
+                createEquipment(2L, "8gb", "512gb"),
+                createEquipment(3L, "8gb", "1tb")));
+        equipmentPool.rebuild();
+
+        Assertions.assertEquals(Optional.of(3L), equipmentPool.claim(8, 256, id -> id != 2L));
+        Assertions.assertEquals(Optional.of(2L), equipmentPool.claim(8, 256, id -> true));
+        Assertions.assertEquals(Optional.of(1L), equipmentPool.claim(0, 0, id -> true));
+    }
+
+    @Test
+    void changed_Add_AndRemove_EquipmentByStatus() {
+        when(equipmentRepository.findAllByEquipmentStatus(EquipmentAvailabilityStatus.AVAILABLE)).thenReturn(List.of(
+                createEquipment(1L, "8gb", "256gb")));
+        equipmentPool.rebuild();
+
+        Equipment busy = createEquipment(1L, "8gb", "256gb");
+        busy.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
+        equipmentPool.changed(busy);
+        equipmentPool.changed(createEquipment(2L, "16gb", "256gb"));
+        equipmentPool.removed(3L);
+
+        Assertions.assertEquals(Optional.of(2L), equipmentPool.claim(8, 0, id -> true));
+        Assertions.assertEquals(Optional.empty(), equipmentPool.claim(0, 0, id -> true));
+    }
+
+    @Test
+    void claim_HandOut_EveryEquipmentOnce_UnderConcurrentClaims() throws InterruptedException {
+        int equipmentCount = 2000;
+        int threads = 8;
+        List<Equipment> equipment = new ArrayList<>();
+        for (long id = 1; id <= equipmentCount; id++) {
+            equipment.add(createEquipment(id, (4 << (id % 4)) + "gb", "256gb"));
+        }
+        when(equipmentRepository.findAllByEquipmentStatus(EquipmentAvailabilityStatus.AVAILABLE)).thenReturn(equipment);
+        equipmentPool.rebuild();
+
+        Map<Long, Integer> claimedBy = new ConcurrentHashMap<>();
+        AtomicInteger duplicated = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                Optional<Long> claimed;
+                while ((claimed = equipmentPool.claim(thread % 2 == 0 ? 0 : 16, 0, id -> true)).isPresent()) {
+                    if (claimedBy.putIfAbsent(claimed.get(), thread) != null) {
+                        duplicated.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(0, duplicated.get());
+        Assertions.assertEquals(equipmentCount, claimedBy.size());
+        Assertions.assertEquals(0, equipmentPool.size());
+    }
+
+    private Equipment createEquipment(Long id, String ramMemory, String storageMemory) {
+        return Equipment.builder()
+                .id(id)
+                .name("Aspire-3")
+                .brand("ACER")
+                .ramMemory(ramMemory)
+                .storageMemory(storageMemory)
+                .tombo("T" + id)
+                .equipmentStatus(EquipmentAvailabilityStatus.AVAILABLE)
+                .build();
+    }
+}
@@ -1,12 +1,23 @@
 package br.com.ifce.easyflow.service.equipment;
 
+import br.com.ifce.easyflow.config.ErrorValidationHandlerConfig;
+import br.com.ifce.easyflow.config.ProblemDetails;
 import br.com.ifce.easyflow.controller.dto.equipment.EquipmentPostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.equipment.EquipmentPutRequestDTO;
 import br.com.ifce.easyflow.controller.dto.equipment.EquipmentStatusPatchRequestDTO;
 import br.com.ifce.easyflow.model.Equipment;
 import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
 import br.com.ifce.easyflow.repository.EquipmentRepository;
+import br.com.ifce.easyflow.repository.EquipmentSearchFilter;
+import br.com.ifce.easyflow.service.CollectionVersions;
+import br.com.ifce.easyflow.service.EquipmentPool;
 import br.com.ifce.easyflow.service.EquipmentService;
+import br.com.ifce.easyflow.service.IfMatch;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.LoanIntervalIndex;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.PreconditionFailedException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,10 +30,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 
@@ -35,6 +50,18 @@ class EquipmentServiceTest {
     @Mock
     private EquipmentRepository equipmentRepository;
 
+    @Mock
+    private CollectionVersions collectionVersions;
+
+    @Mock
+    private LiveStats liveStats;
+
+    @Mock
+    private LoanIntervalIndex loanIntervalIndex;
+
+    @Mock
+    private EquipmentPool equipmentPool;
+
     @Test
     void findAll_Equipments_WhenSuccessful() {
         PageRequest pageable = PageRequest.of(0, 5);
@@ -111,6 +138,7 @@ class EquipmentServiceTest {
                 .tombo("125478")
                 .build();
 
+        when(equipmentRepository.existsByTombo("125478")).thenReturn(false);
         when(equipmentRepository.save(any(Equipment.class))).thenReturn(equipment);
 
         Equipment equipmentSaved = equipmentService.save(equipmentRequestDTO);
@@ -127,6 +155,7 @@ class EquipmentServiceTest {
         Equipment equipmentTwo = createEquipment();
         equipmentTwo.setId(null);
 
+        verify(equipmentRepository).existsByTombo("125478");
         verify(equipmentRepository).save(equipmentTwo);
         verifyNoMoreInteractions(equipmentRepository);
     }
@@ -150,6 +179,7 @@ class EquipmentServiceTest {
 
         when(equipmentRepository.save(any(Equipment.class))).thenReturn(equipmentToUpdated);
         when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipmentToUpdated));
+        when(equipmentRepository.existsByTomboAndIdNot("125478", 1L)).thenReturn(false);
 
         Equipment equipmentUpdated = equipmentService.update(1L, equipmentPutRequest);
 
@@ -159,6 +189,7 @@ class EquipmentServiceTest {
         Assertions.assertEquals(equipmentToUpdated.getRamMemory(), equipmentUpdated.getRamMemory());
 
         verify(equipmentRepository).findById(1L);
+        verify(equipmentRepository).existsByTomboAndIdNot("125478", 1L);
         verify(equipmentRepository).save(equipmentToUpdated);
         verifyNoMoreInteractions(equipmentRepository);
     }
@@ -179,7 +210,44 @@ class EquipmentServiceTest {
 
         Assertions.assertEquals(equipment.getId(), equipmentUpdated.getId());
         Assertions.assertEquals(EquipmentAvailabilityStatus.BUSY, equipmentUpdated.getEquipmentStatus());
+        verify(liveStats).equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
+        verify(equipmentPool).changed(equipment);
+
+    }
+
+    @Test
+    void updateEquipmentStatus_Saves_WhenIfMatchHasCurrentVersion() {
+        Equipment equipment = createEquipment();
+        equipment.setVersion(3L);
+
+        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipment));
+        when(equipmentRepository.save(any(Equipment.class))).thenReturn(equipment);
+
+        Equipment equipmentUpdated = equipmentService.updateEquipmentStatus(1L,
+                new EquipmentStatusPatchRequestDTO(EquipmentAvailabilityStatus.MAINTENANCE), IfMatch.parse("\"2\", \"3\""));
+
+        Assertions.assertEquals(EquipmentAvailabilityStatus.MAINTENANCE, equipmentUpdated.getEquipmentStatus());
+        verify(equipmentRepository).save(equipment);
+    }
+
+    @Test
+    void update_Throws_PreconditionFailedException_WhenIfMatchIsStale() {
+        Equipment equipment = createEquipment();
+        equipment.setVersion(4L);
+
+        EquipmentPutRequestDTO equipmentPutRequest = EquipmentPutRequestDTO.builder()
+                .name("Aspire-5")
+                .build();
 
+        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipment));
+
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> equipmentService.update(1L, equipmentPutRequest, IfMatch.parse("\"3\"")));
+        Assertions.assertThrows(PreconditionFailedException.class,
+                () -> equipmentService.update(1L, equipmentPutRequest, IfMatch.parse("W/\"4\"")));
+
+        Assertions.assertEquals("Aspire-3", equipment.getName());
+        verify(equipmentRepository, never()).save(any(Equipment.class));
     }
 
     @Test
@@ -194,6 +262,153 @@ class EquipmentServiceTest {
 
     }
 
+    @Test
+    void search_Pass_OnlyGivenFilters_ToTheRepository() {
+        PageRequest pageable = PageRequest.of(0, 5);
+        EquipmentSearchFilter filter = new EquipmentSearchFilter(EquipmentAvailabilityStatus.AVAILABLE, "ACER", null, 8, null);
+
+        when(equipmentRepository.search(filter, pageable)).thenReturn(new PageImpl<>(List.of(createEquipment())));
+
+        Page<Equipment> equipment = equipmentService.search("available", " ACER ", " ", 8, null, pageable);
+
+        Assertions.assertEquals(1, equipment.getTotalElements());
+        verify(equipmentRepository).search(filter, pageable);
+    }
+
+    @Test
+    void search_Throw_BadRequestException_WhenStatusDoesNotExist() {
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class,
+                () -> equipmentService.search("broken", null, null, null, null, PageRequest.of(0, 5)));
+
+        Assertions.assertTrue(exception.getMessage().contains("The status provided does not exist"));
+        verifyNoInteractions(equipmentRepository);
+    }
+
+    @Test
+    void findAvailable_Skip_LentEquipment() {
+        Equipment free = createEquipment();
+        Equipment lent = createEquipment();
+        lent.setId(2L);
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = start.plusDays(7);
+
+        when(loanIntervalIndex.lentEquipment(start, end)).thenReturn(Set.of(2L));
+        when(equipmentRepository.findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus.MAINTENANCE))
+                .thenReturn(List.of(free, lent));
+
+        List<Equipment> available = equipmentService.findAvailable(start.toString(), end.toString());
+
+        Assertions.assertEquals(List.of(free), available);
+    }
+
+    @Test
+    void findAvailable_List_BusyEquipment_WhenPeriodStartsInTheFuture() {
+        Equipment busy = createEquipment();
+        busy.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = start.plusDays(7);
+
+        when(loanIntervalIndex.lentEquipment(start, end)).thenReturn(Set.of());
+        when(equipmentRepository.findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus.MAINTENANCE))
+                .thenReturn(List.of(busy));
+
+        List<Equipment> available = equipmentService.findAvailable(start.toString(), end.toString());
+
+        Assertions.assertEquals(List.of(busy), available);
+    }
+
+    @Test
+    void findAvailable_Skip_BusyEquipment_WhenPeriodIncludesToday() {
+        Equipment free = createEquipment();
+        Equipment busy = createEquipment();
+        busy.setId(2L);
+        busy.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
+        LocalDate start = LocalDate.now().minusDays(1);
+        LocalDate end = start.plusDays(7);
+
+        when(loanIntervalIndex.lentEquipment(start, end)).thenReturn(Set.of());
+        when(equipmentRepository.findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus.MAINTENANCE))
+                .thenReturn(List.of(free, busy));
+
+        List<Equipment> available = equipmentService.findAvailable(start.toString(), end.toString());
+
+        Assertions.assertEquals(List.of(free), available);
+    }
+
+    @Test
+    void findAvailable_Throw_BadRequestException_WhenEndDateIsBeforeStartDate() {
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class,
+                () -> equipmentService.findAvailable("2023-11-10", "2023-11-03"));
+
+        Assertions.assertTrue(exception.getMessage().contains("The end date cannot be before the start date."));
+        verifyNoInteractions(equipmentRepository, loanIntervalIndex);
+    }
+
+    @Test
+    void findByTombo_Return_Equipment_WhenSuccessful() {
+        Equipment equipment = createEquipment();
+
+        when(equipmentRepository.findByTombo("125478")).thenReturn(Optional.of(equipment));
+
+        Assertions.assertEquals(equipment, equipmentService.findByTombo(" 125478 "));
+    }
+
+    @Test
+    void findByTombo_Throw_ResourceNotFoundException_WhenTomboIsUnknown() {
+        when(equipmentRepository.findByTombo(anyString())).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> equipmentService.findByTombo("000"));
+    }
+
+    @Test
+    void save_Throw_ConflictException_WhenTomboIsAlreadyRegistered() {
+        EquipmentPostRequestDTO equipmentRequestDTO = EquipmentPostRequestDTO.builder()
+                .name("Aspire-3")
+                .brand("ACER")
+                .processor("Intel i5")
+                .ramMemory("8 gb")
+                .storageMemory("500 mb ssd")
+                .tombo("125478")
+                .build();
+
+        when(equipmentRepository.existsByTombo("125478")).thenReturn(true);
+
+        Assertions.assertThrows(ConflictException.class, () -> equipmentService.save(equipmentRequestDTO));
+        verify(equipmentRepository, never()).save(any(Equipment.class));
+    }
+
+    @Test
+    void update_Throw_ConflictException_WhenTomboIsAlreadyRegistered() {
+        EquipmentPutRequestDTO equipmentPutRequest = EquipmentPutRequestDTO.builder()
+                .name("Aspire-5")
+                .brand("ACER")
+                .processor("Intel i3")
+                .ramMemory("16 gb")
+                .storageMemory("500 mb ssd")
+                .tombo("125478")
+                .build();
+
+        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(createEquipment()));
+        when(equipmentRepository.existsByTomboAndIdNot("125478", 1L)).thenReturn(true);
+
+        Assertions.assertThrows(ConflictException.class, () -> equipmentService.update(1L, equipmentPutRequest));
+        verify(equipmentRepository, never()).save(any(Equipment.class));
+    }
+
+    @Test
+    void handlerConflictException_Return_Conflict_WhenTomboIsAlreadyRegistered() {
+        when(equipmentRepository.existsByTombo("125478")).thenReturn(true);
+
+        ConflictException conflictException = Assertions.assertThrows(ConflictException.class,
+                () -> equipmentService.save(EquipmentPostRequestDTO.builder().tombo("125478").build()));
+
+        ResponseEntity<ProblemDetails> response =
+                new ErrorValidationHandlerConfig().handlerConflictException(conflictException);
+
+        Assertions.assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        Assertions.assertEquals(HttpStatus.CONFLICT.value(), response.getBody().getStatus());
+    }
+
     private Equipment createEquipment() {
         return Equipment.builder()
                 .id(1L)
@@ -0,0 +1,106 @@
+package br.com.ifce.easyflow.service.equipment;
+
+import br.com.ifce.easyflow.controller.dto.solicitation.LoanExpiryResultDTO;
+import br.com.ifce.easyflow.controller.dto.stats.LoanExpiryStatsDTO;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import br.com.ifce.easyflow.service.LoanExpirySweeper;
+import br.com.ifce.easyflow.service.SolicitationService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanExpirySweeperTest {
+
+    @Mock
+    SolicitationRepository solicitationRepository;
+
+    @Mock
+    SolicitationService solicitationService;
+
+    @Captor
+    ArgumentCaptor<List<Long>> chunks;
+
+    LoanExpirySweeper loanExpirySweeper;
+
+    @BeforeEach
+    void setUp() {
+        loanExpirySweeper = new LoanExpirySweeper(solicitationRepository, solicitationService, 2);
+    }
+
+    @Test
+    void sweep_Expire_OverdueLoans_ChunkByChunk() {
+        when(solicitationRepository.findIdsEndedBefore(eq(SolicitationStatus.APPROVED), any(LocalDate.class),
+                eq(PageRequest.of(0, 2))))
+                .thenReturn(List.of(1L, 2L))
+                .thenReturn(List.of(3L, 4L))
+                .thenReturn(List.of(5L));
+        when(solicitationService.expireLoans(anyList(), any(LocalDate.class)))
+                .thenReturn(new LoanExpiryResultDTO(2, 2), new LoanExpiryResultDTO(2, 1), new LoanExpiryResultDTO(1, 1));
+
+        loanExpirySweeper.sweep();
+
+        verify(solicitationService, times(3)).expireLoans(chunks.capture(), any(LocalDate.class));
+        Assertions.assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), chunks.getAllValues());
+        verify(solicitationRepository, times(3)).findIdsEndedBefore(any(), any(), any());
+
+        LoanExpiryStatsDTO stats = loanExpirySweeper.stats();
+        Assertions.assertEquals(1, stats.sweeps());
+        Assertions.assertEquals(5, stats.expired());
+        Assertions.assertEquals(4, stats.released());
+        Assertions.assertEquals(5, stats.lastSweepExpired());
+        Assertions.assertNotNull(stats.lastSweepAt());
+    }
+
+    @Test
+    void sweep_Stop_WhenAChunkFails_AndCount_TheFailure() {
+        when(solicitationRepository.findIdsEndedBefore(eq(SolicitationStatus.APPROVED), any(LocalDate.class), any()))
+                .thenReturn(List.of(1L, 2L));
+        when(solicitationService.expireLoans(anyList(), any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("Lock wait timeout exceeded"));
+
+        loanExpirySweeper.sweep();
+
+        verify(solicitationService, times(1)).expireLoans(anyList(), any(LocalDate.class));
+        Assertions.assertEquals(1, loanExpirySweeper.stats().failures());
+        Assertions.assertEquals(0, loanExpirySweeper.stats().expired());
+    }
+
+    @Test
+    void sweep_Stop_WhenNothingIsOverdue() {
+        when(solicitationRepository.findIdsEndedBefore(eq(SolicitationStatus.APPROVED), any(LocalDate.class), any()))
+                .thenReturn(List.of());
+
+        loanExpirySweeper.sweep();
+
+        verify(solicitationService, never()).expireLoans(anyList(), any(LocalDate.class));
+        verify(solicitationService).startLoans(any(LocalDate.class));
+        Assertions.assertEquals(1, loanExpirySweeper.stats().sweeps());
+    }
+
+    @Test
+    void sweep_Count_TheFailure_WhenStartingLoansFails() {
+        when(solicitationRepository.findIdsEndedBefore(eq(SolicitationStatus.APPROVED), any(LocalDate.class), any()))
+                .thenReturn(List.of());
+        when(solicitationService.startLoans(any(LocalDate.class)))
+                .thenThrow(new IllegalStateException("Lock wait timeout exceeded"));
+
+        loanExpirySweeper.sweep();
+
+        Assertions.assertEquals(1, loanExpirySweeper.stats().failures());
+        Assertions.assertEquals(1, loanExpirySweeper.stats().sweeps());
+    }
+}
@@ -0,0 +1,127 @@
+package br.com.ifce.easyflow.service.equipment;
+
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import br.com.ifce.easyflow.service.LoanIntervalIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoanIntervalIndexTest {
+
+    @InjectMocks
+    LoanIntervalIndex loanIntervalIndex;
+
+    @Mock
+    SolicitationRepository solicitationRepository;
+
+    private static final LocalDate NOV_3 = LocalDate.parse("2023-11-03");
+    private static final LocalDate NOV_10 = LocalDate.parse("2023-11-10");
+
+    @Test
+    void rebuild_Load_ApprovedLoans_FromDatabase() {
+        when(solicitationRepository.findLoanIntervals(SolicitationStatus.APPROVED)).thenReturn(List.of(
+                createLoanInterval(1L, 1L, "2023-10-01", "2023-11-03"),
+                createLoanInterval(2L, 2L, "2023-11-11", "2023-11-20"),
+                createLoanInterval(3L, 3L, "2023-11-05", "2023-11-06")));
+
+        loanIntervalIndex.rebuild();
+
+        Assertions.assertEquals(Set.of(1L, 3L), loanIntervalIndex.lentEquipment(NOV_3, NOV_10));
+        Assertions.assertTrue(loanIntervalIndex.isLent(2L, NOV_10, NOV_10.plusDays(1)));
+        Assertions.assertFalse(loanIntervalIndex.isLent(2L, NOV_3, NOV_10));
+    }
+
+    @Test
+    void lendAndRelease_Update_LentEquipment() {
+        when(solicitationRepository.findLoanIntervals(SolicitationStatus.APPROVED)).thenReturn(List.of());
+        loanIntervalIndex.rebuild();
+
+        loanIntervalIndex.lend(7L, 4L, NOV_10, NOV_10.plusDays(3));
+        Assertions.assertTrue(loanIntervalIndex.isLent(4L, NOV_3, NOV_10));
+
+        loanIntervalIndex.lend(7L, 4L, NOV_10.plusDays(1), NOV_10.plusDays(3));
+        Assertions.assertFalse(loanIntervalIndex.isLent(4L, NOV_3, NOV_10));
+
+        loanIntervalIndex.release(7L);
+        Assertions.assertTrue(loanIntervalIndex.lentEquipment(NOV_3, NOV_10.plusDays(30)).isEmpty());
+    }
+
+    @Test
+    void isLent_Find_LongLoanStartingFarBeforeThePeriod() {
+        when(solicitationRepository.findLoanIntervals(SolicitationStatus.APPROVED)).thenReturn(List.of(
+                createLoanInterval(1L, 1L, "2023-01-01", "2023-12-31"),
+                createLoanInterval(2L, 1L, "2023-11-01", "2023-11-02")));
+
+        loanIntervalIndex.rebuild();
+        loanIntervalIndex.release(1L);
+
+        Assertions.assertFalse(loanIntervalIndex.isLent(1L, NOV_3, NOV_10));
+        Assertions.assertTrue(loanIntervalIndex.isLent(1L, NOV_3.minusDays(1), NOV_10));
+    }
+
+    @Test
+    void lentEquipment_Match_BruteForce_OnThousandsOfLoans() {
+        Random random = new Random(42);
+        LocalDate origin = LocalDate.parse("2023-01-01");
+        List<SolicitationRepository.LoanInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            LocalDate start = origin.plusDays(random.nextInt(365));
+            intervals.add(createLoanInterval(id, 1L + random.nextInt(2_000), start.toString(),
+                    start.plusDays(random.nextInt(30)).toString()));
+        }
+        when(solicitationRepository.findLoanIntervals(SolicitationStatus.APPROVED)).thenReturn(intervals);
+        loanIntervalIndex.rebuild();
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate start = origin.plusDays(random.nextInt(365));
+            LocalDate end = start.plusDays(random.nextInt(10));
+
+            Set<Long> expected = new HashSet<>();
+            for (SolicitationRepository.LoanInterval interval : intervals) {
+                if (!interval.getStartDate().isAfter(end) && !interval.getEndDate().isBefore(start)) {
+                    expected.add(interval.getEquipmentId());
+                }
+            }
+
+            Assertions.assertEquals(expected, loanIntervalIndex.lentEquipment(start, end));
+        }
+    }
+
+    private SolicitationRepository.LoanInterval createLoanInterval(Long id, Long equipmentId, String start, String end) {
+        return new SolicitationRepository.LoanInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getEquipmentId() {
+                return equipmentId;
+            }
+
+            @Override
+            public LocalDate getStartDate() {
+                return LocalDate.parse(start);
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return LocalDate.parse(end);
+            }
+        };
+    }
+}
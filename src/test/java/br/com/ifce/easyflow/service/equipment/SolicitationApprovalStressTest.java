@@ -0,0 +1,128 @@
+package br.com.ifce.easyflow.service.equipment;
+
+import br.com.ifce.easyflow.controller.dto.solicitation.ApprovedSolicitationDTO;
+import br.com.ifce.easyflow.model.Equipment;
+import br.com.ifce.easyflow.model.Solicitation;
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.repository.EquipmentRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import br.com.ifce.easyflow.service.CollectionVersions;
+import br.com.ifce.easyflow.service.EquipmentPool;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.LoanIntervalIndex;
+import br.com.ifce.easyflow.service.SolicitationService;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SolicitationApprovalStressTest {
+
+    private static final int MIN_APPROVALS_PER_SECOND = 2_000;
+
+    @Test
+    void approvedSolicitation_NeverLend_SameEquipmentTwice_UnderConcurrentApprovals() throws InterruptedException {
+        int threads = 8;
+        int approvalsPerThread = 5000;
+        int equipmentCount = 200;
+
+        // Stands in for the database: replace() is the same compare-and-set the conditional update does on the row.
+        Map<Long, EquipmentAvailabilityStatus> statuses = new ConcurrentHashMap<>();
+        for (long id = 1; id <= equipmentCount; id++) {
+            statuses.put(id, EquipmentAvailabilityStatus.AVAILABLE);
+        }
+        Map<Long, Long> lentTo = new ConcurrentHashMap<>();
+        AtomicInteger doubleLent = new AtomicInteger();
+
+        SolicitationRepository solicitationRepository = mock(SolicitationRepository.class);
+        EquipmentRepository equipmentRepository = mock(EquipmentRepository.class);
+
+        when(solicitationRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(Solicitation.builder()
+                .id(invocation.getArgument(0))
+                .startDate(LocalDate.now().minusDays(1))
+                .endDate(LocalDate.now().plusDays(6))
+                .status(SolicitationStatus.PENDING)
+                .build()));
+        when(solicitationRepository.save(any(Solicitation.class))).thenAnswer(invocation -> {
+            Solicitation solicitation = invocation.getArgument(0);
+            if (lentTo.putIfAbsent(solicitation.getEquipment().getId(), solicitation.getId()) != null) {
+                doubleLent.incrementAndGet();
+            }
+            return solicitation;
+        });
+        when(equipmentRepository.lendNow(anyLong(), eq(EquipmentAvailabilityStatus.AVAILABLE), eq(EquipmentAvailabilityStatus.BUSY),
+                eq(SolicitationStatus.APPROVED), any(LocalDate.class), any(LocalDate.class)))
+                .thenAnswer(invocation -> statuses.replace(invocation.getArgument(0),
+                        EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY) ? 1 : 0);
+        when(equipmentRepository.existsById(anyLong())).thenReturn(true);
+        when(equipmentRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(Equipment.builder()
+                .id(invocation.getArgument(0))
+                .equipmentStatus(statuses.get(invocation.<Long>getArgument(0)))
+                .build()));
+
+        SolicitationService solicitationService = new SolicitationService(solicitationRepository, equipmentRepository,
+                mock(PersonRepository.class), mock(CollectionVersions.class), mock(LiveStats.class),
+                mock(LoanIntervalIndex.class), mock(EquipmentPool.class));
+
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                Random random = new Random(thread);
+                start.await();
+                for (int i = 0; i < approvalsPerThread; i++) {
+                    long solicitationId = (long) thread * approvalsPerThread + i + 1;
+                    ApprovedSolicitationDTO requestDTO = ApprovedSolicitationDTO.builder()
+                            .equipmentId(1L + random.nextInt(equipmentCount))
+                            .build();
+
+                    try {
+                        solicitationService.approvedSolicitation(solicitationId, requestDTO);
+                        approved.incrementAndGet();
+                    } catch (BadRequestException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        Assertions.assertEquals(0, doubleLent.get());
+        Assertions.assertEquals(equipmentCount, approved.get());
+        Assertions.assertEquals(equipmentCount, lentTo.size());
+        Assertions.assertEquals(threads * approvalsPerThread - equipmentCount, rejected.get());
+        Assertions.assertTrue(statuses.values().stream().allMatch(EquipmentAvailabilityStatus.BUSY::equals));
+
+        // Nearly every approval is rejected by the conditional update, so the rate mostly measures how cheaply a
+        // lost race fails. The floor sits well below what the mocked repositories allow even on one slow core, it
+        // only catches a regression that makes approvals queue behind a lock or retry.
+        double approvalsPerSecond = threads * approvalsPerThread / seconds;
+        Assertions.assertTrue(approvalsPerSecond >= MIN_APPROVALS_PER_SECOND,
+                "Only " + (long) approvalsPerSecond + " approvals per second");
+    }
+}
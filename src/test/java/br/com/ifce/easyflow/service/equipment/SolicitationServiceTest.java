@@ -1,6 +1,8 @@
 package br.com.ifce.easyflow.service.equipment;
 
 import br.com.ifce.easyflow.controller.dto.solicitation.ApprovedSolicitationDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.LoanExpiryResultDTO;
+import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationBatchResponseDTO;
 import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationPostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.solicitation.SolicitationPutRequestDTO;
 import br.com.ifce.easyflow.exception.PersonNotFoundException;
@@ -12,6 +14,11 @@ import br.com.ifce.easyflow.model.enums.SolicitationStatus;
 import br.com.ifce.easyflow.repository.EquipmentRepository;
 import br.com.ifce.easyflow.repository.PersonRepository;
 import br.com.ifce.easyflow.repository.SolicitationRepository;
+import br.com.ifce.easyflow.service.CollectionVersions;
+import br.com.ifce.easyflow.service.EquipmentPool;
+import br.com.ifce.easyflow.service.EquipmentService;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.LoanIntervalIndex;
 import br.com.ifce.easyflow.service.SolicitationService;
 import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
@@ -19,6 +26,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -31,6 +39,8 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.LongStream;
 
 import static org.mockito.Mockito.*;
 
@@ -49,6 +59,18 @@ class SolicitationServiceTest {
     @Mock
     private PersonRepository personRepository;
 
+    @Mock
+    private CollectionVersions collectionVersions;
+
+    @Mock
+    private LiveStats liveStats;
+
+    @Mock
+    private LoanIntervalIndex loanIntervalIndex;
+
+    @Mock
+    private EquipmentPool equipmentPool;
+
     @Test
     void findAll_Return_PageOfEquipmentsSolicitations_WhenSuccessful() {
         PageRequest pageable = PageRequest.of(0, 5);
@@ -325,6 +347,52 @@ class SolicitationServiceTest {
 
     }
 
+    @Test
+    void save_Throw_BadRequestException_WhenEndDateIsBeforeStartDate() {
+
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+
+        SolicitationPostRequestDTO requestDTO = SolicitationPostRequestDTO.builder()
+                .personId(1L)
+                .justification("Justification")
+                .startDate("2023-11-16")
+                .endDate("2023-11-12")
+                .build();
+
+        BadRequestException badRequestException = Assertions.assertThrows(BadRequestException.class,
+                () -> solicitationService.save(requestDTO));
+
+        Assertions.assertTrue(badRequestException.getMessage().contains("The end date cannot be before the start date."));
+        verifyNoInteractions(solicitationRepository);
+    }
+
+    @Test
+    void findActiveLoans_Return_PageOfApprovedSolicitations_OverlappingThePeriod() {
+        PageRequest pageable = PageRequest.of(0, 5);
+        Solicitation solicitation = createSolicitation();
+        solicitation.setStatus(SolicitationStatus.APPROVED);
+        LocalDate start = LocalDate.parse("2023-11-03");
+        LocalDate end = LocalDate.parse("2023-11-10");
+
+        when(solicitationRepository.findOverlapping(List.of(SolicitationStatus.APPROVED, SolicitationStatus.EXPIRED),
+                start, end, pageable))
+                .thenReturn(new PageImpl<>(List.of(solicitation)));
+
+        Page<Solicitation> active = solicitationService.findActiveLoans("2023-11-03", "2023-11-10", pageable);
+
+        Assertions.assertEquals(1, active.getTotalElements());
+        Assertions.assertEquals(solicitation.getId(), active.getContent().get(0).getId());
+    }
+
+    @Test
+    void findActiveLoans_Throw_BadRequestException_WhenEndDateIsBeforeStartDate() {
+        BadRequestException badRequestException = Assertions.assertThrows(BadRequestException.class,
+                () -> solicitationService.findActiveLoans("2023-11-10", "2023-11-03", PageRequest.of(0, 5)));
+
+        Assertions.assertTrue(badRequestException.getMessage().contains("The end date cannot be before the start date."));
+        verifyNoInteractions(solicitationRepository);
+    }
+
     @Test
     void save_Throw_PersonNotFondException_WhenPersonNotFound() {
 
@@ -460,6 +528,8 @@ class SolicitationServiceTest {
         Solicitation solicitationUpdated = createSolicitation();
         Solicitation oldSolicitation = createSolicitation();
         oldSolicitation.setEquipment(null);
+        oldSolicitation.setStartDate(LocalDate.now().minusDays(1));
+        oldSolicitation.setEndDate(LocalDate.now().plusDays(3));
         Equipment equipment = createEquipment();
 
         ApprovedSolicitationDTO requestDTO = ApprovedSolicitationDTO.builder()
@@ -468,8 +538,12 @@ class SolicitationServiceTest {
 
         solicitationUpdated.setStatus(SolicitationStatus.APPROVED);
         solicitationUpdated.getEquipment().setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
+        equipment.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
 
         when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(oldSolicitation));
+        when(equipmentRepository.lendNow(1L, EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY,
+                SolicitationStatus.APPROVED, oldSolicitation.getStartDate(), oldSolicitation.getEndDate()))
+                .thenReturn(1);
         when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipment));
         when(solicitationRepository.save(any(Solicitation.class))).thenReturn(solicitationUpdated);
 
@@ -479,9 +553,132 @@ class SolicitationServiceTest {
         Assertions.assertEquals(oldSolicitation.getId(), solicitation.getId());
         Assertions.assertEquals(SolicitationStatus.APPROVED, solicitation.getStatus());
         Assertions.assertEquals(EquipmentAvailabilityStatus.BUSY, solicitation.getEquipment().getEquipmentStatus());
+        verify(liveStats).solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.APPROVED);
+        verify(liveStats).equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
+        verify(loanIntervalIndex).lend(solicitationUpdated.getId(), equipment.getId(),
+                solicitationUpdated.getStartDate(), solicitationUpdated.getEndDate());
+        verify(collectionVersions).changed(Equipment.class);
+        verify(equipmentPool).changed(equipment);
+        verify(equipmentRepository, never()).save(any(Equipment.class));
 
     }
 
+    @Test
+    void approvedSolicitation_Approve_FuturePeriod_WithEquipmentListedAsAvailable() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = start.plusDays(7);
+        Solicitation pending = createSolicitation();
+        pending.setEquipment(null);
+        pending.setStartDate(start);
+        pending.setEndDate(end);
+        Equipment equipment = createEquipment();
+
+        EquipmentService equipmentService = new EquipmentService(equipmentRepository, collectionVersions, liveStats,
+                loanIntervalIndex, equipmentPool);
+
+        when(loanIntervalIndex.lentEquipment(start, end)).thenReturn(Set.of());
+        when(equipmentRepository.findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus.MAINTENANCE))
+                .thenReturn(List.of(equipment));
+        when(solicitationRepository.findById(1L)).thenReturn(Optional.of(pending));
+        when(equipmentRepository.reserve(1L, EquipmentAvailabilityStatus.MAINTENANCE, SolicitationStatus.APPROVED,
+                start, end)).thenReturn(1);
+        when(equipmentRepository.findById(1L)).thenReturn(Optional.of(equipment));
+        when(solicitationRepository.save(any(Solicitation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Long equipmentId = equipmentService.findAvailable(start.toString(), end.toString()).get(0).getId();
+        Solicitation approved = solicitationService.approvedSolicitation(1L, ApprovedSolicitationDTO.builder()
+                .equipmentId(equipmentId)
+                .build());
+
+        Assertions.assertEquals(SolicitationStatus.APPROVED, approved.getStatus());
+        Assertions.assertEquals(equipmentId, approved.getEquipment().getId());
+        verify(loanIntervalIndex).lend(1L, equipmentId, start, end);
+    }
+
+    @Test
+    void approvedSolicitation_Approve_FuturePeriod_OfBusyEquipment_WhoseCurrentLoanEndsFirst() {
+        LocalDate start = LocalDate.now().plusDays(10);
+        LocalDate end = start.plusDays(7);
+        Solicitation pending = createSolicitation();
+        pending.setEquipment(null);
+        pending.setStartDate(start);
+        pending.setEndDate(end);
+        // Lent until the end of the week, so BUSY today and free once the requested period starts.
+        Equipment equipment = createEquipment();
+        equipment.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
+
+        EquipmentService equipmentService = new EquipmentService(equipmentRepository, collectionVersions, liveStats,
+                loanIntervalIndex, equipmentPool);
+
+        when(loanIntervalIndex.lentEquipment(start, end)).thenReturn(Set.of());
+        when(equipmentRepository.findAllByEquipmentStatusNotOrderById(EquipmentAvailabilityStatus.MAINTENANCE))
+                .thenReturn(List.of(equipment));
+        when(solicitationRepository.findById(1L)).thenReturn(Optional.of(pending));
+        when(equipmentRepository.reserve(1L, EquipmentAvailabilityStatus.MAINTENANCE, SolicitationStatus.APPROVED,
+                start, end)).thenReturn(1);
+        when(equipmentRepository.findById(1L)).thenReturn(Optional.of(equipment));
+        when(solicitationRepository.save(any(Solicitation.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<Equipment> available = equipmentService.findAvailable(start.toString(), end.toString());
+        Solicitation approved = solicitationService.approvedSolicitation(1L, ApprovedSolicitationDTO.builder()
+                .equipmentId(1L)
+                .build());
+
+        Assertions.assertEquals(List.of(equipment), available);
+        Assertions.assertEquals(SolicitationStatus.APPROVED, approved.getStatus());
+        Assertions.assertEquals(EquipmentAvailabilityStatus.BUSY, approved.getEquipment().getEquipmentStatus());
+        verify(loanIntervalIndex).lend(1L, 1L, start, end);
+        verify(liveStats, never()).equipmentChanged(any(), any());
+        verify(equipmentRepository, never()).lendNow(anyLong(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void approvedSolicitation_Throw_BadRequestException_WhenEquipmentIsLentDuringThePeriod() {
+
+        Solicitation oldSolicitation = createSolicitation();
+        oldSolicitation.setEquipment(null);
+        Equipment equipment = createEquipment();
+
+        ApprovedSolicitationDTO requestDTO = ApprovedSolicitationDTO.builder()
+                .equipmentId(1L)
+                .build();
+
+        when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(oldSolicitation));
+        when(solicitationRepository.existsOverlappingLoan(equipment.getId(), SolicitationStatus.APPROVED,
+                oldSolicitation.getStartDate(), oldSolicitation.getEndDate(), oldSolicitation.getId())).thenReturn(true);
+
+        BadRequestException badRequestException = Assertions
+                .assertThrows(BadRequestException.class,
+                        () -> solicitationService.approvedSolicitation(1L, requestDTO));
+
+        Assertions.assertTrue(badRequestException.getMessage().contains("already lent"));
+        Assertions.assertEquals(SolicitationStatus.PENDING, oldSolicitation.getStatus());
+
+        verify(solicitationRepository, never()).save(any(Solicitation.class));
+        verifyNoInteractions(equipmentRepository, loanIntervalIndex);
+    }
+
+    @Test
+    void update_Throw_BadRequestException_WhenApprovedLoanIsMovedOverAnotherLoan() {
+        Solicitation oldSolicitation = createSolicitation();
+        oldSolicitation.setStatus(SolicitationStatus.APPROVED);
+
+        SolicitationPutRequestDTO requestDTO = SolicitationPutRequestDTO.builder()
+                .justification("Other Justification")
+                .startDate("2023-11-20")
+                .endDate("2023-11-25")
+                .build();
+
+        when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(oldSolicitation));
+        when(solicitationRepository.existsOverlappingLoan(1L, SolicitationStatus.APPROVED,
+                LocalDate.parse("2023-11-20"), LocalDate.parse("2023-11-25"), 1L)).thenReturn(true);
+
+        Assertions.assertThrows(BadRequestException.class, () -> solicitationService.update(1L, requestDTO));
+
+        verify(solicitationRepository, never()).save(any(Solicitation.class));
+        verifyNoInteractions(loanIntervalIndex);
+    }
+
     @Test
     @DisplayName("Approved Solicitation: Throw a badRequestException when solicitation status is different from pending")
     void approvedSolicitation_Throw_BadRequestException_WhenSolicitationStatusIsNotPending() {
@@ -489,7 +686,6 @@ class SolicitationServiceTest {
 
         Solicitation oldSolicitation = createSolicitation();
         oldSolicitation.setEquipment(null);
-        Equipment equipment = createEquipment();
 
         ApprovedSolicitationDTO requestDTO = ApprovedSolicitationDTO.builder()
                 .equipmentId(1L)
@@ -498,7 +694,6 @@ class SolicitationServiceTest {
         oldSolicitation.setStatus(SolicitationStatus.DENIED);
 
         when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(oldSolicitation));
-        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipment));
 
         BadRequestException badRequestException = Assertions
                 .assertThrows(BadRequestException.class,
@@ -507,10 +702,9 @@ class SolicitationServiceTest {
         Assertions.assertTrue(badRequestException.getMessage().contains("The request must be pending to be approved."));
 
         verify(solicitationRepository).findById(anyLong());
-        verify(equipmentRepository).findById(anyLong());
 
         verifyNoMoreInteractions(solicitationRepository);
-        verifyNoMoreInteractions(equipmentRepository);
+        verifyNoInteractions(equipmentRepository);
 
     }
 
@@ -521,27 +715,29 @@ class SolicitationServiceTest {
         Solicitation oldSolicitation = createSolicitation();
         oldSolicitation.setEquipment(null);
 
-        Equipment equipment = createEquipment();
-        equipment.setEquipmentStatus(EquipmentAvailabilityStatus.BUSY);
-
         ApprovedSolicitationDTO requestDTO = ApprovedSolicitationDTO.builder()
                 .equipmentId(1L)
                 .build();
 
+        oldSolicitation.setStartDate(LocalDate.now());
+        oldSolicitation.setEndDate(LocalDate.now().plusDays(3));
+
         when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(oldSolicitation));
-        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipment));
+        when(equipmentRepository.lendNow(1L, EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY,
+                SolicitationStatus.APPROVED, oldSolicitation.getStartDate(), oldSolicitation.getEndDate()))
+                .thenReturn(0);
+        when(equipmentRepository.existsById(1L)).thenReturn(true);
 
         BadRequestException badRequestException = Assertions
                 .assertThrows(BadRequestException.class,
                         () -> solicitationService.approvedSolicitation(1L, requestDTO));
 
-        Assertions.assertTrue(badRequestException.getMessage().contains("Equipment must be available to be attached to a request."));
-
-        verify(solicitationRepository).findById(anyLong());
-        verify(equipmentRepository).findById(anyLong());
+        Assertions.assertTrue(badRequestException.getMessage().contains("Equipment must be free during the requested period to be attached to a request."));
+        Assertions.assertEquals(SolicitationStatus.PENDING, oldSolicitation.getStatus());
 
-        verifyNoMoreInteractions(solicitationRepository);
-        verifyNoMoreInteractions(equipmentRepository);
+        verify(solicitationRepository, never()).save(any(Solicitation.class));
+        verify(equipmentRepository, never()).findById(anyLong());
+        verifyNoInteractions(liveStats, loanIntervalIndex, collectionVersions);
 
     }
 
@@ -559,7 +755,9 @@ class SolicitationServiceTest {
 
 
         when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(oldSolicitation));
-        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(equipmentRepository.reserve(1L, EquipmentAvailabilityStatus.MAINTENANCE, SolicitationStatus.APPROVED,
+                oldSolicitation.getStartDate(), oldSolicitation.getEndDate())).thenReturn(0);
+        when(equipmentRepository.existsById(1L)).thenReturn(false);
 
         ResourceNotFoundException resourceNotFoundException = Assertions
                 .assertThrows(ResourceNotFoundException.class,
@@ -568,12 +766,157 @@ class SolicitationServiceTest {
         Assertions.assertTrue(resourceNotFoundException.getMessage()
                 .contains("The equipment was not found in the database, please check the registered equipment."));
 
-        verify(solicitationRepository).findById(anyLong());
-        verify(equipmentRepository).findById(anyLong());
+        verify(solicitationRepository, never()).save(any(Solicitation.class));
+        verify(equipmentRepository, never()).findById(anyLong());
 
-        verifyNoMoreInteractions(solicitationRepository);
-        verifyNoMoreInteractions(equipmentRepository);
+    }
+
+    @Test
+    void approveAll_Lend_PooledEquipment_AndReport_EveryId() {
+        Solicitation pending = createSolicitation();
+        pending.setEquipment(null);
+        Solicitation denied = createSolicitation();
+        denied.setId(2L);
+        denied.setStatus(SolicitationStatus.DENIED);
+        Equipment equipment = createEquipment();
+
+        when(solicitationRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(pending, denied));
+        when(equipmentPool.claim(eq(8), eq(0), any())).thenReturn(Optional.of(1L));
+        when(equipmentRepository.reserve(1L, EquipmentAvailabilityStatus.MAINTENANCE, SolicitationStatus.APPROVED,
+                pending.getStartDate(), pending.getEndDate())).thenReturn(1);
+        when(equipmentRepository.findById(1L)).thenReturn(Optional.of(equipment));
+
+        SolicitationBatchResponseDTO response = solicitationService.approveAll(List.of(1L, 2L, 3L), 8, null);
+
+        Assertions.assertEquals(1, response.getSucceeded());
+        Assertions.assertEquals(2, response.getFailed());
+        Assertions.assertEquals(1L, response.getResults().get(0).getEquipmentId());
+        Assertions.assertEquals(SolicitationStatus.DENIED, response.getResults().get(1).getStatus());
+        Assertions.assertTrue(response.getResults().get(2).getMessage().contains("No request was found"));
+        Assertions.assertEquals(SolicitationStatus.APPROVED, pending.getStatus());
+        Assertions.assertEquals(equipment, pending.getEquipment());
+
+        verify(solicitationRepository).saveAll(List.of(pending));
+        verify(loanIntervalIndex).lend(1L, 1L, pending.getStartDate(), pending.getEndDate());
+        verify(liveStats).solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.APPROVED);
+        verify(collectionVersions).changed(Equipment.class);
+        // The period is over, so the device is only booked and stays in the pool.
+        verify(equipmentPool).changed(equipment);
+        verify(liveStats, never()).equipmentChanged(any(), any());
+    }
+
+    @Test
+    void approveAll_Try_NextPooledEquipment_WhenDatabaseAlreadyTookTheFirst() {
+        Solicitation pending = createSolicitation();
+        pending.setEquipment(null);
+        Equipment equipment = createEquipment();
+        equipment.setId(2L);
+
+        when(solicitationRepository.findAllById(List.of(1L))).thenReturn(List.of(pending));
+        when(equipmentPool.claim(eq(0), eq(0), any())).thenReturn(Optional.of(1L))
+                .thenReturn(Optional.of(2L));
+        when(equipmentRepository.reserve(1L, EquipmentAvailabilityStatus.MAINTENANCE, SolicitationStatus.APPROVED,
+                pending.getStartDate(), pending.getEndDate())).thenReturn(0);
+        when(equipmentRepository.reserve(2L, EquipmentAvailabilityStatus.MAINTENANCE, SolicitationStatus.APPROVED,
+                pending.getStartDate(), pending.getEndDate())).thenReturn(1);
+        when(equipmentRepository.findById(2L)).thenReturn(Optional.of(equipment));
+
+        SolicitationBatchResponseDTO response = solicitationService.approveAll(List.of(1L), null, null);
+
+        Assertions.assertEquals(1, response.getSucceeded());
+        Assertions.assertEquals(2L, response.getResults().get(0).getEquipmentId());
+        verify(equipmentRepository, never()).findById(1L);
+    }
+
+    @Test
+    void approveAll_Keep_SolicitationPending_WhenNoEquipmentMatches() {
+        Solicitation pending = createSolicitation();
+        pending.setEquipment(null);
+
+        when(solicitationRepository.findAllById(List.of(1L))).thenReturn(List.of(pending));
+        when(equipmentPool.claim(eq(64), eq(0), any())).thenReturn(Optional.empty());
+
+        SolicitationBatchResponseDTO response = solicitationService.approveAll(List.of(1L), 64, null);
+
+        Assertions.assertEquals(0, response.getSucceeded());
+        Assertions.assertEquals(SolicitationStatus.PENDING, response.getResults().get(0).getStatus());
+        Assertions.assertEquals(SolicitationStatus.PENDING, pending.getStatus());
+        verify(solicitationRepository, never()).saveAll(any());
+        verifyNoInteractions(equipmentRepository, loanIntervalIndex, liveStats);
+    }
+
+    @Test
+    void approveAll_Throw_BadRequestException_WhenBatchIsTooLarge() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class,
+                () -> solicitationService.approveAll(ids, null, null));
 
+        Assertions.assertTrue(exception.getMessage().contains("at most 500 solicitations"));
+        verifyNoInteractions(solicitationRepository, equipmentRepository, equipmentPool);
+    }
+
+    @Test
+    void expireLoans_Expire_EndedLoans_AndRelease_TheirEquipment() {
+        LocalDate today = LocalDate.parse("2023-11-20");
+        Equipment equipment = createEquipment();
+
+        when(solicitationRepository.findEndedLoansForUpdate(List.of(1L, 2L, 3L), SolicitationStatus.APPROVED, today))
+                .thenReturn(List.of(createLoanInterval(1L, 1L), createLoanInterval(2L, 1L), createLoanInterval(3L, null)));
+        when(equipmentRepository.updateStatusUnlessLent(List.of(1L), EquipmentAvailabilityStatus.BUSY,
+                EquipmentAvailabilityStatus.AVAILABLE, SolicitationStatus.APPROVED, today)).thenReturn(1);
+        when(equipmentRepository.findAllById(List.of(1L))).thenReturn(List.of(equipment));
+
+        LoanExpiryResultDTO result = solicitationService.expireLoans(List.of(1L, 2L, 3L), today);
+
+        Assertions.assertEquals(3, result.expired());
+        Assertions.assertEquals(1, result.released());
+
+        InOrder inOrder = inOrder(solicitationRepository, equipmentRepository);
+        inOrder.verify(solicitationRepository).updateStatus(List.of(1L, 2L, 3L),
+                SolicitationStatus.APPROVED, SolicitationStatus.EXPIRED);
+        inOrder.verify(equipmentRepository).updateStatusUnlessLent(List.of(1L), EquipmentAvailabilityStatus.BUSY,
+                EquipmentAvailabilityStatus.AVAILABLE, SolicitationStatus.APPROVED, today);
+
+        verify(loanIntervalIndex).release(1L);
+        verify(loanIntervalIndex).release(3L);
+        verify(liveStats, times(3)).solicitationChanged(SolicitationStatus.APPROVED, SolicitationStatus.EXPIRED);
+        verify(liveStats).equipmentChanged(EquipmentAvailabilityStatus.BUSY, EquipmentAvailabilityStatus.AVAILABLE);
+        verify(equipmentPool).changed(equipment);
+        verify(collectionVersions).changed(Equipment.class);
+    }
+
+    @Test
+    void expireLoans_DoNothing_WhenNoLoanEndedAnymore() {
+        LocalDate today = LocalDate.parse("2023-11-20");
+
+        when(solicitationRepository.findEndedLoansForUpdate(List.of(1L), SolicitationStatus.APPROVED, today))
+                .thenReturn(List.of());
+
+        LoanExpiryResultDTO result = solicitationService.expireLoans(List.of(1L), today);
+
+        Assertions.assertEquals(0, result.expired());
+        verify(solicitationRepository, never()).updateStatus(any(), any(), any());
+        verifyNoInteractions(equipmentRepository, liveStats, loanIntervalIndex);
+    }
+
+    @Test
+    void startLoans_MarkBusy_EquipmentOfLoansStartingToday() {
+        LocalDate today = LocalDate.parse("2023-11-20");
+        Equipment equipment = createEquipment();
+
+        when(equipmentRepository.findIdsLentOn(EquipmentAvailabilityStatus.AVAILABLE, SolicitationStatus.APPROVED, today))
+                .thenReturn(List.of(1L));
+        when(equipmentRepository.updateStatusIfLent(List.of(1L), EquipmentAvailabilityStatus.AVAILABLE,
+                EquipmentAvailabilityStatus.BUSY, SolicitationStatus.APPROVED, today)).thenReturn(1);
+        when(equipmentRepository.findAllById(List.of(1L))).thenReturn(List.of(equipment));
+
+        int started = solicitationService.startLoans(today);
+
+        Assertions.assertEquals(1, started);
+        verify(liveStats).equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
+        verify(collectionVersions).changed(Equipment.class);
+        verify(equipmentPool).changed(equipment);
     }
 
     @Test
@@ -592,6 +935,7 @@ class SolicitationServiceTest {
 
         verify(solicitationRepository).findById(anyLong());
         verify(solicitationRepository).save(any(Solicitation.class));
+        verify(liveStats).solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.DENIED);
     }
 
     @Test
@@ -615,21 +959,57 @@ class SolicitationServiceTest {
     @DisplayName("Delete: delete a solicitation with linked equipment when successful")
     void delete_Delete_EquipmentSolicitation_WhenSuccessful() {
         Solicitation solicitation = createSolicitation();
+        solicitation.setStatus(SolicitationStatus.APPROVED);
         Equipment equipment = createEquipment();
 
         when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(solicitation));
-        when(equipmentRepository.findById(anyLong())).thenReturn(Optional.of(equipment));
+        when(equipmentRepository.updateStatusUnlessLent(List.of(1L), EquipmentAvailabilityStatus.BUSY,
+                EquipmentAvailabilityStatus.AVAILABLE, SolicitationStatus.APPROVED, LocalDate.now())).thenReturn(1);
+        when(equipmentRepository.findById(1L)).thenReturn(Optional.of(equipment));
 
         solicitationService.delete(1L);
 
-        verify(equipmentRepository, times(1)).save(any(Equipment.class));
         verify(solicitationRepository, times(1)).deleteById(anyLong());
+        verify(loanIntervalIndex).release(1L);
+        verify(liveStats).equipmentChanged(EquipmentAvailabilityStatus.BUSY, EquipmentAvailabilityStatus.AVAILABLE);
+        verify(equipmentPool).changed(equipment);
 
         verifyNoMoreInteractions(equipmentRepository);
         verifyNoMoreInteractions(solicitationRepository);
 
     }
 
+    @Test
+    void delete_KeepEquipmentBusy_WhenAnotherLoanIsRunning() {
+        Solicitation solicitation = createSolicitation();
+        solicitation.setStatus(SolicitationStatus.APPROVED);
+
+        when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(solicitation));
+        when(equipmentRepository.updateStatusUnlessLent(List.of(1L), EquipmentAvailabilityStatus.BUSY,
+                EquipmentAvailabilityStatus.AVAILABLE, SolicitationStatus.APPROVED, LocalDate.now())).thenReturn(0);
+
+        solicitationService.delete(1L);
+
+        verify(solicitationRepository).deleteById(1L);
+        verify(loanIntervalIndex).release(1L);
+        verify(liveStats, never()).equipmentChanged(any(), any());
+        verifyNoInteractions(equipmentPool, collectionVersions);
+    }
+
+    @Test
+    void delete_KeepEquipmentStatus_WhenLoanHasExpired() {
+        Solicitation solicitation = createSolicitation();
+        solicitation.setStatus(SolicitationStatus.EXPIRED);
+
+        when(solicitationRepository.findById(anyLong())).thenReturn(Optional.of(solicitation));
+
+        solicitationService.delete(1L);
+
+        verify(solicitationRepository).deleteById(1L);
+        verify(liveStats).solicitationChanged(SolicitationStatus.EXPIRED, null);
+        verifyNoInteractions(equipmentRepository, equipmentPool);
+    }
+
     @Test
     @DisplayName("Delete: delete a solicitation without a connected equipment when successful")
     void delete_Delete_EquipmentSolicitationWithoutConnectedEquipment_WhenSuccessful() {
@@ -646,6 +1026,30 @@ class SolicitationServiceTest {
 
     }
 
+    private SolicitationRepository.LoanInterval createLoanInterval(Long id, Long equipmentId) {
+        return new SolicitationRepository.LoanInterval() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getEquipmentId() {
+                return equipmentId;
+            }
+
+            @Override
+            public LocalDate getStartDate() {
+                return LocalDate.parse("2023-11-12");
+            }
+
+            @Override
+            public LocalDate getEndDate() {
+                return LocalDate.parse("2023-11-16");
+            }
+        };
+    }
+
     private Solicitation createSolicitation() {
         return Solicitation.builder()
                 .id(1L)
@@ -0,0 +1,105 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.RecurringReservation;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.RecurringReservationRepository;
+import br.com.ifce.easyflow.service.RecurringReservationIndex;
+import br.com.ifce.easyflow.service.RecurringRule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringReservationIndexTest {
+
+    @InjectMocks
+    RecurringReservationIndex recurringReservationIndex;
+
+    @Mock
+    RecurringReservationRepository recurringReservationRepository;
+
+    private static final TimeInterval TUESDAY_MORNING = TimeInterval.of(new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING));
+    private static final LocalDate HOLIDAY = LocalDate.of(2026, 11, 3);
+
+    @BeforeEach
+    void setUp() {
+        when(recurringReservationRepository.findAllWithExceptions()).thenReturn(List.of(createReservation(
+                1L, TUESDAY_MORNING, LocalDate.of(2026, 8, 3), LocalDate.of(2026, 12, 18), Set.of(HOLIDAY))));
+
+        recurringReservationIndex.rebuild();
+    }
+
+    @Test
+    void occurringOn_Return_TheRule_OnlyOnItsWeeksAndOutsideExceptions() {
+        Assertions.assertEquals(1L, recurringReservationIndex.occurringOn(12L, LocalDate.of(2026, 11, 10)).get(0).id());
+
+        Assertions.assertTrue(recurringReservationIndex.occurringOn(12L, HOLIDAY).isEmpty());
+        Assertions.assertTrue(recurringReservationIndex.occurringOn(12L, LocalDate.of(2026, 11, 11)).isEmpty());
+        Assertions.assertTrue(recurringReservationIndex.occurringOn(12L, LocalDate.of(2026, 12, 22)).isEmpty());
+        Assertions.assertTrue(recurringReservationIndex.occurringOn(7L, LocalDate.of(2026, 11, 10)).isEmpty());
+    }
+
+    @Test
+    void collides_Ignore_RulesWhoseOnlySharedDateIsAnException() {
+        RecurringRule sameDayOnly = RecurringRule.from(createReservation(
+                null, TUESDAY_MORNING, LocalDate.of(2026, 11, 1), LocalDate.of(2026, 11, 5), Set.of()));
+        RecurringRule afterSemester = RecurringRule.from(createReservation(
+                null, TUESDAY_MORNING, LocalDate.of(2026, 12, 19), LocalDate.of(2027, 6, 30), Set.of()));
+        RecurringRule overlapping = RecurringRule.from(createReservation(
+                null, TUESDAY_MORNING, LocalDate.of(2026, 11, 1), LocalDate.of(2026, 11, 12), Set.of()));
+
+        Assertions.assertFalse(recurringReservationIndex.collides(sameDayOnly));
+        Assertions.assertFalse(recurringReservationIndex.collides(afterSemester));
+        Assertions.assertTrue(recurringReservationIndex.collides(overlapping));
+    }
+
+    @Test
+    void overlapsWeekly_Stop_AfterTheRuleEnds() {
+        Assertions.assertTrue(recurringReservationIndex.overlapsWeekly(12L, TUESDAY_MORNING, LocalDate.of(2026, 12, 1)));
+        Assertions.assertFalse(recurringReservationIndex.overlapsWeekly(12L, TUESDAY_MORNING, LocalDate.of(2026, 12, 16)));
+    }
+
+    @Test
+    void putAndRemove_Update_TheRules() {
+        recurringReservationIndex.put(RecurringRule.from(createReservation(
+                1L, TUESDAY_MORNING, LocalDate.of(2026, 8, 3), LocalDate.of(2026, 12, 18), Set.of(HOLIDAY, LocalDate.of(2026, 11, 10)))));
+        Assertions.assertTrue(recurringReservationIndex.occurringOn(12L, LocalDate.of(2026, 11, 10)).isEmpty());
+
+        recurringReservationIndex.remove(1L);
+        Assertions.assertTrue(recurringReservationIndex.occurringOn(12L, LocalDate.of(2026, 11, 17)).isEmpty());
+    }
+
+    private RecurringReservation createReservation(Long id, TimeInterval interval, LocalDate startDate, LocalDate endDate,
+                                                   Set<LocalDate> exceptions) {
+        Person person = new Person();
+        person.setId(1L);
+        person.setName("Person Name");
+
+        return RecurringReservation.builder()
+                .id(id)
+                .table(new LabTable(12L, 12L))
+                .person(person)
+                .startUnit((short) interval.start())
+                .endUnit((short) interval.end())
+                .startDate(startDate)
+                .endDate(endDate)
+                .exceptions(new HashSet<>(exceptions))
+                .build();
+    }
+}
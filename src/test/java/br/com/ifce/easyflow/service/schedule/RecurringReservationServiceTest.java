@@ -0,0 +1,150 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.controller.dto.booking.RecurringReservationRequestDTO;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.RecurringReservation;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.RecurringReservationRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.service.RecurringReservationIndex;
+import br.com.ifce.easyflow.service.RecurringReservationService;
+import br.com.ifce.easyflow.service.RecurringRule;
+import br.com.ifce.easyflow.service.SlotLockRegistry;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringReservationServiceTest {
+
+    @InjectMocks
+    RecurringReservationService recurringReservationService;
+
+    @Mock
+    RecurringReservationRepository recurringReservationRepository;
+
+    @Mock
+    LabTableRepository labTableRepository;
+
+    @Mock
+    PersonRepository personRepository;
+
+    @Mock
+    TableBookingRepository tableBookingRepository;
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+    @Mock
+    RecurringReservationIndex recurringReservationIndex;
+
+    @Mock
+    TableIntervalIndex tableIntervalIndex;
+
+    @Mock
+    TableOccupancyIndex tableOccupancyIndex;
+
+    @Mock
+    SlotLockRegistry slotLockRegistry;
+
+    @Test
+    void save_Store_TheRule_WhenTheTableIsFree() {
+        RecurringReservationRequestDTO requestDTO = createRequest("Morning", null, null, List.of(LocalDate.of(2026, 11, 3)));
+        TimeInterval tuesdayMorning = TimeInterval.of(new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING));
+
+        when(labTableRepository.findById(12L)).thenReturn(Optional.of(new LabTable(12L, 12L)));
+        when(personRepository.findById(1L)).thenReturn(Optional.of(createPerson()));
+        when(recurringReservationRepository.save(any(RecurringReservation.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        RecurringReservation reservation = recurringReservationService.save(requestDTO);
+
+        Assertions.assertEquals(tuesdayMorning, reservation.interval());
+        Assertions.assertTrue(reservation.getExceptions().contains(LocalDate.of(2026, 11, 3)));
+        verify(recurringReservationIndex).collides(any(RecurringRule.class));
+        verify(recurringReservationIndex).put(any(RecurringRule.class));
+    }
+
+    @Test
+    void save_Throw_ConflictException_WhenAWeeklyBookingOverlaps() {
+        RecurringReservationRequestDTO requestDTO = createRequest(null, LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+
+        when(labTableRepository.findById(12L)).thenReturn(Optional.of(new LabTable(12L, 12L)));
+        when(personRepository.findById(1L)).thenReturn(Optional.of(createPerson()));
+        when(tableIntervalIndex.overlaps(eq(12L), any(TimeInterval.class))).thenReturn(true);
+
+        Assertions.assertThrows(ConflictException.class, () -> recurringReservationService.save(requestDTO));
+
+        verify(recurringReservationRepository, never()).save(any(RecurringReservation.class));
+        verify(recurringReservationIndex, never()).put(any(RecurringRule.class));
+    }
+
+    @Test
+    void save_Throw_BadRequestException_WhenShiftAndTimesAreBothSent() {
+        RecurringReservationRequestDTO requestDTO = createRequest("Morning", LocalTime.of(9, 0), LocalTime.of(10, 0), null);
+
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class,
+                () -> recurringReservationService.save(requestDTO));
+
+        Assertions.assertTrue(exception.getMessage().contains("Send either a shift or a start and end time."));
+        verifyNoInteractions(recurringReservationRepository, slotLockRegistry);
+    }
+
+    @Test
+    void occurrences_Expand_OnlyTheRequestedWeeks() {
+        RecurringReservation reservation = RecurringReservation.builder()
+                .id(1L)
+                .table(new LabTable(12L, 12L))
+                .person(createPerson())
+                .startUnit((short) 62)
+                .endUnit((short) 64)
+                .startDate(LocalDate.of(2026, 8, 3))
+                .endDate(LocalDate.of(2026, 12, 18))
+                .build();
+        reservation.getExceptions().add(LocalDate.of(2026, 11, 10));
+
+        when(recurringReservationRepository.findById(1L)).thenReturn(Optional.of(reservation));
+
+        List<LocalDate> dates = recurringReservationService.occurrences(1L, LocalDate.of(2026, 11, 1), LocalDate.of(2026, 11, 30))
+                .stream()
+                .map(occurrence -> occurrence.date())
+                .toList();
+
+        Assertions.assertEquals(List.of(LocalDate.of(2026, 11, 3), LocalDate.of(2026, 11, 17), LocalDate.of(2026, 11, 24)),
+                dates);
+    }
+
+    private RecurringReservationRequestDTO createRequest(String shift, LocalTime start, LocalTime end, List<LocalDate> exceptions) {
+        return new RecurringReservationRequestDTO(12L, 1L, "Tuesday", shift, start, end,
+                LocalDate.of(2026, 8, 3), LocalDate.of(2026, 12, 18), exceptions);
+    }
+
+    private Person createPerson() {
+        Person person = new Person();
+        person.setId(1L);
+        person.setName("Person Name");
+        return person;
+    }
+}
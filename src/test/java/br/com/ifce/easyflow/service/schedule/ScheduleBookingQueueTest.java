@@ -0,0 +1,164 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
+import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.enums.BookingTicketStatus;
+import br.com.ifce.easyflow.service.ScheduleBookingOutcome;
+import br.com.ifce.easyflow.service.ScheduleBookingQueue;
+import br.com.ifce.easyflow.service.ScheduleBookingTicket;
+import br.com.ifce.easyflow.service.ScheduleService;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import br.com.ifce.easyflow.service.exceptions.TooManyRequestsException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ScheduleBookingQueueTest {
+
+    ScheduleService scheduleService = mock(ScheduleService.class);
+
+    ScheduleBookingQueue scheduleBookingQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (scheduleBookingQueue != null) {
+            scheduleBookingQueue.stop();
+        }
+    }
+
+    @Test
+    void enqueue_Complete_Ticket_WhenBookingSucceeds() throws InterruptedException {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 10, 1, 5, 5, 10);
+        scheduleBookingQueue.start();
+
+        when(scheduleService.saveBatch(anyList()))
+                .thenReturn(List.of(ScheduleBookingOutcome.booked(List.of(Schedule.builder().id(7L).build()))));
+
+        ScheduleBookingTicket ticket = scheduleBookingQueue.enqueue(1L, List.of(createSchedulePostRequestDTO()));
+
+        awaitFinished(ticket);
+
+        Assertions.assertEquals(BookingTicketStatus.COMPLETED, ticket.getStatus());
+        Assertions.assertEquals(List.of(7L), ticket.getScheduleIds());
+        Assertions.assertSame(ticket, scheduleBookingQueue.findTicket(ticket.getId()));
+        verify(scheduleService).saveBatch(List.of(ticket));
+        verify(scheduleService, never()).save(anyLong(), anyList());
+    }
+
+    @Test
+    void enqueue_Book_DrainedTickets_InOneBatch() throws InterruptedException {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 10, 1, 5, 5, 10);
+
+        ScheduleBookingTicket first = scheduleBookingQueue.enqueue(1L, List.of(createSchedulePostRequestDTO()));
+        ScheduleBookingTicket second = scheduleBookingQueue.enqueue(2L, List.of(createSchedulePostRequestDTO()));
+        when(scheduleService.saveBatch(List.of(first, second))).thenReturn(List.of(
+                ScheduleBookingOutcome.booked(List.of(Schedule.builder().id(7L).build())),
+                ScheduleBookingOutcome.rejected("This table is already booked for this time.")));
+
+        scheduleBookingQueue.start();
+        awaitFinished(first);
+        awaitFinished(second);
+
+        Assertions.assertEquals(BookingTicketStatus.COMPLETED, first.getStatus());
+        Assertions.assertEquals(BookingTicketStatus.FAILED, second.getStatus());
+        Assertions.assertEquals("This table is already booked for this time.", second.getDetail());
+        verify(scheduleService, times(1)).saveBatch(anyList());
+    }
+
+    @Test
+    void enqueue_Book_EachTicketOnItsOwn_WhenTheBatchFails() throws InterruptedException {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 10, 1, 5, 5, 10);
+        scheduleBookingQueue.start();
+
+        when(scheduleService.saveBatch(anyList())).thenThrow(new IllegalStateException("Lock wait timeout exceeded"));
+        when(scheduleService.save(anyLong(), anyList())).thenReturn(List.of(Schedule.builder().id(7L).build()));
+
+        ScheduleBookingTicket ticket = scheduleBookingQueue.enqueue(1L, List.of(createSchedulePostRequestDTO()));
+
+        awaitFinished(ticket);
+
+        Assertions.assertEquals(BookingTicketStatus.COMPLETED, ticket.getStatus());
+        verify(scheduleService).save(eq(1L), anyList());
+    }
+
+    @Test
+    void evictFinishedTickets_Drop_TicketsPastTheirTtl_WithoutNewBookings() throws InterruptedException {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 10, 1, 5, 5, 0);
+        scheduleBookingQueue.start();
+
+        when(scheduleService.saveBatch(anyList()))
+                .thenReturn(List.of(ScheduleBookingOutcome.booked(List.of(Schedule.builder().id(7L).build()))));
+
+        ScheduleBookingTicket ticket = scheduleBookingQueue.enqueue(1L, List.of(createSchedulePostRequestDTO()));
+        awaitFinished(ticket);
+        Thread.sleep(5);
+
+        scheduleBookingQueue.evictFinishedTickets();
+
+        Assertions.assertThrows(ResourceNotFoundException.class, () -> scheduleBookingQueue.findTicket(ticket.getId()));
+    }
+
+    @Test
+    void enqueue_Fail_Ticket_WhenBookingIsRejected() throws InterruptedException {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 10, 1, 5, 5, 10);
+        scheduleBookingQueue.start();
+
+        when(scheduleService.saveBatch(anyList()))
+                .thenReturn(List.of(ScheduleBookingOutcome.rejected("This table is already booked for this time.")));
+
+        ScheduleBookingTicket ticket = scheduleBookingQueue.enqueue(1L, List.of(createSchedulePostRequestDTO()));
+
+        awaitFinished(ticket);
+
+        Assertions.assertEquals(BookingTicketStatus.FAILED, ticket.getStatus());
+        Assertions.assertEquals("This table is already booked for this time.", ticket.getDetail());
+    }
+
+    @Test
+    void enqueue_Throw_TooManyRequestsException_WhenQueueIsFull() {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 1, 1, 5, 7, 10);
+
+        scheduleBookingQueue.enqueue(1L, List.of(createSchedulePostRequestDTO()));
+
+        TooManyRequestsException exception = Assertions.assertThrows(TooManyRequestsException.class,
+                () -> scheduleBookingQueue.enqueue(2L, List.of(createSchedulePostRequestDTO())));
+
+        Assertions.assertEquals(7, exception.getRetryAfterSeconds());
+        Assertions.assertEquals(1, scheduleBookingQueue.pending());
+        verifyNoInteractions(scheduleService);
+    }
+
+    @Test
+    void findTicket_Throw_ResourceNotFoundException_WhenTicketIsUnknown() {
+        scheduleBookingQueue = new ScheduleBookingQueue(scheduleService, 1, 1, 5, 5, 10);
+
+        Assertions.assertThrows(ResourceNotFoundException.class,
+                () -> scheduleBookingQueue.findTicket(UUID.randomUUID()));
+    }
+
+    private void awaitFinished(ScheduleBookingTicket ticket) throws InterruptedException {
+        for (int i = 0; i < 200 && !isFinished(ticket); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    private boolean isFinished(ScheduleBookingTicket ticket) {
+        return ticket.getStatus() == BookingTicketStatus.COMPLETED || ticket.getStatus() == BookingTicketStatus.FAILED;
+    }
+
+    private SchedulePostRequestDTO createSchedulePostRequestDTO() {
+        return SchedulePostRequestDTO.builder()
+                .shiftSchedule("Morning")
+                .day("Monday")
+                .tableId(1L)
+                .build();
+    }
+}
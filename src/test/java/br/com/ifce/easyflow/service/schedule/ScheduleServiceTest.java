@@ -1,27 +1,47 @@
 package br.com.ifce.easyflow.service.schedule;
 
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleBatchResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleGroupRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.SchedulePutRequestDTO;
 import br.com.ifce.easyflow.controller.dto.schedule.ScheduleResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSliceResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleSummaryResponseDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.SlotAlternativeDTO;
 import br.com.ifce.easyflow.exception.PersonNotFoundException;
 import br.com.ifce.easyflow.model.LabTable;
 import br.com.ifce.easyflow.model.Person;
 import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
 import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
 import br.com.ifce.easyflow.repository.LabTableRepository;
 import br.com.ifce.easyflow.repository.PersonRepository;
-import br.com.ifce.easyflow.repository.ReservedTableRepository;
 import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.ScheduleSearchFilter;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.PendingHoldWheel;
+import br.com.ifce.easyflow.service.RecurringReservationIndex;
+import br.com.ifce.easyflow.service.ScheduleBookingOutcome;
+import br.com.ifce.easyflow.service.ScheduleBookingTicket;
+import br.com.ifce.easyflow.service.ScheduleCursor;
 import br.com.ifce.easyflow.service.ScheduleService;
+import br.com.ifce.easyflow.service.SlotLockRegistry;
+import br.com.ifce.easyflow.service.SlotReleasedEvent;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
 import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
+import br.com.ifce.easyflow.service.exceptions.SlotConflictException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
@@ -30,7 +50,11 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -45,27 +69,78 @@ class ScheduleServiceTest {
     @Mock
     PersonRepository personRepository;
 
-    @Mock
-    ReservedTableRepository reservedTableRepository;
 
     @Mock
     LabTableRepository labTableRepository;
 
+    @Mock
+    TableOccupancyIndex tableOccupancyIndex;
+
+    @Mock
+    TableIntervalIndex tableIntervalIndex;
+
+    @Mock
+    RecurringReservationIndex recurringReservationIndex;
+
+    @Mock
+    SlotLockRegistry slotLockRegistry;
+
+    @Mock
+    ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    PendingHoldWheel pendingHoldWheel;
+
+    @Mock
+    LiveStats liveStats;
+
     @Test
     void listAll_Return_PageOfSchedule_WhenSuccessful() {
-        PageRequest pageable = PageRequest.of(0, 5);
-        List<Schedule> scheduleList = List.of(createSchedule());
-        PageImpl<Schedule> scheduleResponsePage = new PageImpl<>(scheduleList);
+        List<ScheduleSummaryResponseDTO> scheduleList = List.of(createScheduleSummary());
+
+        when(scheduleRepository.findSummariesAfter((short) -1, 0L, PageRequest.of(0, 6))).thenReturn(scheduleList);
 
-        when(scheduleRepository.findAll(any(Pageable.class))).thenReturn(scheduleResponsePage);
+        ScheduleSliceResponseDTO slice = scheduleService.listAll(null, 5);
+        List<ScheduleSummaryResponseDTO> schedules = slice.getContent();
 
-        List<Schedule> schedules = scheduleService.listAll(pageable).stream().toList();
+        Assertions.assertNull(slice.getNextCursor());
 
         Assertions.assertEquals(scheduleList.get(0).getShiftSchedule(), schedules.get(0).getShiftSchedule());
         Assertions.assertEquals(scheduleList.get(0).getId(), schedules.get(0).getId());
-        Assertions.assertEquals(scheduleList.get(0).getPerson(), schedules.get(0).getPerson());
-        Assertions.assertEquals(scheduleList.get(0).getTable(), schedules.get(0).getTable());
+        Assertions.assertEquals(scheduleList.get(0).getPersonId(), schedules.get(0).getPersonId());
+        Assertions.assertEquals(scheduleList.get(0).getTableNumber(), schedules.get(0).getTableNumber());
+        Assertions.assertNull(schedules.get(0).getPerson());
+    }
+
+    @Test
+    void listAll_Return_NextCursor_WhenThereAreMoreRows() {
+        List<ScheduleSummaryResponseDTO> rows = List.of(
+                createScheduleSummary(1L, (short) 0),
+                createScheduleSummary(7L, (short) 0),
+                createScheduleSummary(3L, (short) 4));
+
+        when(scheduleRepository.findSummariesAfter((short) -1, 0L, PageRequest.of(0, 3))).thenReturn(rows);
+
+        ScheduleSliceResponseDTO firstPage = scheduleService.listAll(null, 2);
+
+        Assertions.assertEquals(2, firstPage.getContent().size());
+        Assertions.assertEquals(new ScheduleCursor((short) 0, 7L), ScheduleCursor.decode(firstPage.getNextCursor()));
 
+        when(scheduleRepository.findSummariesAfter((short) 0, 7L, PageRequest.of(0, 3))).thenReturn(rows.subList(2, 3));
+
+        ScheduleSliceResponseDTO secondPage = scheduleService.listAll(firstPage.getNextCursor(), 2);
+
+        Assertions.assertEquals(3L, secondPage.getContent().get(0).getId());
+        Assertions.assertNull(secondPage.getNextCursor());
+    }
+
+    @Test
+    void listAll_Throw_BadRequestException_WhenCursorOrSizeIsInvalid() {
+        assertThrows(BadRequestException.class, () -> scheduleService.listAll("not a cursor", 20));
+        assertThrows(BadRequestException.class, () -> scheduleService.listAll(null, 0));
+        assertThrows(BadRequestException.class, () -> scheduleService.listAll(null, 1000));
+
+        verifyNoInteractions(scheduleRepository);
     }
 
     @Test
@@ -76,8 +151,8 @@ class ScheduleServiceTest {
 
         ScheduleResponseDTO scheduleResponseDTO = scheduleService.findById(1L);
 
-        Assertions.assertEquals(schedule.getDay(), scheduleResponseDTO.getDay());
-        Assertions.assertEquals(schedule.getShiftSchedule(), scheduleResponseDTO.getShiftSchedule());
+        Assertions.assertEquals(schedule.getDay().getLabel(), scheduleResponseDTO.getDay());
+        Assertions.assertEquals(schedule.getShiftSchedule().getLabel(), scheduleResponseDTO.getShiftSchedule());
         Assertions.assertEquals(schedule.getPerson(), scheduleResponseDTO.getPerson());
     }
 
@@ -95,29 +170,41 @@ class ScheduleServiceTest {
     }
 
     @Test
-    void findByUserId_Return_ListOfSchedulesByUserId_WhenSuccessful() {
-        Schedule schedule = createSchedule();
-        List<Schedule> schedules = List.of(schedule);
+    void findByUserId_Return_SliceOfSchedulesByUserId_WhenSuccessful() {
+        ScheduleSummaryResponseDTO schedule = createScheduleSummary();
 
-        when(scheduleRepository.findByPersonId(anyLong())).thenReturn(Optional.of(schedules));
         when(personRepository.existsById(anyLong())).thenReturn(true);
+        when(scheduleRepository.findSummariesByPersonIdAfter(anyLong(), anyShort(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(schedule));
 
-        List<Schedule> scheduleList = scheduleService.findByUserId(1L);
+        ScheduleSliceResponseDTO slice = scheduleService.findByUserId(1L, null, 20);
 
-        Assertions.assertEquals(schedule.getShiftSchedule(), scheduleList.get(0).getShiftSchedule());
-        Assertions.assertEquals(schedule.getDay(), scheduleList.get(0).getDay());
-        Assertions.assertEquals(schedule.getPerson(), scheduleList.get(0).getPerson());
+        Assertions.assertEquals(List.of(schedule), slice.getContent());
+        Assertions.assertNull(slice.getNextCursor());
+
+        verify(scheduleRepository).findSummariesByPersonIdAfter(1L, ScheduleCursor.FIRST.slot(),
+                ScheduleCursor.FIRST.id(), PageRequest.of(0, 21));
     }
 
     @Test
-    void findByUserId_Throw_ResourceNotFoundException_WhenNotFoundUserSchedules() {
+    void findByUserId_Return_EmptySlice_WhenUserHasNoSchedules() {
+        when(personRepository.existsById(anyLong())).thenReturn(true);
+        when(scheduleRepository.findSummariesByPersonIdAfter(anyLong(), anyShort(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        ScheduleSliceResponseDTO slice = scheduleService.findByUserId(1L, null, 20);
 
-        when(scheduleRepository.findByPersonId(anyLong())).thenReturn(Optional.empty());
+        Assertions.assertTrue(slice.getContent().isEmpty());
+        Assertions.assertNull(slice.getNextCursor());
+    }
+
+    @Test
+    void findByUserId_Throw_BadRequestException_WhenPageSizeIsOutOfRange() {
         when(personRepository.existsById(anyLong())).thenReturn(true);
 
-        ResourceNotFoundException resourceNotFoundException = assertThrows(ResourceNotFoundException.class,
-                () -> scheduleService.findByUserId(1L));
-        Assertions.assertTrue(resourceNotFoundException.getMessage().contains("The user has no registered schedules."));
+        assertThrows(BadRequestException.class, () -> scheduleService.findByUserId(1L, null, 0));
+
+        verifyNoInteractions(scheduleRepository);
     }
 
     @Test
@@ -126,7 +213,7 @@ class ScheduleServiceTest {
         when(personRepository.existsById(anyLong())).thenReturn(false);
 
         PersonNotFoundException personNotFoundException = assertThrows(PersonNotFoundException.class,
-                () -> scheduleService.findByUserId(1L));
+                () -> scheduleService.findByUserId(1L, null, 20));
 
         Assertions.assertTrue(personNotFoundException
                 .getMessage()
@@ -138,39 +225,98 @@ class ScheduleServiceTest {
 
     @Test
     void findByShiftSchedule_Return_ListSchedulesByShift_WhenSuccessful() {
-        Schedule schedule = createSchedule();
-        List<Schedule> schedules = List.of(schedule);
+        ScheduleSummaryResponseDTO schedule = createScheduleSummary();
+        List<ScheduleSummaryResponseDTO> schedules = List.of(schedule);
 
-        when(scheduleRepository.findByShiftSchedule(anyString())).thenReturn(schedules);
+        when(scheduleRepository.findSummariesBySlotInAfter(anyCollection(), anyShort(), anyLong(), any(Pageable.class)))
+                .thenReturn(schedules);
 
-        List<Schedule> scheduleList = scheduleService.findByShiftSchedule("Morning");
+        List<ScheduleSummaryResponseDTO> scheduleList = scheduleService.findByShiftSchedule("Morning", null, 20).getContent();
 
         Assertions.assertEquals(schedule.getShiftSchedule(), scheduleList.get(0).getShiftSchedule());
-        Assertions.assertEquals(schedule.getPerson(), scheduleList.get(0).getPerson());
+        Assertions.assertEquals(schedule.getPersonName(), scheduleList.get(0).getPersonName());
         Assertions.assertEquals(schedule.getDay(), scheduleList.get(0).getDay());
 
+        verify(scheduleRepository).findSummariesBySlotInAfter(List.of((short) 0, (short) 3, (short) 6, (short) 9,
+                (short) 12, (short) 15, (short) 18), (short) -1, 0L, PageRequest.of(0, 21));
+    }
+
+    @Test
+    void findByShiftSchedule_Throw_BadRequestException_WhenShiftIsUnknown() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> scheduleService.findByShiftSchedule("Dawn", null, 20));
+
+        Assertions.assertTrue(exception.getMessage().contains("The shift provided does not exist"));
+
+        verifyNoInteractions(scheduleRepository);
     }
 
     @Test
     void findByDay_Return_ListSchedulesByDay_WhenSuccessful() {
-        Schedule schedule = createSchedule();
+        ScheduleSummaryResponseDTO schedule = createScheduleSummary();
 
-        when(scheduleRepository.findByDay(anyString())).thenReturn(List.of(schedule));
+        when(scheduleRepository.findSummariesBySlotBetweenAfter((short) 3, (short) 5, (short) -1, 0L, PageRequest.of(0, 21)))
+                .thenReturn(List.of(schedule));
 
-        List<Schedule> scheduleList = scheduleService.findByDay("Monday");
+        List<ScheduleSummaryResponseDTO> scheduleList = scheduleService.findByDay(" tuesday ", null, 20).getContent();
 
         Assertions.assertEquals(schedule.getShiftSchedule(), scheduleList.get(0).getShiftSchedule());
-        Assertions.assertEquals(schedule.getPerson(), scheduleList.get(0).getPerson());
+        Assertions.assertEquals(schedule.getPersonName(), scheduleList.get(0).getPersonName());
         Assertions.assertEquals(schedule.getDay(), scheduleList.get(0).getDay());
     }
 
+    @Test
+    void findByDay_Throw_BadRequestException_WhenDayIsUnknown() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> scheduleService.findByDay("Someday", null, 20));
+
+        Assertions.assertTrue(exception.getMessage().contains("The day provided does not exist"));
+
+        verifyNoInteractions(scheduleRepository);
+    }
+
+    @Test
+    void search_Combine_StatusDayAndShift_IntoOneSlot() {
+        ScheduleSummaryResponseDTO schedule = createScheduleSummary();
+        ScheduleSearchFilter filter = new ScheduleSearchFilter(ScheduleRequestStatus.PENDING, List.of((short) 0), null, null);
+
+        when(scheduleRepository.searchSummariesAfter(filter, (short) -1, 0L, 21)).thenReturn(List.of(schedule));
+
+        ScheduleSliceResponseDTO slice = scheduleService.search("pending", "Monday", "Morning", null, null, null, 20);
+
+        Assertions.assertEquals(schedule.getId(), slice.getContent().get(0).getId());
+        Assertions.assertNull(slice.getNextCursor());
+    }
+
+    @Test
+    void search_Use_AllSlotsOfTheDay_AndTableAndPerson_WhenShiftIsMissing() {
+        ScheduleSearchFilter filter = new ScheduleSearchFilter(null, List.of((short) 6, (short) 7, (short) 8), 2L, 5L);
+
+        when(scheduleRepository.searchSummariesAfter(filter, (short) -1, 0L, 21)).thenReturn(List.of());
+
+        ScheduleSliceResponseDTO slice = scheduleService.search(null, "Wednesday", null, 2L, 5L, null, 20);
+
+        Assertions.assertTrue(slice.getContent().isEmpty());
+    }
+
+    @Test
+    void search_Throw_BadRequestException_WhenStatusIsUnknown() {
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> scheduleService.search("Busy", "Monday", null, null, null, null, 20));
+
+        Assertions.assertTrue(exception.getMessage().contains("The status provided does not exist"));
+
+        verifyNoInteractions(scheduleRepository);
+    }
+
     @Test
     void findAllByStatus_Return_ListOfSchedulesByStatus_WhenSuccessful() {
-        Schedule schedule = createSchedule();
+        ScheduleSummaryResponseDTO schedule = createScheduleSummary();
 
-        when(scheduleRepository.findAllByStatus(any(ScheduleRequestStatus.class))).thenReturn(List.of(schedule));
+        when(scheduleRepository.findSummariesByStatusAfter(any(ScheduleRequestStatus.class), anyShort(), anyLong(),
+                any(Pageable.class))).thenReturn(List.of(schedule));
 
-        List<Schedule> schedules = scheduleService.findAllByStatus("PENDING");
+        List<ScheduleSummaryResponseDTO> schedules = scheduleService.findAllByStatus("PENDING", null, 20).getContent();
 
         Assertions.assertEquals(schedule.getStatus(), schedules.get(0).getStatus());
         Assertions.assertEquals(schedule.getDay(), schedules.get(0).getDay());
@@ -182,7 +328,7 @@ class ScheduleServiceTest {
     void findAllByStatus_Throw_BadRequestException_WhenStatusIsNotFound() {
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class,
-                () -> scheduleService.findAllByStatus("Busy"));
+                () -> scheduleService.findAllByStatus("Busy", null, 20));
 
         Assertions.assertTrue(badRequestException
                 .getMessage()
@@ -193,19 +339,20 @@ class ScheduleServiceTest {
 
     @Test
     void findAllByTableId_Return_ListOfScheduleByTable_WhenSuccessful() {
-        Schedule schedule = createSchedule();
+        ScheduleSummaryResponseDTO schedule = createScheduleSummary();
 
         when(labTableRepository.existsById(anyLong())).thenReturn(true);
-        when(scheduleRepository.findAllByTableId(anyLong())).thenReturn(List.of(schedule));
+        when(scheduleRepository.findSummariesByTableIdAfter(anyLong(), anyShort(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(schedule));
 
-        List<Schedule> schedules = scheduleService.findAllByTableId(1L);
+        List<ScheduleSummaryResponseDTO> schedules = scheduleService.findAllByTableId(1L, null, 20).getContent();
 
         Assertions.assertEquals(schedule.getStatus(), schedules.get(0).getStatus());
         Assertions.assertEquals(schedule.getDay(), schedules.get(0).getDay());
         Assertions.assertEquals(schedule.getId(), schedules.get(0).getId());
         Assertions.assertEquals(schedule.getShiftSchedule(), schedules.get(0).getShiftSchedule());
 
-        verify(scheduleRepository).findAllByTableId(anyLong());
+        verify(scheduleRepository).findSummariesByTableIdAfter(anyLong(), anyShort(), anyLong(), any(Pageable.class));
         verify(labTableRepository).existsById(anyLong());
     }
 
@@ -214,7 +361,7 @@ class ScheduleServiceTest {
         when(labTableRepository.existsById(anyLong())).thenReturn(false);
 
         ResourceNotFoundException resourceNotFoundException = assertThrows(ResourceNotFoundException.class,
-                () -> scheduleService.findAllByTableId(1L));
+                () -> scheduleService.findAllByTableId(1L, null, 20));
 
         Assertions.assertTrue(resourceNotFoundException
                 .getMessage()
@@ -232,12 +379,9 @@ class ScheduleServiceTest {
         LabTable table = createTable();
         SchedulePostRequestDTO requestDTO = createSchedulePostRequestDTO();
 
-        when(scheduleRepository.save(any(Schedule.class))).thenReturn(schedule);
         when(personRepository.findById(anyLong())).thenReturn(Optional.of(person));
-        when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(table));
-        when(reservedTableRepository
-                .existsByTableIdAndShiftScheduleAndDay(
-                        anyLong(), anyString(), anyString())).thenReturn(false);
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(table));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet())).thenReturn(List.of());
 
 
         List<Schedule> schedules = scheduleService.save(1L, List.of(requestDTO));
@@ -246,7 +390,101 @@ class ScheduleServiceTest {
         Assertions.assertEquals(schedule.getDay(), schedules.get(0).getDay());
         Assertions.assertEquals(schedule.getPerson().getId(), schedules.get(0).getTable().getId());
         Assertions.assertEquals(1L, schedules.get(0).getPerson().getId());
+        Assertions.assertEquals(ScheduleRequestStatus.PENDING, schedules.get(0).getStatus());
+
+        verify(personRepository).findById(anyLong());
+        verify(labTableRepository).findAllById(anySet());
+        verify(scheduleRepository).findReservedSlots(anySet(), anySet());
+        verify(scheduleRepository).insertAll(anyList());
+        verifyNoMoreInteractions(scheduleRepository);
+        verify(pendingHoldWheel).track(any(), any());
+
+    }
 
+    @Test
+    void saveBatch_Book_EveryTicket_WithOneInsert_AndGive_ASlotAskedTwice_ToTheEarlierTicket() {
+        Person other = createPerson();
+        other.setId(2L);
+        List<ScheduleBookingTicket> tickets = List.of(
+                new ScheduleBookingTicket(1L, List.of(createSchedulePostRequestDTO())),
+                new ScheduleBookingTicket(2L, List.of(createSchedulePostRequestDTO())),
+                new ScheduleBookingTicket(3L, List.of(createSchedulePostRequestDTO())));
+
+        when(personRepository.findAllById(anySet())).thenReturn(List.of(createPerson(), other));
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(createTable()));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet())).thenReturn(List.of());
+
+        List<ScheduleBookingOutcome> outcomes = scheduleService.saveBatch(tickets);
+
+        Assertions.assertTrue(outcomes.get(0).isBooked());
+        Assertions.assertEquals(1L, outcomes.get(0).schedules().get(0).getPerson().getId());
+        Assertions.assertTrue(outcomes.get(1).rejection().contains("already booked"));
+        Assertions.assertTrue(outcomes.get(2).rejection().contains("The person was not found"));
+
+        long slotKey = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING).keyOf(1L);
+        verify(slotLockRegistry).lockUntilCompletion(List.of(slotKey, slotKey, slotKey));
+        verify(scheduleRepository).insertAll(outcomes.get(0).schedules());
+        verify(scheduleRepository).findReservedSlots(anySet(), anySet());
+        verifyNoMoreInteractions(scheduleRepository);
+        verify(pendingHoldWheel).track(any(), any());
+    }
+
+    @Test
+    void saveBatch_Reject_TicketsWhoseSlotIsAlreadyReserved() {
+        List<ScheduleBookingTicket> tickets = List.of(new ScheduleBookingTicket(1L, List.of(createSchedulePostRequestDTO())));
+
+        when(personRepository.findAllById(anySet())).thenReturn(List.of(createPerson()));
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(createTable()));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet())).thenReturn(List.of(createReservedSlot(createSchedulePostRequestDTO())));
+
+        List<ScheduleBookingOutcome> outcomes = scheduleService.saveBatch(tickets);
+
+        Assertions.assertFalse(outcomes.get(0).isBooked());
+        verify(scheduleRepository).insertAll(List.of());
+        verifyNoInteractions(pendingHoldWheel, liveStats);
+    }
+
+    @Test
+    void saveGroup_Book_EveryTableInEverySlot_InOneBatch() {
+        ScheduleGroupRequestDTO requestDTO = createScheduleGroupRequestDTO(List.of(1L, 2L));
+        LabTable otherTable = LabTable.builder().id(2L).number(2L).build();
+
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(createTable(), otherTable));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet())).thenReturn(List.of());
+
+        List<Schedule> schedules = scheduleService.saveGroup(1L, requestDTO);
+
+        Assertions.assertEquals(4, schedules.size());
+        Assertions.assertEquals(List.of(1L, 1L, 2L, 2L), schedules.stream().map(schedule -> schedule.getTable().getId()).toList());
+        verify(slotLockRegistry).lockUntilCompletion(argThat(keys -> keys.size() == 4));
+        verify(scheduleRepository).insertAll(argThat(batch -> batch.size() == 4));
+    }
+
+    @Test
+    void saveGroup_Throw_BadRequestException_WithoutBooking_WhenOnePairIsTaken() {
+        ScheduleGroupRequestDTO requestDTO = createScheduleGroupRequestDTO(List.of(1L, 2L));
+        LabTable otherTable = LabTable.builder().id(2L).number(2L).build();
+
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(createTable(), otherTable));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet()))
+                .thenReturn(List.of(createReservedSlot(createSchedulePostRequestDTO())));
+
+        assertThrows(BadRequestException.class, () -> scheduleService.saveGroup(1L, requestDTO));
+
+        verify(scheduleRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void saveGroup_Throw_BadRequestException_WhenTableIsRepeated() {
+        ScheduleGroupRequestDTO requestDTO = createScheduleGroupRequestDTO(List.of(1L, 1L));
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> scheduleService.saveGroup(1L, requestDTO));
+
+        Assertions.assertTrue(exception.getMessage().contains("can only be listed once"));
+        verifyNoInteractions(slotLockRegistry, scheduleRepository);
     }
 
     @Test
@@ -266,7 +504,6 @@ class ScheduleServiceTest {
         verify(personRepository).findById(anyLong());
         verifyNoInteractions(scheduleRepository);
         verifyNoInteractions(labTableRepository);
-        verifyNoInteractions(reservedTableRepository);
     }
 
     @Test
@@ -276,7 +513,7 @@ class ScheduleServiceTest {
         Person person = createPerson();
 
         when(personRepository.findById(anyLong())).thenReturn(Optional.of(person));
-        when(labTableRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of());
 
         ResourceNotFoundException resourceNotFoundException = assertThrows(ResourceNotFoundException.class,
                 () -> scheduleService.save(1L, List.of(requestDTO)));
@@ -286,9 +523,8 @@ class ScheduleServiceTest {
                 .contains("No table was found with the provided id, check the registered tables."));
 
         verify(personRepository).findById(anyLong());
-        verify(labTableRepository).findById(anyLong());
+        verify(labTableRepository).findAllById(anySet());
         verifyNoInteractions(scheduleRepository);
-        verifyNoInteractions(reservedTableRepository);
     }
 
     @Test
@@ -299,9 +535,8 @@ class ScheduleServiceTest {
         LabTable table = createTable();
 
         when(personRepository.findById(anyLong())).thenReturn(Optional.of(person));
-        when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(table));
-        when(reservedTableRepository.
-                existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString())).thenReturn(true);
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(table));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet())).thenReturn(List.of(createReservedSlot(requestDTO)));
 
         BadRequestException badRequestException = assertThrows(BadRequestException.class,
                 () -> scheduleService.save(1L, List.of(requestDTO)));
@@ -311,8 +546,54 @@ class ScheduleServiceTest {
                 .contains("This table is already booked for this time."));
 
         verify(personRepository).findById(anyLong());
-        verify(labTableRepository).findById(anyLong());
-        verify(reservedTableRepository).existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString());
+        verify(labTableRepository).findAllById(anySet());
+        verify(scheduleRepository).findReservedSlots(anySet(), anySet());
+        verifyNoMoreInteractions(scheduleRepository);
+    }
+
+    @Test
+    void save_Throw_SlotConflictException_WithNearestAlternatives_WhenTableIsReserved() {
+
+        SchedulePostRequestDTO requestDTO = createSchedulePostRequestDTO();
+        LabTable table = createTable();
+        LabTable neighbour = LabTable.builder().id(2L).number(2L).build();
+        TimeSlot tuesdayMorning = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING);
+        TimeSlot tuesdayAfternoon = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.AFTERNOON);
+
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(table));
+        when(scheduleRepository.findReservedSlots(anySet(), anySet()))
+                .thenReturn(List.of(createReservedSlot(requestDTO)));
+        when(tableOccupancyIndex.nearestFreeTables(eq(1L), eq(tuesdayMorning), any(), eq(3)))
+                .thenReturn(List.of(neighbour));
+        when(tableOccupancyIndex.findTable(1L)).thenReturn(table);
+        when(tableOccupancyIndex.nearestFreeSlots(eq(1L), eq(tuesdayMorning), any(), eq(3)))
+                .thenReturn(List.of(tuesdayAfternoon));
+
+        SlotConflictException exception = assertThrows(SlotConflictException.class,
+                () -> scheduleService.save(1L, List.of(requestDTO)));
+
+        Assertions.assertEquals(List.of(
+                        SlotAlternativeDTO.of(neighbour, tuesdayMorning, SlotAlternativeDTO.Kind.OTHER_TABLE),
+                        SlotAlternativeDTO.of(table, tuesdayAfternoon, SlotAlternativeDTO.Kind.OTHER_SLOT)),
+                exception.getAlternatives());
+        verify(scheduleRepository, never()).insertAll(anyList());
+    }
+
+    @Test
+    void save_Throw_BadRequestException_WhenAnIntervalBookingOverlapsTheShift() {
+
+        SchedulePostRequestDTO requestDTO = createSchedulePostRequestDTO();
+        TimeInterval tuesdayMorning = TimeInterval.of(new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING));
+
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findAllById(anySet())).thenReturn(List.of(createTable()));
+        when(tableIntervalIndex.overlaps(1L, tuesdayMorning)).thenReturn(true);
+
+        BadRequestException badRequestException = assertThrows(BadRequestException.class,
+                () -> scheduleService.save(1L, List.of(requestDTO)));
+
+        Assertions.assertTrue(badRequestException.getMessage().contains("This table is already booked for this time."));
         verifyNoInteractions(scheduleRepository);
     }
 
@@ -323,19 +604,19 @@ class ScheduleServiceTest {
         SchedulePutRequestDTO requestDTO = createSchedulePutRequestDTO();
         Schedule newSchedule = createSchedule();
 
-        newSchedule.setShiftSchedule(requestDTO.getShiftSchedule());
-        newSchedule.setDay(requestDTO.getDay());
+        newSchedule.setShiftSchedule(ShiftSchedule.AFTERNOON);
+        newSchedule.setDay(WeekDay.FRIDAY);
 
         when(scheduleRepository.findById(anyLong())).thenReturn(Optional.of(oldSchedule));
-        when(reservedTableRepository.existsByScheduleId(anyLong())).thenReturn(true);
         when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(table));
-        when(scheduleRepository.save(any(Schedule.class))).thenReturn(newSchedule);
-        when(reservedTableRepository.existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString())).thenReturn(false);
+        when(scheduleRepository.saveAndFlush(any(Schedule.class))).thenReturn(newSchedule);
+        when(scheduleRepository.existsByTableIdAndSlotAndIdNot(1L,
+                new TimeSlot(WeekDay.FRIDAY, ShiftSchedule.AFTERNOON).code(), 1L)).thenReturn(false);
 
         Schedule scheduleUpdated = scheduleService.update(1L, requestDTO);
 
-        Assertions.assertEquals(requestDTO.getDay(), scheduleUpdated.getDay());
-        Assertions.assertEquals(requestDTO.getShiftSchedule(), scheduleUpdated.getShiftSchedule());
+        Assertions.assertEquals(requestDTO.getDay(), scheduleUpdated.getDay().getLabel());
+        Assertions.assertEquals(requestDTO.getShiftSchedule(), scheduleUpdated.getShiftSchedule().getLabel());
         Assertions.assertEquals(newSchedule.getTable(), scheduleUpdated.getTable());
         Assertions.assertEquals(newSchedule.getPerson(), scheduleUpdated.getPerson());
     }
@@ -354,7 +635,6 @@ class ScheduleServiceTest {
 
         verify(scheduleRepository, times(1)).findById(anyLong());
         verifyNoInteractions(labTableRepository);
-        verifyNoInteractions(reservedTableRepository);
     }
 
     @Test
@@ -376,7 +656,6 @@ class ScheduleServiceTest {
 
         verify(scheduleRepository, times(1)).findById(anyLong());
         verifyNoInteractions(labTableRepository);
-        verifyNoInteractions(reservedTableRepository);
     }
 
     @Test
@@ -406,8 +685,8 @@ class ScheduleServiceTest {
 
         when(scheduleRepository.findById(anyLong())).thenReturn(Optional.of(schedule));
         when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(table));
-        when(reservedTableRepository
-                .existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString()))
+        when(scheduleRepository
+                .existsByTableIdAndSlotAndIdNot(anyLong(), anyShort(), anyLong()))
                 .thenReturn(true);
 
         BadRequestException exception = assertThrows(BadRequestException.class,
@@ -426,7 +705,6 @@ class ScheduleServiceTest {
         newSchedule.setStatus(ScheduleRequestStatus.APPROVED);
 
         when(scheduleRepository.findById(anyLong())).thenReturn(Optional.of(oldSchedule));
-        when(reservedTableRepository.existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString())).thenReturn(true);
         when(scheduleRepository.save(any(Schedule.class))).thenReturn(newSchedule);
 
         Schedule scheduleResponse = scheduleService.approved(1L);
@@ -451,7 +729,6 @@ class ScheduleServiceTest {
 
         verify(scheduleRepository).findById(anyLong());
         verifyNoMoreInteractions(scheduleRepository);
-        verifyNoInteractions(reservedTableRepository);
 
     }
 
@@ -467,17 +744,15 @@ class ScheduleServiceTest {
 
         verify(scheduleRepository).findById(anyLong());
         verifyNoMoreInteractions(scheduleRepository);
-        verifyNoInteractions(reservedTableRepository);
 
     }
 
     @Test
     void approved_Throw_BadRequestException_WhenThereIsNoReservationForSchedule() {
         Schedule schedule = createSchedule();
+        schedule.setTable(null);
 
         when(scheduleRepository.findById(anyLong())).thenReturn(Optional.of(schedule));
-        when(reservedTableRepository
-                .existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString())).thenReturn(false);
 
         BadRequestException exception = assertThrows(BadRequestException.class,
                 () -> scheduleService.approved(1L));
@@ -487,7 +762,6 @@ class ScheduleServiceTest {
                 .contains("This table is not reserved for this time. Please look at the requests."));
 
         verify(scheduleRepository).findById(anyLong());
-        verify(reservedTableRepository).existsByTableIdAndShiftScheduleAndDay(anyLong(), anyString(), anyString());
         verifyNoMoreInteractions(scheduleRepository);
 
     }
@@ -500,6 +774,7 @@ class ScheduleServiceTest {
         scheduleService.deny(1L);
 
         verify(scheduleRepository).save(any(Schedule.class));
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING)));
 
     }
 
@@ -533,10 +808,87 @@ class ScheduleServiceTest {
 
         verify(scheduleRepository).findById(anyLong());
         verifyNoMoreInteractions(scheduleRepository);
-        verifyNoInteractions(reservedTableRepository);
 
     }
 
+    @Test
+    void approveAll_Approve_OnlyPendingReservedSchedules_WithOneUpdate() {
+        when(scheduleRepository.findTransitionsForUpdate(anySet())).thenReturn(List.of(
+                createTransition(1L, ScheduleRequestStatus.PENDING, 1L),
+                createTransition(2L, ScheduleRequestStatus.APPROVED, 1L),
+                createTransition(3L, ScheduleRequestStatus.PENDING, null),
+                createTransition(4L, ScheduleRequestStatus.PENDING, 1L)));
+
+        ScheduleBatchResponseDTO response = scheduleService.approveAll(List.of(1L, 2L, 3L, 4L, 5L, 1L));
+
+        Assertions.assertEquals(2, response.getSucceeded());
+        Assertions.assertEquals(3, response.getFailed());
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 4L, 5L),
+                response.getResults().stream().map(result -> result.getId()).toList());
+        Assertions.assertEquals(ScheduleRequestStatus.APPROVED, response.getResults().get(0).getStatus());
+        Assertions.assertTrue(response.getResults().get(1).getMessage().contains("status other than pending"));
+        Assertions.assertTrue(response.getResults().get(2).getMessage().contains("not reserved for this time"));
+        Assertions.assertTrue(response.getResults().get(4).getMessage().contains("No time was found"));
+
+        verify(scheduleRepository).updateStatus(List.of(1L, 4L),
+                ScheduleRequestStatus.PENDING,
+                ScheduleRequestStatus.APPROVED);
+        verify(liveStats).schedulesChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.APPROVED,
+                List.of((short) 3, (short) 3));
+        verifyNoMoreInteractions(scheduleRepository);
+    }
+
+    @Test
+    void denyAll_Deny_PendingSchedules_AndReleaseTheirTables() {
+        when(scheduleRepository.findTransitionsForUpdate(anySet())).thenReturn(List.of(
+                createTransition(1L, ScheduleRequestStatus.PENDING, 1L),
+                createTransition(2L, ScheduleRequestStatus.DENIED, null),
+                createTransition(3L, ScheduleRequestStatus.PENDING, null)));
+
+        ScheduleBatchResponseDTO response = scheduleService.denyAll(List.of(1L, 2L, 3L));
+
+        Assertions.assertEquals(2, response.getSucceeded());
+        Assertions.assertEquals(1, response.getFailed());
+        Assertions.assertFalse(response.getResults().get(1).isSuccess());
+
+        verify(scheduleRepository).updateStatusAndReleaseTable(List.of(1L, 3L),
+                ScheduleRequestStatus.PENDING,
+                ScheduleRequestStatus.DENIED);
+        verify(tableOccupancyIndex).release(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING));
+        verifyNoMoreInteractions(tableOccupancyIndex);
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING)));
+    }
+
+    @Test
+    void expirePending_Expire_OnlyStillPendingSchedules_AndReleaseTheirSlots() {
+        when(scheduleRepository.findTransitionsForUpdate(anySet())).thenReturn(List.of(
+                createTransition(1L, ScheduleRequestStatus.PENDING, 1L),
+                createTransition(2L, ScheduleRequestStatus.APPROVED, 1L)));
+
+        int expired = scheduleService.expirePending(List.of(1L, 2L, 3L));
+
+        Assertions.assertEquals(1, expired);
+        verify(scheduleRepository).updateStatusAndReleaseTable(List.of(1L),
+                ScheduleRequestStatus.PENDING,
+                ScheduleRequestStatus.EXPIRED);
+        verify(liveStats).schedulesChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.EXPIRED,
+                List.of((short) 3));
+        verify(tableOccupancyIndex).release(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING));
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING)));
+    }
+
+    @Test
+    void expirePending_DoNothing_WhenNoScheduleIsPendingAnymore() {
+        when(scheduleRepository.findTransitionsForUpdate(anySet())).thenReturn(List.of(
+                createTransition(1L, ScheduleRequestStatus.DENIED, null)));
+
+        Assertions.assertEquals(0, scheduleService.expirePending(List.of(1L)));
+
+        verify(scheduleRepository).findTransitionsForUpdate(anySet());
+        verifyNoMoreInteractions(scheduleRepository);
+        verifyNoInteractions(eventPublisher);
+    }
+
     @Test
     void delete_DeleteSchedule_WhenSuccessful() {
         Schedule schedule = createSchedule();
@@ -544,8 +896,22 @@ class ScheduleServiceTest {
 
         scheduleService.delete(1L);
 
-        verify(reservedTableRepository).deleteByShiftScheduleAndDayAndTableId(anyString(), anyString(), anyLong());
+        verify(tableOccupancyIndex).release(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING));
         verify(scheduleRepository).deleteById(anyLong());
+        verify(eventPublisher).publishEvent(new SlotReleasedEvent(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING)));
+    }
+
+    @Test
+    void delete_DeleteDeniedSchedule_WithoutReleasingAnySlot() {
+        Schedule schedule = createSchedule();
+        schedule.setStatus(ScheduleRequestStatus.DENIED);
+        schedule.setTable(null);
+        when(scheduleRepository.findById(anyLong())).thenReturn(Optional.of(schedule));
+
+        scheduleService.delete(1L);
+
+        verify(scheduleRepository).deleteById(1L);
+        verifyNoInteractions(tableOccupancyIndex, eventPublisher);
     }
 
     @Test
@@ -560,17 +926,63 @@ class ScheduleServiceTest {
 
         verify(scheduleRepository).findById(anyLong());
         verifyNoMoreInteractions(scheduleRepository);
-        verifyNoInteractions(reservedTableRepository);
     }
 
     private SchedulePostRequestDTO createSchedulePostRequestDTO() {
         return SchedulePostRequestDTO.builder()
-                .shiftSchedule("Monday")
+                .shiftSchedule("Morning")
                 .day("Tuesday")
                 .tableId(1L)
                 .build();
     }
 
+    private ScheduleGroupRequestDTO createScheduleGroupRequestDTO(List<Long> tableIds) {
+        return ScheduleGroupRequestDTO.builder()
+                .tableIds(tableIds)
+                .slots(List.of(new ScheduleGroupRequestDTO.Slot("Tuesday", "Morning"),
+                        new ScheduleGroupRequestDTO.Slot("Tuesday", "Afternoon")))
+                .build();
+    }
+
+    private ScheduleRepository.ReservedSlot createReservedSlot(SchedulePostRequestDTO requestDTO) {
+        return new ScheduleRepository.ReservedSlot() {
+            @Override
+            public Long getTableId() {
+                return requestDTO.getTableId();
+            }
+
+            @Override
+            public Short getSlot() {
+                return TimeSlot.parse(requestDTO.getDay(), requestDTO.getShiftSchedule()).orElseThrow().code();
+            }
+        };
+    }
+
+    private ScheduleRepository.ScheduleTransition createTransition(Long id, ScheduleRequestStatus status,
+                                                                   Long tableId) {
+        return new ScheduleRepository.ScheduleTransition() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public ScheduleRequestStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Short getSlot() {
+                return new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING).code();
+            }
+        };
+    }
+
     private SchedulePutRequestDTO createSchedulePutRequestDTO() {
         return SchedulePutRequestDTO.builder()
                 .shiftSchedule("Afternoon")
@@ -582,14 +994,31 @@ class ScheduleServiceTest {
     private Schedule createSchedule() {
         return Schedule.builder()
                 .id(1L)
-                .day("Tuesday")
-                .shiftSchedule("Monday")
+                .day(WeekDay.TUESDAY)
+                .shiftSchedule(ShiftSchedule.MORNING)
+                .slot(new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING).code())
                 .status(ScheduleRequestStatus.PENDING)
                 .person(createPerson())
                 .table(createTable())
                 .build();
     }
 
+    private ScheduleSummaryResponseDTO createScheduleSummary() {
+        return createScheduleSummary(1L, new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING).code());
+    }
+
+    private ScheduleSummaryResponseDTO createScheduleSummary(Long id, short slot) {
+        return new ScheduleSummaryResponseDTO(id,
+                slot,
+                WeekDay.TUESDAY,
+                ShiftSchedule.MORNING,
+                ScheduleRequestStatus.PENDING,
+                1L,
+                22L,
+                1L,
+                "Person Name");
+    }
+
     private Person createPerson() {
         Person person = new Person();
         person.setId(1L);
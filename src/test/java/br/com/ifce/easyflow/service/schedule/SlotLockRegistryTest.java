@@ -0,0 +1,333 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.controller.dto.schedule.ScheduleGroupRequestDTO;
+import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.service.LiveStats;
+import br.com.ifce.easyflow.service.PendingHoldWheel;
+import br.com.ifce.easyflow.service.RecurringReservationIndex;
+import br.com.ifce.easyflow.service.ScheduleService;
+import br.com.ifce.easyflow.service.SlotLockRegistry;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import br.com.ifce.easyflow.service.exceptions.SlotConflictException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class SlotLockRegistryTest {
+
+    // Stands in for the schedule table: every insert is counted per table and slot, a count above one is a double booking.
+    private final Map<Long, Schedule> booked = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> insertsPerSlot = new ConcurrentHashMap<>();
+
+    @Test
+    void save_Book_EachSlotOnce_UnderConcurrentRequests() throws InterruptedException {
+        ScheduleService scheduleService = createScheduleService(new SlotLockRegistry(64, 5000));
+
+        int threads = 8;
+        int tables = 4;
+
+        List<Long> keys = new ArrayList<>();
+        for (long table = 1; table <= tables; table++) {
+            for (short slot = 0; slot < TimeSlot.COUNT; slot++) {
+                keys.add(TimeSlot.keyOf(table, slot));
+            }
+        }
+
+        Map<Long, AtomicInteger> successes = new ConcurrentHashMap<>();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                List<Long> order = new ArrayList<>(keys);
+                Collections.shuffle(order, new Random(thread));
+                start.await();
+                for (Long key : order) {
+                    long tableId = key / TimeSlot.COUNT;
+                    TimeSlot timeSlot = TimeSlot.ofCode((int) (key % TimeSlot.COUNT));
+
+                    try {
+                        inTransaction(() -> scheduleService.save(thread + 1L, List.of(SchedulePostRequestDTO.builder()
+                                .tableId(tableId)
+                                .day(timeSlot.day().getLabel())
+                                .shiftSchedule(timeSlot.shift().getLabel())
+                                .build())));
+                        successes.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                    } catch (SlotConflictException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(keys.size(), successes.size());
+        Assertions.assertTrue(successes.values().stream().allMatch(count -> count.get() == 1));
+        Assertions.assertTrue(insertsPerSlot.values().stream().allMatch(count -> count.get() == 1));
+        Assertions.assertEquals(keys.size(), booked.size());
+        Assertions.assertEquals(threads * keys.size() - keys.size(), rejected.get());
+    }
+
+    @Test
+    void saveGroup_Book_OverlappingGroupsAllOrNothing_WithoutDeadlock() throws InterruptedException {
+        ScheduleService scheduleService = createScheduleService(new SlotLockRegistry(256, 5000));
+
+        int threads = 8;
+        int groupsPerThread = 300;
+        int tables = 30;
+        int tablesPerGroup = 4;
+        int slotsPerGroup = 3;
+
+        Map<Long, List<Long>> accepted = new ConcurrentHashMap<>();
+        Map<Long, List<Long>> rejected = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                Random random = new Random(thread);
+                start.await();
+                for (int i = 0; i < groupsPerThread; i++) {
+                    // Every group is booked by a person of its own, so the rows it wrote can be told apart.
+                    long personId = (long) thread * groupsPerThread + i + 1;
+
+                    // Tables and slots are listed in a random order on purpose, the locks have to be sorted by the service.
+                    List<Long> tableIds = new ArrayList<>();
+                    int firstTable = random.nextInt(tables - tablesPerGroup + 1);
+                    for (int table = firstTable; table < firstTable + tablesPerGroup; table++) {
+                        tableIds.add(table + 1L);
+                    }
+                    List<Short> codes = new ArrayList<>();
+                    int firstSlot = random.nextInt(TimeSlot.COUNT - slotsPerGroup + 1);
+                    for (int slot = firstSlot; slot < firstSlot + slotsPerGroup; slot++) {
+                        codes.add((short) slot);
+                    }
+                    Collections.shuffle(tableIds, random);
+                    Collections.shuffle(codes, random);
+
+                    List<Long> keys = tableIds.stream()
+                            .flatMap(tableId -> codes.stream().map(code -> TimeSlot.keyOf(tableId, code)))
+                            .toList();
+
+                    ScheduleGroupRequestDTO requestDTO = ScheduleGroupRequestDTO.builder()
+                            .tableIds(tableIds)
+                            .slots(codes.stream()
+                                    .map(TimeSlot::ofCode)
+                                    .map(timeSlot -> new ScheduleGroupRequestDTO.Slot(timeSlot.day().getLabel(),
+                                            timeSlot.shift().getLabel()))
+                                    .toList())
+                            .build();
+
+                    try {
+                        List<Schedule> schedules = inTransaction(() -> scheduleService.saveGroup(personId, requestDTO));
+                        Assertions.assertEquals(keys.size(), schedules.size());
+                        accepted.put(personId, keys);
+                    } catch (SlotConflictException e) {
+                        rejected.put(personId, keys);
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS), "Group booking deadlocked");
+
+        Assertions.assertEquals(threads * groupsPerThread, accepted.size() + rejected.size());
+        Assertions.assertFalse(accepted.isEmpty());
+        Assertions.assertTrue(insertsPerSlot.values().stream().allMatch(count -> count.get() == 1));
+        Assertions.assertEquals(accepted.size() * tablesPerGroup * slotsPerGroup, booked.size());
+        accepted.forEach((personId, keys) -> Assertions.assertTrue(keys.stream()
+                .allMatch(key -> personId.equals(booked.get(key).getPerson().getId()))));
+        rejected.forEach((personId, keys) -> Assertions.assertTrue(keys.stream()
+                .noneMatch(key -> booked.containsKey(key) && personId.equals(booked.get(key).getPerson().getId()))));
+    }
+
+    // The commit claimed about 100k lock round trips a second on a developer machine. The floor is ten times
+    // lower so a slow or busy build agent still passes, while a lock that serializes every stripe or spins on
+    // the timeout would not.
+    @Test
+    void lock_Sustain_ThroughputFloor_OnHotSlots() throws InterruptedException {
+        SlotLockRegistry slotLockRegistry = new SlotLockRegistry(256, 5000);
+        int threads = 8;
+        int roundTripsPerThread = 20_000;
+        List<Long> hotKeys = List.of(TimeSlot.keyOf(1L, (short) 0), TimeSlot.keyOf(1L, (short) 1),
+                TimeSlot.keyOf(2L, (short) 0), TimeSlot.keyOf(2L, (short) 1));
+
+        // Warms the lock path up so the measured run is not dominated by the interpreter.
+        for (int i = 0; i < roundTripsPerThread; i++) {
+            slotLockRegistry.lock(List.of(hotKeys.get(i % hotKeys.size()))).close();
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < roundTripsPerThread; i++) {
+                    slotLockRegistry.lock(List.of(hotKeys.get((thread + i) % hotKeys.size()))).close();
+                }
+                return null;
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+
+        double roundTripsPerSecond = threads * roundTripsPerThread / seconds;
+        Assertions.assertTrue(roundTripsPerSecond >= 10_000,
+                "Only " + (long) roundTripsPerSecond + " lock round trips per second");
+    }
+
+    @Test
+    void lock_Throw_ConflictException_WhenSlotIsHeldPastTimeout() throws InterruptedException {
+        SlotLockRegistry slotLockRegistry = new SlotLockRegistry(8, 50);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Thread holder = new Thread(() -> {
+            try (SlotLockRegistry.SlotLocks ignored = slotLockRegistry.lock(List.of("1|monday|morning"))) {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        locked.await();
+
+        ConflictException exception = Assertions.assertThrows(ConflictException.class,
+                () -> slotLockRegistry.lock(List.of("1|monday|morning")));
+
+        Assertions.assertTrue(exception.getMessage().contains("please try again"));
+
+        release.countDown();
+        holder.join();
+
+        Assertions.assertDoesNotThrow(() -> slotLockRegistry.lock(List.of("1|monday|morning")).close());
+    }
+
+    @Test
+    void lockUntilCompletion_Throw_IllegalStateException_OutsideTransaction() {
+        SlotLockRegistry slotLockRegistry = new SlotLockRegistry(8, 50);
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> slotLockRegistry.lockUntilCompletion(List.of("1|monday|morning")));
+    }
+
+    private ScheduleService createScheduleService(SlotLockRegistry slotLockRegistry) {
+        ScheduleRepository scheduleRepository = mock(ScheduleRepository.class);
+        PersonRepository personRepository = mock(PersonRepository.class);
+        LabTableRepository labTableRepository = mock(LabTableRepository.class);
+
+        when(personRepository.findById(anyLong())).thenAnswer(invocation -> {
+            Person person = new Person();
+            person.setId(invocation.getArgument(0));
+            return Optional.of(person);
+        });
+        when(labTableRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<LabTable> tables = new ArrayList<>();
+            invocation.<Iterable<Long>>getArgument(0).forEach(id -> tables.add(LabTable.builder().id(id).build()));
+            return tables;
+        });
+        when(scheduleRepository.findReservedSlots(anyCollection(), anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> tableIds = invocation.getArgument(0);
+            Collection<Short> slots = invocation.getArgument(1);
+            List<ScheduleRepository.ReservedSlot> reserved = tableIds.stream()
+                    .flatMap(tableId -> slots.stream().map(slot -> booked.get(TimeSlot.keyOf(tableId, slot))))
+                    .filter(Objects::nonNull)
+                    .map(SlotLockRegistryTest::reservedSlot)
+                    .toList();
+            // The round trip of a real query, it leaves other requests time to read the same rows before the insert.
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(200));
+            return reserved;
+        });
+        doAnswer(invocation -> {
+            for (Schedule schedule : invocation.<List<Schedule>>getArgument(0)) {
+                long key = TimeSlot.keyOf(schedule.getTable().getId(), schedule.getSlot());
+                insertsPerSlot.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                booked.put(key, schedule);
+            }
+            return null;
+        }).when(scheduleRepository).insertAll(anyList());
+
+        return new ScheduleService(scheduleRepository, personRepository, labTableRepository,
+                mock(TableOccupancyIndex.class), mock(TableIntervalIndex.class), mock(RecurringReservationIndex.class),
+                mock(ApplicationEventPublisher.class), mock(PendingHoldWheel.class), slotLockRegistry,
+                mock(LiveStats.class));
+    }
+
+    // Stands in for the transaction around each request, the slot locks are released when it completes.
+    private static <T> T inTransaction(Supplier<T> action) {
+        TransactionSynchronizationManager.initSynchronization();
+        int status = TransactionSynchronization.STATUS_ROLLED_BACK;
+        try {
+            T result = action.get();
+            status = TransactionSynchronization.STATUS_COMMITTED;
+            return result;
+        } finally {
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            TransactionSynchronizationManager.clearSynchronization();
+            for (TransactionSynchronization synchronization : synchronizations) {
+                synchronization.afterCompletion(status);
+            }
+        }
+    }
+
+    private static ScheduleRepository.ReservedSlot reservedSlot(Schedule schedule) {
+        return new ScheduleRepository.ReservedSlot() {
+            @Override
+            public Long getTableId() {
+                return schedule.getTable().getId();
+            }
+
+            @Override
+            public Short getSlot() {
+                return schedule.getSlot();
+            }
+        };
+    }
+}
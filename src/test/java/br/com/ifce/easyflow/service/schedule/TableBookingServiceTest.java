@@ -0,0 +1,134 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.controller.dto.booking.FreeWindowDTO;
+import br.com.ifce.easyflow.controller.dto.booking.TableBookingRequestDTO;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.TableBooking;
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.service.RecurringReservationIndex;
+import br.com.ifce.easyflow.service.SlotLockRegistry;
+import br.com.ifce.easyflow.service.TableBookingService;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableBookingServiceTest {
+
+    @InjectMocks
+    TableBookingService tableBookingService;
+
+    @Mock
+    TableBookingRepository tableBookingRepository;
+
+    @Mock
+    LabTableRepository labTableRepository;
+
+    @Mock
+    PersonRepository personRepository;
+
+    @Mock
+    TableIntervalIndex tableIntervalIndex;
+
+    @Mock
+    TableOccupancyIndex tableOccupancyIndex;
+
+    @Mock
+    SlotLockRegistry slotLockRegistry;
+
+    @Mock
+    RecurringReservationIndex recurringReservationIndex;
+
+    @Test
+    void book_Save_Booking_WhenIntervalIsFree() {
+        TableBookingRequestDTO requestDTO = createRequest(LocalTime.of(12, 0), LocalTime.of(13, 0));
+        TimeInterval interval = new TimeInterval(24, 26);
+
+        when(labTableRepository.findById(1L)).thenReturn(Optional.of(new LabTable(1L, 1L)));
+        when(personRepository.findById(1L)).thenReturn(Optional.of(createPerson()));
+        when(tableBookingRepository.save(any(TableBooking.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TableBooking booking = tableBookingService.book(requestDTO);
+
+        Assertions.assertEquals(interval, booking.interval());
+        Assertions.assertEquals(WeekDay.MONDAY, booking.interval().day());
+        verify(tableBookingRepository).existsOverlapping(1L, (short) 24, (short) 26);
+        verify(tableIntervalIndex).reserve(1L, interval);
+    }
+
+    @Test
+    void book_Throw_ConflictException_WhenTheShiftIsReserved() {
+        TableBookingRequestDTO requestDTO = createRequest(LocalTime.of(11, 30), LocalTime.of(12, 30));
+
+        when(labTableRepository.findById(1L)).thenReturn(Optional.of(new LabTable(1L, 1L)));
+        when(personRepository.findById(1L)).thenReturn(Optional.of(createPerson()));
+        when(tableOccupancyIndex.isReserved(1L, new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING))).thenReturn(true);
+
+        Assertions.assertThrows(ConflictException.class, () -> tableBookingService.book(requestDTO));
+
+        verify(tableBookingRepository, never()).save(any(TableBooking.class));
+        verify(tableIntervalIndex, never()).reserve(any(), any());
+    }
+
+    @Test
+    void book_Throw_BadRequestException_WhenTimesAreNotAligned() {
+        TableBookingRequestDTO requestDTO = createRequest(LocalTime.of(8, 15), LocalTime.of(9, 0));
+
+        BadRequestException exception = Assertions.assertThrows(BadRequestException.class,
+                () -> tableBookingService.book(requestDTO));
+
+        Assertions.assertTrue(exception.getMessage().contains("30 minute boundary"));
+        verifyNoInteractions(tableBookingRepository, slotLockRegistry);
+    }
+
+    @Test
+    void freeWindows_Exclude_BookingsAndReservedShifts() {
+        BitSet booked = new BitSet();
+        booked.set(2, 4);
+
+        when(labTableRepository.existsById(1L)).thenReturn(true);
+        when(tableIntervalIndex.booked(1L, TimeInterval.ofDay(WeekDay.MONDAY))).thenReturn(booked);
+        when(tableOccupancyIndex.isReserved(eq(1L), any(TimeSlot.class)))
+                .thenAnswer(invocation -> invocation.<TimeSlot>getArgument(1).shift() == ShiftSchedule.AFTERNOON);
+
+        List<FreeWindowDTO> windows = tableBookingService.freeWindows(1L, "Monday");
+
+        Assertions.assertEquals(List.of(
+                new FreeWindowDTO(LocalTime.MIDNIGHT, LocalTime.of(1, 0)),
+                new FreeWindowDTO(LocalTime.of(2, 0), LocalTime.of(13, 0)),
+                new FreeWindowDTO(LocalTime.of(18, 0), LocalTime.MIDNIGHT)), windows);
+    }
+
+    private TableBookingRequestDTO createRequest(LocalTime start, LocalTime end) {
+        return new TableBookingRequestDTO(1L, 1L, "Monday", start, end);
+    }
+
+    private Person createPerson() {
+        Person person = new Person();
+        person.setId(1L);
+        person.setName("Person Name");
+        return person;
+    }
+}
@@ -0,0 +1,102 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.model.TimeInterval;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableIntervalIndexTest {
+
+    @InjectMocks
+    TableIntervalIndex tableIntervalIndex;
+
+    @Mock
+    TableBookingRepository tableBookingRepository;
+
+    @Test
+    void rebuild_Load_BookedIntervals_FromDatabase() {
+        TimeInterval booked = interval(WeekDay.MONDAY, 9, 0, 10, 30);
+        when(tableBookingRepository.findAllBookedIntervals()).thenReturn(List.of(createBookedInterval(1L, booked)));
+
+        tableIntervalIndex.rebuild();
+
+        Assertions.assertTrue(tableIntervalIndex.overlaps(1L, interval(WeekDay.MONDAY, 10, 0, 11, 0)));
+        Assertions.assertFalse(tableIntervalIndex.overlaps(1L, interval(WeekDay.MONDAY, 10, 30, 11, 0)));
+        Assertions.assertFalse(tableIntervalIndex.overlaps(1L, interval(WeekDay.TUESDAY, 9, 0, 10, 30)));
+        Assertions.assertFalse(tableIntervalIndex.overlaps(2L, booked));
+    }
+
+    @Test
+    void reserveAndRelease_Update_BookedUnits() {
+        when(tableBookingRepository.findAllBookedIntervals()).thenReturn(List.of());
+        tableIntervalIndex.rebuild();
+
+        TimeInterval wednesday = TimeInterval.ofDay(WeekDay.WEDNESDAY);
+        tableIntervalIndex.reserve(3L, interval(WeekDay.WEDNESDAY, 14, 0, 15, 0));
+
+        BitSet booked = tableIntervalIndex.booked(3L, wednesday);
+        Assertions.assertEquals(28, booked.nextSetBit(0));
+        Assertions.assertEquals(30, booked.nextClearBit(28));
+
+        tableIntervalIndex.release(3L, interval(WeekDay.WEDNESDAY, 14, 0, 15, 0));
+        Assertions.assertTrue(tableIntervalIndex.booked(3L, wednesday).isEmpty());
+    }
+
+    @Test
+    void overlaps_StaysFast_WithAFullyBookedWeek() {
+        when(tableBookingRepository.findAllBookedIntervals()).thenReturn(List.of());
+        tableIntervalIndex.rebuild();
+
+        for (int unit = 0; unit < TimeInterval.WEEK_UNITS; unit += 2) {
+            tableIntervalIndex.reserve(1L, new TimeInterval(unit, unit + 1));
+        }
+
+        long start = System.nanoTime();
+        int conflicts = 0;
+        for (int unit = 0; unit < TimeInterval.WEEK_UNITS - 1; unit++) {
+            if (tableIntervalIndex.overlaps(1L, new TimeInterval(unit, unit + 1))) {
+                conflicts++;
+            }
+        }
+        long averageNanos = (System.nanoTime() - start) / (TimeInterval.WEEK_UNITS - 1);
+
+        Assertions.assertEquals(TimeInterval.WEEK_UNITS / 2, conflicts);
+        Assertions.assertTrue(averageNanos < 1_000_000, "A conflict check took " + averageNanos + "ns on average");
+    }
+
+    private static TimeInterval interval(WeekDay day, int startHour, int startMinute, int endHour, int endMinute) {
+        return TimeInterval.of(day, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute)).orElseThrow();
+    }
+
+    private TableBookingRepository.BookedInterval createBookedInterval(Long tableId, TimeInterval interval) {
+        return new TableBookingRepository.BookedInterval() {
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Short getStartUnit() {
+                return (short) interval.start();
+            }
+
+            @Override
+            public Short getEndUnit() {
+                return (short) interval.end();
+            }
+        };
+    }
+}
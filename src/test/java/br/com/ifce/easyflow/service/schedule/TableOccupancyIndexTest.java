@@ -0,0 +1,145 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableOccupancyIndexTest {
+
+    @InjectMocks
+    TableOccupancyIndex tableOccupancyIndex;
+
+    @Mock
+    LabTableRepository labTableRepository;
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+    private static final TimeSlot MONDAY_MORNING = new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING);
+    private static final TimeSlot TUESDAY_MORNING = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.MORNING);
+    private static final TimeSlot FRIDAY_NIGHT = new TimeSlot(WeekDay.FRIDAY, ShiftSchedule.NIGHT);
+
+    @Test
+    void rebuild_Load_TablesAndReservations_FromDatabase() {
+        when(labTableRepository.findAll()).thenReturn(createLabTables());
+        when(scheduleRepository.findAllReservedSlots()).thenReturn(List.of(createReservedSlot(2L)));
+
+        tableOccupancyIndex.rebuild();
+
+        List<LabTable> available = tableOccupancyIndex.availableTables(MONDAY_MORNING);
+
+        Assertions.assertEquals(4, available.size());
+        Assertions.assertTrue(available.stream().noneMatch(t -> t.getId().equals(2L)));
+        Assertions.assertEquals(5, tableOccupancyIndex.availableTables(TUESDAY_MORNING).size());
+        Assertions.assertTrue(tableOccupancyIndex.isReserved(2L, MONDAY_MORNING));
+
+        verify(labTableRepository).findAll();
+        verify(scheduleRepository).findAllReservedSlots();
+    }
+
+    @Test
+    void reserveAndRelease_Update_AvailabilityAndVersion() {
+        when(labTableRepository.findAll()).thenReturn(createLabTables());
+        when(scheduleRepository.findAllReservedSlots()).thenReturn(List.of());
+        tableOccupancyIndex.rebuild();
+
+        long initialVersion = tableOccupancyIndex.version();
+
+        tableOccupancyIndex.reserve(3L, FRIDAY_NIGHT);
+        Assertions.assertEquals(4, tableOccupancyIndex.availableTables(FRIDAY_NIGHT).size());
+        Assertions.assertTrue(tableOccupancyIndex.version() > initialVersion);
+
+        tableOccupancyIndex.release(3L, FRIDAY_NIGHT);
+        Assertions.assertEquals(5, tableOccupancyIndex.availableTables(FRIDAY_NIGHT).size());
+    }
+
+    @Test
+    void registerAndRemoveTable_Update_TableSet() {
+        when(labTableRepository.findAll()).thenReturn(createLabTables());
+        when(scheduleRepository.findAllReservedSlots()).thenReturn(List.of());
+        tableOccupancyIndex.rebuild();
+
+        tableOccupancyIndex.registerTable(new LabTable(6L, 6L));
+        tableOccupancyIndex.removeTable(1L);
+
+        List<LabTable> available = tableOccupancyIndex.availableTables(MONDAY_MORNING);
+
+        Assertions.assertEquals(5, available.size());
+        Assertions.assertEquals(2L, available.get(0).getId());
+        Assertions.assertEquals(6L, available.get(4).getId());
+    }
+
+    @Test
+    void nearestFreeTables_Rank_SameZoneThenFloorDistance() {
+        LabTable origin = LabTable.builder().id(1L).number(1L).positionX(0).positionY(0).zone("Window").build();
+        LabTable sameZoneFar = LabTable.builder().id(2L).number(2L).positionX(5).positionY(5).zone("Window").build();
+        LabTable otherZoneNear = LabTable.builder().id(3L).number(3L).positionX(1).positionY(0).zone("Door").build();
+        LabTable sameZoneNear = LabTable.builder().id(4L).number(4L).positionX(0).positionY(1).zone("Window").build();
+        LabTable taken = LabTable.builder().id(5L).number(5L).positionX(0).positionY(1).zone("Window").build();
+        when(labTableRepository.findAll()).thenReturn(List.of(origin, sameZoneFar, otherZoneNear, sameZoneNear, taken));
+        when(scheduleRepository.findAllReservedSlots()).thenReturn(List.of());
+        tableOccupancyIndex.rebuild();
+        tableOccupancyIndex.reserve(1L, MONDAY_MORNING);
+        tableOccupancyIndex.reserve(5L, MONDAY_MORNING);
+
+        List<LabTable> nearest = tableOccupancyIndex.nearestFreeTables(1L, MONDAY_MORNING, table -> true, 3);
+
+        Assertions.assertEquals(List.of(4L, 2L, 3L), nearest.stream().map(LabTable::getId).toList());
+        Assertions.assertEquals(1, tableOccupancyIndex.nearestFreeTables(1L, MONDAY_MORNING, table -> true, 1).size());
+    }
+
+    @Test
+    void nearestFreeSlots_Return_ClosestFreeSlotsOfTheTable() {
+        TimeSlot tuesdayAfternoon = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.AFTERNOON);
+        TimeSlot tuesdayNight = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.NIGHT);
+        when(labTableRepository.findAll()).thenReturn(createLabTables());
+        when(scheduleRepository.findAllReservedSlots()).thenReturn(List.of());
+        tableOccupancyIndex.rebuild();
+        tableOccupancyIndex.reserve(1L, tuesdayAfternoon);
+        tableOccupancyIndex.reserve(1L, TUESDAY_MORNING);
+
+        List<TimeSlot> slots = tableOccupancyIndex.nearestFreeSlots(1L, tuesdayAfternoon,
+                slot -> !slot.equals(tuesdayNight), 2);
+
+        Assertions.assertEquals(List.of(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.NIGHT),
+                new TimeSlot(WeekDay.WEDNESDAY, ShiftSchedule.MORNING)), slots);
+    }
+
+    private List<LabTable> createLabTables() {
+        List<LabTable> labTables = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            labTables.add(new LabTable(i + 1L, i + 1L));
+        }
+        return labTables;
+    }
+
+    private ScheduleRepository.ReservedSlot createReservedSlot(Long tableId) {
+        return new ScheduleRepository.ReservedSlot() {
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Short getSlot() {
+                return MONDAY_MORNING.code();
+            }
+        };
+    }
+}
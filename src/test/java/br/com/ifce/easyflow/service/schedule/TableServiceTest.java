@@ -2,13 +2,25 @@ package br.com.ifce.easyflow.service.schedule;
 
 import br.com.ifce.easyflow.controller.dto.table.LabTableUpdateRequestDTO;
 import br.com.ifce.easyflow.controller.dto.table.SearchTablesAvailableRequestDTO;
+import br.com.ifce.easyflow.controller.dto.table.ShiftOccupancyDTO;
+import br.com.ifce.easyflow.controller.dto.table.TableOccupancyResponseDTO;
 import br.com.ifce.easyflow.model.LabTable;
-import br.com.ifce.easyflow.model.ReservedTables;
-import br.com.ifce.easyflow.model.Schedule;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.AllocationPreferenceRepository;
 import br.com.ifce.easyflow.repository.LabTableRepository;
-import br.com.ifce.easyflow.repository.ReservedTableRepository;
+import br.com.ifce.easyflow.repository.RecurringReservationRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.TableBookingRepository;
+import br.com.ifce.easyflow.repository.WaitlistRepository;
+import br.com.ifce.easyflow.service.CollectionVersions;
 import br.com.ifce.easyflow.service.ScheduleService;
+import br.com.ifce.easyflow.service.TableIntervalIndex;
+import br.com.ifce.easyflow.service.TableOccupancyIndex;
 import br.com.ifce.easyflow.service.TableService;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
 import br.com.ifce.easyflow.service.exceptions.ConflictException;
 import br.com.ifce.easyflow.service.exceptions.ResourceNotFoundException;
 import org.junit.jupiter.api.Assertions;
@@ -32,9 +44,23 @@ class TableServiceTest {
     @Mock
     LabTableRepository labTableRepository;
     @Mock
-    ReservedTableRepository reservedTableRepository;
-    @Mock
     ScheduleService scheduleService;
+    @Mock
+    TableOccupancyIndex tableOccupancyIndex;
+    @Mock
+    ScheduleRepository scheduleRepository;
+    @Mock
+    CollectionVersions collectionVersions;
+    @Mock
+    TableBookingRepository tableBookingRepository;
+    @Mock
+    TableIntervalIndex tableIntervalIndex;
+    @Mock
+    RecurringReservationRepository recurringReservationRepository;
+    @Mock
+    WaitlistRepository waitlistRepository;
+    @Mock
+    AllocationPreferenceRepository allocationPreferenceRepository;
 
     @Test
     void findAll_Return_ListOfTables_WhenSuccessful() {
@@ -114,14 +140,12 @@ class TableServiceTest {
 
     @Test
     void tablesAvailable_Return_ListOfTableAvailable_ForDayAndShift() {
-        List<LabTable> labTables = createLabTables();
+        List<LabTable> labTables = createLabTables().subList(1, 5);
 
         SearchTablesAvailableRequestDTO requestDTO =
                 new SearchTablesAvailableRequestDTO("Morning", "Monday");
 
-        when(labTableRepository.findAll()).thenReturn(labTables);
-        when(reservedTableRepository
-                .findByShiftScheduleAndDay(anyString(), anyString())).thenReturn(List.of(createReservedTable()));
+        when(tableOccupancyIndex.availableTables(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING))).thenReturn(labTables);
 
         List<LabTable> tablesAvailable = tableService.tablesAvailable(requestDTO);
         Assertions.assertEquals(4, tablesAvailable.size());
@@ -129,14 +153,55 @@ class TableServiceTest {
         Assertions.assertEquals(3, tablesAvailable.get(1).getNumber());
         Assertions.assertEquals(4, tablesAvailable.get(2).getNumber());
         Assertions.assertEquals(5, tablesAvailable.get(3).getNumber());
+
+        verify(tableOccupancyIndex).availableTables(new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING));
+        verifyNoInteractions(labTableRepository);
+    }
+
+    @Test
+    void tablesAvailable_Throw_BadRequestException_WhenDayIsUnknown() {
+        SearchTablesAvailableRequestDTO requestDTO =
+                new SearchTablesAvailableRequestDTO("Morning", "Holiday");
+
+        Assertions.assertThrows(BadRequestException.class, () -> tableService.tablesAvailable(requestDTO));
+
+        verifyNoInteractions(tableOccupancyIndex);
+    }
+
+    @Test
+    void weeklyOccupancy_Return_EveryDayAndShift_WithOccupiedTables() {
+        short tuesdayNight = new TimeSlot(WeekDay.TUESDAY, ShiftSchedule.NIGHT).code();
+
+        when(tableOccupancyIndex.registeredTables()).thenReturn(createLabTables());
+        when(scheduleRepository.findOccupancy()).thenReturn(List.of(
+                createOccupiedSlot(tuesdayNight, 2L, ScheduleRequestStatus.PENDING),
+                createOccupiedSlot(tuesdayNight, 4L, ScheduleRequestStatus.APPROVED)));
+
+        TableOccupancyResponseDTO occupancy = tableService.weeklyOccupancy();
+
+        Assertions.assertEquals(5, occupancy.tables().size());
+        Assertions.assertEquals(7, occupancy.days().size());
+        Assertions.assertEquals(WeekDay.TUESDAY, occupancy.days().get(1).day());
+
+        ShiftOccupancyDTO night = occupancy.days().get(1).shifts().get(2);
+        Assertions.assertEquals(ShiftSchedule.NIGHT, night.shift());
+        Assertions.assertEquals(3, night.free());
+        Assertions.assertEquals(2L, night.occupied().get(0).tableId());
+        Assertions.assertEquals(ScheduleRequestStatus.APPROVED, night.occupied().get(1).status());
+
+        Assertions.assertTrue(occupancy.days().get(0).shifts().stream()
+                .allMatch(shift -> shift.free() == 5 && shift.occupied().isEmpty()));
+
+        verify(scheduleRepository).findOccupancy();
+        verifyNoInteractions(labTableRepository);
     }
 
     @Test
     void update_Return_LabTableUpdated_WhenSuccessful() {
         LabTable oldLabTable = createLabTable();
-        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(4L);
+        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(4L, null, null, null);
 
-        when(labTableRepository.existsByNumber(anyLong())).thenReturn(false);
+        when(labTableRepository.existsByNumberAndIdNot(anyLong(), anyLong())).thenReturn(false);
         when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(oldLabTable));
         when(labTableRepository.save(any(LabTable.class))).thenReturn(oldLabTable);
 
@@ -147,26 +212,43 @@ class TableServiceTest {
         Assertions.assertEquals(requestDTO.number(), labTableUpdated.getNumber());
     }
 
+    @Test
+    void update_Move_LabTable_WhenOnlyThePositionChanges() {
+        LabTable oldLabTable = createLabTable();
+        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(1L, 3, 2, null);
+
+        when(labTableRepository.existsByNumberAndIdNot(1L, 1L)).thenReturn(false);
+        when(labTableRepository.findById(1L)).thenReturn(Optional.of(oldLabTable));
+        when(labTableRepository.save(any(LabTable.class))).thenReturn(oldLabTable);
+
+        LabTable labTableUpdated = tableService.update(1L, requestDTO);
+
+        Assertions.assertEquals(1L, labTableUpdated.getNumber());
+        Assertions.assertEquals(3, labTableUpdated.getPositionX());
+        Assertions.assertEquals(2, labTableUpdated.getPositionY());
+        verify(labTableRepository, never()).existsByNumber(anyLong());
+    }
+
     @Test
     void update_Throw_ConflictException_WhenThereIsATableWithTheSameNumber() {
-        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(4L);
+        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(4L, null, null, null);
 
-        when(labTableRepository.existsByNumber(anyLong())).thenReturn(true);
+        when(labTableRepository.existsByNumberAndIdNot(anyLong(), anyLong())).thenReturn(true);
 
         ConflictException exception = Assertions.assertThrows(ConflictException.class,
                 () -> tableService.update(1L, requestDTO));
 
         Assertions.assertTrue(exception.getMessage().contains("A table has already been registered with that number."));
 
-        verify(labTableRepository).existsByNumber(anyLong());
+        verify(labTableRepository).existsByNumberAndIdNot(anyLong(), anyLong());
         verifyNoMoreInteractions(labTableRepository);
     }
 
     @Test
     void update_Throw_ResourceNotFoundException_WhenLabTableNotFound() {
-        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(4L);
+        LabTableUpdateRequestDTO requestDTO = new LabTableUpdateRequestDTO(4L, null, null, null);
 
-        when(labTableRepository.existsByNumber(anyLong())).thenReturn(false);
+        when(labTableRepository.existsByNumberAndIdNot(anyLong(), anyLong())).thenReturn(false);
         when(labTableRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = Assertions.assertThrows(ResourceNotFoundException.class,
@@ -177,7 +259,7 @@ class TableServiceTest {
                 .contains("No table was found with the provided id, check the registered tables."));
 
         verify(labTableRepository).findById(anyLong());
-        verify(labTableRepository).existsByNumber(anyLong());
+        verify(labTableRepository).existsByNumberAndIdNot(anyLong(), anyLong());
         verifyNoMoreInteractions(labTableRepository);
     }
 
@@ -185,13 +267,14 @@ class TableServiceTest {
     @Test
     void delete_Delete_LabTable_WhenSuccessful() {
         LabTable labTable = createLabTable();
-        List<Schedule> schedules = new ArrayList<>();
 
         when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(labTable));
-        when(scheduleService.findAllByTableId(anyLong())).thenReturn(schedules);
+        when(scheduleService.existsByTableId(anyLong())).thenReturn(false);
 
         tableService.delete(1L);
 
+        verify(waitlistRepository).deleteByTableId(1L);
+        verify(allocationPreferenceRepository).deleteByTableId(1L);
         verify(labTableRepository).deleteById(anyLong());
     }
 
@@ -215,12 +298,8 @@ class TableServiceTest {
     @Test
     void delete_Throw_ConflictException_WhenTableIsActiveOnASchedule() {
         LabTable labTable = createLabTable();
-        Schedule schedule = Schedule.builder()
-                .id(1L)
-                .table(labTable)
-                .build();
 
-        when(scheduleService.findAllByTableId(anyLong())).thenReturn(List.of(schedule));
+        when(scheduleService.existsByTableId(anyLong())).thenReturn(true);
         when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(labTable));
 
         ConflictException exception = Assertions
@@ -231,7 +310,7 @@ class TableServiceTest {
                 .contains("The table cannot be excluded because it is linked to times already reserved."));
 
         verify(labTableRepository).findById(anyLong());
-        verify(scheduleService).findAllByTableId(anyLong());
+        verify(scheduleService).existsByTableId(anyLong());
         verifyNoMoreInteractions(labTableRepository);
     }
 
@@ -247,11 +326,38 @@ class TableServiceTest {
         return labTables;
     }
 
-    private ReservedTables createReservedTable() {
-        return ReservedTables.builder()
-                .day("Monday")
-                .shiftSchedule("Morning")
-                .table(createLabTable())
-                .build();
+    private ScheduleRepository.OccupiedSlot createOccupiedSlot(short slot, Long tableId,
+                                                                   ScheduleRequestStatus status) {
+        return new ScheduleRepository.OccupiedSlot() {
+            @Override
+            public Short getSlot() {
+                return slot;
+            }
+
+            @Override
+            public Long getTableId() {
+                return tableId;
+            }
+
+            @Override
+            public Long getScheduleId() {
+                return tableId * 10;
+            }
+
+            @Override
+            public ScheduleRequestStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getPersonId() {
+                return 1L;
+            }
+
+            @Override
+            public String getPersonName() {
+                return "Person Name";
+            }
+        };
     }
-}
\ No newline at end of file
+}
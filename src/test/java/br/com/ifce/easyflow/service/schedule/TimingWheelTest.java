@@ -0,0 +1,58 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.service.TimingWheel;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class TimingWheelTest {
+
+    @Test
+    void advance_Return_ItemsOnlyOnceTheirDeadlineIsReached() {
+        TimingWheel<Long> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.add(1L, 25);
+        wheel.add(2L, 30);
+
+        Assertions.assertEquals(List.of(), wheel.advance(20));
+        Assertions.assertEquals(List.of(1L, 2L), wheel.advance(30));
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void advance_Cascade_DeadlinesBeyondTheFirstLevel() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, 0);
+        List<Long> deadlines = List.of(5L, 17L, 63L, 64L, 100L, 1000L);
+        deadlines.forEach(deadline -> wheel.add(deadline, deadline));
+
+        List<Long> expired = new ArrayList<>();
+        for (long now = 1; now <= 1000; now++) {
+            for (Long item : wheel.advance(now)) {
+                Assertions.assertEquals(item, now, "Item expired at the wrong tick");
+                expired.add(item);
+            }
+        }
+
+        Assertions.assertEquals(deadlines, expired);
+    }
+
+    @Test
+    void add_Return_PastDeadlinesOnTheNextAdvance() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1000, 64, 50_000);
+        wheel.add(7L, 10_000);
+
+        Assertions.assertEquals(1, wheel.size());
+        Assertions.assertEquals(List.of(7L), wheel.advance(50_000));
+    }
+
+    @Test
+    void advance_Skip_IdleTime_WhenTheWheelIsEmpty() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 4, 0);
+
+        Assertions.assertEquals(List.of(), wheel.advance(1_000_000));
+
+        wheel.add(3L, 1_000_002);
+        Assertions.assertEquals(List.of(3L), wheel.advance(1_000_002));
+    }
+}
@@ -0,0 +1,198 @@
+package br.com.ifce.easyflow.service.schedule;
+
+import br.com.ifce.easyflow.controller.dto.schedule.SchedulePostRequestDTO;
+import br.com.ifce.easyflow.controller.dto.waitlist.WaitlistRequestDTO;
+import br.com.ifce.easyflow.exception.PersonNotFoundException;
+import br.com.ifce.easyflow.model.LabTable;
+import br.com.ifce.easyflow.model.Person;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.WaitlistEntry;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.LabTableRepository;
+import br.com.ifce.easyflow.repository.PersonRepository;
+import br.com.ifce.easyflow.repository.WaitlistRepository;
+import br.com.ifce.easyflow.service.ScheduleService;
+import br.com.ifce.easyflow.service.SlotLockRegistry;
+import br.com.ifce.easyflow.service.SlotReleasedEvent;
+import br.com.ifce.easyflow.service.WaitlistService;
+import br.com.ifce.easyflow.service.exceptions.BadRequestException;
+import br.com.ifce.easyflow.service.exceptions.ConflictException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WaitlistServiceTest {
+
+    @InjectMocks
+    WaitlistService waitlistService;
+
+    @Mock
+    WaitlistRepository waitlistRepository;
+
+    @Mock
+    LabTableRepository labTableRepository;
+
+    @Mock
+    PersonRepository personRepository;
+
+    @Mock
+    ScheduleService scheduleService;
+
+    @Mock
+    SlotLockRegistry slotLockRegistry;
+
+    private static final TimeSlot MONDAY_MORNING = new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING);
+
+    @Test
+    void join_Save_Entry_WhenSlotIsTaken() {
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(createTable()));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(false);
+        when(waitlistRepository.save(any(WaitlistEntry.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        WaitlistEntry entry = waitlistService.join(2L, createRequest());
+
+        Assertions.assertEquals(MONDAY_MORNING.code(), entry.getSlot());
+        Assertions.assertEquals(2L, entry.getPerson().getId());
+        Assertions.assertNotNull(entry.getCreatedAt());
+
+        verify(slotLockRegistry).lockUntilCompletion(List.of(MONDAY_MORNING.keyOf(1L)));
+    }
+
+    @Test
+    void join_Throw_BadRequestException_WhenSlotIsFree() {
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(createTable()));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(true);
+
+        Assertions.assertThrows(BadRequestException.class, () -> waitlistService.join(2L, createRequest()));
+
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void join_Throw_ConflictException_WhenPersonIsAlreadyWaiting() {
+        when(personRepository.findById(anyLong())).thenReturn(Optional.of(createPerson()));
+        when(labTableRepository.findById(anyLong())).thenReturn(Optional.of(createTable()));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(false);
+        when(waitlistRepository.existsByTableIdAndSlotAndPersonId(1L, MONDAY_MORNING.code(), 2L)).thenReturn(true);
+
+        Assertions.assertThrows(ConflictException.class, () -> waitlistService.join(2L, createRequest()));
+
+        verify(waitlistRepository, never()).save(any());
+    }
+
+    @Test
+    void onSlotReleased_Promote_HeadOfWaitlist() {
+        WaitlistEntry head = createEntry();
+        when(waitlistRepository.findFirstByTableIdAndSlotOrderByIdAsc(1L, MONDAY_MORNING.code()))
+                .thenReturn(Optional.of(head));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(true);
+
+        waitlistService.onSlotReleased(new SlotReleasedEvent(1L, MONDAY_MORNING));
+
+        InOrder inOrder = inOrder(slotLockRegistry, waitlistRepository, scheduleService);
+        inOrder.verify(slotLockRegistry).lockUntilCompletion(List.of(MONDAY_MORNING.keyOf(1L)));
+        inOrder.verify(waitlistRepository).findFirstByTableIdAndSlotOrderByIdAsc(1L, MONDAY_MORNING.code());
+        inOrder.verify(waitlistRepository).delete(head);
+        inOrder.verify(scheduleService).book(2L, List.of(SchedulePostRequestDTO.builder()
+                .tableId(1L)
+                .day(WeekDay.MONDAY.getLabel())
+                .shiftSchedule(ShiftSchedule.MORNING.getLabel())
+                .build()));
+        verify(scheduleService, never()).save(anyLong(), anyList());
+    }
+
+    @Test
+    void onSlotReleased_DoNothing_WhenWaitlistIsEmpty() {
+        when(waitlistRepository.findFirstByTableIdAndSlotOrderByIdAsc(1L, MONDAY_MORNING.code()))
+                .thenReturn(Optional.empty());
+
+        waitlistService.onSlotReleased(new SlotReleasedEvent(1L, MONDAY_MORNING));
+
+        verifyNoInteractions(scheduleService);
+        verify(waitlistRepository, never()).delete(any());
+    }
+
+    @Test
+    void onSlotReleased_KeepHead_WhenSlotWasTakenAgain() {
+        when(waitlistRepository.findFirstByTableIdAndSlotOrderByIdAsc(1L, MONDAY_MORNING.code()))
+                .thenReturn(Optional.of(createEntry()));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(false);
+
+        waitlistService.onSlotReleased(new SlotReleasedEvent(1L, MONDAY_MORNING));
+
+        verify(scheduleService, never()).book(anyLong(), anyList());
+        verify(waitlistRepository, never()).delete(any());
+    }
+
+    @Test
+    void onSlotReleased_Drop_HeadThatCannotBeBooked_AndPromote_TheNextOne() {
+        WaitlistEntry head = createEntry();
+        WaitlistEntry next = createEntry();
+        next.setId(6L);
+        next.getPerson().setId(3L);
+        when(waitlistRepository.findFirstByTableIdAndSlotOrderByIdAsc(1L, MONDAY_MORNING.code()))
+                .thenReturn(Optional.of(head))
+                .thenReturn(Optional.of(next));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(true);
+        when(scheduleService.book(eq(2L), anyList())).thenThrow(new PersonNotFoundException());
+
+        waitlistService.onSlotReleased(new SlotReleasedEvent(1L, MONDAY_MORNING));
+
+        verify(waitlistRepository).delete(head);
+        verify(waitlistRepository).delete(next);
+        verify(scheduleService).book(eq(3L), anyList());
+    }
+
+    @Test
+    void onSlotReleased_Propagate_UnexpectedFailures_SoTheReleaseRollsBack() {
+        when(waitlistRepository.findFirstByTableIdAndSlotOrderByIdAsc(1L, MONDAY_MORNING.code()))
+                .thenReturn(Optional.of(createEntry()));
+        when(scheduleService.isSlotFree(1L, MONDAY_MORNING)).thenReturn(true);
+        when(scheduleService.book(anyLong(), anyList())).thenThrow(new IllegalStateException("Connection is closed"));
+
+        Assertions.assertThrows(IllegalStateException.class,
+                () -> waitlistService.onSlotReleased(new SlotReleasedEvent(1L, MONDAY_MORNING)));
+    }
+
+    private WaitlistRequestDTO createRequest() {
+        return new WaitlistRequestDTO(1L, "Monday", "Morning");
+    }
+
+    private WaitlistEntry createEntry() {
+        return WaitlistEntry.builder()
+                .id(5L)
+                .table(createTable())
+                .person(createPerson())
+                .slot(MONDAY_MORNING.code())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private LabTable createTable() {
+        return LabTable.builder().id(1L).number(1L).build();
+    }
+
+    private Person createPerson() {
+        Person person = new Person();
+        person.setId(2L);
+        return person;
+    }
+}
@@ -0,0 +1,145 @@
+package br.com.ifce.easyflow.service.stats;
+
+import br.com.ifce.easyflow.controller.dto.stats.LiveStatsResponseDTO;
+import br.com.ifce.easyflow.model.TimeSlot;
+import br.com.ifce.easyflow.model.enums.EquipmentAvailabilityStatus;
+import br.com.ifce.easyflow.model.enums.ScheduleRequestStatus;
+import br.com.ifce.easyflow.model.enums.ShiftSchedule;
+import br.com.ifce.easyflow.model.enums.SolicitationStatus;
+import br.com.ifce.easyflow.model.enums.WeekDay;
+import br.com.ifce.easyflow.repository.EquipmentRepository;
+import br.com.ifce.easyflow.repository.ScheduleRepository;
+import br.com.ifce.easyflow.repository.SolicitationRepository;
+import br.com.ifce.easyflow.service.LiveStats;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LiveStatsTest {
+
+    @InjectMocks
+    LiveStats liveStats;
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+    @Mock
+    SolicitationRepository solicitationRepository;
+
+    @Mock
+    EquipmentRepository equipmentRepository;
+
+    private static final TimeSlot MONDAY_MORNING = new TimeSlot(WeekDay.MONDAY, ShiftSchedule.MORNING);
+    private static final TimeSlot FRIDAY_NIGHT = new TimeSlot(WeekDay.FRIDAY, ShiftSchedule.NIGHT);
+
+    @BeforeEach
+    void seed() {
+        when(scheduleRepository.countByStatusAndSlot()).thenReturn(List.of(
+                createScheduleCount(ScheduleRequestStatus.PENDING, MONDAY_MORNING.code(), 4L),
+                createScheduleCount(ScheduleRequestStatus.PENDING, FRIDAY_NIGHT.code(), 2L),
+                createScheduleCount(ScheduleRequestStatus.APPROVED, MONDAY_MORNING.code(), 3L),
+                createScheduleCount(ScheduleRequestStatus.DENIED, null, 1L)));
+        when(solicitationRepository.countByStatus()).thenReturn(List.of(
+                createSolicitationCount(SolicitationStatus.PENDING, 5L)));
+        when(equipmentRepository.countByStatus()).thenReturn(List.of(
+                createEquipmentCount(EquipmentAvailabilityStatus.AVAILABLE, 7L),
+                createEquipmentCount(EquipmentAvailabilityStatus.BUSY, 2L)));
+
+        liveStats.rebuild();
+    }
+
+    @Test
+    void rebuild_Seed_CountersFromGroupedCounts() {
+        LiveStatsResponseDTO stats = liveStats.snapshot();
+
+        Assertions.assertEquals(6L, stats.schedules().get(ScheduleRequestStatus.PENDING));
+        Assertions.assertEquals(3L, stats.schedules().get(ScheduleRequestStatus.APPROVED));
+        Assertions.assertEquals(1L, stats.schedules().get(ScheduleRequestStatus.DENIED));
+        Assertions.assertEquals(0L, stats.schedules().get(ScheduleRequestStatus.EXPIRED));
+        Assertions.assertEquals(5L, stats.solicitations().get(SolicitationStatus.PENDING));
+        Assertions.assertEquals(2L, stats.equipment().get(EquipmentAvailabilityStatus.BUSY));
+        Assertions.assertEquals(TimeSlot.COUNT, stats.slots().size());
+        Assertions.assertEquals(4L, stats.slots().get(MONDAY_MORNING.code()).schedules().get(ScheduleRequestStatus.PENDING));
+        Assertions.assertNotNull(stats.seededAt());
+    }
+
+    @Test
+    void changes_Move_CountersBetweenStatusesAndSlots_WithoutQueries() {
+        liveStats.schedulesAdded(ScheduleRequestStatus.PENDING, List.of(FRIDAY_NIGHT.code()));
+        liveStats.scheduleChanged(ScheduleRequestStatus.PENDING, ScheduleRequestStatus.APPROVED, MONDAY_MORNING.code());
+        liveStats.scheduleMoved(ScheduleRequestStatus.PENDING, MONDAY_MORNING.code(), FRIDAY_NIGHT.code());
+        liveStats.scheduleRemoved(ScheduleRequestStatus.DENIED, null);
+        liveStats.solicitationChanged(SolicitationStatus.PENDING, SolicitationStatus.APPROVED);
+        liveStats.equipmentChanged(EquipmentAvailabilityStatus.AVAILABLE, EquipmentAvailabilityStatus.BUSY);
+
+        LiveStatsResponseDTO stats = liveStats.snapshot();
+
+        Assertions.assertEquals(6L, stats.schedules().get(ScheduleRequestStatus.PENDING));
+        Assertions.assertEquals(4L, stats.schedules().get(ScheduleRequestStatus.APPROVED));
+        Assertions.assertEquals(0L, stats.schedules().get(ScheduleRequestStatus.DENIED));
+        Assertions.assertEquals(2L, stats.slots().get(MONDAY_MORNING.code()).schedules().get(ScheduleRequestStatus.PENDING));
+        Assertions.assertEquals(4L, stats.slots().get(FRIDAY_NIGHT.code()).schedules().get(ScheduleRequestStatus.PENDING));
+        Assertions.assertEquals(4L, stats.solicitations().get(SolicitationStatus.PENDING));
+        Assertions.assertEquals(1L, stats.solicitations().get(SolicitationStatus.APPROVED));
+        Assertions.assertEquals(3L, stats.equipment().get(EquipmentAvailabilityStatus.BUSY));
+
+        verify(scheduleRepository).countByStatusAndSlot();
+        verifyNoMoreInteractions(scheduleRepository, solicitationRepository, equipmentRepository);
+    }
+
+    private ScheduleRepository.StatusSlotCount createScheduleCount(ScheduleRequestStatus status, Short slot, Long total) {
+        return new ScheduleRepository.StatusSlotCount() {
+            @Override
+            public ScheduleRequestStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Short getSlot() {
+                return slot;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private SolicitationRepository.StatusCount createSolicitationCount(SolicitationStatus status, Long total) {
+        return new SolicitationRepository.StatusCount() {
+            @Override
+            public SolicitationStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+
+    private EquipmentRepository.StatusCount createEquipmentCount(EquipmentAvailabilityStatus status, Long total) {
+        return new EquipmentRepository.StatusCount() {
+            @Override
+            public EquipmentAvailabilityStatus getStatus() {
+                return status;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+        };
+    }
+}